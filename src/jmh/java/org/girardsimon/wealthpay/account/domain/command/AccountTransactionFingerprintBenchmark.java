@@ -0,0 +1,49 @@
+package org.girardsimon.wealthpay.account.domain.command;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AccountTransaction#fingerprint()}: SHA-256 over the record's {@code toString()}, computed
+ * for every credit, debit and reserve command by the idempotency check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountTransactionFingerprintBenchmark {
+
+  private final Money money = Money.of(new BigDecimal("42.10"), SupportedCurrency.USD);
+
+  private AccountTransaction creditAccount =
+      new CreditAccount(
+          TransactionId.of(UUID.randomUUID()), AccountId.of(UUID.randomUUID()), money);
+  private AccountTransaction reserveFunds =
+      new ReserveFunds(TransactionId.of(UUID.randomUUID()), AccountId.of(UUID.randomUUID()), money);
+
+  @Benchmark
+  public String creditAccount() {
+    return creditAccount.fingerprint();
+  }
+
+  @Benchmark
+  public String reserveFunds() {
+    return reserveFunds.fingerprint();
+  }
+}
@@ -0,0 +1,133 @@
+package org.girardsimon.wealthpay.account.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.girardsimon.wealthpay.account.domain.command.CancelReservation;
+import org.girardsimon.wealthpay.account.domain.command.CaptureReservation;
+import org.girardsimon.wealthpay.account.domain.command.CloseAccount;
+import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
+import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.command.OpenAccount;
+import org.girardsimon.wealthpay.account.domain.command.ReserveFunds;
+import org.girardsimon.wealthpay.account.testsupport.AccountHistoryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Every {@code Account.handle} overload on an account holding {@code reservations} open
+ * reservations.
+ *
+ * <p>Handling applies the produced event, so the account changes between invocations. Credit and
+ * debit only move the balance (which is large enough never to run out); reserve is measured paired
+ * with cancel or capture so the reservation map keeps its size. Close needs an empty account and is
+ * measured on a fresh one per invocation, the only benchmark here using {@link Level#Invocation}.
+ * Event ids and timestamps are constants so generator cost is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountHandleBenchmark {
+
+  private static final Instant OCCURRED_AT = AccountHistoryFixtures.OCCURRED_AT;
+
+  @Param({"0", "1000"})
+  public int reservations;
+
+  private final EventIdGenerator eventIdGenerator = () -> EventId.of(new UUID(3L, 0L));
+
+  private Account account;
+  private AccountId accountId;
+  private OpenAccount openAccount;
+  private CreditAccount creditAccount;
+  private DebitAccount debitAccount;
+  private ReserveFunds reserveFunds;
+  private ReservationId reservationId;
+  private CancelReservation cancelReservation;
+  private CaptureReservation captureReservation;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    accountId = AccountId.of(UUID.randomUUID());
+    account = Account.rehydrate(AccountHistoryFixtures.history(accountId, 1, reservations));
+    Money amount = AccountHistoryFixtures.amount();
+    openAccount = new OpenAccount(AccountHistoryFixtures.CURRENCY, amount);
+    creditAccount = new CreditAccount(TransactionId.of(UUID.randomUUID()), accountId, amount);
+    debitAccount = new DebitAccount(TransactionId.of(UUID.randomUUID()), accountId, amount);
+    reserveFunds = new ReserveFunds(TransactionId.of(UUID.randomUUID()), accountId, amount);
+    reservationId = ReservationId.of(UUID.randomUUID());
+    cancelReservation = new CancelReservation(accountId, reservationId);
+    captureReservation = new CaptureReservation(accountId, reservationId);
+  }
+
+  @Benchmark
+  public HandleResult openAccount() {
+    return Account.handle(openAccount, accountId, eventIdGenerator, OCCURRED_AT);
+  }
+
+  @Benchmark
+  public HandleResult creditAccount() {
+    return account.handle(creditAccount, eventIdGenerator, OCCURRED_AT);
+  }
+
+  @Benchmark
+  public HandleResult debitAccount() {
+    return account.handle(debitAccount, eventIdGenerator, OCCURRED_AT);
+  }
+
+  @Benchmark
+  public void reserveFundsThenCancel(Blackhole blackhole) {
+    blackhole.consume(account.handle(reserveFunds, eventIdGenerator, reservationId, OCCURRED_AT));
+    blackhole.consume(account.handle(cancelReservation, eventIdGenerator, OCCURRED_AT));
+  }
+
+  @Benchmark
+  public void reserveFundsThenCapture(Blackhole blackhole) {
+    blackhole.consume(account.handle(reserveFunds, eventIdGenerator, reservationId, OCCURRED_AT));
+    blackhole.consume(account.handle(captureReservation, eventIdGenerator, OCCURRED_AT));
+  }
+
+  @Benchmark
+  public HandleResult closeAccount(EmptyAccount emptyAccount) {
+    return emptyAccount.account.handle(emptyAccount.closeAccount, eventIdGenerator, OCCURRED_AT);
+  }
+
+  /** An opened account with zero balance and no reservations, rebuilt before every invocation. */
+  @State(Scope.Thread)
+  public static class EmptyAccount {
+
+    private final AccountSnapshot snapshot =
+        new AccountSnapshot(
+            AccountId.of(UUID.randomUUID()),
+            AccountHistoryFixtures.CURRENCY,
+            Money.of(BigDecimal.ZERO, AccountHistoryFixtures.CURRENCY),
+            AccountStatus.OPENED,
+            Map.of(),
+            1L);
+    private final CloseAccount closeAccount = new CloseAccount(snapshot.accountId());
+
+    private Account account;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+      account = Account.rehydrateFromSnapshot(snapshot, List.of());
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package org.girardsimon.wealthpay.account.domain.model;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.testsupport.AccountHistoryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Account#rehydrate} over a full history against {@link Account#rehydrateFromSnapshot} from
+ * a snapshot holding the open reservations plus the rest of the history as tail.
+ *
+ * <p>History length drives the per-event apply cost; the reservation count drives the size of the
+ * reservation map that both paths build (event by event, or copied from the snapshot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountRehydrationBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  public int historyLength;
+
+  @Param({"0", "100", "1000"})
+  public int reservations;
+
+  private List<AccountEvent> history;
+  private AccountSnapshot snapshot;
+  private List<AccountEvent> tail;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    AccountId accountId = AccountId.of(UUID.randomUUID());
+    history = AccountHistoryFixtures.history(accountId, historyLength, reservations);
+    int prefixLength = reservations + 1;
+    snapshot = Account.toSnapshot(Account.rehydrate(history.subList(0, prefixLength)));
+    tail = List.copyOf(history.subList(prefixLength, history.size()));
+  }
+
+  @Benchmark
+  public Account rehydrate() {
+    return Account.rehydrate(history);
+  }
+
+  @Benchmark
+  public Account rehydrateFromSnapshot() {
+    return Account.rehydrateFromSnapshot(snapshot, tail);
+  }
+}
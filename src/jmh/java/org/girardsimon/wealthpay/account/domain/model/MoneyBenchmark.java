@@ -0,0 +1,39 @@
+package org.girardsimon.wealthpay.account.domain.model;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Money#add} and {@link Money#subtract}: applied once per replayed event, so their cost and
+ * allocation multiply with history length.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+  private Money balance = Money.of(new BigDecimal("1234567.89"), SupportedCurrency.USD);
+  private Money amount = Money.of(new BigDecimal("42.10"), SupportedCurrency.USD);
+
+  @Benchmark
+  public Money add() {
+    return balance.add(amount);
+  }
+
+  @Benchmark
+  public Money subtract() {
+    return balance.subtract(amount);
+  }
+}
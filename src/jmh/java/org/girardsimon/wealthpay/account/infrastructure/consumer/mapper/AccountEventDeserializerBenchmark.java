@@ -0,0 +1,86 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer.mapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
+import org.girardsimon.wealthpay.account.testsupport.AccountHistoryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * {@link AccountEventDeserializer} per event type: header parsing plus payload tree parsing, paid
+ * once per record consumed by the projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountEventDeserializerBenchmark {
+
+  @Param({
+    "AccountOpened",
+    "FundsCredited",
+    "FundsDebited",
+    "FundsReserved",
+    "ReservationCanceled",
+    "ReservationCaptured",
+    "AccountClosed"
+  })
+  public String eventType;
+
+  private final AccountEventDeserializer accountEventDeserializer =
+      new AccountEventDeserializer(new ObjectMapper());
+
+  private ConsumerRecord<String, Object> consumerRecord;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    AccountEvent event = AccountHistoryFixtures.eventOfType(eventType);
+    String payload = new AccountEventSerializer(new ObjectMapper()).apply(event).data();
+    RecordHeaders headers = new RecordHeaders();
+    headers.add("id", utf8(event.eventId().id().toString()));
+    headers.add("eventType", utf8(eventType));
+    headers.add("occurredAt", utf8(event.occurredAt().toString()));
+    headers.add("aggregateVersion", utf8(String.valueOf(event.version())));
+    consumerRecord =
+        new ConsumerRecord<>(
+            "wealthpay.AccountEvent",
+            0,
+            0L,
+            ConsumerRecord.NO_TIMESTAMP,
+            TimestampType.NO_TIMESTAMP_TYPE,
+            0,
+            0,
+            event.accountId().id().toString(),
+            payload,
+            headers,
+            Optional.empty());
+  }
+
+  @Benchmark
+  public AccountEvent deserialize() {
+    return accountEventDeserializer.apply(consumerRecord);
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
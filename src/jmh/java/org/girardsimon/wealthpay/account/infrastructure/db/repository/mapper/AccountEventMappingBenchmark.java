@@ -0,0 +1,74 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper;
+
+import java.util.concurrent.TimeUnit;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.jooq.tables.pojos.EventStore;
+import org.girardsimon.wealthpay.account.testsupport.AccountHistoryFixtures;
+import org.jooq.JSONB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Event-store payload mapping, per event type: {@link AccountEventSerializer} on the append path
+ * and {@link EventStoreEntryToAccountEventMapper} on every replayed event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountEventMappingBenchmark {
+
+  @Param({
+    "AccountOpened",
+    "FundsCredited",
+    "FundsDebited",
+    "FundsReserved",
+    "ReservationCanceled",
+    "ReservationCaptured",
+    "AccountClosed"
+  })
+  public String eventType;
+
+  private final AccountEventSerializer accountEventSerializer =
+      new AccountEventSerializer(new ObjectMapper());
+  private final EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper =
+      new EventStoreEntryToAccountEventMapper(new ObjectMapper());
+
+  private AccountEvent event;
+  private EventStore eventStore;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    event = AccountHistoryFixtures.eventOfType(eventType);
+    JSONB payload = accountEventSerializer.apply(event);
+    eventStore = new EventStore();
+    eventStore.setEventId(event.eventId().id());
+    eventStore.setAccountId(event.accountId().id());
+    eventStore.setVersion(event.version());
+    eventStore.setEventType(eventType);
+    eventStore.setPayload(payload);
+  }
+
+  @Benchmark
+  public JSONB serialize() {
+    return accountEventSerializer.apply(event);
+  }
+
+  @Benchmark
+  public AccountEvent deserialize() {
+    return eventStoreEntryToAccountEventMapper.apply(eventStore);
+  }
+}
@@ -0,0 +1,144 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper;
+
+import static org.girardsimon.wealthpay.account.jooq.tables.AccountSnapshot.ACCOUNT_SNAPSHOT;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.jooq.tables.records.AccountSnapshotRecord;
+import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.jooq.Record3;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * JSON (schema version 1) against binary (schema version 2) snapshot encoding: encode time, decode
+ * time and encoded size, at 0, 100 and 10k open reservations.
+ *
+ * <p>The encoded size is reported next to {@code encode} as the {@code snapshotBytes} secondary
+ * result, through {@link EncodedSize}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountSnapshotFormatBenchmark {
+
+  public enum Format {
+    JSON,
+    BINARY
+  }
+
+  @Param({"JSON", "BINARY"})
+  public Format format;
+
+  @Param({"0", "100", "10000"})
+  public int reservations;
+
+  private final AccountSnapshotSerializer jsonSerializer =
+      new AccountSnapshotSerializer(new ObjectMapper());
+  private final AccountSnapshotDeserializer jsonDeserializer =
+      new AccountSnapshotDeserializer(new ObjectMapper());
+  private final AccountSnapshotBinarySerializer binarySerializer =
+      new AccountSnapshotBinarySerializer();
+  private final AccountSnapshotBinaryDeserializer binaryDeserializer =
+      new AccountSnapshotBinaryDeserializer();
+
+  private AccountSnapshot snapshot;
+  private int snapshotSize;
+  private Record3<UUID, JSONB, Long> jsonRow;
+  private Record3<UUID, byte[], Long> binaryRow;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Map<ReservationId, Money> openReservations = HashMap.newHashMap(reservations);
+    for (int i = 0; i < reservations; i++) {
+      openReservations.put(
+          ReservationId.of(UUID.randomUUID()), Money.of(BigDecimal.valueOf(i + 1L, 2), usd));
+    }
+    snapshot =
+        new AccountSnapshot(
+            AccountId.of(UUID.randomUUID()),
+            usd,
+            Money.of(new BigDecimal("1000000.00"), usd),
+            AccountStatus.OPENED,
+            openReservations,
+            reservations + 1L);
+
+    DSLContext dsl = DSL.using(SQLDialect.POSTGRES);
+    AccountSnapshotRecord encodedJson = jsonSerializer.apply(snapshot);
+    jsonRow =
+        dsl.newRecord(
+            ACCOUNT_SNAPSHOT.ACCOUNT_ID, ACCOUNT_SNAPSHOT.STATE, ACCOUNT_SNAPSHOT.VERSION);
+    jsonRow.values(encodedJson.getAccountId(), encodedJson.getState(), encodedJson.getVersion());
+    AccountSnapshotRecord encodedBinary = binarySerializer.apply(snapshot);
+    binaryRow =
+        dsl.newRecord(
+            ACCOUNT_SNAPSHOT.ACCOUNT_ID, ACCOUNT_SNAPSHOT.BINARY_STATE, ACCOUNT_SNAPSHOT.VERSION);
+    binaryRow.values(
+        encodedBinary.getAccountId(), encodedBinary.getBinaryState(), encodedBinary.getVersion());
+
+    snapshotSize =
+        format == Format.JSON
+            ? encodedJson.getState().data().getBytes(StandardCharsets.UTF_8).length
+            : encodedBinary.getBinaryState().length;
+  }
+
+  @Benchmark
+  public AccountSnapshotRecord encode(EncodedSize encodedSize) {
+    return format == Format.JSON
+        ? jsonSerializer.apply(snapshot)
+        : binarySerializer.apply(snapshot);
+  }
+
+  @Benchmark
+  public Optional<AccountSnapshot> decode() {
+    return format == Format.JSON
+        ? jsonDeserializer.apply(jsonRow)
+        : binaryDeserializer.apply(binaryRow);
+  }
+
+  /**
+   * Size in bytes of the encoded snapshot. Measured once in setup rather than in {@code encode},
+   * where computing the UTF-8 length of the JSON would add to the measured time.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class EncodedSize {
+
+    public long snapshotBytes;
+
+    @Setup(Level.Iteration)
+    public void setUp(AccountSnapshotFormatBenchmark benchmark) {
+      snapshotBytes = benchmark.snapshotSize;
+    }
+  }
+}
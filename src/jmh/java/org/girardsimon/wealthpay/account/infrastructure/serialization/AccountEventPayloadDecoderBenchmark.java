@@ -0,0 +1,152 @@
+package org.girardsimon.wealthpay.account.infrastructure.serialization;
+
+import static org.girardsimon.wealthpay.account.infrastructure.serialization.MoneyDeserializerUtils.extractMoney;
+import static org.girardsimon.wealthpay.shared.utils.MapperUtils.getRequiredField;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.avro.util.Utf8;
+import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
+import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCanceled;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
+import org.girardsimon.wealthpay.account.testsupport.AccountHistoryFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * {@link AccountEventPayloadDecoder} against the {@code JsonNode} tree mapping it replaced, per
+ * event type, on both inputs: the event store's JSON string and the consumer's Avro {@code Utf8}.
+ * The tree variants reproduce the former mappers ({@code readTree} then {@code getRequiredField}).
+ *
+ * <p>Allocation is the point of the comparison: read {@code gc.alloc.rate.norm} (bytes per
+ * operation, from the gc profiler the {@code jmh} profile always enables) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountEventPayloadDecoderBenchmark {
+
+  @Param({
+    "AccountOpened",
+    "FundsCredited",
+    "FundsDebited",
+    "FundsReserved",
+    "ReservationCanceled",
+    "ReservationCaptured",
+    "AccountClosed"
+  })
+  public String eventType;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AccountEventPayloadDecoder accountEventPayloadDecoder =
+      new AccountEventPayloadDecoder(objectMapper);
+
+  private AccountEvent event;
+  private AccountEventType accountEventType;
+  private AccountEventMeta accountEventMeta;
+  private String payload;
+  private Utf8 utf8Payload;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    event = AccountHistoryFixtures.eventOfType(eventType);
+    accountEventType = AccountEventType.from(eventType);
+    accountEventMeta =
+        AccountEventMeta.of(
+            event.eventId(), event.accountId(), event.occurredAt(), event.version());
+    payload = new AccountEventSerializer(objectMapper).apply(event).data();
+    utf8Payload = new Utf8(payload);
+  }
+
+  @Benchmark
+  public AccountEvent storeTree() {
+    JsonNode root = objectMapper.readTree(payload);
+    AccountEventMeta meta =
+        AccountEventMeta.of(
+            event.eventId(),
+            event.accountId(),
+            Instant.parse(getRequiredField(root, "occurredAt").asString()),
+            event.version());
+    return fromTree(accountEventType, meta, root);
+  }
+
+  @Benchmark
+  public AccountEvent storeStreaming() {
+    return accountEventPayloadDecoder.decode(
+        accountEventType, event.eventId(), event.accountId(), event.version(), payload);
+  }
+
+  @Benchmark
+  public AccountEvent consumerTree() {
+    JsonNode root = objectMapper.readTree(utf8Payload.toString());
+    return fromTree(accountEventType, accountEventMeta, root);
+  }
+
+  @Benchmark
+  public AccountEvent consumerStreaming() {
+    return accountEventPayloadDecoder.decode(
+        accountEventType,
+        accountEventMeta,
+        utf8Payload.getBytes(),
+        0,
+        utf8Payload.getByteLength());
+  }
+
+  private static AccountEvent fromTree(
+      AccountEventType accountEventType, AccountEventMeta meta, JsonNode root) {
+    return switch (accountEventType) {
+      case ACCOUNT_OPENED -> {
+        SupportedCurrency currency =
+            SupportedCurrency.fromValue(getRequiredField(root, "currency").asString());
+        yield new AccountOpened(
+            meta,
+            currency,
+            Money.of(getRequiredField(root, "initialBalance").decimalValue(), currency));
+      }
+      case FUNDS_CREDITED -> new FundsCredited(meta, transactionId(root), extractMoney(root));
+      case FUNDS_DEBITED -> new FundsDebited(meta, transactionId(root), extractMoney(root));
+      case FUNDS_RESERVED ->
+          new FundsReserved(meta, transactionId(root), reservationId(root), extractMoney(root));
+      case RESERVATION_CANCELED ->
+          new ReservationCanceled(meta, reservationId(root), extractMoney(root));
+      case RESERVATION_CAPTURED ->
+          new ReservationCaptured(meta, reservationId(root), extractMoney(root));
+      case ACCOUNT_CLOSED -> new AccountClosed(meta);
+    };
+  }
+
+  private static TransactionId transactionId(JsonNode root) {
+    return TransactionId.of(UUID.fromString(getRequiredField(root, "transactionId").asString()));
+  }
+
+  private static ReservationId reservationId(JsonNode root) {
+    return ReservationId.of(UUID.fromString(getRequiredField(root, "reservationId").asString()));
+  }
+}
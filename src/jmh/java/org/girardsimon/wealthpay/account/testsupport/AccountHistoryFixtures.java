@@ -0,0 +1,119 @@
+package org.girardsimon.wealthpay.account.testsupport;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
+import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCanceled;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+
+/**
+ * Deterministic account histories for the JMH benchmarks.
+ *
+ * <p>A history opens the account with a large balance, reserves {@code openReservations} funds that
+ * stay open, then cycles through credit, debit, reserve-and-cancel and reserve-and-capture until it
+ * holds at least {@code historyLength} events (one more when the last reservation pair straddles
+ * the limit). Every event type the aggregate applies is represented, so replay and mapping costs
+ * are not skewed towards one payload shape. When {@code historyLength} is too short to hold the
+ * open reservations, the history is as long as needed.
+ */
+public final class AccountHistoryFixtures {
+
+  public static final SupportedCurrency CURRENCY = SupportedCurrency.USD;
+  public static final Instant OCCURRED_AT = Instant.parse("2025-11-16T15:00:00Z");
+
+  private static final Money INITIAL_BALANCE =
+      Money.of(new BigDecimal("1000000000.00"), CURRENCY);
+  private static final Money AMOUNT = Money.of(new BigDecimal("1.00"), CURRENCY);
+
+  private AccountHistoryFixtures() {}
+
+  public static List<AccountEvent> history(
+      AccountId accountId, int historyLength, int openReservations) {
+    EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+    List<AccountEvent> events = new ArrayList<>(Math.max(historyLength, openReservations + 1));
+    events.add(new AccountOpened(meta(eventIdGenerator, accountId, 1L), CURRENCY, INITIAL_BALANCE));
+    for (int i = 0; i < openReservations; i++) {
+      events.add(reserved(eventIdGenerator, accountId, events.size() + 1L));
+    }
+    int step = 0;
+    while (events.size() < historyLength) {
+      long version = events.size() + 1L;
+      switch (step++ % 4) {
+        case 0 ->
+            events.add(
+                new FundsCredited(
+                    meta(eventIdGenerator, accountId, version), transactionId(version), AMOUNT));
+        case 1 ->
+            events.add(
+                new FundsDebited(
+                    meta(eventIdGenerator, accountId, version), transactionId(version), AMOUNT));
+        case 2 -> {
+          FundsReserved reserved = reserved(eventIdGenerator, accountId, version);
+          events.add(reserved);
+          events.add(
+              new ReservationCanceled(
+                  meta(eventIdGenerator, accountId, version + 1),
+                  reserved.reservationId(),
+                  AMOUNT));
+        }
+        default -> {
+          FundsReserved reserved = reserved(eventIdGenerator, accountId, version);
+          events.add(reserved);
+          events.add(
+              new ReservationCaptured(
+                  meta(eventIdGenerator, accountId, version + 1),
+                  reserved.reservationId(),
+                  AMOUNT));
+        }
+      }
+    }
+    return events;
+  }
+
+  public static Money amount() {
+    return AMOUNT;
+  }
+
+  /** One event of the given type, by simple class name ({@code "FundsCredited"}, ...). */
+  public static AccountEvent eventOfType(String eventType) {
+    AccountId accountId = AccountId.of(new UUID(4L, 0L));
+    if (AccountClosed.class.getSimpleName().equals(eventType)) {
+      return new AccountClosed(meta(new TestEventIdGenerator(), accountId, 2L));
+    }
+    return history(accountId, 8, 0).stream()
+        .filter(candidate -> candidate.getClass().getSimpleName().equals(eventType))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown event type " + eventType));
+  }
+
+  private static FundsReserved reserved(
+      EventIdGenerator eventIdGenerator, AccountId accountId, long version) {
+    ReservationId reservationId = ReservationId.of(new UUID(2L, version));
+    return new FundsReserved(
+        meta(eventIdGenerator, accountId, version), transactionId(version), reservationId, AMOUNT);
+  }
+
+  private static AccountEventMeta meta(
+      EventIdGenerator eventIdGenerator, AccountId accountId, long version) {
+    return AccountEventMeta.of(eventIdGenerator.newId(), accountId, OCCURRED_AT, version);
+  }
+
+  private static TransactionId transactionId(long version) {
+    return TransactionId.of(new UUID(1L, version));
+  }
+}
@@ -15,6 +15,7 @@ import org.girardsimon.wealthpay.account.jooq.tables.Outbox;
 import org.girardsimon.wealthpay.account.jooq.tables.OutboxCleanupLog;
 import org.girardsimon.wealthpay.account.jooq.tables.ProcessedReservations;
 import org.girardsimon.wealthpay.account.jooq.tables.ProcessedTransactions;
+import org.girardsimon.wealthpay.account.jooq.tables.ProjectionOffsets;
 import org.jooq.Catalog;
 import org.jooq.Table;
 import org.jooq.impl.SchemaImpl;
@@ -73,6 +74,11 @@ public class Account extends SchemaImpl {
      */
     public final ProcessedTransactions PROCESSED_TRANSACTIONS = ProcessedTransactions.PROCESSED_TRANSACTIONS;
 
+    /**
+     * The table <code>account.projection_offsets</code>.
+     */
+    public final ProjectionOffsets PROJECTION_OFFSETS = ProjectionOffsets.PROJECTION_OFFSETS;
+
     /**
      * No further instances allowed
      */
@@ -96,7 +102,8 @@ public class Account extends SchemaImpl {
             Outbox.OUTBOX,
             OutboxCleanupLog.OUTBOX_CLEANUP_LOG,
             ProcessedReservations.PROCESSED_RESERVATIONS,
-            ProcessedTransactions.PROCESSED_TRANSACTIONS
+            ProcessedTransactions.PROCESSED_TRANSACTIONS,
+            ProjectionOffsets.PROJECTION_OFFSETS
         );
     }
 }
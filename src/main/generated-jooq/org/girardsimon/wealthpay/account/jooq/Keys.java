@@ -11,6 +11,7 @@ import org.girardsimon.wealthpay.account.jooq.tables.FlywaySchemaHistory;
 import org.girardsimon.wealthpay.account.jooq.tables.Outbox;
 import org.girardsimon.wealthpay.account.jooq.tables.ProcessedReservations;
 import org.girardsimon.wealthpay.account.jooq.tables.ProcessedTransactions;
+import org.girardsimon.wealthpay.account.jooq.tables.ProjectionOffsets;
 import org.girardsimon.wealthpay.account.jooq.tables.records.AccountBalanceViewRecord;
 import org.girardsimon.wealthpay.account.jooq.tables.records.AccountSnapshotRecord;
 import org.girardsimon.wealthpay.account.jooq.tables.records.EventStoreRecord;
@@ -18,6 +19,7 @@ import org.girardsimon.wealthpay.account.jooq.tables.records.FlywaySchemaHistory
 import org.girardsimon.wealthpay.account.jooq.tables.records.OutboxRecord;
 import org.girardsimon.wealthpay.account.jooq.tables.records.ProcessedReservationsRecord;
 import org.girardsimon.wealthpay.account.jooq.tables.records.ProcessedTransactionsRecord;
+import org.girardsimon.wealthpay.account.jooq.tables.records.ProjectionOffsetsRecord;
 import org.jooq.TableField;
 import org.jooq.UniqueKey;
 import org.jooq.impl.DSL;
@@ -44,4 +46,5 @@ public class Keys {
     public static final UniqueKey<ProcessedReservationsRecord> PROCESSED_RESERVATIONS_ACCOUNT_ID_TRANSACTION_ID_KEY = Internal.createUniqueKey(ProcessedReservations.PROCESSED_RESERVATIONS, DSL.name("processed_reservations_account_id_transaction_id_key"), new TableField[] { ProcessedReservations.PROCESSED_RESERVATIONS.ACCOUNT_ID, ProcessedReservations.PROCESSED_RESERVATIONS.TRANSACTION_ID }, true);
     public static final UniqueKey<ProcessedReservationsRecord> PROCESSED_RESERVATIONS_PKEY = Internal.createUniqueKey(ProcessedReservations.PROCESSED_RESERVATIONS, DSL.name("processed_reservations_pkey"), new TableField[] { ProcessedReservations.PROCESSED_RESERVATIONS.ACCOUNT_ID, ProcessedReservations.PROCESSED_RESERVATIONS.RESERVATION_ID }, true);
     public static final UniqueKey<ProcessedTransactionsRecord> PROCESSED_TRANSACTIONS_PKEY = Internal.createUniqueKey(ProcessedTransactions.PROCESSED_TRANSACTIONS, DSL.name("processed_transactions_pkey"), new TableField[] { ProcessedTransactions.PROCESSED_TRANSACTIONS.ACCOUNT_ID, ProcessedTransactions.PROCESSED_TRANSACTIONS.TRANSACTION_ID }, true);
+    public static final UniqueKey<ProjectionOffsetsRecord> PROJECTION_OFFSETS_PKEY = Internal.createUniqueKey(ProjectionOffsets.PROJECTION_OFFSETS, DSL.name("projection_offsets_pkey"), new TableField[] { ProjectionOffsets.PROJECTION_OFFSETS.TOPIC, ProjectionOffsets.PROJECTION_OFFSETS.PARTITION }, true);
 }
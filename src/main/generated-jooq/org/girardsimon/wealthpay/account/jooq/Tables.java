@@ -12,6 +12,7 @@ import org.girardsimon.wealthpay.account.jooq.tables.Outbox;
 import org.girardsimon.wealthpay.account.jooq.tables.OutboxCleanupLog;
 import org.girardsimon.wealthpay.account.jooq.tables.ProcessedReservations;
 import org.girardsimon.wealthpay.account.jooq.tables.ProcessedTransactions;
+import org.girardsimon.wealthpay.account.jooq.tables.ProjectionOffsets;
 
 
 /**
@@ -59,4 +60,9 @@ public class Tables {
      * The table <code>account.processed_transactions</code>.
      */
     public static final ProcessedTransactions PROCESSED_TRANSACTIONS = ProcessedTransactions.PROCESSED_TRANSACTIONS;
+
+    /**
+     * The table <code>account.projection_offsets</code>.
+     */
+    public static final ProjectionOffsets PROJECTION_OFFSETS = ProjectionOffsets.PROJECTION_OFFSETS;
 }
@@ -5,12 +5,15 @@ package org.girardsimon.wealthpay.account.jooq.tables;
 
 
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.girardsimon.wealthpay.account.jooq.Account;
 import org.girardsimon.wealthpay.account.jooq.Keys;
 import org.girardsimon.wealthpay.account.jooq.tables.records.AccountSnapshotRecord;
+import org.jooq.Check;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.JSONB;
@@ -26,6 +29,7 @@ import org.jooq.TableField;
 import org.jooq.TableOptions;
 import org.jooq.UniqueKey;
 import org.jooq.impl.DSL;
+import org.jooq.impl.Internal;
 import org.jooq.impl.SQLDataType;
 import org.jooq.impl.TableImpl;
 
@@ -59,7 +63,7 @@ public class AccountSnapshot extends TableImpl<AccountSnapshotRecord> {
     /**
      * The column <code>account.account_snapshot.state</code>.
      */
-    public final TableField<AccountSnapshotRecord, JSONB> STATE = createField(DSL.name("state"), SQLDataType.JSONB.nullable(false), this, "");
+    public final TableField<AccountSnapshotRecord, JSONB> STATE = createField(DSL.name("state"), SQLDataType.JSONB, this, "");
 
     /**
      * The column <code>account.account_snapshot.version</code>.
@@ -76,6 +80,11 @@ public class AccountSnapshot extends TableImpl<AccountSnapshotRecord> {
      */
     public final TableField<AccountSnapshotRecord, Long> SCHEMA_VERSION = createField(DSL.name("schema_version"), SQLDataType.BIGINT.nullable(false), this, "");
 
+    /**
+     * The column <code>account.account_snapshot.binary_state</code>.
+     */
+    public final TableField<AccountSnapshotRecord, byte[]> BINARY_STATE = createField(DSL.name("binary_state"), SQLDataType.BLOB, this, "");
+
     private AccountSnapshot(Name alias, Table<AccountSnapshotRecord> aliased) {
         this(alias, aliased, (Field<?>[]) null, null);
     }
@@ -115,6 +124,13 @@ public class AccountSnapshot extends TableImpl<AccountSnapshotRecord> {
         return Keys.ACCOUNT_SNAPSHOT_PKEY;
     }
 
+    @Override
+    public List<Check<AccountSnapshotRecord>> getChecks() {
+        return Arrays.asList(
+            Internal.createCheck(this, DSL.name("account_snapshot_state_check"), "(((state IS NULL) <> (binary_state IS NULL)))", true)
+        );
+    }
+
     @Override
     public AccountSnapshot as(String alias) {
         return new AccountSnapshot(DSL.name(alias), this);
@@ -127,7 +127,7 @@ public class EventStore extends TableImpl<EventStoreRecord> {
 
     @Override
     public List<Index> getIndexes() {
-        return Arrays.asList(Indexes.IDX_EVENT_STORE_ACCOUNT_ID_VERSION, Indexes.IDX_EVENT_STORE_EVENT_ID);
+        return Arrays.asList(Indexes.IDX_EVENT_STORE_ACCOUNT_HISTORY, Indexes.IDX_EVENT_STORE_EVENT_ID);
     }
 
     @Override
@@ -6,6 +6,7 @@ package org.girardsimon.wealthpay.account.jooq.tables.pojos;
 
 import java.io.Serializable;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.UUID;
 
 import org.jooq.JSONB;
@@ -24,6 +25,7 @@ public class AccountSnapshot implements Serializable {
     private Long version;
     private OffsetDateTime lastUpdatedAt;
     private Long schemaVersion;
+    private byte[] binaryState;
 
     public AccountSnapshot() {}
 
@@ -33,6 +35,7 @@ public class AccountSnapshot implements Serializable {
         this.version = value.version;
         this.lastUpdatedAt = value.lastUpdatedAt;
         this.schemaVersion = value.schemaVersion;
+        this.binaryState = value.binaryState;
     }
 
     public AccountSnapshot(
@@ -40,13 +43,15 @@ public class AccountSnapshot implements Serializable {
         JSONB state,
         Long version,
         OffsetDateTime lastUpdatedAt,
-        Long schemaVersion
+        Long schemaVersion,
+        byte[] binaryState
     ) {
         this.accountId = accountId;
         this.state = state;
         this.version = version;
         this.lastUpdatedAt = lastUpdatedAt;
         this.schemaVersion = schemaVersion;
+        this.binaryState = binaryState;
     }
 
     /**
@@ -119,6 +124,20 @@ public class AccountSnapshot implements Serializable {
         this.schemaVersion = schemaVersion;
     }
 
+    /**
+     * Getter for <code>account.account_snapshot.binary_state</code>.
+     */
+    public byte[] getBinaryState() {
+        return this.binaryState;
+    }
+
+    /**
+     * Setter for <code>account.account_snapshot.binary_state</code>.
+     */
+    public void setBinaryState(byte[] binaryState) {
+        this.binaryState = binaryState;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -158,6 +177,12 @@ public class AccountSnapshot implements Serializable {
         }
         else if (!this.schemaVersion.equals(other.schemaVersion))
             return false;
+        if (this.binaryState == null) {
+            if (other.binaryState != null)
+                return false;
+        }
+        else if (!Arrays.equals(this.binaryState, other.binaryState))
+            return false;
         return true;
     }
 
@@ -170,6 +195,7 @@ public class AccountSnapshot implements Serializable {
         result = prime * result + ((this.version == null) ? 0 : this.version.hashCode());
         result = prime * result + ((this.lastUpdatedAt == null) ? 0 : this.lastUpdatedAt.hashCode());
         result = prime * result + ((this.schemaVersion == null) ? 0 : this.schemaVersion.hashCode());
+        result = prime * result + ((this.binaryState == null) ? 0 : Arrays.hashCode(this.binaryState));
         return result;
     }
 
@@ -182,6 +208,7 @@ public class AccountSnapshot implements Serializable {
         sb.append(", ").append(version);
         sb.append(", ").append(lastUpdatedAt);
         sb.append(", ").append(schemaVersion);
+        sb.append(", ").append("[binary...]");
 
         sb.append(")");
         return sb.toString();
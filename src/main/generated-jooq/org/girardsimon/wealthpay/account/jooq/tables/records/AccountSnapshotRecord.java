@@ -91,6 +91,20 @@ public class AccountSnapshotRecord extends UpdatableRecordImpl<AccountSnapshotRe
         return (Long) get(4);
     }
 
+    /**
+     * Setter for <code>account.account_snapshot.binary_state</code>.
+     */
+    public void setBinaryState(byte[] value) {
+        set(5, value);
+    }
+
+    /**
+     * Getter for <code>account.account_snapshot.binary_state</code>.
+     */
+    public byte[] getBinaryState() {
+        return (byte[]) get(5);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -114,7 +128,7 @@ public class AccountSnapshotRecord extends UpdatableRecordImpl<AccountSnapshotRe
     /**
      * Create a detached, initialised AccountSnapshotRecord
      */
-    public AccountSnapshotRecord(UUID accountId, JSONB state, Long version, OffsetDateTime lastUpdatedAt, Long schemaVersion) {
+    public AccountSnapshotRecord(UUID accountId, JSONB state, Long version, OffsetDateTime lastUpdatedAt, Long schemaVersion, byte[] binaryState) {
         super(AccountSnapshot.ACCOUNT_SNAPSHOT);
 
         setAccountId(accountId);
@@ -122,6 +136,7 @@ public class AccountSnapshotRecord extends UpdatableRecordImpl<AccountSnapshotRe
         setVersion(version);
         setLastUpdatedAt(lastUpdatedAt);
         setSchemaVersion(schemaVersion);
+        setBinaryState(binaryState);
         resetChangedOnNotNull();
     }
 
@@ -137,6 +152,7 @@ public class AccountSnapshotRecord extends UpdatableRecordImpl<AccountSnapshotRe
             setVersion(value.getVersion());
             setLastUpdatedAt(value.getLastUpdatedAt());
             setSchemaVersion(value.getSchemaVersion());
+            setBinaryState(value.getBinaryState());
             resetChangedOnNotNull();
         }
     }
@@ -2,15 +2,24 @@ package org.girardsimon.wealthpay.account.application;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import org.girardsimon.wealthpay.account.application.metric.CommandMetric;
+import org.girardsimon.wealthpay.account.application.metric.SnapshotPolicyMetrics;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
 import org.girardsimon.wealthpay.account.application.response.ReservationResponse;
 import org.girardsimon.wealthpay.account.application.response.ReservationResult;
 import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
 import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.application.retry.RetryOnConflict;
 import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
 import org.girardsimon.wealthpay.account.domain.command.CancelReservation;
 import org.girardsimon.wealthpay.account.domain.command.CaptureReservation;
@@ -21,8 +30,14 @@ import org.girardsimon.wealthpay.account.domain.command.OpenAccount;
 import org.girardsimon.wealthpay.account.domain.command.ReservationCommand;
 import org.girardsimon.wealthpay.account.domain.command.ReserveFunds;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.exception.AccountCurrencyMismatchException;
+import org.girardsimon.wealthpay.account.domain.exception.AccountIdMismatchException;
+import org.girardsimon.wealthpay.account.domain.exception.AccountInactiveException;
+import org.girardsimon.wealthpay.account.domain.exception.AmountMustBePositiveException;
+import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
 import org.girardsimon.wealthpay.account.domain.exception.ReservationNotFoundException;
 import org.girardsimon.wealthpay.account.domain.exception.ReservationStoreInconsistencyException;
+import org.girardsimon.wealthpay.account.domain.exception.TransactionIdConflictException;
 import org.girardsimon.wealthpay.account.domain.model.Account;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
@@ -33,55 +48,46 @@ import org.girardsimon.wealthpay.account.domain.model.ReservationIdGenerator;
 import org.girardsimon.wealthpay.account.domain.model.ReservationOutcome;
 import org.girardsimon.wealthpay.account.domain.model.ReservationPhase;
 import org.girardsimon.wealthpay.account.domain.model.TransactionId;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AccountApplicationService {
 
-  private static final Logger log = LoggerFactory.getLogger(AccountApplicationService.class);
-
   private final AccountEventStore accountEventStore;
-  private final AccountEventPublisher accountEventPublisher;
   private final ProcessedTransactionStore processedTransactionStore;
   private final ProcessedReservationStore processedReservationStore;
-  private final AccountSnapshotStore accountSnapshotStore;
+  private final AccountSnapshotWriter accountSnapshotWriter;
   private final Clock clock;
   private final AccountIdGenerator accountIdGenerator;
   private final EventIdGenerator eventIdGenerator;
   private final ReservationIdGenerator reservationIdGenerator;
-  private final int snapshotThreshold;
+  private final SnapshotPolicy snapshotPolicy;
+  private final SnapshotPolicyMetrics snapshotPolicyMetrics;
   private final AccountLoader accountLoader;
 
   public AccountApplicationService(
       AccountEventStore accountEventStore,
-      AccountEventPublisher accountEventPublisher,
       ProcessedTransactionStore processedTransactionStore,
       ProcessedReservationStore processedReservationStore,
-      AccountSnapshotStore accountSnapshotStore,
+      AccountSnapshotWriter accountSnapshotWriter,
       Clock clock,
       AccountIdGenerator accountIdGenerator,
       EventIdGenerator eventIdGenerator,
       ReservationIdGenerator reservationIdGenerator,
-      @Value("${account-event.snapshot.threshold}") int snapshotThreshold,
+      SnapshotPolicy snapshotPolicy,
+      SnapshotPolicyMetrics snapshotPolicyMetrics,
       AccountLoader accountLoader) {
-    if (snapshotThreshold <= 0) {
-      throw new IllegalArgumentException(
-          "Property account-event.snapshot.threshold must be > 0 but was " + snapshotThreshold);
-    }
     this.accountEventStore = accountEventStore;
-    this.accountEventPublisher = accountEventPublisher;
     this.processedTransactionStore = processedTransactionStore;
     this.processedReservationStore = processedReservationStore;
-    this.accountSnapshotStore = accountSnapshotStore;
+    this.accountSnapshotWriter = accountSnapshotWriter;
     this.clock = clock;
     this.accountIdGenerator = accountIdGenerator;
     this.eventIdGenerator = eventIdGenerator;
     this.reservationIdGenerator = reservationIdGenerator;
-    this.snapshotThreshold = snapshotThreshold;
+    this.snapshotPolicy = snapshotPolicy;
+    this.snapshotPolicyMetrics = snapshotPolicyMetrics;
     this.accountLoader = accountLoader;
   }
 
@@ -90,54 +96,45 @@ public class AccountApplicationService {
   }
 
   private void saveEvents(Account account, long expectedVersion, List<AccountEvent> accountEvents) {
-    persistEvents(account.getId(), expectedVersion, accountEvents);
-    if (account.getVersion() / snapshotThreshold > expectedVersion / snapshotThreshold) {
-      try {
-        accountSnapshotStore.saveSnapshot(Account.toSnapshot(account));
-      } catch (RuntimeException e) {
-        // Snapshot is a performance optimization and must not block the critical path.
-        // Catch is intentionally narrowed to RuntimeException — Errors (OOM, StackOverflow)
-        // and any future checked-exception path remain unhandled, which is the correct
-        // behavior for genuinely unrecoverable failures.
-        log.warn("Failed to save snapshot for account {}", account.getId(), e);
-      }
+    accountEventStore.appendEvents(account.getId(), expectedVersion, accountEvents);
+    accountLoader.cacheOnCommit(account);
+    boolean snapshot = snapshotPolicy.shouldSnapshot(account, expectedVersion);
+    snapshotPolicyMetrics.recordDecision(snapshot);
+    if (snapshot) {
+      accountSnapshotWriter.saveOnCommit(Account.toSnapshot(account));
     }
   }
 
-  private void persistEvents(
-      AccountId accountId, long expectedVersion, List<AccountEvent> accountEvents) {
-    accountEventStore.appendEvents(accountId, expectedVersion, accountEvents);
-    accountEventPublisher.publish(accountEvents);
-  }
-
   @Transactional
   @CommandMetric(command = "open")
   public AccountId openAccount(OpenAccount openAccount) {
     AccountId accountId = accountIdGenerator.newId();
     HandleResult result =
         Account.handle(openAccount, accountId, eventIdGenerator, Instant.now(clock));
-    persistEvents(accountId, 0L, result.events());
+    accountEventStore.appendEvents(accountId, 0L, result.events());
     return accountId;
   }
 
   @Transactional
   @CommandMetric(command = "close")
-  public TransactionStatus closeAccount(CloseAccount closeAccount) {
+  @RetryOnConflict
+  public TransactionResult closeAccount(CloseAccount closeAccount) {
     Account account = accountLoader.loadAccount(closeAccount.accountId());
 
     HandleResult handleResult = account.handle(closeAccount, eventIdGenerator, Instant.now(clock));
 
     if (!handleResult.hasEffect()) {
-      return TransactionStatus.NO_EFFECT;
+      return TransactionResult.noEffect(account.getVersion());
     }
     List<AccountEvent> events = handleResult.events();
     long versionBeforeEvents = versionBeforeEvents(account, events);
     saveEvents(account, versionBeforeEvents, events);
-    return TransactionStatus.COMMITTED;
+    return TransactionResult.committed(account.getVersion());
   }
 
   @Transactional
   @CommandMetric(command = "capture")
+  @RetryOnConflict
   public ReservationResponse captureReservation(CaptureReservation captureReservation) {
     return processReservation(
         captureReservation,
@@ -147,38 +144,41 @@ public class AccountApplicationService {
         (account, now) -> account.handle(captureReservation, eventIdGenerator, now));
   }
 
-  private TransactionStatus processTransaction(
+  private TransactionResult processTransaction(
       AccountTransaction command, BiFunction<Account, Instant, HandleResult> handler) {
     Instant now = Instant.now(clock);
     TransactionStatus status =
         processedTransactionStore.register(
             command.accountId(), command.transactionId(), command.fingerprint(), now);
     if (status == TransactionStatus.NO_EFFECT) {
-      return status;
+      return TransactionResult.replayed();
     }
     Account account = accountLoader.loadAccount(command.accountId());
     List<AccountEvent> events = handler.apply(account, now).events();
     long versionBeforeEvents = versionBeforeEvents(account, events);
     saveEvents(account, versionBeforeEvents, events);
-    return status;
+    return TransactionResult.committed(account.getVersion());
   }
 
   @Transactional
   @CommandMetric(command = "credit")
-  public TransactionStatus creditAccount(CreditAccount creditAccount) {
+  @RetryOnConflict
+  public TransactionResult creditAccount(CreditAccount creditAccount) {
     return processTransaction(
         creditAccount, (account, now) -> account.handle(creditAccount, eventIdGenerator, now));
   }
 
   @Transactional
   @CommandMetric(command = "debit")
-  public TransactionStatus debitAccount(DebitAccount debitAccount) {
+  @RetryOnConflict
+  public TransactionResult debitAccount(DebitAccount debitAccount) {
     return processTransaction(
         debitAccount, (account, now) -> account.handle(debitAccount, eventIdGenerator, now));
   }
 
   @Transactional
   @CommandMetric(command = "reserve")
+  @RetryOnConflict
   public ReserveFundsResponse reserveFunds(ReserveFunds reserveFunds) {
     Instant now = Instant.now(clock);
     AccountId accountId = reserveFunds.accountId();
@@ -190,7 +190,8 @@ public class AccountApplicationService {
     if (status == TransactionStatus.NO_EFFECT) {
       ReservationId reservationId =
           processedReservationStore.lookupReservation(accountId, transactionId);
-      return new ReserveFundsResponse(reservationId, ReservationResult.NO_EFFECT);
+      return new ReserveFundsResponse(
+          reservationId, ReservationResult.NO_EFFECT, OptionalLong.empty());
     } else {
       ReservationId reservationId = reservationIdGenerator.newId();
 
@@ -203,12 +204,186 @@ public class AccountApplicationService {
       processedReservationStore.register(
           accountId, transactionId, reservationId, ReservationPhase.RESERVED, now);
 
-      return new ReserveFundsResponse(reservationId, ReservationResult.RESERVED);
+      return new ReserveFundsResponse(
+          reservationId, ReservationResult.RESERVED, OptionalLong.of(account.getVersion()));
+    }
+  }
+
+  /**
+   * Runs several credit / debit / reserve commands for one account in a single transaction: one
+   * registration statement for all transaction ids, one load, the commands applied in order to the
+   * same in-memory aggregate, one append for all resulting events. Used by {@link
+   * AccountCommandBatcher}, in {@link CommandBatchMode#BEST_EFFORT} mode.
+   *
+   * <p>Each command keeps its standalone semantics. A replayed transaction id resolves to {@code
+   * NO_EFFECT}; a transaction id reused with another payload fails that command only. A domain
+   * rejection fails that command only as well: {@code handle} validates before mutating, so the
+   * aggregate is untouched, and the idempotency row registered for it is released. Anything else
+   * (load failure, optimistic conflict on append, database error) propagates and rolls back the
+   * whole batch; an optimistic conflict is then re-run from scratch by {@link RetryOnConflict}.
+   *
+   * <p>A successful command reports the aggregate version right after its own events, which the
+   * single append commits together with the rest of the batch.
+   */
+  @Transactional
+  @CommandMetric(command = "batch")
+  @RetryOnConflict
+  public List<CommandOutcome> processBatch(
+      AccountId accountId, List<? extends AccountTransaction> commands) {
+    return runBatch(accountId, commands, CommandBatchMode.BEST_EFFORT);
+  }
+
+  /**
+   * Same as {@link #processBatch(AccountId, List)}, except that in {@link CommandBatchMode#ATOMIC}
+   * mode the first failing command throws a {@link CommandBatchRejectedException} carrying its
+   * index, which rolls back the registrations and events of the whole batch.
+   */
+  @Transactional
+  @CommandMetric(command = "batch")
+  @RetryOnConflict
+  public List<CommandOutcome> processBatch(
+      AccountId accountId, List<? extends AccountTransaction> commands, CommandBatchMode mode) {
+    return runBatch(accountId, commands, mode);
+  }
+
+  private List<CommandOutcome> runBatch(
+      AccountId accountId, List<? extends AccountTransaction> commands, CommandBatchMode mode) {
+    List<AccountTransaction> firstOccurrences = new ArrayList<>(commands.size());
+    Set<TransactionId> transactionIds = new HashSet<>();
+    for (AccountTransaction command : commands) {
+      if (!command.accountId().equals(accountId)) {
+        throw new IllegalArgumentException(
+            "Batched command targets account %s but batch is for %s"
+                .formatted(command.accountId(), accountId));
+      }
+      if (transactionIds.add(command.transactionId())) {
+        firstOccurrences.add(command);
+      }
+    }
+
+    Instant now = Instant.now(clock);
+    Map<TransactionId, TransactionStatus> registered =
+        processedTransactionStore.registerAll(accountId, firstOccurrences, now);
+    // A transaction id repeated within the batch is registered again on its own, once the
+    // commands before it have run: it then resolves against the row they left, as across calls.
+    Set<TransactionId> resolved = new HashSet<>();
+    List<CommandOutcome> outcomes = new ArrayList<>(commands.size());
+    List<AccountEvent> events = new ArrayList<>();
+    Account account = null;
+
+    for (int index = 0; index < commands.size(); index++) {
+      AccountTransaction command = commands.get(index);
+      TransactionId transactionId = command.transactionId();
+      TransactionStatus status;
+      try {
+        status =
+            resolved.add(transactionId)
+                ? registeredStatus(accountId, transactionId, registered)
+                : processedTransactionStore.register(
+                    accountId, transactionId, command.fingerprint(), now);
+      } catch (TransactionIdConflictException e) {
+        outcomes.add(failure(mode, index, e));
+        continue;
+      }
+      if (status == TransactionStatus.NO_EFFECT) {
+        outcomes.add(CommandOutcome.success(noEffectResponse(command)));
+        continue;
+      }
+      if (account == null) {
+        account = accountLoader.loadAccount(accountId);
+      }
+      Object response;
+      try {
+        response = handleBatched(account, command, now, events);
+      } catch (AccountIdMismatchException
+          | AccountCurrencyMismatchException
+          | AmountMustBePositiveException
+          | AccountInactiveException
+          | InsufficientFundsException e) {
+        if (mode == CommandBatchMode.BEST_EFFORT) {
+          processedTransactionStore.release(accountId, transactionId);
+        }
+        outcomes.add(failure(mode, index, e));
+        continue;
+      }
+      if (response instanceof ReserveFundsResponse reserveFundsResponse) {
+        // Registered immediately (not after the append) so a replay of the same transaction id
+        // later in this batch can resolve its reservation id.
+        processedReservationStore.register(
+            accountId,
+            transactionId,
+            reserveFundsResponse.reservationId(),
+            ReservationPhase.RESERVED,
+            now);
+      }
+      outcomes.add(CommandOutcome.success(response));
+    }
+
+    if (!events.isEmpty()) {
+      saveEvents(account, versionBeforeEvents(account, events), events);
+    }
+    return outcomes;
+  }
+
+  private static TransactionStatus registeredStatus(
+      AccountId accountId,
+      TransactionId transactionId,
+      Map<TransactionId, TransactionStatus> registered) {
+    TransactionStatus status = registered.get(transactionId);
+    if (status == null) {
+      throw new TransactionIdConflictException(accountId, transactionId);
+    }
+    return status;
+  }
+
+  private static CommandOutcome failure(CommandBatchMode mode, int index, RuntimeException e) {
+    if (mode == CommandBatchMode.ATOMIC) {
+      throw new CommandBatchRejectedException(index, e);
+    }
+    return CommandOutcome.failure(e);
+  }
+
+  private Object noEffectResponse(AccountTransaction command) {
+    if (command instanceof ReserveFunds reserveFunds) {
+      ReservationId reservationId =
+          processedReservationStore.lookupReservation(
+              reserveFunds.accountId(), reserveFunds.transactionId());
+      return new ReserveFundsResponse(
+          reservationId, ReservationResult.NO_EFFECT, OptionalLong.empty());
     }
+    return TransactionResult.replayed();
+  }
+
+  /**
+   * Pure domain step. The domain rejections it may throw leave the aggregate untouched and are
+   * caught per command by {@code runBatch}; anything else propagates and fails the whole batch.
+   */
+  private Object handleBatched(
+      Account account, AccountTransaction command, Instant now, List<AccountEvent> events) {
+    return switch (command) {
+      case CreditAccount creditAccount -> {
+        events.addAll(account.handle(creditAccount, eventIdGenerator, now).events());
+        yield TransactionResult.committed(account.getVersion());
+      }
+      case DebitAccount debitAccount -> {
+        events.addAll(account.handle(debitAccount, eventIdGenerator, now).events());
+        yield TransactionResult.committed(account.getVersion());
+      }
+      case ReserveFunds reserveFunds -> {
+        ReservationId reservationId = reservationIdGenerator.newId();
+        events.addAll(account.handle(reserveFunds, eventIdGenerator, reservationId, now).events());
+        yield new ReserveFundsResponse(
+            reservationId, ReservationResult.RESERVED, OptionalLong.of(account.getVersion()));
+      }
+      default ->
+          throw new IllegalArgumentException(
+              "Unsupported batched command " + command.getClass().getSimpleName());
+    };
   }
 
   @Transactional
   @CommandMetric(command = "cancel")
+  @RetryOnConflict
   public ReservationResponse cancelReservation(CancelReservation cancelReservation) {
     return processReservation(
         cancelReservation,
@@ -232,7 +407,7 @@ public class AccountApplicationService {
     ReservationOutcome reservationOutcome = handler.apply(account, occurredAt);
 
     if (!reservationOutcome.hasEffect()) {
-      return checkIdempotence(accountId, reservationId, phaseValidator);
+      return checkIdempotence(accountId, reservationId, phaseValidator, account.getVersion());
     }
 
     List<AccountEvent> events = reservationOutcome.events();
@@ -241,11 +416,18 @@ public class AccountApplicationService {
     saveEvents(account, versionBeforeEvents, events);
     processedReservationStore.updatePhase(accountId, reservationId, targetPhase, occurredAt);
     return new ReservationResponse(
-        accountId, reservationId, reservationOutcome.reservedAmount(), expectedResult);
+        accountId,
+        reservationId,
+        reservationOutcome.reservedAmount(),
+        expectedResult,
+        account.getVersion());
   }
 
   private ReservationResponse checkIdempotence(
-      AccountId accountId, ReservationId reservationId, Consumer<ReservationPhase> phaseValidator) {
+      AccountId accountId,
+      ReservationId reservationId,
+      Consumer<ReservationPhase> phaseValidator,
+      long version) {
     ReservationPhase reservationPhase =
         processedReservationStore
             .lookupPhase(accountId, reservationId)
@@ -259,6 +441,6 @@ public class AccountApplicationService {
     phaseValidator.accept(reservationPhase);
 
     return new ReservationResponse(
-        accountId, reservationId, Optional.empty(), ReservationResult.NO_EFFECT);
+        accountId, reservationId, Optional.empty(), ReservationResult.NO_EFFECT, version);
   }
 }
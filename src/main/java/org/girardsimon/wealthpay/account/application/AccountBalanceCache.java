@@ -0,0 +1,30 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.Optional;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+
+/**
+ * In-process cache of committed {@code account_balance_view} rows, read by {@link
+ * AccountReadService} before the database.
+ *
+ * <p>The projector is the only writer of the view: it writes every row it commits through to this
+ * cache, and tells the other replicas, which {@link #invalidate} their older entries. Versions
+ * order everything: an entry never regresses, and a view read before an invalidation it raced with
+ * is refused rather than cached.
+ */
+public interface AccountBalanceCache {
+  Optional<AccountBalanceView> get(AccountId accountId);
+
+  /**
+   * Stores the view unless a view of an equal or higher version is cached, or the account is known
+   * to have been committed past it.
+   */
+  void put(AccountBalanceView view);
+
+  /** The view of {@code accountId} was committed at {@code version}: drops older entries. */
+  void invalidate(AccountId accountId, long version);
+
+  /** The whole view was replaced (rebuild, lost notifications): drops every entry. */
+  void invalidateAll();
+}
@@ -1,9 +1,29 @@
 package org.girardsimon.wealthpay.account.application;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
 
+/**
+ * Applies account events to the balance read model. Every method returns the ids of the events it
+ * skipped because the view was already projected at or past their version, e.g. on redelivery.
+ */
 public interface AccountBalanceProjector {
 
-  void project(List<AccountEvent> events);
+  Set<EventId> project(List<AccountEvent> events);
+
+  /**
+   * Projects several accounts in a single transaction. Each list holds one account's events in
+   * version order, as {@link #project} expects; a failure rolls back every account of the call.
+   */
+  Set<EventId> projectAll(Collection<List<AccountEvent>> eventsByAccount);
+
+  /**
+   * {@link #projectAll(Collection)}, storing {@code checkpoint} in the same transaction: the stored
+   * position never runs ahead of, nor lags behind, the rows it accounts for.
+   */
+  Set<EventId> projectAll(
+      Collection<List<AccountEvent>> eventsByAccount, ProjectionCheckpoint checkpoint);
 }
@@ -1,8 +1,17 @@
 package org.girardsimon.wealthpay.account.application;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
 import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 
 public interface AccountBalanceReader {
   AccountBalanceView getAccountBalance(AccountId accountId);
+
+  /** The version of the account's view only, empty when the account has no view. */
+  Optional<Long> findAccountVersion(AccountId accountId);
+
+  /** The views of the requested accounts that exist; unknown ids are simply absent. */
+  Map<AccountId, AccountBalanceView> getAccountBalances(Collection<AccountId> accountIds);
 }
@@ -0,0 +1,80 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.girardsimon.wealthpay.account.application.metric.AccountBalanceStreamMetrics;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM fan-out of committed balance views to streaming subscribers: the projector {@link #publish
+ * publishes} every view it commits, and each {@link AccountBalanceSubscription} of that account
+ * receives it in its own buffer of {@code account.balance-stream.buffer-size} views.
+ *
+ * <p>Only projections committed by this instance are published; subscribers connected to another
+ * replica are fed by that replica's projector.
+ */
+@Component
+public class AccountBalanceStream {
+
+  private final ConcurrentHashMap<AccountId, Set<AccountBalanceSubscription>> subscriptions =
+      new ConcurrentHashMap<>();
+  private final AccountBalanceStreamMetrics accountBalanceStreamMetrics;
+  private final int bufferSize;
+
+  public AccountBalanceStream(
+      AccountBalanceStreamMetrics accountBalanceStreamMetrics,
+      @Value("${account.balance-stream.buffer-size}") int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.balance-stream.buffer-size must be > 0 but was " + bufferSize);
+    }
+    this.accountBalanceStreamMetrics = accountBalanceStreamMetrics;
+    this.bufferSize = bufferSize;
+  }
+
+  /** Called once {@code view} is committed. Never blocks, whatever the subscribers' pace. */
+  public void publish(AccountBalanceView view) {
+    Set<AccountBalanceSubscription> subscribers = subscriptions.get(view.accountId());
+    if (subscribers == null) {
+      return;
+    }
+    for (AccountBalanceSubscription subscription : subscribers) {
+      for (int dropped = subscription.offer(view); dropped > 0; dropped--) {
+        accountBalanceStreamMetrics.dropped();
+      }
+    }
+  }
+
+  /** Views committed from now on; close the subscription to stop receiving them. */
+  public AccountBalanceSubscription subscribe(AccountId accountId) {
+    AccountBalanceSubscription subscription =
+        new AccountBalanceSubscription(accountId, bufferSize, this);
+    subscriptions.compute(
+        accountId,
+        (_, subscribers) -> {
+          Set<AccountBalanceSubscription> target =
+              subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+          target.add(subscription);
+          return target;
+        });
+    accountBalanceStreamMetrics.subscribed();
+    return subscription;
+  }
+
+  void unsubscribe(AccountBalanceSubscription subscription) {
+    subscriptions.computeIfPresent(
+        subscription.accountId(),
+        (_, subscribers) -> {
+          subscribers.remove(subscription);
+          return subscribers.isEmpty() ? null : subscribers;
+        });
+    accountBalanceStreamMetrics.unsubscribed();
+  }
+
+  int subscriberCount() {
+    return subscriptions.values().stream().mapToInt(Set::size).sum();
+  }
+}
@@ -0,0 +1,58 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+
+/**
+ * One subscriber's view of an {@link AccountBalanceStream}: a bounded buffer filled by the
+ * projector and drained by the subscriber, typically from its own virtual thread.
+ *
+ * <p>Publishing never blocks. When the buffer is full, the oldest pending view is dropped to make
+ * room: every view is a full snapshot of the balance, so a slow subscriber skips intermediate
+ * versions but always ends up with the latest one.
+ */
+public final class AccountBalanceSubscription implements AutoCloseable {
+
+  private final AccountId accountId;
+  private final ArrayBlockingQueue<AccountBalanceView> buffer;
+  private final AccountBalanceStream stream;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  AccountBalanceSubscription(AccountId accountId, int bufferSize, AccountBalanceStream stream) {
+    this.accountId = accountId;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.stream = stream;
+  }
+
+  public AccountId accountId() {
+    return accountId;
+  }
+
+  /** The next committed view, or empty if none was published within {@code timeout}. */
+  public Optional<AccountBalanceView> next(Duration timeout) throws InterruptedException {
+    return Optional.ofNullable(buffer.poll(timeout.toNanos(), TimeUnit.NANOSECONDS));
+  }
+
+  /** Buffers {@code view} and returns how many older views were dropped to make room. */
+  int offer(AccountBalanceView view) {
+    int dropped = 0;
+    while (!buffer.offer(view)) {
+      if (buffer.poll() != null) {
+        dropped++;
+      }
+    }
+    return dropped;
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      stream.unsubscribe(this);
+    }
+  }
+}
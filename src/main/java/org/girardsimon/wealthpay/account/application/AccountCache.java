@@ -0,0 +1,22 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.Optional;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+
+/**
+ * In-process cache of committed aggregate state, keyed by account id.
+ *
+ * <p>Entries are {@link AccountSnapshot}s (immutable) rather than live {@code Account} instances so
+ * that concurrent commands never share mutable aggregate state. A cached entry is never trusted on
+ * its own: callers must check the event store for events after {@link AccountSnapshot#version()}
+ * before using it.
+ */
+public interface AccountCache {
+  Optional<AccountSnapshot> get(AccountId accountId);
+
+  /** Stores the snapshot unless an entry with an equal or higher version is already cached. */
+  void put(AccountSnapshot accountSnapshot);
+
+  void evict(AccountId accountId);
+}
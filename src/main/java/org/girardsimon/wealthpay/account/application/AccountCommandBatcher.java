@@ -0,0 +1,219 @@
+package org.girardsimon.wealthpay.account.application;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.girardsimon.wealthpay.account.application.metric.AccountCommandBatchMetrics;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
+import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
+import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
+import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.command.ReserveFunds;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Entry point for credit, debit and reserve commands, with opt-in per-account group commit ({@code
+ * account.command-batching.enabled}).
+ *
+ * <p>When disabled, every call is a plain delegation to {@link AccountApplicationService}: one
+ * command, one transaction.
+ *
+ * <p>When enabled, commands are queued per {@link AccountId}. The first command to find an
+ * account's queue empty starts a drainer on a virtual thread; the drainer waits {@code
+ * account.command-batching.window} for concurrent commands to join, then hands up to {@code
+ * account.command-batching.max-batch-size} of them to {@link
+ * AccountApplicationService#processBatch} — one load, one append, one commit — and loops until the
+ * queue is empty. Commands arriving while a batch commits are picked up by the next iteration, so
+ * under sustained load batches form naturally without waiting for the window again. Calling threads
+ * block on their own future and get back exactly what the unbatched call would have returned or
+ * thrown, and each command is still measured under its own {@code @CommandMetric} tag.
+ *
+ * <p>The point is hot accounts: without batching, concurrent writers to one account serialize on
+ * the event-store version and most of them lose with an optimistic conflict. With batching, the
+ * in-JVM queue does the serialization and throughput is bounded by commit latency divided by batch
+ * size. Writers on other replicas, and capture/cancel/close commands, still go through the
+ * optimistic check; a conflict re-runs the whole batch ({@code @RetryOnConflict}), and once retries
+ * are exhausted each caller receives the exception.
+ */
+@Service
+public class AccountCommandBatcher {
+
+  private final AccountApplicationService accountApplicationService;
+  private final AccountCommandBatchMetrics accountCommandBatchMetrics;
+  private final boolean enabled;
+  private final Duration window;
+  private final int maxBatchSize;
+
+  private final ConcurrentHashMap<AccountId, ArrayDeque<PendingCommand>> queues =
+      new ConcurrentHashMap<>();
+  private final ExecutorService drainers =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("account-batch-", 0).factory());
+
+  public AccountCommandBatcher(
+      AccountApplicationService accountApplicationService,
+      AccountCommandBatchMetrics accountCommandBatchMetrics,
+      @Value("${account.command-batching.enabled}") boolean enabled,
+      @Value("${account.command-batching.window}") Duration window,
+      @Value("${account.command-batching.max-batch-size}") int maxBatchSize) {
+    if (window.isNegative()) {
+      throw new IllegalArgumentException(
+          "Property account.command-batching.window must be >= 0 but was " + window);
+    }
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.command-batching.max-batch-size must be > 0 but was " + maxBatchSize);
+    }
+    this.accountApplicationService = accountApplicationService;
+    this.accountCommandBatchMetrics = accountCommandBatchMetrics;
+    this.enabled = enabled;
+    this.window = window;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public TransactionResult creditAccount(CreditAccount creditAccount) {
+    if (!enabled) {
+      return accountApplicationService.creditAccount(creditAccount);
+    }
+    return (TransactionResult) submit("credit", creditAccount);
+  }
+
+  public TransactionResult debitAccount(DebitAccount debitAccount) {
+    if (!enabled) {
+      return accountApplicationService.debitAccount(debitAccount);
+    }
+    return (TransactionResult) submit("debit", debitAccount);
+  }
+
+  public ReserveFundsResponse reserveFunds(ReserveFunds reserveFunds) {
+    if (!enabled) {
+      return accountApplicationService.reserveFunds(reserveFunds);
+    }
+    return (ReserveFundsResponse) submit("reserve", reserveFunds);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    drainers.close();
+  }
+
+  /** {@code commandName} is the {@code @CommandMetric} tag of the unbatched call. */
+  private Object submit(String commandName, AccountTransaction command) {
+    AccountId accountId = command.accountId();
+    PendingCommand pendingCommand = new PendingCommand(command, new CompletableFuture<>());
+    long submittedAt = System.nanoTime();
+    pendingCommand
+        .result()
+        .whenComplete(
+            (response, failure) ->
+                accountCommandBatchMetrics.recordCommand(
+                    commandName,
+                    Duration.ofNanos(System.nanoTime() - submittedAt),
+                    response,
+                    failure));
+    boolean[] startDrainer = {false};
+    queues.compute(
+        accountId,
+        (_, queue) -> {
+          ArrayDeque<PendingCommand> target = queue;
+          if (target == null) {
+            target = new ArrayDeque<>();
+            startDrainer[0] = true;
+          }
+          target.add(pendingCommand);
+          return target;
+        });
+    if (startDrainer[0]) {
+      drainers.execute(() -> drain(accountId));
+    }
+    return await(pendingCommand.result());
+  }
+
+  private void drain(AccountId accountId) {
+    pauseForWindow();
+    List<PendingCommand> batch = nextBatch(accountId);
+    while (!batch.isEmpty()) {
+      execute(accountId, batch);
+      batch = nextBatch(accountId);
+    }
+  }
+
+  /**
+   * Takes up to {@code maxBatchSize} queued commands. When none are left the queue is removed in
+   * the same atomic step, so the next submitter starts a fresh drainer and no command can be
+   * stranded in a queue nobody drains.
+   */
+  private List<PendingCommand> nextBatch(AccountId accountId) {
+    List<PendingCommand> batch = new ArrayList<>();
+    queues.computeIfPresent(
+        accountId,
+        (_, queue) -> {
+          while (batch.size() < maxBatchSize && !queue.isEmpty()) {
+            batch.add(queue.poll());
+          }
+          return batch.isEmpty() ? null : queue;
+        });
+    return batch;
+  }
+
+  private void execute(AccountId accountId, List<PendingCommand> batch) {
+    accountCommandBatchMetrics.recordBatchSize(batch.size());
+    try {
+      List<CommandOutcome> outcomes =
+          accountApplicationService.processBatch(
+              accountId, batch.stream().map(PendingCommand::command).toList());
+      for (int i = 0; i < batch.size(); i++) {
+        CommandOutcome outcome = outcomes.get(i);
+        CompletableFuture<Object> result = batch.get(i).result();
+        if (outcome.isFailure()) {
+          result.completeExceptionally(outcome.failure());
+        } else {
+          result.complete(outcome.response());
+        }
+      }
+    } catch (RuntimeException | Error e) {
+      batch.forEach(pendingCommand -> pendingCommand.result().completeExceptionally(e));
+    }
+  }
+
+  private void pauseForWindow() {
+    if (window.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(window);
+    } catch (InterruptedException _) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Object await(CompletableFuture<Object> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for batched command", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException("Batched command failed", cause);
+    }
+  }
+
+  private record PendingCommand(AccountTransaction command, CompletableFuture<Object> result) {}
+}
@@ -1,6 +1,7 @@
 package org.girardsimon.wealthpay.account.application;
 
 import java.util.List;
+import java.util.stream.Stream;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 
@@ -10,5 +11,12 @@ public interface AccountEventStore {
 
   List<AccountEvent> loadEventsAfterVersion(AccountId accountId, long version);
 
+  /**
+   * Events after {@code version}, in version order, read lazily: only a bounded window of rows is
+   * held at a time, however long the history. The stream holds a database cursor and must be
+   * closed; inside a transaction, so that the cursor can fetch in batches.
+   */
+  Stream<AccountEvent> streamEventsAfterVersion(AccountId accountId, long version);
+
   void appendEvents(AccountId accountId, long expectedVersion, List<AccountEvent> events);
 }
@@ -0,0 +1,14 @@
+package org.girardsimon.wealthpay.account.application;
+
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
+
+public interface AccountHistoryReader {
+
+  /**
+   * Reads one page of the account's history from the event store, seeking on {@code (account_id,
+   * version)} past {@code afterVersion}: the cost of a page does not depend on how deep it is. An
+   * account without events has an empty history.
+   */
+  AccountHistoryPage readHistory(AccountHistoryQuery query);
+}
@@ -2,33 +2,136 @@ package org.girardsimon.wealthpay.account.application;
 
 import io.micrometer.observation.annotation.Observed;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.application.metric.AccountCacheMetrics;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.model.Account;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Rebuilds an {@link Account} aggregate, preferring the in-process {@link AccountCache}, then the
+ * persisted snapshot, then a full replay.
+ *
+ * <p>A cache entry only ever holds committed state: it is written from an {@code afterCommit}
+ * callback ({@link #cacheOnCommit}) and evicted when the surrounding transaction does not commit
+ * (optimistic conflict, domain rejection, any rollback). Even so, a hit is always re-validated with
+ * {@link AccountEventStore#loadEventsAfterVersion} — another replica may have appended since — so
+ * the cache trades a full snapshot read and deserialization for a single index probe that is
+ * usually empty.
+ */
 @Service
 public class AccountLoader {
 
   private final AccountEventStore accountEventStore;
   private final AccountSnapshotStore accountSnapshotStore;
+  private final AccountCache accountCache;
+  private final AccountCacheMetrics accountCacheMetrics;
+  private final RehydrationCostTracker rehydrationCostTracker;
 
   public AccountLoader(
-      AccountEventStore accountEventStore, AccountSnapshotStore accountSnapshotStore) {
+      AccountEventStore accountEventStore,
+      AccountSnapshotStore accountSnapshotStore,
+      AccountCache accountCache,
+      AccountCacheMetrics accountCacheMetrics,
+      RehydrationCostTracker rehydrationCostTracker) {
     this.accountEventStore = accountEventStore;
     this.accountSnapshotStore = accountSnapshotStore;
+    this.accountCache = accountCache;
+    this.accountCacheMetrics = accountCacheMetrics;
+    this.rehydrationCostTracker = rehydrationCostTracker;
   }
 
   @Observed(name = "account.load")
   public Account loadAccount(AccountId accountId) {
-    return accountSnapshotStore
-        .load(accountId)
-        .map(
-            accountSnapshot -> {
-              List<AccountEvent> eventsAfterSnapshot =
-                  accountEventStore.loadEventsAfterVersion(accountId, accountSnapshot.version());
-              return Account.rehydrateFromSnapshot(accountSnapshot, eventsAfterSnapshot);
-            })
-        .orElseGet(() -> Account.rehydrate(accountEventStore.loadEvents(accountId)));
+    Account account =
+        accountCache
+            .get(accountId)
+            .map(cachedSnapshot -> loadFromCache(accountId, cachedSnapshot))
+            .orElseGet(
+                () -> {
+                  accountCacheMetrics.recordMiss();
+                  return loadFromStore(accountId);
+                });
+    evictOnRollback(accountId);
+    return account;
+  }
+
+  /**
+   * Publishes the aggregate's current state to the cache once the surrounding transaction commits.
+   * Outside a transaction the state is assumed committed and cached immediately.
+   */
+  public void cacheOnCommit(Account account) {
+    AccountSnapshot accountSnapshot = Account.toSnapshot(account);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      accountCache.put(accountSnapshot);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            accountCache.put(accountSnapshot);
+          }
+        });
+  }
+
+  private Account loadFromCache(AccountId accountId, AccountSnapshot cachedSnapshot) {
+    List<AccountEvent> eventsAfterCache =
+        accountEventStore.loadEventsAfterVersion(accountId, cachedSnapshot.version());
+    if (eventsAfterCache.isEmpty()) {
+      accountCacheMetrics.recordHit();
+    } else {
+      accountCacheMetrics.recordStale();
+    }
+    return Account.rehydrateFromSnapshot(cachedSnapshot, eventsAfterCache);
+  }
+
+  /**
+   * Loads from the persisted snapshot (if any) and replays the events after it. Fetching and
+   * applying that tail is what a snapshot policy tries to bound, so it is timed and reported to
+   * {@link RehydrationCostTracker}.
+   *
+   * <p>The tail is streamed straight into the aggregate, so a missing or stale snapshot costs
+   * replay time but not memory proportional to the history. Versions are contiguous, so the number
+   * of events replayed is the version gap rather than a count kept alongside the stream.
+   */
+  private Account loadFromStore(AccountId accountId) {
+    Optional<AccountSnapshot> accountSnapshot = accountSnapshotStore.load(accountId);
+    long snapshotVersion = accountSnapshot.map(AccountSnapshot::version).orElse(0L);
+    long replayStart = System.nanoTime();
+    Account account;
+    try (Stream<AccountEvent> events =
+        accountEventStore.streamEventsAfterVersion(accountId, snapshotVersion)) {
+      account =
+          accountSnapshot
+              .map(snapshot -> Account.rehydrateFromSnapshot(snapshot, events))
+              .orElseGet(() -> Account.rehydrate(events));
+    }
+    rehydrationCostTracker.recordReplay(
+        accountId,
+        snapshotVersion,
+        Math.toIntExact(account.getVersion() - snapshotVersion),
+        System.nanoTime() - replayStart);
+    return account;
+  }
+
+  private void evictOnRollback(AccountId accountId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) {
+              accountCache.evict(accountId);
+            }
+          }
+        });
   }
 }
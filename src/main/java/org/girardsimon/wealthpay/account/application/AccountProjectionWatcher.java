@@ -0,0 +1,69 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM rendezvous between the balance projector and readers waiting for their own write: {@link
+ * AccountReadService#getAccountBalance(AccountId, long)} registers the version it needs, the
+ * projector reports every version it commits ({@link #projected}), and matching waiters are woken.
+ *
+ * <p>Projections committed by this instance are reported, and, with {@code
+ * account.balance-cache.enabled}, those other replicas notify over Postgres. A reader whose
+ * notification is lost, or who runs without the cache, relies on the read service's periodic
+ * re-check.
+ */
+@Component
+public class AccountProjectionWatcher {
+
+  private final ConcurrentHashMap<AccountId, List<Watch>> watches = new ConcurrentHashMap<>();
+
+  private record Watch(long minVersion, CompletableFuture<Void> projected) {}
+
+  /** Called once the balance view of {@code accountId} is committed at {@code version}. */
+  public void projected(AccountId accountId, long version) {
+    watches.computeIfPresent(
+        accountId,
+        (_, pending) -> {
+          pending.removeIf(
+              watch -> {
+                if (watch.minVersion() > version) {
+                  return false;
+                }
+                watch.projected().complete(null);
+                return true;
+              });
+          return pending.isEmpty() ? null : pending;
+        });
+  }
+
+  /** Completes once {@code accountId} is reported projected at {@code minVersion} or later. */
+  CompletableFuture<Void> watch(AccountId accountId, long minVersion) {
+    Watch watch = new Watch(minVersion, new CompletableFuture<>());
+    watches.compute(
+        accountId,
+        (_, pending) -> {
+          List<Watch> target = pending != null ? pending : new ArrayList<>();
+          target.add(watch);
+          return target;
+        });
+    return watch.projected();
+  }
+
+  void unwatch(AccountId accountId, CompletableFuture<Void> projected) {
+    watches.computeIfPresent(
+        accountId,
+        (_, pending) -> {
+          pending.removeIf(watch -> watch.projected() == projected);
+          return pending.isEmpty() ? null : pending;
+        });
+  }
+
+  int watchCount() {
+    return watches.values().stream().mapToInt(List::size).sum();
+  }
+}
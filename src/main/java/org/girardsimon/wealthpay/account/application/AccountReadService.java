@@ -1,7 +1,22 @@
 package org.girardsimon.wealthpay.account.application;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
+import org.girardsimon.wealthpay.account.domain.exception.AccountBalanceNotFoundException;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,13 +24,160 @@ import org.springframework.transaction.annotation.Transactional;
 public class AccountReadService {
 
   private final AccountBalanceReader accountBalanceReader;
+  private final AccountBalanceCache accountBalanceCache;
+  private final AccountHistoryReader accountHistoryReader;
+  private final AccountProjectionWatcher accountProjectionWatcher;
+  private final Duration timeout;
+  private final Duration recheckInterval;
 
-  public AccountReadService(AccountBalanceReader accountBalanceReader) {
+  public AccountReadService(
+      AccountBalanceReader accountBalanceReader,
+      AccountBalanceCache accountBalanceCache,
+      AccountHistoryReader accountHistoryReader,
+      AccountProjectionWatcher accountProjectionWatcher,
+      @Value("${account.read-your-writes.timeout}") Duration timeout,
+      @Value("${account.read-your-writes.recheck-interval}") Duration recheckInterval) {
+    if (timeout.isNegative()) {
+      throw new IllegalArgumentException(
+          "Property account.read-your-writes.timeout must be >= 0 but was " + timeout);
+    }
+    if (recheckInterval.isNegative() || recheckInterval.isZero()) {
+      throw new IllegalArgumentException(
+          "Property account.read-your-writes.recheck-interval must be > 0 but was "
+              + recheckInterval);
+    }
     this.accountBalanceReader = accountBalanceReader;
+    this.accountBalanceCache = accountBalanceCache;
+    this.accountHistoryReader = accountHistoryReader;
+    this.accountProjectionWatcher = accountProjectionWatcher;
+    this.timeout = timeout;
+    this.recheckInterval = recheckInterval;
   }
 
-  @Transactional(readOnly = true)
+  /**
+   * Served from {@link AccountBalanceCache} when the account is cached, without touching the
+   * connection pool; otherwise read and cached. Not transactional, like {@link
+   * #findAccountVersion}: a transaction would borrow a connection before the cache is even looked
+   * at, and a single statement needs no {@code BEGIN}/{@code COMMIT} round trips.
+   */
   public AccountBalanceView getAccountBalance(AccountId accountId) {
-    return accountBalanceReader.getAccountBalance(accountId);
+    return accountBalanceCache.get(accountId).orElseGet(() -> readThrough(accountId));
+  }
+
+  /**
+   * The version the account's view is at, without reading or mapping the view: enough to validate
+   * an entity tag. Not transactional, like {@link #getAccountBalance(AccountId, long)}: a single
+   * statement needs no {@code BEGIN}/{@code COMMIT} round trips. A cached view answers it too.
+   */
+  public Optional<Long> findAccountVersion(AccountId accountId) {
+    return accountBalanceCache
+        .get(accountId)
+        .map(AccountBalanceView::version)
+        .or(() -> accountBalanceReader.findAccountVersion(accountId));
+  }
+
+  /**
+   * Batch variant of {@link #getAccountBalance(AccountId)}: cached accounts are served from {@link
+   * AccountBalanceCache}, the others in one read, then cached. Accounts without a view are absent
+   * from the result rather than failing the call.
+   */
+  public Map<AccountId, AccountBalanceView> getAccountBalances(Collection<AccountId> accountIds) {
+    Map<AccountId, AccountBalanceView> views = HashMap.newHashMap(accountIds.size());
+    List<AccountId> misses = new ArrayList<>();
+    accountIds.forEach(
+        accountId ->
+            accountBalanceCache
+                .get(accountId)
+                .ifPresentOrElse(view -> views.put(accountId, view), () -> misses.add(accountId)));
+    if (!misses.isEmpty()) {
+      Map<AccountId, AccountBalanceView> read = accountBalanceReader.getAccountBalances(misses);
+      read.values().forEach(accountBalanceCache::put);
+      views.putAll(read);
+    }
+    return views;
+  }
+
+  @Transactional(readOnly = true)
+  public AccountHistoryPage getAccountHistory(AccountHistoryQuery query) {
+    return accountHistoryReader.readHistory(query);
+  }
+
+  /**
+   * Read-your-writes variant: the balance view once it reflects at least {@code minVersion} (the
+   * version a command returned), waiting up to {@code account.read-your-writes.timeout} for the
+   * projection to catch up.
+   *
+   * <p>The wait is a park on {@link AccountProjectionWatcher}, woken when this instance projects
+   * the account or, with {@code account.balance-cache.enabled}, is notified that another replica
+   * did, with a re-read every {@code account.read-your-writes.recheck-interval} as a fallback.
+   * Deliberately not transactional: each read is a single statement that borrows a connection only
+   * for its own duration, so a waiting request holds no connection, and on the request's virtual
+   * thread no platform thread either.
+   *
+   * <p>On timeout the latest view is returned as is: its version tells the caller it is still
+   * behind. An account not projected at all by then is reported as not found, like {@link
+   * #getAccountBalance(AccountId)}.
+   */
+  public AccountBalanceView getAccountBalance(AccountId accountId, long minVersion) {
+    CompletableFuture<Void> projected = accountProjectionWatcher.watch(accountId, minVersion);
+    try {
+      long deadline = System.nanoTime() + timeout.toNanos();
+      Optional<AccountBalanceView> view = findAccountBalance(accountId, minVersion);
+      while (isBehind(view, minVersion)) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          break;
+        }
+        if (projected.isDone()) {
+          // Woken, yet the read is still behind (view replaced meanwhile): watch again.
+          projected = accountProjectionWatcher.watch(accountId, minVersion);
+        }
+        awaitProjection(projected, Math.min(remaining, recheckInterval.toNanos()));
+        view = findAccountBalance(accountId, minVersion);
+      }
+      return view.orElseThrow(() -> new AccountBalanceNotFoundException(accountId));
+    } finally {
+      accountProjectionWatcher.unwatch(accountId, projected);
+    }
+  }
+
+  private static boolean isBehind(Optional<AccountBalanceView> view, long minVersion) {
+    return view.map(AccountBalanceView::version).orElse(0L) < minVersion;
+  }
+
+  /**
+   * A cached view behind {@code minVersion} is not conclusive: another replica may have committed
+   * the account, its notification not yet received. The database decides then.
+   */
+  private Optional<AccountBalanceView> findAccountBalance(AccountId accountId, long minVersion) {
+    Optional<AccountBalanceView> cached =
+        accountBalanceCache.get(accountId).filter(view -> view.version() >= minVersion);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    try {
+      return Optional.of(readThrough(accountId));
+    } catch (AccountBalanceNotFoundException _) {
+      return Optional.empty();
+    }
+  }
+
+  private AccountBalanceView readThrough(AccountId accountId) {
+    AccountBalanceView view = accountBalanceReader.getAccountBalance(accountId);
+    accountBalanceCache.put(view);
+    return view;
+  }
+
+  private static void awaitProjection(CompletableFuture<Void> projected, long timeoutNanos) {
+    try {
+      projected.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException _) {
+      // Re-check interval elapsed: read again in case another replica projected the account.
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for account projection", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Account projection watch failed", e.getCause());
+    }
   }
 }
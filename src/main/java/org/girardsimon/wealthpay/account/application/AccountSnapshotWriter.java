@@ -0,0 +1,146 @@
+package org.girardsimon.wealthpay.account.application;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.girardsimon.wealthpay.account.application.metric.AccountSnapshotWriterMetrics;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes account snapshots off the command path.
+ *
+ * <p>{@link #saveOnCommit} hands the snapshot over once the surrounding transaction commits, so a
+ * snapshot never describes state that was rolled back and a snapshot failure can no longer roll
+ * back events. Pending snapshots are coalesced per account — only the highest version waits — and
+ * written by a single background drainer through {@link AccountSnapshotStore}, whose upsert ignores
+ * versions older than the stored one.
+ *
+ * <p>Backpressure: at most {@code account-event.snapshot.writer.max-pending} accounts wait at once.
+ * A newer snapshot for an account already waiting always replaces the older one; a snapshot for
+ * another account is dropped while the queue is full. Dropping is safe: the loader replays a few
+ * more events, and the account's next threshold crossing schedules a fresh snapshot.
+ */
+@Component
+public class AccountSnapshotWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(AccountSnapshotWriter.class);
+
+  private final AccountSnapshotStore accountSnapshotStore;
+  private final AccountSnapshotWriterMetrics accountSnapshotWriterMetrics;
+  private final RehydrationCostTracker rehydrationCostTracker;
+  private final int maxPending;
+
+  private final ConcurrentHashMap<AccountId, AccountSnapshot> pending = new ConcurrentHashMap<>();
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final ExecutorService drainer =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("account-snapshot-", 0).factory());
+
+  public AccountSnapshotWriter(
+      AccountSnapshotStore accountSnapshotStore,
+      AccountSnapshotWriterMetrics accountSnapshotWriterMetrics,
+      RehydrationCostTracker rehydrationCostTracker,
+      @Value("${account-event.snapshot.writer.max-pending}") int maxPending) {
+    if (maxPending <= 0) {
+      throw new IllegalArgumentException(
+          "Property account-event.snapshot.writer.max-pending must be > 0 but was " + maxPending);
+    }
+    this.accountSnapshotStore = accountSnapshotStore;
+    this.accountSnapshotWriterMetrics = accountSnapshotWriterMetrics;
+    this.rehydrationCostTracker = rehydrationCostTracker;
+    this.maxPending = maxPending;
+    accountSnapshotWriterMetrics.registerPendingGauge(pending::size);
+  }
+
+  /**
+   * Schedules the snapshot once the surrounding transaction commits; nothing is scheduled on
+   * rollback. Outside a transaction the state is assumed committed and scheduled immediately.
+   */
+  public void saveOnCommit(AccountSnapshot accountSnapshot) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      schedule(accountSnapshot);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            schedule(accountSnapshot);
+          }
+        });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    drainer.close();
+  }
+
+  int pendingCount() {
+    return pending.size();
+  }
+
+  private void schedule(AccountSnapshot accountSnapshot) {
+    AccountId accountId = accountSnapshot.accountId();
+    if (pending.size() >= maxPending && !pending.containsKey(accountId)) {
+      accountSnapshotWriterMetrics.recordDropped();
+      log.debug("Snapshot queue full, dropping snapshot for account {}", accountId);
+      return;
+    }
+    pending.merge(
+        accountId,
+        accountSnapshot,
+        (queued, latest) -> latest.version() > queued.version() ? latest : queued);
+    rehydrationCostTracker.recordSnapshotScheduled(accountId, accountSnapshot.version());
+    startDrainer();
+  }
+
+  private void startDrainer() {
+    if (!draining.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      drainer.execute(this::drain);
+    } catch (RejectedExecutionException _) {
+      // Shutting down: whatever is still pending is dropped, the next start replays from events.
+      draining.set(false);
+    }
+  }
+
+  /**
+   * Writes until nothing is pending. The flag is cleared before the final emptiness check so a
+   * snapshot scheduled concurrently either is seen by this loop or starts a new drainer.
+   */
+  private void drain() {
+    do {
+      for (AccountId accountId : pending.keySet()) {
+        AccountSnapshot accountSnapshot = pending.remove(accountId);
+        if (accountSnapshot != null) {
+          write(accountSnapshot);
+        }
+      }
+      draining.set(false);
+    } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+  }
+
+  private void write(AccountSnapshot accountSnapshot) {
+    try {
+      long writeStart = System.nanoTime();
+      accountSnapshotStore.saveSnapshot(accountSnapshot);
+      rehydrationCostTracker.recordSnapshotWritten(
+          accountSnapshot.accountId(), accountSnapshot.version(), System.nanoTime() - writeStart);
+    } catch (RuntimeException e) {
+      // Snapshot is a performance optimization: log, count, and let the next crossing retry.
+      accountSnapshotWriterMetrics.recordFailed();
+      log.warn("Failed to save snapshot for account {}", accountSnapshot.accountId(), e);
+    }
+  }
+}
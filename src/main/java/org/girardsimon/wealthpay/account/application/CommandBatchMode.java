@@ -0,0 +1,9 @@
+package org.girardsimon.wealthpay.account.application;
+
+/** What a batch does with the commands around one that fails. */
+public enum CommandBatchMode {
+  /** The first failing command rolls back the whole batch. */
+  ATOMIC,
+  /** A failing command fails alone; the others are committed. */
+  BEST_EFFORT
+}
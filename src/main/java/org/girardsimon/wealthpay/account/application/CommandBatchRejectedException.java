@@ -0,0 +1,24 @@
+package org.girardsimon.wealthpay.account.application;
+
+/**
+ * Thrown to roll back a {@link CommandBatchMode#ATOMIC} batch when one of its commands is rejected.
+ * Not a domain error of its own: it carries the position of that command in the batch and, as its
+ * cause, the rejection the command met.
+ */
+public class CommandBatchRejectedException extends RuntimeException {
+
+  private final int index;
+
+  public CommandBatchRejectedException(int index, RuntimeException cause) {
+    super("Command %d of the batch was rejected: %s".formatted(index, cause.getMessage()), cause);
+    this.index = index;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public RuntimeException getRejection() {
+    return (RuntimeException) getCause();
+  }
+}
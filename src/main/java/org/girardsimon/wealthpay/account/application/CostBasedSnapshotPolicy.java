@@ -0,0 +1,81 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.girardsimon.wealthpay.account.application.RehydrationCostTracker.LastSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshots when replaying an account's tail would cost more than {@code
+ * account-event.snapshot.cost.max-replay}, using the costs observed by {@link
+ * RehydrationCostTracker}.
+ *
+ * <p>For an account whose last snapshot is known, with {@code n} events appended since:
+ *
+ * <ol>
+ *   <li>{@code n < min-events} — skip. Keeps cheap, bursty accounts from snapshotting on every few
+ *       commands.
+ *   <li>{@code n >= max-events} — snapshot. Hard cap, and the only rule that applies before any
+ *       replay cost has been measured.
+ *   <li>otherwise snapshot when {@code n × replay cost per event} reaches {@code max-replay} and is
+ *       at least the account's last snapshot write time — an account with a large snapshot (many
+ *       open reservations) is rewritten only once the replay it saves outweighs the write.
+ * </ol>
+ *
+ * <p>Accounts the tracker does not know fall back to one snapshot every {@code max-events} events.
+ */
+@Component
+@ConditionalOnProperty(name = "account-event.snapshot.policy", havingValue = "cost")
+public class CostBasedSnapshotPolicy implements SnapshotPolicy {
+
+  private final RehydrationCostTracker rehydrationCostTracker;
+  private final long maxReplayNanos;
+  private final int minEvents;
+  private final int maxEvents;
+
+  public CostBasedSnapshotPolicy(
+      RehydrationCostTracker rehydrationCostTracker,
+      @Value("${account-event.snapshot.cost.max-replay}") Duration maxReplay,
+      @Value("${account-event.snapshot.cost.min-events}") int minEvents,
+      @Value("${account-event.snapshot.cost.max-events}") int maxEvents) {
+    if (maxReplay.isNegative() || maxReplay.isZero()) {
+      throw new IllegalArgumentException(
+          "Property account-event.snapshot.cost.max-replay must be > 0 but was " + maxReplay);
+    }
+    if (minEvents <= 0) {
+      throw new IllegalArgumentException(
+          "Property account-event.snapshot.cost.min-events must be > 0 but was " + minEvents);
+    }
+    if (maxEvents < minEvents) {
+      throw new IllegalArgumentException(
+          "Property account-event.snapshot.cost.max-events must be >= min-events (%d) but was %d"
+              .formatted(minEvents, maxEvents));
+    }
+    this.rehydrationCostTracker = rehydrationCostTracker;
+    this.maxReplayNanos = maxReplay.toNanos();
+    this.minEvents = minEvents;
+    this.maxEvents = maxEvents;
+  }
+
+  @Override
+  public boolean shouldSnapshot(Account account, long previousVersion) {
+    long version = account.getVersion();
+    Optional<LastSnapshot> lastSnapshot = rehydrationCostTracker.lastSnapshot(account.getId());
+    if (lastSnapshot.isEmpty()) {
+      return version / maxEvents > previousVersion / maxEvents;
+    }
+    long eventsSinceSnapshot = version - lastSnapshot.get().version();
+    if (eventsSinceSnapshot < minEvents) {
+      return false;
+    }
+    if (eventsSinceSnapshot >= maxEvents) {
+      return true;
+    }
+    double estimatedReplayNanos = eventsSinceSnapshot * rehydrationCostTracker.nanosPerEvent();
+    return estimatedReplayNanos >= maxReplayNanos
+        && estimatedReplayNanos >= lastSnapshot.get().writeNanos();
+  }
+}
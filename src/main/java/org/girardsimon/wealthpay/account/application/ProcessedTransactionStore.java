@@ -1,11 +1,30 @@
 package org.girardsimon.wealthpay.account.application;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.TransactionId;
 
 public interface ProcessedTransactionStore {
   TransactionStatus register(
       AccountId accountId, TransactionId transactionId, String fingerprint, Instant occurredAt);
+
+  /**
+   * Registers several commands of one account at once, with the outcome {@link #register} would
+   * have had for each. Transaction ids must be distinct. A transaction id already registered with
+   * another fingerprint is left out of the returned map instead of throwing, so that the other
+   * commands still resolve.
+   */
+  Map<TransactionId, TransactionStatus> registerAll(
+      AccountId accountId, List<? extends AccountTransaction> commands, Instant occurredAt);
+
+  /**
+   * Removes a registration made earlier in the <em>current</em> transaction, for a command that was
+   * then rejected by the domain. Equivalent to what a rollback would have done for that command
+   * alone; the transaction id stays usable for a corrected retry.
+   */
+  void release(AccountId accountId, TransactionId transactionId);
 }
@@ -0,0 +1,14 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.Map;
+
+/**
+ * Position the projection has reached in its source once a batch is projected: for each partition
+ * of {@code topic}, the offset of the next record to consume.
+ */
+public record ProjectionCheckpoint(String topic, Map<Integer, Long> nextOffsets) {
+
+  public ProjectionCheckpoint {
+    nextOffsets = Map.copyOf(nextOffsets);
+  }
+}
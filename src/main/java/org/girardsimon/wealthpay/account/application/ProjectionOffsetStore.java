@@ -0,0 +1,24 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Consumer positions of the balance projection, kept next to the read model so that they move in
+ * the same transaction as the rows they account for.
+ */
+public interface ProjectionOffsetStore {
+
+  /**
+   * Next offset to consume for each of {@code partitions} of {@code topic} that has a stored
+   * position; partitions never checkpointed are absent.
+   */
+  Map<Integer, Long> nextOffsets(String topic, Collection<Integer> partitions);
+
+  /**
+   * Stores {@code checkpoint} in the current transaction. A position never moves backwards: a
+   * checkpoint behind the stored one, e.g. from an instance that has since lost the partition, is
+   * ignored.
+   */
+  void save(ProjectionCheckpoint checkpoint);
+}
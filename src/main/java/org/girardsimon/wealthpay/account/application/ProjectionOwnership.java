@@ -0,0 +1,18 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.Collection;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+
+/**
+ * Which accounts this instance is currently the single writer of in the balance read model. The
+ * outbox consumer reports the partition each account is consumed from and the partitions it loses
+ * on rebalance; the projection side may keep per-account state for owned accounts only.
+ */
+public interface ProjectionOwnership {
+
+  /** Records that {@code accountId}'s events are consumed here, from {@code partition}. */
+  void assign(AccountId accountId, int partition);
+
+  /** Forgets every account of partitions this instance no longer consumes. */
+  void release(Collection<Integer> partitions);
+}
@@ -0,0 +1,106 @@
+package org.girardsimon.wealthpay.account.application;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.girardsimon.wealthpay.account.application.metric.SnapshotPolicyMetrics;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * What a snapshot policy needs to know about rehydration cost, as observed by this instance.
+ *
+ * <ul>
+ *   <li>Replay cost per event — an exponentially weighted average of the fetch-and-apply time
+ *       {@link AccountLoader} measures on every store load, divided by the events replayed. Short
+ *       tails carry the fixed query overhead, which biases the estimate up; the bias makes the
+ *       policy snapshot slightly early, never late.
+ *   <li>Last snapshot per account — version and, once written, how long the write took. Write time
+ *       grows with the encoded size (open reservations), so it stands in for snapshot size.
+ * </ul>
+ *
+ * <p>At most {@code account-event.snapshot.cost.tracked-accounts} accounts are tracked; accounts
+ * beyond that are reported as unknown and the policy falls back to a fixed interval for them.
+ * Snapshots written by other instances are not seen, which only overestimates the replay tail.
+ */
+@Component
+public class RehydrationCostTracker {
+
+  private static final double SMOOTHING = 0.1;
+
+  private final SnapshotPolicyMetrics snapshotPolicyMetrics;
+  private final int trackedAccounts;
+
+  private final ConcurrentHashMap<AccountId, LastSnapshot> lastSnapshots =
+      new ConcurrentHashMap<>();
+  private final AtomicLong nanosPerEventBits = new AtomicLong(Double.doubleToLongBits(0d));
+
+  public RehydrationCostTracker(
+      SnapshotPolicyMetrics snapshotPolicyMetrics,
+      @Value("${account-event.snapshot.cost.tracked-accounts}") int trackedAccounts) {
+    if (trackedAccounts <= 0) {
+      throw new IllegalArgumentException(
+          "Property account-event.snapshot.cost.tracked-accounts must be > 0 but was "
+              + trackedAccounts);
+    }
+    this.snapshotPolicyMetrics = snapshotPolicyMetrics;
+    this.trackedAccounts = trackedAccounts;
+  }
+
+  /** Last snapshot of an account as seen by this instance: its version and write time, if known. */
+  public record LastSnapshot(long version, long writeNanos) {}
+
+  /**
+   * Records a load from the store: {@code eventsReplayed} events applied on top of the snapshot at
+   * {@code snapshotVersion} (0 for a full replay) in {@code replayNanos}.
+   */
+  public void recordReplay(
+      AccountId accountId, long snapshotVersion, int eventsReplayed, long replayNanos) {
+    snapshotPolicyMetrics.recordReplay(eventsReplayed, replayNanos);
+    track(accountId, snapshotVersion, -1L);
+    if (eventsReplayed > 0) {
+      double sample = (double) replayNanos / eventsReplayed;
+      nanosPerEventBits.updateAndGet(
+          bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0d ? sample : current + SMOOTHING * (sample - current);
+            return Double.doubleToLongBits(next);
+          });
+    }
+  }
+
+  public void recordSnapshotScheduled(AccountId accountId, long version) {
+    track(accountId, version, -1L);
+  }
+
+  public void recordSnapshotWritten(AccountId accountId, long version, long writeNanos) {
+    track(accountId, version, writeNanos);
+  }
+
+  public Optional<LastSnapshot> lastSnapshot(AccountId accountId) {
+    return Optional.ofNullable(lastSnapshots.get(accountId));
+  }
+
+  /** Average replay cost per event, or 0 while no load with a non-empty tail was observed. */
+  public double nanosPerEvent() {
+    return Double.longBitsToDouble(nanosPerEventBits.get());
+  }
+
+  /**
+   * Keeps the highest version seen. A negative {@code writeNanos} keeps the previous write time,
+   * which is still the best estimate of the next write for the same account.
+   */
+  private void track(AccountId accountId, long version, long writeNanos) {
+    if (lastSnapshots.size() >= trackedAccounts && !lastSnapshots.containsKey(accountId)) {
+      return;
+    }
+    lastSnapshots.merge(
+        accountId,
+        new LastSnapshot(version, Math.max(writeNanos, 0L)),
+        (previous, _) ->
+            new LastSnapshot(
+                Math.max(previous.version(), version),
+                writeNanos < 0 ? previous.writeNanos() : writeNanos));
+  }
+}
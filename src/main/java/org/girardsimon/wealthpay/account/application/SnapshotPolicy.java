@@ -0,0 +1,20 @@
+package org.girardsimon.wealthpay.account.application;
+
+import org.girardsimon.wealthpay.account.domain.model.Account;
+
+/**
+ * Decides, after each append, whether the account's new state should be snapshotted.
+ *
+ * <p>Selected with {@code account-event.snapshot.policy}: {@code threshold} ({@link
+ * ThresholdSnapshotPolicy}, default) or {@code cost} ({@link CostBasedSnapshotPolicy}). The
+ * decision only schedules a write through {@link AccountSnapshotWriter}; it never adds I/O to the
+ * command.
+ */
+public interface SnapshotPolicy {
+
+  /**
+   * @param account the aggregate with the command's events applied
+   * @param previousVersion the version the command's events were appended after
+   */
+  boolean shouldSnapshot(Account account, long previousVersion);
+}
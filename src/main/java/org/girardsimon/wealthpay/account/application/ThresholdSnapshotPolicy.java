@@ -0,0 +1,35 @@
+package org.girardsimon.wealthpay.account.application;
+
+import org.girardsimon.wealthpay.account.domain.model.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshots every {@code account-event.snapshot.threshold} events: whenever an append crosses a
+ * multiple of the threshold. Stateless and identical on every instance, but blind to how expensive
+ * an account's events actually are to replay.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "account-event.snapshot.policy",
+    havingValue = "threshold",
+    matchIfMissing = true)
+public class ThresholdSnapshotPolicy implements SnapshotPolicy {
+
+  private final int snapshotThreshold;
+
+  public ThresholdSnapshotPolicy(
+      @Value("${account-event.snapshot.threshold}") int snapshotThreshold) {
+    if (snapshotThreshold <= 0) {
+      throw new IllegalArgumentException(
+          "Property account-event.snapshot.threshold must be > 0 but was " + snapshotThreshold);
+    }
+    this.snapshotThreshold = snapshotThreshold;
+  }
+
+  @Override
+  public boolean shouldSnapshot(Account account, long previousVersion) {
+    return account.getVersion() / snapshotThreshold > previousVersion / snapshotThreshold;
+  }
+}
@@ -0,0 +1,46 @@
+package org.girardsimon.wealthpay.account.application.metric;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Open balance stream subscriptions ({@code wealthpay.account.balance_stream.subscribers}) and
+ * balance views dropped from the buffer of a slow subscriber ({@code
+ * wealthpay.account.balance_stream.dropped}). A dropped view was superseded by a newer one before
+ * the subscriber read it; a steadily growing count means subscribers cannot keep up with the
+ * projection and the buffer size is too small.
+ */
+@Component
+public class AccountBalanceStreamMetrics {
+
+  static final String SUBSCRIBERS_METRIC = "wealthpay.account.balance_stream.subscribers";
+  static final String DROPPED_METRIC = "wealthpay.account.balance_stream.dropped";
+
+  private final AtomicInteger subscribers = new AtomicInteger();
+  private final Counter dropped;
+
+  public AccountBalanceStreamMetrics(MeterRegistry meterRegistry) {
+    Gauge.builder(SUBSCRIBERS_METRIC, subscribers, AtomicInteger::get)
+        .description("Open balance stream subscriptions")
+        .register(meterRegistry);
+    this.dropped =
+        Counter.builder(DROPPED_METRIC)
+            .description("Balance views dropped from the buffer of a slow subscriber")
+            .register(meterRegistry);
+  }
+
+  public void subscribed() {
+    subscribers.incrementAndGet();
+  }
+
+  public void unsubscribed() {
+    subscribers.decrementAndGet();
+  }
+
+  public void dropped() {
+    dropped.increment();
+  }
+}
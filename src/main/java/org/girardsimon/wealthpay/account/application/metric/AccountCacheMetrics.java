@@ -0,0 +1,53 @@
+package org.girardsimon.wealthpay.account.application.metric;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts aggregate cache lookups performed by {@code AccountLoader}, tagged by result.
+ *
+ * <ul>
+ *   <li>{@code hit} — cached state was current; only the (empty) tail query hit the database.
+ *   <li>{@code stale} — cached state was behind the event store; the tail was replayed on top.
+ *   <li>{@code miss} — nothing cached; the regular snapshot/full-replay path was taken.
+ * </ul>
+ *
+ * <p>Lives in {@code application.metric} because it is the only application sub-package allowed to
+ * touch the Micrometer runtime API. Recording failures are logged and swallowed, same as {@link
+ * CommandMetricAspect}.
+ */
+@Component
+public class AccountCacheMetrics {
+
+  static final String METRIC_NAME = "wealthpay.account.cache.lookup";
+
+  private static final Logger log = LoggerFactory.getLogger(AccountCacheMetrics.class);
+
+  private final MeterRegistry meterRegistry;
+
+  public AccountCacheMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void recordHit() {
+    recordSafely("hit");
+  }
+
+  public void recordStale() {
+    recordSafely("stale");
+  }
+
+  public void recordMiss() {
+    recordSafely("miss");
+  }
+
+  private void recordSafely(String result) {
+    try {
+      meterRegistry.counter(METRIC_NAME, "result", result).increment();
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record account cache metric (result={})", result, meterFailure);
+    }
+  }
+}
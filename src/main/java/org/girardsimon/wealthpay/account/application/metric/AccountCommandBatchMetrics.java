@@ -0,0 +1,62 @@
+package org.girardsimon.wealthpay.account.application.metric;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how many commands each group commit carried. A distribution stuck at 1 under load means
+ * the batching window is too short (or the traffic is not hot-account shaped); a distribution
+ * pinned at the configured maximum means the window or maximum could grow.
+ *
+ * <p>Also records each batched command in {@code wealthpay.account.command}, under its own command
+ * tag and the outcome {@link CommandMetricAspect} would give its unbatched call: the aspect only
+ * sees the group commit, tagged {@code command=batch}.
+ *
+ * <p>Recording failures are logged and swallowed, same as {@link CommandMetricAspect}.
+ */
+@Component
+public class AccountCommandBatchMetrics {
+
+  static final String METRIC_NAME = "wealthpay.account.command.batch.size";
+
+  private static final Logger log = LoggerFactory.getLogger(AccountCommandBatchMetrics.class);
+
+  private final MeterRegistry meterRegistry;
+
+  public AccountCommandBatchMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void recordBatchSize(int batchSize) {
+    try {
+      meterRegistry.summary(METRIC_NAME).record(batchSize);
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record command batch size (size={})", batchSize, meterFailure);
+    }
+  }
+
+  /**
+   * {@code latency} runs from submission to completion, queueing and batching window included: what
+   * the caller waited. Exactly one of {@code response} and {@code failure} is meaningful.
+   */
+  public void recordCommand(String command, Duration latency, Object response, Throwable failure) {
+    String outcome =
+        failure != null
+            ? CommandMetricAspect.classifyException(failure)
+            : CommandMetricAspect.classify(response);
+    try {
+      meterRegistry
+          .timer(CommandMetricAspect.METRIC_NAME, "command", command, "outcome", outcome)
+          .record(latency);
+    } catch (RuntimeException meterFailure) {
+      log.warn(
+          "Failed to record batched command metric (command={}, outcome={})",
+          command,
+          outcome,
+          meterFailure);
+    }
+  }
+}
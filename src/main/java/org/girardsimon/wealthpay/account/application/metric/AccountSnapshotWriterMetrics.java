@@ -0,0 +1,62 @@
+package org.girardsimon.wealthpay.account.application.metric;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics of the background snapshot writer ({@code AccountSnapshotWriter}).
+ *
+ * <ul>
+ *   <li>{@code wealthpay.account.snapshot.pending} — accounts with a snapshot waiting to be
+ *       written. Coalescing keeps this bounded by the number of distinct hot accounts, not by the
+ *       commit rate; a value pinned at {@code account-event.snapshot.writer.max-pending} means the
+ *       writer cannot keep up and snapshots are being dropped.
+ *   <li>{@code wealthpay.account.snapshot.dropped} — snapshots discarded by the overflow policy.
+ *   <li>{@code wealthpay.account.snapshot.failed} — snapshots whose write threw.
+ * </ul>
+ *
+ * <p>Recording failures are logged and swallowed, same as {@link CommandMetricAspect}.
+ */
+@Component
+public class AccountSnapshotWriterMetrics {
+
+  static final String PENDING_METRIC_NAME = "wealthpay.account.snapshot.pending";
+  static final String DROPPED_METRIC_NAME = "wealthpay.account.snapshot.dropped";
+  static final String FAILED_METRIC_NAME = "wealthpay.account.snapshot.failed";
+
+  private static final Logger log = LoggerFactory.getLogger(AccountSnapshotWriterMetrics.class);
+
+  private final MeterRegistry meterRegistry;
+
+  public AccountSnapshotWriterMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void registerPendingGauge(Supplier<Number> pendingCount) {
+    try {
+      Gauge.builder(PENDING_METRIC_NAME, pendingCount).register(meterRegistry);
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to register snapshot writer pending gauge", meterFailure);
+    }
+  }
+
+  public void recordDropped() {
+    recordSafely(DROPPED_METRIC_NAME);
+  }
+
+  public void recordFailed() {
+    recordSafely(FAILED_METRIC_NAME);
+  }
+
+  private void recordSafely(String metricName) {
+    try {
+      meterRegistry.counter(metricName).increment();
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record snapshot writer metric (name={})", metricName, meterFailure);
+    }
+  }
+}
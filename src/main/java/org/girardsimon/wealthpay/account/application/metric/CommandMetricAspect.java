@@ -6,9 +6,11 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.girardsimon.wealthpay.account.application.CommandBatchRejectedException;
 import org.girardsimon.wealthpay.account.application.response.ReservationResponse;
 import org.girardsimon.wealthpay.account.application.response.ReservationResult;
 import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
 import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
 import org.girardsimon.wealthpay.account.domain.exception.InvalidAccountEventStreamException;
 import org.girardsimon.wealthpay.account.domain.exception.ReservationStoreInconsistencyException;
@@ -32,8 +34,9 @@ import org.springframework.stereotype.Component;
  *
  * <ul>
  *   <li>{@code committed} — non-exceptional return (including {@code null}).
- *   <li>{@code idempotent} — {@link TransactionStatus#NO_EFFECT}, or a {@link ReservationResponse}
- *       / {@link ReserveFundsResponse} carrying {@link ReservationResult#NO_EFFECT}.
+ *   <li>{@code idempotent} — {@link TransactionStatus#NO_EFFECT} (bare or in a {@link
+ *       TransactionResult}), or a {@link ReservationResponse} / {@link ReserveFundsResponse}
+ *       carrying {@link ReservationResult#NO_EFFECT}.
  *   <li>{@code concurrency_conflict} — {@link OptimisticLockingFailureException} (event-store
  *       version mismatch on append) <em>and</em> {@link TransactionIdConflictException} (same
  *       transaction id reused with a different fingerprint — a client-side correctness/replay
@@ -53,6 +56,10 @@ import org.springframework.stereotype.Component;
  *       paging.
  * </ul>
  *
+ * <p>A {@link CommandBatchRejectedException} is classified by the rejection of the command that
+ * rolled the batch back. Commands grouped by {@code AccountCommandBatcher} are recorded under their
+ * own command tag by {@link AccountCommandBatchMetrics}, with this same lattice.
+ *
  * <p>The annotation is read explicitly from the {@link MethodSignature} rather than via Spring's
  * {@code @annotation(...)} parameter binding. Both work in a Spring-managed context, but explicit
  * lookup also works under {@code AspectJProxyFactory} (the unit-test scaffold), which has known
@@ -129,10 +136,15 @@ public class CommandMetricAspect {
     }
   }
 
-  private static String classify(Object result) {
+  static String classify(Object result) {
     if (result instanceof TransactionStatus status) {
       return status == TransactionStatus.NO_EFFECT ? OUTCOME_IDEMPOTENT : OUTCOME_COMMITTED;
     }
+    if (result instanceof TransactionResult transactionResult) {
+      return transactionResult.status() == TransactionStatus.NO_EFFECT
+          ? OUTCOME_IDEMPOTENT
+          : OUTCOME_COMMITTED;
+    }
     if (result instanceof ReservationResponse response) {
       return response.reservationResult() == ReservationResult.NO_EFFECT
           ? OUTCOME_IDEMPOTENT
@@ -146,7 +158,9 @@ public class CommandMetricAspect {
     return OUTCOME_COMMITTED;
   }
 
-  private static String classifyException(Throwable t) {
+  static String classifyException(Throwable thrown) {
+    Throwable t =
+        thrown instanceof CommandBatchRejectedException rejected ? rejected.getRejection() : thrown;
     if (t instanceof OptimisticLockingFailureException
         || t instanceof TransactionIdConflictException) {
       return OUTCOME_CONCURRENCY_CONFLICT;
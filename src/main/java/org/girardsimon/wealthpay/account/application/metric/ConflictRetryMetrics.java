@@ -0,0 +1,39 @@
+package org.girardsimon.wealthpay.account.application.metric;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how many attempts each {@code @RetryOnConflict} call took, in the {@code
+ * wealthpay.account.command.attempts} distribution tagged with {@code command} (1 for an
+ * uncontended call).
+ *
+ * <p>Recording failures are logged and swallowed, same as {@link CommandMetricAspect}.
+ */
+@Component
+public class ConflictRetryMetrics {
+
+  static final String METRIC_NAME = "wealthpay.account.command.attempts";
+
+  private static final Logger log = LoggerFactory.getLogger(ConflictRetryMetrics.class);
+
+  private final MeterRegistry meterRegistry;
+
+  public ConflictRetryMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void recordAttempts(String command, int attempts) {
+    try {
+      meterRegistry.summary(METRIC_NAME, "command", command).record(attempts);
+    } catch (RuntimeException meterFailure) {
+      log.warn(
+          "Failed to record command attempts (command={}, attempts={})",
+          command,
+          attempts,
+          meterFailure);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package org.girardsimon.wealthpay.account.application.metric;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inputs and outputs of the snapshot policy.
+ *
+ * <ul>
+ *   <li>{@code wealthpay.account.snapshot.decision{decision}} — one count per append, tagged
+ *       {@code snapshot} or {@code skip}.
+ *   <li>{@code wealthpay.account.replay.events} — events replayed on top of the persisted snapshot
+ *       (or from the start of the stream) when an account is loaded from the store.
+ *   <li>{@code wealthpay.account.replay.duration} — time to fetch and apply those events.
+ * </ul>
+ *
+ * <p>Together they show whether the policy caps cold-load latency: replay length and duration
+ * should stay flat as traffic grows, while the {@code snapshot} share of decisions stays small.
+ * Recording failures are logged and swallowed, same as {@link CommandMetricAspect}.
+ */
+@Component
+public class SnapshotPolicyMetrics {
+
+  static final String DECISION_METRIC_NAME = "wealthpay.account.snapshot.decision";
+  static final String REPLAY_EVENTS_METRIC_NAME = "wealthpay.account.replay.events";
+  static final String REPLAY_DURATION_METRIC_NAME = "wealthpay.account.replay.duration";
+
+  private static final Logger log = LoggerFactory.getLogger(SnapshotPolicyMetrics.class);
+
+  private final MeterRegistry meterRegistry;
+
+  public SnapshotPolicyMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void recordDecision(boolean snapshot) {
+    String decision = snapshot ? "snapshot" : "skip";
+    try {
+      meterRegistry.counter(DECISION_METRIC_NAME, "decision", decision).increment();
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record snapshot decision (decision={})", decision, meterFailure);
+    }
+  }
+
+  public void recordReplay(int eventsReplayed, long replayNanos) {
+    try {
+      meterRegistry.summary(REPLAY_EVENTS_METRIC_NAME).record(eventsReplayed);
+      meterRegistry.timer(REPLAY_DURATION_METRIC_NAME).record(replayNanos, TimeUnit.NANOSECONDS);
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record replay (events={})", eventsReplayed, meterFailure);
+    }
+  }
+}
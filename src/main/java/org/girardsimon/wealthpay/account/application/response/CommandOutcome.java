@@ -0,0 +1,27 @@
+package org.girardsimon.wealthpay.account.application.response;
+
+/**
+ * Result of one command inside a multi-command transaction: either the response the command would
+ * have returned on its own ({@link TransactionStatus}, {@link ReserveFundsResponse}) or the domain
+ * exception it was rejected with. Exactly one of the two is non-null.
+ */
+public record CommandOutcome(Object response, RuntimeException failure) {
+
+  public CommandOutcome {
+    if ((response == null) == (failure == null)) {
+      throw new IllegalArgumentException("Exactly one of response and failure must be set");
+    }
+  }
+
+  public static CommandOutcome success(Object response) {
+    return new CommandOutcome(response, null);
+  }
+
+  public static CommandOutcome failure(RuntimeException failure) {
+    return new CommandOutcome(null, failure);
+  }
+
+  public boolean isFailure() {
+    return failure != null;
+  }
+}
@@ -9,4 +9,5 @@ public record ReservationResponse(
     AccountId accountId,
     ReservationId reservationId,
     Optional<Money> money,
-    ReservationResult reservationResult) {}
+    ReservationResult reservationResult,
+    long version) {}
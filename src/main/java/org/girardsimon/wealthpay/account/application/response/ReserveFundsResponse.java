@@ -1,6 +1,8 @@
 package org.girardsimon.wealthpay.account.application.response;
 
+import java.util.OptionalLong;
 import org.girardsimon.wealthpay.account.domain.model.ReservationId;
 
+/** {@code version} is absent for a replayed transaction id, as in {@link TransactionResult}. */
 public record ReserveFundsResponse(
-    ReservationId reservationId, ReservationResult reservationResult) {}
+    ReservationId reservationId, ReservationResult reservationResult, OptionalLong version) {}
@@ -0,0 +1,23 @@
+package org.girardsimon.wealthpay.account.application.response;
+
+import java.util.OptionalLong;
+
+/**
+ * Outcome of a credit, debit or close command, with the aggregate version it left the account at so
+ * that a client can read its own write ({@code GET /accounts/{id}?minVersion=}). The version is
+ * absent for a replayed transaction id: the replay resolves without loading the account.
+ */
+public record TransactionResult(TransactionStatus status, OptionalLong version) {
+
+  public static TransactionResult committed(long version) {
+    return new TransactionResult(TransactionStatus.COMMITTED, OptionalLong.of(version));
+  }
+
+  public static TransactionResult noEffect(long version) {
+    return new TransactionResult(TransactionStatus.NO_EFFECT, OptionalLong.of(version));
+  }
+
+  public static TransactionResult replayed() {
+    return new TransactionResult(TransactionStatus.NO_EFFECT, OptionalLong.empty());
+  }
+}
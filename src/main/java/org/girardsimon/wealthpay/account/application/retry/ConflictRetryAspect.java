@@ -0,0 +1,128 @@
+package org.girardsimon.wealthpay.account.application.retry;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.girardsimon.wealthpay.account.application.metric.CommandMetric;
+import org.girardsimon.wealthpay.account.application.metric.CommandMetricAspect;
+import org.girardsimon.wealthpay.account.application.metric.ConflictRetryMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Re-runs {@link RetryOnConflict}-annotated methods when they fail with {@link
+ * OptimisticLockingFailureException} (event-store version mismatch on append), up to {@code
+ * account.command-retry.max-attempts} attempts in total.
+ *
+ * <p>Control flow, not instrumentation, hence its own package; it still has to be ordered just
+ * inside {@link CommandMetricAspect} ({@code HIGHEST_PRECEDENCE + 1} against its {@code
+ * HIGHEST_PRECEDENCE}) and outside Spring's {@code TransactionInterceptor}: every attempt gets its
+ * own transaction — the loser's transaction, including its idempotency registration, is rolled back
+ * before the next attempt reloads the account — while the command timer still records one call with
+ * its final outcome. A contended account therefore costs an extra in-process iteration instead of a
+ * client round-trip.
+ *
+ * <p>Backoff is "full jitter": before attempt {@code n + 1} the thread sleeps a uniformly random
+ * duration in {@code [0, min(max-backoff, initial-backoff * 2^(n-1))]}, so writers that collided
+ * once do not collide again in lockstep.
+ *
+ * <p>Nothing is retried when a transaction is already active on the calling thread: the conflict
+ * has marked the outer transaction rollback-only, so only the outer caller can start over.
+ *
+ * <p>Every call records its attempt count through {@link ConflictRetryMetrics}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConflictRetryAspect {
+
+  private static final Logger log = LoggerFactory.getLogger(ConflictRetryAspect.class);
+
+  private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+  private final ConflictRetryMetrics conflictRetryMetrics;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+
+  public ConflictRetryAspect(
+      ConflictRetryMetrics conflictRetryMetrics,
+      @Value("${account.command-retry.max-attempts}") int maxAttempts,
+      @Value("${account.command-retry.initial-backoff}") Duration initialBackoff,
+      @Value("${account.command-retry.max-backoff}") Duration maxBackoff) {
+    if (maxAttempts <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.command-retry.max-attempts must be > 0 but was " + maxAttempts);
+    }
+    if (initialBackoff.isNegative()) {
+      throw new IllegalArgumentException(
+          "Property account.command-retry.initial-backoff must be >= 0 but was " + initialBackoff);
+    }
+    if (maxBackoff.compareTo(initialBackoff) < 0) {
+      throw new IllegalArgumentException(
+          "Property account.command-retry.max-backoff must be >= initial-backoff but was "
+              + maxBackoff);
+    }
+    this.conflictRetryMetrics = conflictRetryMetrics;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  @Around("@annotation(RetryOnConflict)")
+  public Object retry(ProceedingJoinPoint pjp) throws Throwable {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return pjp.proceed();
+    }
+    String command = commandName(((MethodSignature) pjp.getSignature()).getMethod());
+    int attempt = 1;
+    try {
+      while (true) {
+        try {
+          return pjp.proceed();
+        } catch (OptimisticLockingFailureException conflict) {
+          if (attempt >= maxAttempts || !pauseBeforeRetry(attempt)) {
+            throw conflict;
+          }
+          log.debug("Optimistic conflict on {} (attempt {}), retrying", command, attempt);
+          attempt++;
+        }
+      }
+    } finally {
+      conflictRetryMetrics.recordAttempts(command, attempt);
+    }
+  }
+
+  /** Returns {@code false} when interrupted, in which case the conflict is surfaced as is. */
+  private boolean pauseBeforeRetry(int attempt) {
+    Duration cap = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, MAX_BACKOFF_DOUBLINGS));
+    if (cap.compareTo(maxBackoff) > 0) {
+      cap = maxBackoff;
+    }
+    if (cap.isZero()) {
+      return true;
+    }
+    try {
+      Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap.toNanos() + 1)));
+      return true;
+    } catch (InterruptedException _) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static String commandName(Method method) {
+    CommandMetric commandMetric = method.getAnnotation(CommandMetric.class);
+    return commandMetric != null ? commandMetric.command() : method.getName();
+  }
+}
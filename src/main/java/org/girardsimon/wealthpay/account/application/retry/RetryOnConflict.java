@@ -0,0 +1,21 @@
+package org.girardsimon.wealthpay.account.application.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @Transactional} application-service command method as safe to re-run on an
+ * optimistic conflict. The companion aspect re-invokes the whole method — new transaction, fresh
+ * load, handle, append — with jittered backoff, and emits a {@code
+ * wealthpay.account.command.attempts} distribution tagged with {@code command} (taken from the
+ * method's {@link CommandMetric}, or the method name when absent).
+ *
+ * <p>Only put this on methods whose every side effect is inside the transaction: a rolled-back
+ * attempt must leave nothing behind, so the idempotency registration of the next attempt sees a
+ * clean slate.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {}
@@ -0,0 +1,7 @@
+package org.girardsimon.wealthpay.account.application.view;
+
+import java.time.Instant;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+
+/** An event of an account's history and the time it was stored in the event store. */
+public record AccountHistoryEntry(AccountEvent event, Instant recordedAt) {}
@@ -0,0 +1,15 @@
+package org.girardsimon.wealthpay.account.application.view;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * A page of history entries. {@code nextAfterVersion} is the keyset cursor of the next page, the
+ * version of the last entry; empty on the last page.
+ */
+public record AccountHistoryPage(List<AccountHistoryEntry> entries, OptionalLong nextAfterVersion) {
+
+  public AccountHistoryPage {
+    entries = List.copyOf(entries);
+  }
+}
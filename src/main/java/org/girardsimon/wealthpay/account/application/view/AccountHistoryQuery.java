@@ -0,0 +1,30 @@
+package org.girardsimon.wealthpay.account.application.view;
+
+import java.time.Instant;
+import java.util.Set;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+
+/**
+ * One page of an account's history: at most {@code limit} events after {@code afterVersion}, in
+ * version order. An empty {@code eventTypes} keeps every type; {@code recordedFrom} (inclusive) and
+ * {@code recordedTo} (exclusive) bound the time the events were stored, each optional.
+ */
+public record AccountHistoryQuery(
+    AccountId accountId,
+    long afterVersion,
+    int limit,
+    Set<Class<? extends AccountEvent>> eventTypes,
+    Instant recordedFrom,
+    Instant recordedTo) {
+
+  public AccountHistoryQuery {
+    if (afterVersion < 0) {
+      throw new IllegalArgumentException("afterVersion must be >= 0 but was " + afterVersion);
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be > 0 but was " + limit);
+    }
+    eventTypes = Set.copyOf(eventTypes);
+  }
+}
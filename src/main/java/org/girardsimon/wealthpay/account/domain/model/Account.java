@@ -2,9 +2,11 @@ package org.girardsimon.wealthpay.account.domain.model;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.girardsimon.wealthpay.account.domain.command.CancelReservation;
 import org.girardsimon.wealthpay.account.domain.command.CaptureReservation;
 import org.girardsimon.wealthpay.account.domain.command.CloseAccount;
@@ -71,8 +73,17 @@ public class Account {
   }
 
   public static Account rehydrateFromSnapshot(AccountSnapshot snapshot, List<AccountEvent> events) {
+    return rehydrateFromSnapshot(snapshot, events.stream());
+  }
+
+  /**
+   * Same as {@link #rehydrateFromSnapshot(AccountSnapshot, List)}, applying events as the stream
+   * yields them. The stream is consumed but not closed.
+   */
+  public static Account rehydrateFromSnapshot(
+      AccountSnapshot snapshot, Stream<AccountEvent> events) {
     Account account = Account.fromSnapshot(snapshot);
-    events.forEach(account::apply);
+    events.forEachOrdered(account::apply);
     return account;
   }
 
@@ -96,16 +107,30 @@ public class Account {
   }
 
   public static Account rehydrate(List<AccountEvent> history) {
-    if (history == null || history.isEmpty()) {
+    if (history == null) {
+      throw new AccountHistoryNotFoundException();
+    }
+    return rehydrate(history.stream());
+  }
+
+  /**
+   * Same as {@link #rehydrate(List)}, applying events as the stream yields them so that only the
+   * aggregate, never the whole history, has to fit in memory. The stream is consumed but not
+   * closed.
+   */
+  public static Account rehydrate(Stream<AccountEvent> history) {
+    Iterator<AccountEvent> events = history.iterator();
+    if (!events.hasNext()) {
       throw new AccountHistoryNotFoundException();
     }
-    AccountEvent firstEvent = history.getFirst();
+    AccountEvent firstEvent = events.next();
     if (!(firstEvent instanceof AccountOpened accountOpened)) {
       throw new InvalidAccountEventStreamException(
           "Account history must start with AccountOpened event");
     }
     Account account = new Account(accountOpened.accountId(), accountOpened.currency());
-    history.forEach(account::apply);
+    account.apply(firstEvent);
+    events.forEachRemaining(account::apply);
     return account;
   }
 
@@ -0,0 +1,37 @@
+package org.girardsimon.wealthpay.account.infrastructure.admin;
+
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountBalanceRebuilder;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountBalanceRebuilder.RebuildProgress;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operator trigger for {@link AccountBalanceRebuilder}: {@code POST
+ * /actuator/accountbalancerebuild} starts a rebuild in the background, {@code GET} reports its
+ * progress. Not exposed over HTTP by default; add {@code accountbalancerebuild} to {@code
+ * management.endpoints.web.exposure.include} on the instance that should run it.
+ */
+@Component
+@Endpoint(id = "accountbalancerebuild")
+public class AccountBalanceRebuildEndpoint {
+
+  private final AccountBalanceRebuilder accountBalanceRebuilder;
+
+  public AccountBalanceRebuildEndpoint(AccountBalanceRebuilder accountBalanceRebuilder) {
+    this.accountBalanceRebuilder = accountBalanceRebuilder;
+  }
+
+  @ReadOperation
+  public RebuildProgress progress() {
+    return accountBalanceRebuilder.progress();
+  }
+
+  /** Starts a rebuild unless one is already running; either way, returns the current progress. */
+  @WriteOperation
+  public RebuildProgress rebuild() {
+    accountBalanceRebuilder.start();
+    return accountBalanceRebuilder.progress();
+  }
+}
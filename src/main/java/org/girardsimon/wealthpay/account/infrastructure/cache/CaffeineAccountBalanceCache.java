@@ -0,0 +1,151 @@
+package org.girardsimon.wealthpay.account.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import org.girardsimon.wealthpay.account.application.AccountBalanceCache;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded Caffeine-backed {@link AccountBalanceCache}, enabled with {@code
+ * account.balance-cache.enabled}; when disabled every lookup misses and nothing is stored.
+ *
+ * <p>Each entry holds the cached view, if any, and the highest version the account is known to be
+ * committed at. {@link #invalidate} keeps that version when it drops the view, so a read-through
+ * {@link #put} of a row read just before the invalidation, arriving just after it, is refused
+ * instead of resurrecting the older view. Both go through {@code asMap()} atomic operations: the
+ * higher version always wins, whatever the order the projector, the readers and the notifications
+ * reach the cache in.
+ *
+ * <p>Most notifications are about accounts never read here, and creating entries for them would
+ * evict real views. The version of an account without an entry goes to a separate, smaller map
+ * ({@code account.balance-cache.tombstone-maximum-size}) instead: it only has to outlive the reads
+ * in flight when it arrives.
+ *
+ * <p>Eviction is by entry count only ({@code account.balance-cache.maximum-size}): entries are kept
+ * coherent by the projector, not aged out. Lookups are counted as {@code
+ * wealthpay.account.balance_cache.lookup{result=hit|miss}} and the size exported as {@code
+ * wealthpay.account.balance_cache.size}.
+ */
+@Component
+public class CaffeineAccountBalanceCache implements AccountBalanceCache {
+
+  static final String LOOKUP_METRIC = "wealthpay.account.balance_cache.lookup";
+  static final String SIZE_METRIC = "wealthpay.account.balance_cache.size";
+
+  private static final Logger log = LoggerFactory.getLogger(CaffeineAccountBalanceCache.class);
+
+  private final boolean enabled;
+  private final Cache<AccountId, CachedBalance> cache;
+  private final Cache<AccountId, Long> invalidatedVersions;
+  private final MeterRegistry meterRegistry;
+
+  public CaffeineAccountBalanceCache(
+      @Value("${account.balance-cache.enabled}") boolean enabled,
+      @Value("${account.balance-cache.maximum-size}") long maximumSize,
+      @Value("${account.balance-cache.tombstone-maximum-size}") long tombstoneMaximumSize,
+      MeterRegistry meterRegistry) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.balance-cache.maximum-size must be > 0 but was " + maximumSize);
+    }
+    if (tombstoneMaximumSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.balance-cache.tombstone-maximum-size must be > 0 but was "
+              + tombstoneMaximumSize);
+    }
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    this.invalidatedVersions = Caffeine.newBuilder().maximumSize(tombstoneMaximumSize).build();
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(SIZE_METRIC, cache, Cache::estimatedSize)
+        .description("Estimated number of accounts held in the in-process balance view cache")
+        .register(meterRegistry);
+  }
+
+  /** {@code view} is null once invalidated; {@code knownVersion} never decreases. */
+  private record CachedBalance(AccountBalanceView view, long knownVersion) {}
+
+  @Override
+  public Optional<AccountBalanceView> get(AccountId accountId) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    CachedBalance cachedBalance = cache.getIfPresent(accountId);
+    AccountBalanceView view = cachedBalance != null ? cachedBalance.view() : null;
+    recordSafely(view != null ? "hit" : "miss");
+    return Optional.ofNullable(view);
+  }
+
+  @Override
+  public void put(AccountBalanceView view) {
+    if (!enabled) {
+      return;
+    }
+    cache
+        .asMap()
+        .compute(
+            view.accountId(),
+            (accountId, current) -> {
+              if (current == null) {
+                Long invalidatedVersion = invalidatedVersions.getIfPresent(accountId);
+                if (invalidatedVersion != null && view.version() < invalidatedVersion) {
+                  return null;
+                }
+                invalidatedVersions.invalidate(accountId);
+                return new CachedBalance(view, view.version());
+              }
+              if (view.version() < current.knownVersion()) {
+                return current;
+              }
+              if (current.view() != null && current.view().version() >= view.version()) {
+                return current;
+              }
+              return new CachedBalance(view, view.version());
+            });
+  }
+
+  @Override
+  public void invalidate(AccountId accountId, long version) {
+    if (!enabled) {
+      return;
+    }
+    cache
+        .asMap()
+        .compute(
+            accountId,
+            (_, current) -> {
+              // Not computeIfPresent: the tombstone must be written under the entry's lock, or a
+              // concurrent put could check for it before it exists and cache the older view.
+              if (current == null) {
+                invalidatedVersions.asMap().merge(accountId, version, Math::max);
+                return null;
+              }
+              if (current.view() != null && current.view().version() >= version) {
+                return current;
+              }
+              return new CachedBalance(null, Math.max(version, current.knownVersion()));
+            });
+  }
+
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+    invalidatedVersions.invalidateAll();
+  }
+
+  private void recordSafely(String result) {
+    try {
+      meterRegistry.counter(LOOKUP_METRIC, "result", result).increment();
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record balance cache metric (result={})", result, meterFailure);
+    }
+  }
+}
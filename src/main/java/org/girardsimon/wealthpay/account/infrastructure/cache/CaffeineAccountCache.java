@@ -0,0 +1,72 @@
+package org.girardsimon.wealthpay.account.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.girardsimon.wealthpay.account.application.AccountCache;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded Caffeine-backed {@link AccountCache}.
+ *
+ * <p>Eviction is by entry count ({@code account.cache.maximum-size}) and idle time ({@code
+ * account.cache.expire-after-access}): hot accounts stay resident, cold ones age out without any
+ * explicit invalidation. Correctness never depends on eviction — every hit is re-validated against
+ * the event store by the loader — so the bounds are purely a memory budget.
+ *
+ * <p>{@link #put} goes through {@code asMap().merge} so two transactions committing the same
+ * account out of order can never regress the cached version: the higher version always wins.
+ */
+@Component
+public class CaffeineAccountCache implements AccountCache {
+
+  private final Cache<AccountId, AccountSnapshot> cache;
+
+  public CaffeineAccountCache(
+      @Value("${account.cache.maximum-size}") long maximumSize,
+      @Value("${account.cache.expire-after-access}") Duration expireAfterAccess,
+      MeterRegistry meterRegistry) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.cache.maximum-size must be > 0 but was " + maximumSize);
+    }
+    if (expireAfterAccess.isNegative() || expireAfterAccess.isZero()) {
+      throw new IllegalArgumentException(
+          "Property account.cache.expire-after-access must be > 0 but was " + expireAfterAccess);
+    }
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    Gauge.builder("wealthpay.account.cache.size", cache, Cache::estimatedSize)
+        .description("Estimated number of aggregates held in the in-process account cache")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Optional<AccountSnapshot> get(AccountId accountId) {
+    return Optional.ofNullable(cache.getIfPresent(accountId));
+  }
+
+  @Override
+  public void put(AccountSnapshot accountSnapshot) {
+    cache
+        .asMap()
+        .merge(
+            accountSnapshot.accountId(),
+            accountSnapshot,
+            (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+  }
+
+  @Override
+  public void evict(AccountId accountId) {
+    cache.invalidate(accountId);
+  }
+}
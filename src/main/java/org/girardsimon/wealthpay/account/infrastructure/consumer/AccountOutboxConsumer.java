@@ -1,45 +1,205 @@
 package org.girardsimon.wealthpay.account.infrastructure.consumer;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.girardsimon.wealthpay.account.application.AccountBalanceProjector;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
+import org.girardsimon.wealthpay.account.application.ProjectionOwnership;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.exception.UnsupportedCurrencyException;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
 import org.girardsimon.wealthpay.account.infrastructure.consumer.mapper.AccountEventDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Component;
 
+/**
+ * Projects the account outbox topic into the balance read model, one record at a time or, with
+ * {@code account.projection.batch-listener.enabled}, one poll at a time. Both listeners are
+ * registered on the same topic and group; the property decides which one is started.
+ *
+ * <p>A record is projected as a poll of one and its failure is thrown as is, so the {@code
+ * DefaultErrorHandler} retries and dead-letters it like any record listener failure.
+ *
+ * <p>In batch mode, a poll's records are grouped by account — all events of an account share its
+ * key, hence its partition, so grouping keeps their order — and projected with {@link
+ * AccountBalanceProjector#projectAll}: one read and one upsert per account and one transaction per
+ * poll, instead of one of each per record. {@link AccountProjectionDispatcher} can instead spread
+ * the accounts of a poll over concurrent workers, one transaction each.
+ *
+ * <p>A poison record is reported to the {@code DefaultErrorHandler} as a {@link
+ * BatchListenerFailedException} carrying its index: the handler commits the offsets before it,
+ * recovers it (retry, then dead letter topic) and redelivers the rest. The records before the index
+ * must therefore already be projected when the exception is thrown:
+ *
+ * <ul>
+ *   <li>a record that cannot be deserialized: the events before it are projected, then it is
+ *       reported;
+ *   <li>a batch projection failure: the transaction rolled back, so the events are projected again
+ *       one by one to find the first that fails. Projection is idempotent on version, so the ones
+ *       replayed in front of it are harmless. When none fails on its own, the failure was transient
+ *       and is rethrown as is, which retries the whole batch.
+ * </ul>
+ *
+ * <p>Every deserialized record tells {@link ProjectionOwnership} which partition its account is
+ * consumed from, and revoked partitions are released, so per-account projection state is only ever
+ * kept for the accounts this instance is the single writer of.
+ *
+ * <p>With {@code account.projection.database-offsets.enabled}, the position reached in each
+ * partition is stored by {@link ProjectionOffsetStore} in the projection's own transaction, and
+ * assigned partitions are sought to it: a restart or rebalance resumes exactly after the last
+ * committed poll instead of redelivering everything since the last Kafka commit. Kafka offsets are
+ * then not committed at all (see {@link DatabaseOffsetsContainerCustomizer}); a partition without a
+ * stored position starts from the group's committed offset, which makes switching modes safe. A
+ * record sent to the dead letter topic is stepped over by {@link RecoveredRecordCheckpointer}.
+ *
+ * <p>Once a poll is projected, {@link ProjectionLatencyMetrics} records how long its events took to
+ * reach the read model; when projection fails part way, so does the prefix that was projected.
+ * Events the projector skipped as already projected, e.g. redelivered after such a failure, are not
+ * measured twice.
+ */
 @Component
-public class AccountOutboxConsumer {
+public class AccountOutboxConsumer implements ConsumerSeekAware {
 
   private static final Logger log = LoggerFactory.getLogger(AccountOutboxConsumer.class);
 
-  private final AccountBalanceProjector accountBalanceProjector;
+  private final AccountProjectionDispatcher accountProjectionDispatcher;
 
   private final AccountEventDeserializer accountEventDeserializer;
 
+  private final ProjectionOwnership projectionOwnership;
+
+  private final ProjectionOffsetStore projectionOffsetStore;
+
+  private final ProjectionLatencyMetrics projectionLatencyMetrics;
+
+  private final boolean databaseOffsets;
+
   public AccountOutboxConsumer(
-      AccountBalanceProjector accountBalanceProjector,
-      AccountEventDeserializer accountEventDeserializer) {
-    this.accountBalanceProjector = accountBalanceProjector;
+      AccountProjectionDispatcher accountProjectionDispatcher,
+      AccountEventDeserializer accountEventDeserializer,
+      ProjectionOwnership projectionOwnership,
+      ProjectionOffsetStore projectionOffsetStore,
+      ProjectionLatencyMetrics projectionLatencyMetrics,
+      @Value("${account.projection.database-offsets.enabled}") boolean databaseOffsets) {
+    this.accountProjectionDispatcher = accountProjectionDispatcher;
     this.accountEventDeserializer = accountEventDeserializer;
+    this.projectionOwnership = projectionOwnership;
+    this.projectionOffsetStore = projectionOffsetStore;
+    this.projectionLatencyMetrics = projectionLatencyMetrics;
+    this.databaseOffsets = databaseOffsets;
   }
 
   @KafkaListener(
       topics = "${kafka.topic.account.outbox}",
-      groupId = "${spring.kafka.consumer.group-id}")
-  public void consumeAccountEventOutbox(ConsumerRecord<String, Object> consumerRecord) {
+      groupId = "${spring.kafka.consumer.group-id}",
+      batch = "false",
+      autoStartup = "#{!${account.projection.batch-listener.enabled}}")
+  public void consumeAccountEvent(ConsumerRecord<String, Object> consumerRecord) {
+    List<ConsumerRecord<String, Object>> consumerRecords = List.of(consumerRecord);
+    List<AccountEvent> events = List.of(deserialize(consumerRecord));
+    try {
+      project(events, consumerRecords);
+    } catch (BatchListenerFailedException e) {
+      if (e.getCause() instanceof RuntimeException failure) {
+        throw failure;
+      }
+      throw e;
+    }
+  }
+
+  @KafkaListener(
+      topics = "${kafka.topic.account.outbox}",
+      groupId = "${spring.kafka.consumer.group-id}",
+      batch = "true",
+      autoStartup = "${account.projection.batch-listener.enabled}")
+  public void consumeAccountEventOutbox(List<ConsumerRecord<String, Object>> consumerRecords) {
+    log.debug("Consuming {} account events", consumerRecords.size());
+    List<AccountEvent> events = new ArrayList<>(consumerRecords.size());
+    for (int index = 0; index < consumerRecords.size(); index++) {
+      try {
+        events.add(deserialize(consumerRecords.get(index)));
+      } catch (RuntimeException e) {
+        project(events, consumerRecords.subList(0, index));
+        throw new BatchListenerFailedException("Cannot deserialize account event", e, index);
+      }
+    }
+    project(events, consumerRecords);
+  }
+
+  @Override
+  public void onPartitionsAssigned(
+      Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+    if (!databaseOffsets) {
+      return;
+    }
+    assignments.keySet().stream()
+        .collect(groupingBy(TopicPartition::topic, mapping(TopicPartition::partition, toList())))
+        .forEach(
+            (topic, partitions) -> {
+              Map<Integer, Long> nextOffsets = projectionOffsetStore.nextOffsets(topic, partitions);
+              log.info("Resuming {} from stored offsets {}", topic, nextOffsets);
+              nextOffsets.forEach((partition, offset) -> callback.seek(topic, partition, offset));
+            });
+  }
+
+  @Override
+  public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+    List<Integer> revoked = partitions.stream().map(TopicPartition::partition).toList();
+    projectionOwnership.release(revoked);
+    projectionLatencyMetrics.release(revoked);
+  }
+
+  /** {@code projectedRecords} are the records {@code events} were deserialized from, in order. */
+  private void project(
+      List<AccountEvent> events, List<ConsumerRecord<String, Object>> projectedRecords) {
+    Set<EventId> duplicates = ConcurrentHashMap.newKeySet();
+    try {
+      if (!databaseOffsets || projectedRecords.isEmpty()) {
+        accountProjectionDispatcher.project(events, duplicates);
+      } else {
+        accountProjectionDispatcher.project(events, checkpoint(projectedRecords), duplicates);
+      }
+    } catch (BatchListenerFailedException e) {
+      int projected = Math.max(e.getIndex(), 0);
+      projectionLatencyMetrics.projected(
+          projectedRecords.subList(0, projected), events.subList(0, projected), duplicates);
+      throw e;
+    }
+    projectionLatencyMetrics.projected(projectedRecords, events, duplicates);
+  }
+
+  private static ProjectionCheckpoint checkpoint(
+      List<ConsumerRecord<String, Object>> projectedRecords) {
+    Map<Integer, Long> nextOffsets = new HashMap<>();
+    projectedRecords.forEach(
+        consumerRecord ->
+            nextOffsets.merge(
+                consumerRecord.partition(), consumerRecord.offset() + 1, Math::max));
+    return new ProjectionCheckpoint(projectedRecords.getFirst().topic(), nextOffsets);
+  }
+
+  private AccountEvent deserialize(ConsumerRecord<String, Object> consumerRecord) {
     try {
-      log.info(
-          "Consuming account event topic={} partition={} offset={} key={}",
-          consumerRecord.topic(),
-          consumerRecord.partition(),
-          consumerRecord.offset(),
-          consumerRecord.key());
       AccountEvent event = accountEventDeserializer.apply(consumerRecord);
-      accountBalanceProjector.project(List.of(event));
+      projectionOwnership.assign(event.accountId(), consumerRecord.partition());
+      return event;
     } catch (UnsupportedCurrencyException e) {
       log.warn("Unsupported event should be redirected to DLQ {}", consumerRecord.value());
       throw new IllegalArgumentException(e);
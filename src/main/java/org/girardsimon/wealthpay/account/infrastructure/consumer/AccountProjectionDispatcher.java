@@ -0,0 +1,276 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.girardsimon.wealthpay.account.application.AccountBalanceProjector;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projects the events of one poll, either on the listener thread or, with {@code
+ * account.projection.key-ordered.enabled}, fanned out to {@code
+ * account.projection.key-ordered.workers} virtual-thread workers keyed by account id.
+ *
+ * <p>Key-ordered mode assigns every account to one worker ({@code hash(accountId) mod workers}), so
+ * an account's events stay in one worker and in offset order, while different accounts of the same
+ * partition are projected concurrently. Each worker projects its share with {@link
+ * AccountBalanceProjector#projectAll}, in its own transaction: throughput follows the number of
+ * connections the workers can use, not the partition count, and a slow account only holds up the
+ * accounts of its own worker. The poll still returns only once every worker is done, so the
+ * container commits the poll's offsets after all of them are projected.
+ *
+ * <p>Failures are reported as the consumer expects them. A worker whose transaction fails projects
+ * its events again one by one to find the first that fails on its own. The lowest such index across
+ * workers is thrown as a {@link BatchListenerFailedException}: every event before it is projected,
+ * either by its own worker or because that worker stopped at a later index, so committing up to it
+ * is safe; events after it are redelivered and skipped by version. When no event fails on its own
+ * the failure was transient and is rethrown as is, which retries the whole poll.
+ *
+ * <p>The events the projector skipped as already projected are added to the caller's {@code
+ * duplicates}, also when projection fails part way, so that the caller only measures the events
+ * this delivery actually projected.
+ *
+ * <p>A poll checkpointed in the database ({@code account.projection.database-offsets.enabled}) is
+ * always projected in one transaction on the listener thread: one position per partition can only
+ * be stored atomically with the whole poll, hence the two modes exclude each other.
+ *
+ * <p>In key-ordered mode, exports {@code wealthpay.account.projection.in_flight} (events handed to
+ * workers and not yet projected) and {@code wealthpay.account.projection.key_queue.size} (events
+ * queued per account and poll; a long tail means a few hot accounts serialize their worker).
+ */
+@Component
+public class AccountProjectionDispatcher {
+
+  static final String IN_FLIGHT_METRIC = "wealthpay.account.projection.in_flight";
+  static final String KEY_QUEUE_METRIC = "wealthpay.account.projection.key_queue.size";
+
+  private static final Logger log = LoggerFactory.getLogger(AccountProjectionDispatcher.class);
+
+  private final AccountBalanceProjector accountBalanceProjector;
+  private final MeterRegistry meterRegistry;
+  private final boolean keyOrdered;
+  private final int workers;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ExecutorService projectors =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("account-projection-", 0).factory());
+
+  public AccountProjectionDispatcher(
+      AccountBalanceProjector accountBalanceProjector,
+      MeterRegistry meterRegistry,
+      @Value("${account.projection.key-ordered.enabled}") boolean keyOrdered,
+      @Value("${account.projection.key-ordered.workers}") int workers,
+      @Value("${account.projection.database-offsets.enabled}") boolean databaseOffsets) {
+    if (workers <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.projection.key-ordered.workers must be > 0 but was " + workers);
+    }
+    if (keyOrdered && databaseOffsets) {
+      throw new IllegalArgumentException(
+          "Property account.projection.key-ordered.enabled must be false when"
+              + " account.projection.database-offsets.enabled is true");
+    }
+    this.accountBalanceProjector = accountBalanceProjector;
+    this.meterRegistry = meterRegistry;
+    this.keyOrdered = keyOrdered;
+    this.workers = workers;
+    Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+        .description("Account events handed to projection workers and not yet projected")
+        .register(meterRegistry);
+  }
+
+  /** Indexes refer to {@code events}, which is the poll's records in order. */
+  private record FailedEvent(int index, RuntimeException cause) {}
+
+  /**
+   * Projects {@code events}, in order per account, adding the ones skipped as already projected to
+   * {@code duplicates}, which must accept concurrent additions.
+   *
+   * @throws BatchListenerFailedException carrying the index of the first event that cannot be
+   *     projected; every event before it is projected
+   */
+  public void project(List<AccountEvent> events, Set<EventId> duplicates) {
+    if (events.isEmpty()) {
+      return;
+    }
+    List<List<Integer>> shards = keyOrdered ? shardByAccount(events) : List.of(allIndexes(events));
+    if (shards.size() == 1) {
+      throwIfFailed(projectShard(events, shards.getFirst(), Optional.empty(), duplicates));
+      return;
+    }
+    List<Future<FailedEvent>> results = new ArrayList<>(shards.size());
+    for (List<Integer> shard : shards) {
+      inFlight.addAndGet(shard.size());
+      results.add(
+          projectors.submit(
+              () -> {
+                try {
+                  return projectShard(events, shard, Optional.empty(), duplicates);
+                } finally {
+                  inFlight.addAndGet(-shard.size());
+                }
+              }));
+    }
+    throwIfFailed(awaitLowestFailure(results));
+  }
+
+  /**
+   * Projects {@code events} in one transaction that also stores {@code checkpoint}. When the
+   * transaction fails the events are projected one by one, as in {@link #project(List, Set)},
+   * without the checkpoint: the stored position then stays behind until the next poll, and the
+   * events redelivered in between are skipped by version.
+   *
+   * @throws BatchListenerFailedException carrying the index of the first event that cannot be
+   *     projected; every event before it is projected
+   */
+  public void project(
+      List<AccountEvent> events, ProjectionCheckpoint checkpoint, Set<EventId> duplicates) {
+    if (events.isEmpty()) {
+      return;
+    }
+    throwIfFailed(projectShard(events, allIndexes(events), Optional.of(checkpoint), duplicates));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    projectors.close();
+  }
+
+  private List<List<Integer>> shardByAccount(List<AccountEvent> events) {
+    Map<AccountId, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+    for (int index = 0; index < events.size(); index++) {
+      indexesByAccount
+          .computeIfAbsent(events.get(index).accountId(), _ -> new ArrayList<>())
+          .add(index);
+    }
+    Map<Integer, List<Integer>> indexesByWorker = new LinkedHashMap<>();
+    indexesByAccount.forEach(
+        (accountId, indexes) -> {
+          recordKeyQueueSize(indexes.size());
+          indexesByWorker
+              .computeIfAbsent(Math.floorMod(accountId.hashCode(), workers), _ -> new ArrayList<>())
+              .addAll(indexes);
+        });
+    return indexesByWorker.values().stream().map(AccountProjectionDispatcher::sorted).toList();
+  }
+
+  private static List<Integer> sorted(List<Integer> indexes) {
+    return indexes.stream().sorted().toList();
+  }
+
+  private static List<Integer> allIndexes(List<AccountEvent> events) {
+    List<Integer> indexes = new ArrayList<>(events.size());
+    for (int index = 0; index < events.size(); index++) {
+      indexes.add(index);
+    }
+    return indexes;
+  }
+
+  /**
+   * One transaction for the whole shard, storing {@code checkpoint} if any; on failure, one event
+   * at a time in offset order until the first that fails on its own, which is returned. Returns
+   * {@code null} when every event is projected, and rethrows the shard failure when none fails on
+   * its own.
+   */
+  private FailedEvent projectShard(
+      List<AccountEvent> events,
+      List<Integer> shard,
+      Optional<ProjectionCheckpoint> checkpoint,
+      Set<EventId> duplicates) {
+    Collection<List<AccountEvent>> eventsByAccount =
+        groupByAccount(shard.stream().map(events::get).toList());
+    try {
+      if (checkpoint.isPresent()) {
+        duplicates.addAll(accountBalanceProjector.projectAll(eventsByAccount, checkpoint.get()));
+      } else {
+        duplicates.addAll(accountBalanceProjector.projectAll(eventsByAccount));
+      }
+      return null;
+    } catch (RuntimeException shardFailure) {
+      for (int index : shard) {
+        try {
+          duplicates.addAll(accountBalanceProjector.project(List.of(events.get(index))));
+        } catch (RuntimeException e) {
+          return new FailedEvent(index, e);
+        }
+      }
+      throw shardFailure;
+    }
+  }
+
+  private static Collection<List<AccountEvent>> groupByAccount(List<AccountEvent> events) {
+    Map<AccountId, List<AccountEvent>> eventsByAccount = new LinkedHashMap<>();
+    events.forEach(
+        event ->
+            eventsByAccount.computeIfAbsent(event.accountId(), _ -> new ArrayList<>()).add(event));
+    return eventsByAccount.values();
+  }
+
+  /**
+   * Waits for every worker, so that nothing is still being projected when the container commits or
+   * seeks, then keeps the lowest failed index. A transient failure is only rethrown when no event
+   * failed on its own: the failing worker has projected its events one by one meanwhile.
+   */
+  private static FailedEvent awaitLowestFailure(List<Future<FailedEvent>> results) {
+    FailedEvent lowest = null;
+    RuntimeException transientFailure = null;
+    for (Future<FailedEvent> result : results) {
+      try {
+        FailedEvent failedEvent = result.get();
+        if (failedEvent != null && (lowest == null || failedEvent.index() < lowest.index())) {
+          lowest = failedEvent;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for projection workers", e);
+      } catch (ExecutionException e) {
+        if (!(e.getCause() instanceof RuntimeException runtimeException)) {
+          throw new IllegalStateException("Projection worker failed", e.getCause());
+        }
+        if (transientFailure == null) {
+          transientFailure = runtimeException;
+        }
+      }
+    }
+    if (lowest == null && transientFailure != null) {
+      throw transientFailure;
+    }
+    return lowest;
+  }
+
+  private static void throwIfFailed(FailedEvent failedEvent) {
+    if (failedEvent != null) {
+      throw new BatchListenerFailedException(
+          "Cannot project account event", failedEvent.cause(), failedEvent.index());
+    }
+  }
+
+  private void recordKeyQueueSize(int size) {
+    try {
+      meterRegistry.summary(KEY_QUEUE_METRIC).record(size);
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record projection key queue size (size={})", size, meterFailure);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.stereotype.Component;
+
+/**
+ * When projection offsets live in the database, takes the per-poll offset commit off the hot path:
+ * in {@code MANUAL} ack mode the container only commits what the listener acknowledges, and {@link
+ * AccountOutboxConsumer} never does. Consumer auto-commit is already disabled by Spring Kafka.
+ */
+@Component
+@ConditionalOnProperty(name = "account.projection.database-offsets.enabled", havingValue = "true")
+public class DatabaseOffsetsContainerCustomizer
+    implements ContainerCustomizer<
+        Object, Object, ConcurrentMessageListenerContainer<Object, Object>> {
+
+  @Override
+  public void configure(ConcurrentMessageListenerContainer<Object, Object> container) {
+    container.getContainerProperties().setAckMode(AckMode.MANUAL);
+  }
+}
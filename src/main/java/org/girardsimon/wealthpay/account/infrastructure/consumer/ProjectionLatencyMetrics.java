@@ -0,0 +1,158 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * How far the balance read model trails the write side, measured by the outbox consumer once a poll
+ * is projected, i.e. its transaction committed:
+ *
+ * <ul>
+ *   <li>{@code wealthpay.account.projection.event_latency}: from the event's {@code occurredAt} to
+ *       its projection, the staleness a read issued right after the command would see;
+ *   <li>{@code wealthpay.account.projection.record_latency}: from the Kafka record timestamp to its
+ *       projection, the consumer's share of it; the rest is CDC and publication;
+ *   <li>per {@code partition}, {@code wealthpay.account.projection.partition.last_projected} (epoch
+ *       seconds of the last projected poll) and {@code
+ *       wealthpay.account.projection.partition.event_lag} (age of the newest event of that poll
+ *       when it was projected).
+ * </ul>
+ *
+ * <p>A partition falling behind shows a growing {@code event_lag}; a stuck one, a {@code
+ * last_projected} that stops moving while Kafka reports records lag. Gauges of revoked partitions
+ * are removed so that they do not freeze at their last value. Recording never fails a poll.
+ */
+@Component
+public class ProjectionLatencyMetrics {
+
+  static final String EVENT_LATENCY_METRIC = "wealthpay.account.projection.event_latency";
+  static final String RECORD_LATENCY_METRIC = "wealthpay.account.projection.record_latency";
+  static final String LAST_PROJECTED_METRIC =
+      "wealthpay.account.projection.partition.last_projected";
+  static final String EVENT_LAG_METRIC = "wealthpay.account.projection.partition.event_lag";
+
+  private static final Logger log = LoggerFactory.getLogger(ProjectionLatencyMetrics.class);
+
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final Timer eventLatency;
+  private final Timer recordLatency;
+  private final ConcurrentHashMap<Integer, PartitionGauges> partitions = new ConcurrentHashMap<>();
+
+  public ProjectionLatencyMetrics(MeterRegistry meterRegistry, Clock clock) {
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.eventLatency =
+        Timer.builder(EVENT_LATENCY_METRIC)
+            .description("Time from an account event occurring to its projection commit")
+            .register(meterRegistry);
+    this.recordLatency =
+        Timer.builder(RECORD_LATENCY_METRIC)
+            .description("Time from an outbox record timestamp to its projection commit")
+            .register(meterRegistry);
+  }
+
+  /**
+   * {@code events} were deserialized from {@code records}, index for index, and are committed. The
+   * {@code duplicates} were already projected by an earlier delivery, and measured then.
+   */
+  public void projected(
+      List<ConsumerRecord<String, Object>> records,
+      List<AccountEvent> events,
+      Set<EventId> duplicates) {
+    try {
+      Instant now = clock.instant();
+      Map<Integer, Instant> newestByPartition = new HashMap<>();
+      for (int index = 0; index < events.size(); index++) {
+        AccountEvent event = events.get(index);
+        if (duplicates.contains(event.eventId())) {
+          continue;
+        }
+        ConsumerRecord<String, Object> consumerRecord = records.get(index);
+        eventLatency.record(elapsed(event.occurredAt(), now));
+        if (consumerRecord.timestamp() >= 0) {
+          recordLatency.record(elapsed(Instant.ofEpochMilli(consumerRecord.timestamp()), now));
+        }
+        newestByPartition.merge(
+            consumerRecord.partition(),
+            event.occurredAt(),
+            (newest, occurredAt) -> occurredAt.isAfter(newest) ? occurredAt : newest);
+      }
+      newestByPartition.forEach(
+          (partition, newest) ->
+              partitions
+                  .computeIfAbsent(partition, this::registerPartition)
+                  .update(now, elapsed(newest, now)));
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record projection latency (events={})", events.size(), meterFailure);
+    }
+  }
+
+  /** Stops exporting the gauges of partitions this instance no longer consumes. */
+  public void release(Collection<Integer> revoked) {
+    revoked.forEach(
+        partition -> {
+          PartitionGauges gauges = partitions.remove(partition);
+          if (gauges != null) {
+            meterRegistry.remove(gauges.lastProjectedGauge());
+            meterRegistry.remove(gauges.eventLagGauge());
+          }
+        });
+  }
+
+  private static Duration elapsed(Instant from, Instant now) {
+    Duration elapsed = Duration.between(from, now);
+    // Clock skew between the writer, the broker and this instance.
+    return elapsed.isNegative() ? Duration.ZERO : elapsed;
+  }
+
+  private PartitionGauges registerPartition(int partition) {
+    Tags tags = Tags.of("partition", Integer.toString(partition));
+    AtomicLong lastProjectedMillis = new AtomicLong();
+    AtomicLong eventLagMillis = new AtomicLong();
+    Gauge lastProjectedGauge =
+        Gauge.builder(LAST_PROJECTED_METRIC, lastProjectedMillis, millis -> millis.get() / 1000.0)
+            .tags(tags)
+            .baseUnit("seconds")
+            .description("Epoch time of the last projected poll of an outbox partition")
+            .register(meterRegistry);
+    Gauge eventLagGauge =
+        Gauge.builder(EVENT_LAG_METRIC, eventLagMillis, millis -> millis.get() / 1000.0)
+            .tags(tags)
+            .baseUnit("seconds")
+            .description("Age of the newest event of an outbox partition's last projected poll")
+            .register(meterRegistry);
+    return new PartitionGauges(
+        lastProjectedMillis, eventLagMillis, lastProjectedGauge, eventLagGauge);
+  }
+
+  private record PartitionGauges(
+      AtomicLong lastProjectedMillis,
+      AtomicLong eventLagMillis,
+      Gauge lastProjectedGauge,
+      Gauge eventLagGauge) {
+
+    void update(Instant projectedAt, Duration eventLag) {
+      lastProjectedMillis.set(projectedAt.toEpochMilli());
+      eventLagMillis.set(eventLag.toMillis());
+    }
+  }
+}
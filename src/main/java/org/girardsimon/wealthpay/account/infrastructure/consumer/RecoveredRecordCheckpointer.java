@@ -0,0 +1,68 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * When projection offsets live in the database, moves the stored position past the records the
+ * {@code DefaultErrorHandler} recovered to the dead letter topic. A poll's checkpoint stops before
+ * its failed record and Kafka offsets are not committed in this mode, so otherwise every restart or
+ * rebalance would seek back onto the record and dead-letter it again.
+ *
+ * <p>Runs outside any projection transaction, once the record is published. Failing to store the
+ * position is only logged: the worst outcome is the duplicate dead letter this class avoids.
+ */
+@Component
+@ConditionalOnProperty(name = "account.projection.database-offsets.enabled", havingValue = "true")
+public class RecoveredRecordCheckpointer implements RetryListener {
+
+  private static final Logger log = LoggerFactory.getLogger(RecoveredRecordCheckpointer.class);
+
+  private final ProjectionOffsetStore projectionOffsetStore;
+
+  public RecoveredRecordCheckpointer(ProjectionOffsetStore projectionOffsetStore) {
+    this.projectionOffsetStore = projectionOffsetStore;
+  }
+
+  @Override
+  public void failedDelivery(ConsumerRecord<?, ?> consumerRecord, Exception ex, int attempt) {
+    // Retried deliveries leave the position where the last committed poll put it.
+  }
+
+  @Override
+  public void recovered(ConsumerRecord<?, ?> consumerRecord, Exception ex) {
+    save(
+        new ProjectionCheckpoint(
+            consumerRecord.topic(),
+            Map.of(consumerRecord.partition(), consumerRecord.offset() + 1)));
+  }
+
+  @Override
+  public void recovered(ConsumerRecords<?, ?> consumerRecords, Exception ex) {
+    Map<String, Map<Integer, Long>> nextOffsetsByTopic = new HashMap<>();
+    consumerRecords.forEach(
+        consumerRecord ->
+            nextOffsetsByTopic
+                .computeIfAbsent(consumerRecord.topic(), _ -> new HashMap<>())
+                .merge(consumerRecord.partition(), consumerRecord.offset() + 1, Math::max));
+    nextOffsetsByTopic.forEach(
+        (topic, nextOffsets) -> save(new ProjectionCheckpoint(topic, nextOffsets)));
+  }
+
+  private void save(ProjectionCheckpoint checkpoint) {
+    try {
+      projectionOffsetStore.save(checkpoint);
+    } catch (RuntimeException e) {
+      log.warn("Failed to store position past recovered records {}", checkpoint, e);
+    }
+  }
+}
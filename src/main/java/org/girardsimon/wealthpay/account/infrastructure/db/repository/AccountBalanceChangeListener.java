@@ -0,0 +1,161 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.girardsimon.wealthpay.account.application.AccountBalanceCache;
+import org.girardsimon.wealthpay.account.application.AccountProjectionWatcher;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives the {@link AccountBalanceChangeNotifier} notifications of every replica, this one
+ * included, on one dedicated connection taken from the pool for the lifetime of the instance (size
+ * the pool accordingly). Enabled with {@code account.balance-cache.enabled}.
+ *
+ * <p>Each notified {@code account:version} invalidates older {@link AccountBalanceCache} entries
+ * and wakes the {@link AccountProjectionWatcher} waiters it satisfies, so read-your-writes reads
+ * served by a replica that does not project the account return without waiting for a re-check.
+ *
+ * <p>Notifications sent while the connection is down are lost: the whole cache is invalidated each
+ * time {@code LISTEN} is (re)established, before anything is read from the connection. Any other
+ * failure, e.g. from the cache or a waiter, is handled the same way rather than ending the listener
+ * thread: the cache is invalidated and {@code LISTEN} established again after the backoff.
+ */
+@Component
+@ConditionalOnProperty(name = "account.balance-cache.enabled", havingValue = "true")
+public class AccountBalanceChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(AccountBalanceChangeListener.class);
+
+  private static final int POLL_TIMEOUT_MILLIS = 500;
+  private static final long RECONNECT_BACKOFF_MILLIS = 1_000;
+
+  private final DataSource dataSource;
+  private final AccountBalanceCache accountBalanceCache;
+  private final AccountProjectionWatcher accountProjectionWatcher;
+
+  private final ExecutorService listener =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("account-balance-listener-", 0).factory());
+  private volatile boolean running;
+  private volatile boolean listening;
+
+  public AccountBalanceChangeListener(
+      DataSource dataSource,
+      AccountBalanceCache accountBalanceCache,
+      AccountProjectionWatcher accountProjectionWatcher) {
+    this.dataSource = dataSource;
+    this.accountBalanceCache = accountBalanceCache;
+    this.accountProjectionWatcher = accountProjectionWatcher;
+  }
+
+  @PostConstruct
+  void start() {
+    running = true;
+    listener.execute(this::listen);
+  }
+
+  @PreDestroy
+  void stop() {
+    running = false;
+    listener.close();
+  }
+
+  /** Whether {@code LISTEN} is currently established. */
+  boolean isListening() {
+    return listening;
+  }
+
+  /** Applies one notification payload; a malformed one invalidates the whole cache. */
+  void apply(String payload) {
+    if (payload.equals(AccountBalanceChangeNotifier.ALL)) {
+      accountBalanceCache.invalidateAll();
+      return;
+    }
+    try {
+      for (String entry : payload.split(",")) {
+        int separator = entry.lastIndexOf(':');
+        AccountId accountId = AccountId.of(UUID.fromString(entry.substring(0, separator)));
+        long version = Long.parseLong(entry.substring(separator + 1));
+        accountBalanceCache.invalidate(accountId, version);
+        accountProjectionWatcher.projected(accountId, version);
+      }
+    } catch (IllegalArgumentException | IndexOutOfBoundsException malformed) {
+      log.warn("Malformed account balance change notification: {}", payload, malformed);
+      accountBalanceCache.invalidateAll();
+    }
+  }
+
+  private void listen() {
+    while (running) {
+      try {
+        listenUntilStopped();
+      } catch (SQLException e) {
+        if (running) {
+          log.warn("Account balance change listener lost its connection, reconnecting", e);
+          pause();
+        }
+      } catch (RuntimeException e) {
+        if (running) {
+          log.error("Account balance change listener failed, invalidating and listening again", e);
+          invalidateAllSafely();
+          pause();
+        }
+      }
+    }
+  }
+
+  private void listenUntilStopped() throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(true);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + AccountBalanceChangeNotifier.CHANNEL);
+      }
+      accountBalanceCache.invalidateAll();
+      listening = true;
+      PGConnection pgConnection = connection.unwrap(PGConnection.class);
+      while (running) {
+        PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+        if (notifications == null) {
+          continue;
+        }
+        for (PGNotification notification : notifications) {
+          apply(notification.getParameter());
+        }
+      }
+    } finally {
+      listening = false;
+    }
+  }
+
+  /** Nothing left to fall back on when invalidation itself fails: the next LISTEN retries it. */
+  private void invalidateAllSafely() {
+    try {
+      accountBalanceCache.invalidateAll();
+    } catch (RuntimeException e) {
+      log.warn("Failed to invalidate account balance cache", e);
+    }
+  }
+
+  private void pause() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(RECONNECT_BACKOFF_MILLIS);
+    } catch (InterruptedException _) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
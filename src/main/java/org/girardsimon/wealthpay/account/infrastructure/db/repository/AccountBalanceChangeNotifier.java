@@ -0,0 +1,76 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.jooq.impl.DSL.function;
+import static org.jooq.impl.DSL.val;
+
+import java.util.Map;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the other replicas which {@code account_balance_view} rows the current transaction writes,
+ * so that their {@code AccountBalanceCache} drops older entries ({@link
+ * AccountBalanceChangeListener}). Only with {@code account.balance-cache.enabled}.
+ *
+ * <pre>{@code
+ * SELECT pg_notify('account_balance_view', '<account id>:<version>,<account id>:<version>')
+ * }</pre>
+ *
+ * Notifications are sent by Postgres when, and only if, the transaction commits, in commit order.
+ * Payloads are cut below the 8000 byte limit of {@code NOTIFY}. The price is that a committing
+ * transaction which has notified takes a database-wide lock to queue its notifications, so
+ * projection commits are serialized: the reason the cache is opt-in.
+ */
+@Component
+public class AccountBalanceChangeNotifier {
+
+  static final String CHANNEL = "account_balance_view";
+
+  /** Payload of a notification replacing the whole view. */
+  static final String ALL = "*";
+
+  /** An entry is at most 36 + 1 + 19 characters, plus its separator. */
+  private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+  private final DSLContext dslContext;
+  private final boolean enabled;
+
+  public AccountBalanceChangeNotifier(
+      DSLContext dslContext, @Value("${account.balance-cache.enabled}") boolean enabled) {
+    this.dslContext = dslContext;
+    this.enabled = enabled;
+  }
+
+  /** Announces the version each account is written at, on commit of the current transaction. */
+  void notifyWritten(Map<UUID, Long> versionByAccount) {
+    if (!enabled || versionByAccount.isEmpty()) {
+      return;
+    }
+    StringBuilder payload = new StringBuilder();
+    versionByAccount.forEach(
+        (accountId, version) -> {
+          if (payload.length() >= MAX_PAYLOAD_LENGTH) {
+            send(payload.toString());
+            payload.setLength(0);
+          }
+          if (!payload.isEmpty()) {
+            payload.append(',');
+          }
+          payload.append(accountId).append(':').append(version);
+        });
+    send(payload.toString());
+  }
+
+  /** Announces that every row may have changed, on commit of the current transaction. */
+  void notifyReplaced() {
+    if (enabled) {
+      send(ALL);
+    }
+  }
+
+  private void send(String payload) {
+    dslContext.select(function("pg_notify", Object.class, val(CHANNEL), val(payload))).fetch();
+  }
+}
@@ -1,11 +1,31 @@
 package org.girardsimon.wealthpay.account.infrastructure.db.repository;
 
+import static java.util.stream.Collectors.toSet;
 import static org.girardsimon.wealthpay.account.jooq.tables.AccountBalanceView.ACCOUNT_BALANCE_VIEW;
+import static org.jooq.impl.DSL.any;
+import static org.jooq.impl.DSL.excluded;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.application.AccountBalanceCache;
 import org.girardsimon.wealthpay.account.application.AccountBalanceProjector;
 import org.girardsimon.wealthpay.account.application.AccountBalanceReader;
+import org.girardsimon.wealthpay.account.application.AccountBalanceStream;
+import org.girardsimon.wealthpay.account.application.AccountProjectionWatcher;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
 import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
 import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
@@ -18,11 +38,18 @@ import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
 import org.girardsimon.wealthpay.account.domain.exception.AccountBalanceNotFoundException;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.ProjectionStateCache.CachedProjection;
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountBalanceViewEntryToDomainMapper;
 import org.girardsimon.wealthpay.account.jooq.tables.records.AccountBalanceViewRecord;
 import org.jooq.DSLContext;
+import org.jooq.Record;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Repository
 public class AccountBalanceReadModel implements AccountBalanceProjector, AccountBalanceReader {
@@ -31,11 +58,39 @@ public class AccountBalanceReadModel implements AccountBalanceProjector, Account
 
   private final AccountBalanceViewEntryToDomainMapper accountBalanceViewEntryToDomainMapper;
 
+  private final ProjectionStateCache projectionStateCache;
+
+  private final AccountProjectionWatcher accountProjectionWatcher;
+
+  private final ProjectionOffsetStore projectionOffsetStore;
+
+  private final ProjectionStalenessSampler projectionStalenessSampler;
+
+  private final AccountBalanceStream accountBalanceStream;
+
+  private final AccountBalanceCache accountBalanceCache;
+
+  private final AccountBalanceChangeNotifier accountBalanceChangeNotifier;
+
   public AccountBalanceReadModel(
       DSLContext dslContext,
-      AccountBalanceViewEntryToDomainMapper accountBalanceViewEntryToDomainMapper) {
+      AccountBalanceViewEntryToDomainMapper accountBalanceViewEntryToDomainMapper,
+      ProjectionStateCache projectionStateCache,
+      AccountProjectionWatcher accountProjectionWatcher,
+      ProjectionOffsetStore projectionOffsetStore,
+      ProjectionStalenessSampler projectionStalenessSampler,
+      AccountBalanceStream accountBalanceStream,
+      AccountBalanceCache accountBalanceCache,
+      AccountBalanceChangeNotifier accountBalanceChangeNotifier) {
     this.dslContext = dslContext;
     this.accountBalanceViewEntryToDomainMapper = accountBalanceViewEntryToDomainMapper;
+    this.projectionStateCache = projectionStateCache;
+    this.accountProjectionWatcher = accountProjectionWatcher;
+    this.projectionOffsetStore = projectionOffsetStore;
+    this.projectionStalenessSampler = projectionStalenessSampler;
+    this.accountBalanceStream = accountBalanceStream;
+    this.accountBalanceCache = accountBalanceCache;
+    this.accountBalanceChangeNotifier = accountBalanceChangeNotifier;
   }
 
   private static void applyEventToState(AccountEvent event, ProjectionState currentState) {
@@ -66,25 +121,73 @@ public class AccountBalanceReadModel implements AccountBalanceProjector, Account
   }
 
   private static void applyEvents(List<AccountEvent> events, ProjectionState currentState) {
-    events.forEach(
-        event -> {
-          long expectedNextVersion = currentState.version + 1;
+    events.forEach(event -> applyEvent(event, currentState));
+  }
 
-          if (event.version() < expectedNextVersion) {
-            return;
-          }
-          if (event.version() != expectedNextVersion) {
-            throw new IllegalStateException(
-                "Non contiguous versions for account %s: expected %d but got %d"
-                    .formatted(event.accountId().id(), currentState.version, event.version()));
-          }
-          applyEventToState(event, currentState);
-        });
+  /** Events {@link #applyEvent} skips against a view already projected at {@code version}. */
+  private static Set<EventId> duplicates(List<AccountEvent> events, long version) {
+    return events.stream()
+        .filter(event -> event.version() <= version)
+        .map(AccountEvent::eventId)
+        .collect(toSet());
+  }
+
+  /**
+   * Folds one event into {@code currentState}: skipped when already applied, rejected with an
+   * {@link IllegalStateException} when it is not the next version. Shared with {@link
+   * AccountBalanceRebuilder} so a rebuilt row is exactly the row the consumer would have written.
+   */
+  static void applyEvent(AccountEvent event, ProjectionState currentState) {
+    long expectedNextVersion = currentState.version + 1;
+
+    if (event.version() < expectedNextVersion) {
+      return;
+    }
+    if (event.version() != expectedNextVersion) {
+      throw new IllegalStateException(
+          "Non contiguous versions for account %s: expected %d but got %d"
+              .formatted(event.accountId().id(), currentState.version, event.version()));
+    }
+    applyEventToState(event, currentState);
   }
 
   @Override
   public AccountBalanceView getAccountBalance(AccountId accountId) {
+    AccountBalanceView view =
+        dslContext
+            .select(
+                ACCOUNT_BALANCE_VIEW.ACCOUNT_ID,
+                ACCOUNT_BALANCE_VIEW.BALANCE,
+                ACCOUNT_BALANCE_VIEW.RESERVED,
+                ACCOUNT_BALANCE_VIEW.CURRENCY,
+                ACCOUNT_BALANCE_VIEW.STATUS,
+                ACCOUNT_BALANCE_VIEW.VERSION)
+            .from(ACCOUNT_BALANCE_VIEW)
+            .where(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID.eq(accountId.id()))
+            .fetchOptional()
+            .map(accountBalanceViewEntryToDomainMapper)
+            .orElseThrow(() -> new AccountBalanceNotFoundException(accountId));
+    projectionStalenessSampler.sample(view);
+    return view;
+  }
+
+  @Override
+  public Optional<Long> findAccountVersion(AccountId accountId) {
     return dslContext
+        .select(ACCOUNT_BALANCE_VIEW.VERSION)
+        .from(ACCOUNT_BALANCE_VIEW)
+        .where(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID.eq(accountId.id()))
+        .fetchOptional(ACCOUNT_BALANCE_VIEW.VERSION);
+  }
+
+  @Override
+  public Map<AccountId, AccountBalanceView> getAccountBalances(Collection<AccountId> accountIds) {
+    if (accountIds.isEmpty()) {
+      return Map.of();
+    }
+    UUID[] ids = accountIds.stream().map(AccountId::id).distinct().toArray(UUID[]::new);
+    Map<AccountId, AccountBalanceView> views = HashMap.newHashMap(ids.length);
+    dslContext
         .select(
             ACCOUNT_BALANCE_VIEW.ACCOUNT_ID,
             ACCOUNT_BALANCE_VIEW.BALANCE,
@@ -93,20 +196,26 @@ public class AccountBalanceReadModel implements AccountBalanceProjector, Account
             ACCOUNT_BALANCE_VIEW.STATUS,
             ACCOUNT_BALANCE_VIEW.VERSION)
         .from(ACCOUNT_BALANCE_VIEW)
-        .where(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID.eq(accountId.id()))
-        .fetchOptional()
-        .map(accountBalanceViewEntryToDomainMapper)
-        .orElseThrow(() -> new AccountBalanceNotFoundException(accountId));
+        .where(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID.eq(any(ids)))
+        .fetch()
+        .forEach(
+            entry -> {
+              AccountBalanceView view = accountBalanceViewEntryToDomainMapper.apply(entry);
+              views.put(view.accountId(), view);
+            });
+    return views;
   }
 
   @Override
   @Transactional
-  public void project(List<AccountEvent> events) {
+  public Set<EventId> project(List<AccountEvent> events) {
     if (events.isEmpty()) {
-      return;
+      return Set.of();
     }
 
     AccountId accountId = events.getFirst().accountId();
+    // Written behind the cache's back: the next batch reads the row again.
+    projectionStateCache.evict(accountId.id());
 
     ProjectionState currentState =
         dslContext
@@ -120,20 +229,15 @@ public class AccountBalanceReadModel implements AccountBalanceProjector, Account
             .from(ACCOUNT_BALANCE_VIEW)
             .where(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID.eq(accountId.id()))
             .fetchOptional()
-            .map(
-                currentRecord ->
-                    new ProjectionState(
-                        currentRecord.get(ACCOUNT_BALANCE_VIEW.BALANCE),
-                        currentRecord.get(ACCOUNT_BALANCE_VIEW.RESERVED),
-                        currentRecord.get(ACCOUNT_BALANCE_VIEW.CURRENCY),
-                        currentRecord.get(ACCOUNT_BALANCE_VIEW.STATUS),
-                        currentRecord.get(ACCOUNT_BALANCE_VIEW.VERSION)))
+            .map(AccountBalanceReadModel::toProjectionState)
             .orElseGet(ProjectionState::init);
 
     long initialVersion = currentState.version;
     applyEvents(events, currentState);
+    long projectedVersion = currentState.version;
     if (currentState.version == initialVersion) {
-      return;
+      afterCommit(() -> accountProjectionWatcher.projected(accountId, projectedVersion));
+      return duplicates(events, projectedVersion);
     }
 
     AccountBalanceViewRecord row = dslContext.newRecord(ACCOUNT_BALANCE_VIEW);
@@ -144,17 +248,269 @@ public class AccountBalanceReadModel implements AccountBalanceProjector, Account
     row.setStatus(currentState.status);
     row.setVersion(currentState.version);
 
-    dslContext
-        .insertInto(ACCOUNT_BALANCE_VIEW)
-        .set(row)
-        .onConflict(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID)
-        .doUpdate()
-        .set(row)
-        .where(ACCOUNT_BALANCE_VIEW.VERSION.lt(currentState.version))
-        .execute();
+    int written =
+        dslContext
+            .insertInto(ACCOUNT_BALANCE_VIEW)
+            .set(row)
+            .onConflict(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID)
+            .doUpdate()
+            .set(row)
+            .where(ACCOUNT_BALANCE_VIEW.VERSION.lt(currentState.version))
+            .execute();
+    if (written == 0) {
+      // The row is already at or past projectedVersion: every event was projected elsewhere.
+      afterCommit(() -> accountProjectionWatcher.projected(accountId, projectedVersion));
+      return duplicates(events, projectedVersion);
+    }
+    accountBalanceChangeNotifier.notifyWritten(Map.of(accountId.id(), projectedVersion));
+    AccountBalanceView view = currentState.toView(accountId);
+    afterCommit(
+        () -> {
+          accountBalanceCache.put(view);
+          accountProjectionWatcher.projected(accountId, projectedVersion);
+          accountBalanceStream.publish(view);
+        });
+    return duplicates(events, initialVersion);
+  }
+
+  /**
+   * Set-based counterpart of {@link #project}, backed by the consumer's {@link
+   * ProjectionStateCache}.
+   *
+   * <pre>{@code
+   * SELECT ... FROM account_balance_view WHERE account_id = ANY(:accountIds)  -- cache misses
+   * INSERT INTO account_balance_view (...) VALUES (...), (...)
+   * ON CONFLICT (account_id) DO UPDATE SET ... WHERE version < excluded.version
+   * RETURNING account_id
+   * }</pre>
+   *
+   * In steady state every account is cached and the batch is a single upsert. Events are folded in
+   * memory with the same {@code applyEvents} duplicate and gap checks, and the upsert keeps the
+   * same version guard, so idempotency and contiguity are exactly those of {@link #project}.
+   * Accounts whose events were all duplicates are not written. Rows are written in account id
+   * order, so two batches upserting overlapping accounts lock them in the same order and cannot
+   * deadlock.
+   *
+   * <p>A cached state that reports a version gap, or whose row the version guard rejects (zero rows
+   * returned), is evicted and the account is folded again from the database row, with the strict
+   * checks. Committed states are cached, and reported to {@link AccountProjectionWatcher}, from an
+   * {@code afterCommit} callback only; the rows actually written are also written through to the
+   * {@link AccountBalanceCache} and published to the {@link AccountBalanceStream} subscribers of
+   * their account, and announced to the other replicas by the {@link AccountBalanceChangeNotifier}
+   * within the transaction.
+   */
+  @Override
+  @Transactional
+  public Set<EventId> projectAll(Collection<List<AccountEvent>> eventsByAccount) {
+    Map<UUID, List<AccountEvent>> pendingEvents = new LinkedHashMap<>();
+    eventsByAccount.stream()
+        .flatMap(List::stream)
+        .forEach(
+            event ->
+                pendingEvents
+                    .computeIfAbsent(event.accountId().id(), _ -> new ArrayList<>())
+                    .add(event));
+    if (pendingEvents.isEmpty()) {
+      return Set.of();
+    }
+
+    Map<UUID, ProjectionState> states = new HashMap<>();
+    Map<UUID, Long> initialVersions = new HashMap<>();
+    SortedMap<UUID, ProjectionState> changedStates = new TreeMap<>();
+    Set<UUID> fromCache = new HashSet<>();
+    List<UUID> staleAccountIds = new ArrayList<>();
+    List<UUID> toLoad = new ArrayList<>();
+    pendingEvents.forEach(
+        (accountId, events) -> {
+          Optional<CachedProjection> cachedProjection = projectionStateCache.get(accountId);
+          if (cachedProjection.isEmpty()) {
+            toLoad.add(accountId);
+            return;
+          }
+          ProjectionState currentState = ProjectionState.from(cachedProjection.get());
+          long initialVersion = currentState.version;
+          initialVersions.put(accountId, initialVersion);
+          try {
+            applyEvents(events, currentState);
+          } catch (IllegalStateException _) {
+            staleAccountIds.add(accountId);
+            toLoad.add(accountId);
+            return;
+          }
+          fromCache.add(accountId);
+          states.put(accountId, currentState);
+          if (currentState.version != initialVersion) {
+            changedStates.put(accountId, currentState);
+          }
+        });
+    projectionStateCache.evictStale(staleAccountIds);
+    foldFromDatabase(toLoad, pendingEvents, states, initialVersions, changedStates);
+
+    Set<UUID> written = upsert(changedStates);
+    List<UUID> rejected =
+        changedStates.keySet().stream()
+            .filter(accountId -> fromCache.contains(accountId) && !written.contains(accountId))
+            .toList();
+    if (!rejected.isEmpty()) {
+      projectionStateCache.evictStale(rejected);
+      rejected.forEach(changedStates::remove);
+      SortedMap<UUID, ProjectionState> refoldedStates = new TreeMap<>();
+      foldFromDatabase(rejected, pendingEvents, states, initialVersions, refoldedStates);
+      written.addAll(upsert(refoldedStates));
+      changedStates.putAll(refoldedStates);
+    }
+
+    Map<UUID, CachedProjection> committedStates = new HashMap<>();
+    states.forEach(
+        (accountId, state) -> {
+          if (!changedStates.containsKey(accountId) || written.contains(accountId)) {
+            committedStates.put(accountId, state.toCachedProjection());
+          }
+        });
+    Map<UUID, Long> writtenVersions = new LinkedHashMap<>();
+    List<AccountBalanceView> writtenViews = new ArrayList<>();
+    changedStates.forEach(
+        (accountId, state) -> {
+          if (written.contains(accountId)) {
+            writtenVersions.put(accountId, state.version);
+            writtenViews.add(state.toView(AccountId.of(accountId)));
+          }
+        });
+    accountBalanceChangeNotifier.notifyWritten(writtenVersions);
+    afterCommit(
+        () -> {
+          writtenViews.forEach(accountBalanceCache::put);
+          committedStates.forEach(
+              (accountId, state) -> {
+                projectionStateCache.put(accountId, state);
+                accountProjectionWatcher.projected(AccountId.of(accountId), state.version());
+              });
+          writtenViews.forEach(accountBalanceStream::publish);
+        });
+
+    Set<EventId> duplicates = new HashSet<>();
+    pendingEvents.forEach(
+        (accountId, events) -> {
+          boolean rejectedAgain =
+              changedStates.containsKey(accountId) && !written.contains(accountId);
+          long projectedVersion =
+              rejectedAgain ? states.get(accountId).version : initialVersions.get(accountId);
+          duplicates.addAll(duplicates(events, projectedVersion));
+        });
+    return duplicates;
+  }
+
+  /**
+   * The checkpoint is written after the balance rows, as one more statement of the same
+   * transaction: a rollback loses both, so a restart resumes exactly where the committed rows end.
+   */
+  @Override
+  @Transactional
+  public Set<EventId> projectAll(
+      Collection<List<AccountEvent>> eventsByAccount, ProjectionCheckpoint checkpoint) {
+    Set<EventId> duplicates = projectAll(eventsByAccount);
+    projectionOffsetStore.save(checkpoint);
+    return duplicates;
   }
 
-  private static final class ProjectionState {
+  private void foldFromDatabase(
+      List<UUID> accountIds,
+      Map<UUID, List<AccountEvent>> pendingEvents,
+      Map<UUID, ProjectionState> states,
+      Map<UUID, Long> initialVersions,
+      Map<UUID, ProjectionState> changedStates) {
+    if (accountIds.isEmpty()) {
+      return;
+    }
+    Map<UUID, ProjectionState> storedStates =
+        dslContext
+            .select(
+                ACCOUNT_BALANCE_VIEW.ACCOUNT_ID,
+                ACCOUNT_BALANCE_VIEW.BALANCE,
+                ACCOUNT_BALANCE_VIEW.RESERVED,
+                ACCOUNT_BALANCE_VIEW.CURRENCY,
+                ACCOUNT_BALANCE_VIEW.STATUS,
+                ACCOUNT_BALANCE_VIEW.VERSION)
+            .from(ACCOUNT_BALANCE_VIEW)
+            .where(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID.eq(any(accountIds.toArray(UUID[]::new))))
+            .fetchMap(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID, AccountBalanceReadModel::toProjectionState);
+    for (UUID accountId : accountIds) {
+      ProjectionState currentState =
+          storedStates.containsKey(accountId)
+              ? storedStates.get(accountId)
+              : ProjectionState.init();
+      long initialVersion = currentState.version;
+      initialVersions.put(accountId, initialVersion);
+      applyEvents(pendingEvents.get(accountId), currentState);
+      states.put(accountId, currentState);
+      if (currentState.version != initialVersion) {
+        changedStates.put(accountId, currentState);
+      }
+    }
+  }
+
+  /** Writes {@code changedStates} in one statement and returns the accounts actually written. */
+  private Set<UUID> upsert(SortedMap<UUID, ProjectionState> changedStates) {
+    if (changedStates.isEmpty()) {
+      return new HashSet<>();
+    }
+    var upsert =
+        dslContext
+            .insertInto(ACCOUNT_BALANCE_VIEW)
+            .columns(
+                ACCOUNT_BALANCE_VIEW.ACCOUNT_ID,
+                ACCOUNT_BALANCE_VIEW.CURRENCY,
+                ACCOUNT_BALANCE_VIEW.BALANCE,
+                ACCOUNT_BALANCE_VIEW.RESERVED,
+                ACCOUNT_BALANCE_VIEW.STATUS,
+                ACCOUNT_BALANCE_VIEW.VERSION);
+    changedStates.forEach(
+        (accountId, state) ->
+            upsert.values(
+                accountId,
+                state.currency,
+                state.balance,
+                state.reserved,
+                state.status,
+                state.version));
+    return new HashSet<>(
+        upsert
+            .onConflict(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID)
+            .doUpdate()
+            .set(ACCOUNT_BALANCE_VIEW.CURRENCY, excluded(ACCOUNT_BALANCE_VIEW.CURRENCY))
+            .set(ACCOUNT_BALANCE_VIEW.BALANCE, excluded(ACCOUNT_BALANCE_VIEW.BALANCE))
+            .set(ACCOUNT_BALANCE_VIEW.RESERVED, excluded(ACCOUNT_BALANCE_VIEW.RESERVED))
+            .set(ACCOUNT_BALANCE_VIEW.STATUS, excluded(ACCOUNT_BALANCE_VIEW.STATUS))
+            .set(ACCOUNT_BALANCE_VIEW.VERSION, excluded(ACCOUNT_BALANCE_VIEW.VERSION))
+            .where(ACCOUNT_BALANCE_VIEW.VERSION.lt(excluded(ACCOUNT_BALANCE_VIEW.VERSION)))
+            .returningResult(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID)
+            .fetch(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID));
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private static ProjectionState toProjectionState(Record currentRecord) {
+    return new ProjectionState(
+        currentRecord.get(ACCOUNT_BALANCE_VIEW.BALANCE),
+        currentRecord.get(ACCOUNT_BALANCE_VIEW.RESERVED),
+        currentRecord.get(ACCOUNT_BALANCE_VIEW.CURRENCY),
+        currentRecord.get(ACCOUNT_BALANCE_VIEW.STATUS),
+        currentRecord.get(ACCOUNT_BALANCE_VIEW.VERSION));
+  }
+
+  static final class ProjectionState {
     BigDecimal balance;
     BigDecimal reserved;
     String currency;
@@ -173,5 +529,29 @@ public class AccountBalanceReadModel implements AccountBalanceProjector, Account
     static ProjectionState init() {
       return new ProjectionState(BigDecimal.ZERO, BigDecimal.ZERO, null, null, 0L);
     }
+
+    static ProjectionState from(CachedProjection cachedProjection) {
+      return new ProjectionState(
+          cachedProjection.balance(),
+          cachedProjection.reserved(),
+          cachedProjection.currency(),
+          cachedProjection.status(),
+          cachedProjection.version());
+    }
+
+    CachedProjection toCachedProjection() {
+      return new CachedProjection(balance, reserved, currency, status, version);
+    }
+
+    AccountBalanceView toView(AccountId accountId) {
+      SupportedCurrency supportedCurrency =
+          SupportedCurrency.fromValue(currency.toUpperCase(Locale.US));
+      return new AccountBalanceView(
+          accountId,
+          Money.of(balance, supportedCurrency),
+          Money.of(reserved, supportedCurrency),
+          status,
+          version);
+    }
   }
 }
@@ -0,0 +1,506 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.girardsimon.wealthpay.account.jooq.tables.AccountBalanceView.ACCOUNT_BALANCE_VIEW;
+import static org.girardsimon.wealthpay.account.jooq.tables.EventStore.EVENT_STORE;
+import static org.jooq.impl.DSL.any;
+import static org.jooq.impl.DSL.constraint;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.noCondition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.application.AccountBalanceCache;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountBalanceReadModel.ProjectionState;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.jooq.tables.AccountBalanceView;
+import org.girardsimon.wealthpay.account.jooq.tables.pojos.EventStore;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rebuilds {@code account_balance_view} from {@code event_store} without going through Kafka, for
+ * when the outbox topic can no longer be replayed (compaction, expired retention) or the view is
+ * known to be wrong.
+ *
+ * <ol>
+ *   <li>An empty shadow table, {@code account_balance_view_rebuild}, is created like the view but
+ *       without its primary key.
+ *   <li>The account id space is cut into {@code account.projection.rebuild.ranges} contiguous
+ *       ranges (account ids are UUIDv4, so equal ranges hold about as many accounts), folded on a
+ *       fork-join pool of {@code account.projection.rebuild.parallelism} workers. Each worker
+ *       streams its range in {@code (account_id, version)} order over the existing index, folds
+ *       every account with {@link AccountBalanceReadModel#applyEvent} and {@code COPY}s the rows
+ *       into the shadow table, in its own transaction.
+ *   <li>The primary key is added and the shadow table analyzed.
+ *   <li>Swap, in one transaction: the live view is locked against writes (reads go on), accounts
+ *       the consumer advanced past their rebuilt version in the meantime are folded again from the
+ *       store, then the shadow table is renamed over the view and the old one dropped.
+ * </ol>
+ *
+ * Any failure before the swap drops the shadow table and leaves the live view untouched. Events
+ * appended after an account was folded but not yet consumed when the swap happens are projected by
+ * the consumer onto the new table, as usual. The {@link ProjectionStateCache} and the {@link
+ * AccountBalanceCache} are cleared after the swap, the other replicas' balance caches by an {@link
+ * AccountBalanceChangeNotifier} notification sent on its commit; a consumer batch blocked on the
+ * lock fails once and is retried by the error handler.
+ *
+ * <p>Progress is exposed by {@link #progress()}. Throughput is the rate of the {@code
+ * wealthpay.account.projection.rebuild.events} and {@code ...accounts} counters, completed ranges
+ * the {@code ...ranges.completed} gauge and run time the {@code ...duration} timer (tagged {@code
+ * outcome}). One rebuild runs at a time per instance.
+ */
+@Component
+public class AccountBalanceRebuilder {
+
+  static final String EVENTS_METRIC = "wealthpay.account.projection.rebuild.events";
+  static final String ACCOUNTS_METRIC = "wealthpay.account.projection.rebuild.accounts";
+  static final String RANGES_METRIC = "wealthpay.account.projection.rebuild.ranges.completed";
+  static final String DURATION_METRIC = "wealthpay.account.projection.rebuild.duration";
+
+  private static final Logger log = LoggerFactory.getLogger(AccountBalanceRebuilder.class);
+
+  private static final String SHADOW_TABLE = "account_balance_view_rebuild";
+  private static final String RETIRED_TABLE = "account_balance_view_retired";
+  private static final String PRIMARY_KEY = "account_balance_view_pkey";
+  private static final String SHADOW_PRIMARY_KEY = "account_balance_view_rebuild_pkey";
+  private static final AccountBalanceView SHADOW = ACCOUNT_BALANCE_VIEW.rename(SHADOW_TABLE);
+  private static final String COPY_INTO_SHADOW =
+      "COPY account.%s (account_id, currency, balance, reserved, status, version) FROM STDIN"
+          .formatted(SHADOW_TABLE);
+
+  private final DSLContext dslContext;
+  private final EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final ProjectionStateCache projectionStateCache;
+  private final AccountBalanceCache accountBalanceCache;
+  private final AccountBalanceChangeNotifier accountBalanceChangeNotifier;
+  private final MeterRegistry meterRegistry;
+  private final int parallelism;
+  private final int rangeCount;
+  private final int fetchSize;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final AtomicInteger rangesCompleted = new AtomicInteger();
+  private final LongAdder foldedAccounts = new LongAdder();
+  private final LongAdder foldedEvents = new LongAdder();
+  private final Counter accountsCounter;
+  private final Counter eventsCounter;
+  private volatile RebuildProgress.Status status = RebuildProgress.Status.IDLE;
+  private volatile String failure;
+  private volatile long startedAtNanos;
+  private volatile long elapsedNanos;
+
+  public AccountBalanceRebuilder(
+      DSLContext dslContext,
+      EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper,
+      PlatformTransactionManager transactionManager,
+      ProjectionStateCache projectionStateCache,
+      AccountBalanceCache accountBalanceCache,
+      AccountBalanceChangeNotifier accountBalanceChangeNotifier,
+      MeterRegistry meterRegistry,
+      @Value("${account.projection.rebuild.parallelism}") int parallelism,
+      @Value("${account.projection.rebuild.ranges}") int rangeCount,
+      @Value("${account.projection.rebuild.fetch-size}") int fetchSize) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.projection.rebuild.parallelism must be > 0 but was " + parallelism);
+    }
+    if (rangeCount <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.projection.rebuild.ranges must be > 0 but was " + rangeCount);
+    }
+    if (fetchSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.projection.rebuild.fetch-size must be > 0 but was " + fetchSize);
+    }
+    this.dslContext = dslContext;
+    this.eventStoreEntryToAccountEventMapper = eventStoreEntryToAccountEventMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.projectionStateCache = projectionStateCache;
+    this.accountBalanceCache = accountBalanceCache;
+    this.accountBalanceChangeNotifier = accountBalanceChangeNotifier;
+    this.meterRegistry = meterRegistry;
+    this.parallelism = parallelism;
+    this.rangeCount = rangeCount;
+    this.fetchSize = fetchSize;
+    this.accountsCounter =
+        Counter.builder(ACCOUNTS_METRIC)
+            .description("Accounts folded by the account balance rebuild")
+            .register(meterRegistry);
+    this.eventsCounter =
+        Counter.builder(EVENTS_METRIC)
+            .description("Events folded by the account balance rebuild")
+            .register(meterRegistry);
+    Gauge.builder(RANGES_METRIC, rangesCompleted, AtomicInteger::get)
+        .description("Account id ranges folded by the running or last account balance rebuild")
+        .register(meterRegistry);
+  }
+
+  /** Lower bound of each range: the id space cut into equal slices of its high 64 bits. */
+  static List<UUID> rangeBounds(int rangeCount) {
+    BigInteger idSpace = BigInteger.ONE.shiftLeft(Long.SIZE);
+    return IntStream.range(0, rangeCount)
+        .mapToObj(
+            range ->
+                new UUID(
+                    idSpace
+                        .multiply(BigInteger.valueOf(range))
+                        .divide(BigInteger.valueOf(rangeCount))
+                        .longValue(),
+                    0L))
+        .toList();
+  }
+
+  private static List<Condition> accountRanges(int rangeCount) {
+    List<UUID> bounds = rangeBounds(rangeCount);
+    List<Condition> ranges = new ArrayList<>(rangeCount);
+    for (int range = 0; range < rangeCount; range++) {
+      Condition condition =
+          range == 0 ? noCondition() : EVENT_STORE.ACCOUNT_ID.ge(bounds.get(range));
+      if (range + 1 < rangeCount) {
+        condition = condition.and(EVENT_STORE.ACCOUNT_ID.lt(bounds.get(range + 1)));
+      }
+      ranges.add(condition);
+    }
+    return ranges;
+  }
+
+  private static void appendCopyRow(StringBuilder copyRows, UUID accountId, ProjectionState state) {
+    copyRows
+        .append(accountId)
+        .append('\t')
+        .append(state.currency)
+        .append('\t')
+        .append(state.balance.toPlainString())
+        .append('\t')
+        .append(state.reserved.toPlainString())
+        .append('\t')
+        .append(state.status)
+        .append('\t')
+        .append(state.version)
+        .append('\n');
+  }
+
+  /**
+   * Starts a rebuild on a background thread and returns immediately; {@code false} when one is
+   * already running.
+   */
+  public boolean start() {
+    if (!running.compareAndSet(false, true)) {
+      return false;
+    }
+    Thread.ofVirtual()
+        .name("account-balance-rebuild")
+        .start(
+            () -> {
+              try {
+                run();
+              } catch (RuntimeException e) {
+                log.error("Account balance rebuild failed", e);
+              } finally {
+                running.set(false);
+              }
+            });
+    return true;
+  }
+
+  /** Runs a rebuild on the calling thread. */
+  public RebuildProgress rebuild() {
+    if (!running.compareAndSet(false, true)) {
+      throw new IllegalStateException("An account balance rebuild is already running");
+    }
+    try {
+      run();
+      return progress();
+    } finally {
+      running.set(false);
+    }
+  }
+
+  public RebuildProgress progress() {
+    boolean runningNow = status == RebuildProgress.Status.RUNNING;
+    long elapsed = runningNow ? System.nanoTime() - startedAtNanos : elapsedNanos;
+    long events = foldedEvents.sum();
+    return new RebuildProgress(
+        status,
+        rangesCompleted.get(),
+        rangeCount,
+        foldedAccounts.sum(),
+        events,
+        TimeUnit.NANOSECONDS.toMillis(elapsed),
+        elapsed > 0 ? events * 1_000_000_000L / elapsed : 0L,
+        failure);
+  }
+
+  private void run() {
+    rangesCompleted.set(0);
+    foldedAccounts.reset();
+    foldedEvents.reset();
+    failure = null;
+    startedAtNanos = System.nanoTime();
+    status = RebuildProgress.Status.RUNNING;
+    log.info("Rebuilding account_balance_view: {} ranges on {} workers", rangeCount, parallelism);
+    try {
+      createShadowTable();
+      foldRanges(accountRanges(rangeCount));
+      indexShadowTable();
+      swap();
+      projectionStateCache.clear();
+      accountBalanceCache.invalidateAll();
+      finish(RebuildProgress.Status.SUCCEEDED);
+      log.info("Rebuilt account_balance_view: {}", progress());
+    } catch (RuntimeException e) {
+      failure = e.getMessage();
+      dropShadowTable();
+      finish(RebuildProgress.Status.FAILED);
+      throw e;
+    }
+  }
+
+  private void finish(RebuildProgress.Status outcome) {
+    elapsedNanos = System.nanoTime() - startedAtNanos;
+    status = outcome;
+    Timer.builder(DURATION_METRIC)
+        .description("Duration of account balance rebuilds")
+        .tag("outcome", outcome.name().toLowerCase())
+        .register(meterRegistry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void createShadowTable() {
+    transactionTemplate.executeWithoutResult(
+        _ -> {
+          dslContext.dropTableIfExists(SHADOW).execute();
+          dslContext.execute(
+              "CREATE TABLE {0} (LIKE {1} INCLUDING DEFAULTS)", SHADOW, ACCOUNT_BALANCE_VIEW);
+        });
+  }
+
+  private void dropShadowTable() {
+    try {
+      transactionTemplate.executeWithoutResult(_ -> dslContext.dropTableIfExists(SHADOW).execute());
+    } catch (RuntimeException e) {
+      log.warn("Failed to drop {} after a failed rebuild", SHADOW_TABLE, e);
+    }
+  }
+
+  private void foldRanges(List<Condition> ranges) {
+    try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+      List<ForkJoinTask<?>> folds = new ArrayList<>(ranges.size());
+      ranges.forEach(range -> folds.add(pool.submit(() -> foldRange(range))));
+      try {
+        folds.forEach(ForkJoinTask::join);
+      } catch (RuntimeException e) {
+        pool.shutdownNow();
+        throw e;
+      }
+    }
+  }
+
+  /** Folds one range and bulk-loads it; the range's rows are buffered until its cursor closes. */
+  private void foldRange(Condition range) {
+    StringBuilder copyRows = new StringBuilder();
+    transactionTemplate.executeWithoutResult(
+        _ -> {
+          fold(
+              range,
+              (accountId, state) -> {
+                appendCopyRow(copyRows, accountId, state);
+                recordFolded(state.version);
+              });
+          if (!copyRows.isEmpty()) {
+            dslContext.connection(
+                connection ->
+                    connection
+                        .unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPY_INTO_SHADOW, new StringReader(copyRows.toString())));
+          }
+        });
+    int completed = rangesCompleted.incrementAndGet();
+    log.debug("Folded account range {} ({} of {})", range, completed, rangeCount);
+  }
+
+  /** An account's history is contiguous from version 1, so its version is its event count. */
+  private void recordFolded(long events) {
+    foldedAccounts.increment();
+    foldedEvents.add(events);
+    accountsCounter.increment();
+    eventsCounter.increment(events);
+  }
+
+  /**
+   * Streams the events of {@code accounts} in {@code (account_id, version)} order and hands every
+   * account's final state to {@code sink}. Must run inside a transaction for the fetch size to
+   * apply.
+   */
+  private void fold(Condition accounts, BiConsumer<UUID, ProjectionState> sink) {
+    try (Stream<AccountEvent> events =
+        dslContext
+            .select(
+                EVENT_STORE.ID,
+                EVENT_STORE.EVENT_ID,
+                EVENT_STORE.ACCOUNT_ID,
+                EVENT_STORE.VERSION,
+                EVENT_STORE.EVENT_TYPE,
+                EVENT_STORE.PAYLOAD,
+                EVENT_STORE.CREATED_AT)
+            .from(EVENT_STORE)
+            .where(accounts)
+            .orderBy(EVENT_STORE.ACCOUNT_ID.asc(), EVENT_STORE.VERSION.asc())
+            .fetchSize(fetchSize)
+            .fetchStreamInto(EventStore.class)
+            .map(eventStoreEntryToAccountEventMapper)) {
+      UUID accountId = null;
+      ProjectionState state = null;
+      for (Iterator<AccountEvent> iterator = events.iterator(); iterator.hasNext(); ) {
+        AccountEvent event = iterator.next();
+        if (!event.accountId().id().equals(accountId)) {
+          if (state != null) {
+            sink.accept(accountId, state);
+          }
+          accountId = event.accountId().id();
+          state = ProjectionState.init();
+        }
+        AccountBalanceReadModel.applyEvent(event, state);
+      }
+      if (state != null) {
+        sink.accept(accountId, state);
+      }
+    }
+  }
+
+  private void indexShadowTable() {
+    transactionTemplate.executeWithoutResult(
+        _ -> {
+          dslContext
+              .alterTable(SHADOW)
+              .add(constraint(SHADOW_PRIMARY_KEY).primaryKey(SHADOW.ACCOUNT_ID))
+              .execute();
+          dslContext.execute("ANALYZE {0}", SHADOW);
+        });
+  }
+
+  private void swap() {
+    transactionTemplate.executeWithoutResult(
+        _ -> {
+          dslContext.execute("LOCK TABLE {0} IN EXCLUSIVE MODE", ACCOUNT_BALANCE_VIEW);
+          catchUp();
+          dslContext.alterTable(ACCOUNT_BALANCE_VIEW).renameTo(RETIRED_TABLE).execute();
+          dslContext.alterTable(SHADOW).renameTo(ACCOUNT_BALANCE_VIEW.getName()).execute();
+          dslContext.dropTable(ACCOUNT_BALANCE_VIEW.rename(RETIRED_TABLE)).execute();
+          dslContext
+              .alterTable(ACCOUNT_BALANCE_VIEW)
+              .renameConstraint(SHADOW_PRIMARY_KEY)
+              .to(PRIMARY_KEY)
+              .execute();
+          accountBalanceChangeNotifier.notifyReplaced();
+        });
+  }
+
+  /**
+   * Folds again, from the store, every account whose live row is ahead of its rebuilt row: the
+   * consumer kept projecting while the ranges were folded. Runs under the swap's lock, so the live
+   * view cannot move any more.
+   */
+  private void catchUp() {
+    AccountBalanceView live = ACCOUNT_BALANCE_VIEW.as("live");
+    AccountBalanceView rebuilt = SHADOW.as("rebuilt");
+    List<UUID> advancedAccountIds =
+        dslContext
+            .select(live.ACCOUNT_ID)
+            .from(live)
+            .leftJoin(rebuilt)
+            .on(rebuilt.ACCOUNT_ID.eq(live.ACCOUNT_ID))
+            .where(rebuilt.ACCOUNT_ID.isNull().or(rebuilt.VERSION.lt(live.VERSION)))
+            .fetch(live.ACCOUNT_ID);
+    if (advancedAccountIds.isEmpty()) {
+      return;
+    }
+    SortedMap<UUID, ProjectionState> states = new TreeMap<>();
+    fold(EVENT_STORE.ACCOUNT_ID.eq(any(advancedAccountIds.toArray(UUID[]::new))), states::put);
+    if (states.isEmpty()) {
+      return;
+    }
+    var upsert =
+        dslContext
+            .insertInto(SHADOW)
+            .columns(
+                SHADOW.ACCOUNT_ID,
+                SHADOW.CURRENCY,
+                SHADOW.BALANCE,
+                SHADOW.RESERVED,
+                SHADOW.STATUS,
+                SHADOW.VERSION);
+    states.forEach(
+        (accountId, state) ->
+            upsert.values(
+                accountId,
+                state.currency,
+                state.balance,
+                state.reserved,
+                state.status,
+                state.version));
+    upsert
+        .onConflict(SHADOW.ACCOUNT_ID)
+        .doUpdate()
+        .set(SHADOW.CURRENCY, excluded(SHADOW.CURRENCY))
+        .set(SHADOW.BALANCE, excluded(SHADOW.BALANCE))
+        .set(SHADOW.RESERVED, excluded(SHADOW.RESERVED))
+        .set(SHADOW.STATUS, excluded(SHADOW.STATUS))
+        .set(SHADOW.VERSION, excluded(SHADOW.VERSION))
+        .execute();
+    log.info("Caught up {} accounts projected during the rebuild", states.size());
+  }
+
+  /**
+   * Snapshot of the running or last rebuild. {@code eventsPerSecond} is the average over {@code
+   * elapsedMillis}; {@code failure} is the message of the exception that failed the last run.
+   */
+  public record RebuildProgress(
+      Status status,
+      int rangesCompleted,
+      int rangesTotal,
+      long accounts,
+      long events,
+      long elapsedMillis,
+      long eventsPerSecond,
+      String failure) {
+
+    public enum Status {
+      IDLE,
+      RUNNING,
+      SUCCEEDED,
+      FAILED
+    }
+  }
+}
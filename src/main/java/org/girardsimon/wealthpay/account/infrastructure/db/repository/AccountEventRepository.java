@@ -1,10 +1,23 @@
 package org.girardsimon.wealthpay.account.infrastructure.db.repository;
 
 import static org.girardsimon.wealthpay.account.jooq.tables.EventStore.EVENT_STORE;
+import static org.girardsimon.wealthpay.account.jooq.tables.Outbox.OUTBOX;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.inline;
 import static org.jooq.impl.DSL.max;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.select;
+import static org.jooq.impl.DSL.selectFrom;
+import static org.jooq.impl.DSL.val;
+import static org.jooq.impl.DSL.values;
 
+import java.time.Clock;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.girardsimon.wealthpay.account.application.AccountEventStore;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
@@ -12,8 +25,16 @@ import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.Acc
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
 import org.girardsimon.wealthpay.account.infrastructure.metric.AdapterMetric;
 import org.girardsimon.wealthpay.account.jooq.tables.pojos.EventStore;
+import org.jooq.CommonTableExpression;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.JSONB;
+import org.jooq.Record1;
+import org.jooq.Record6;
+import org.jooq.Record7;
+import org.jooq.ResultQuery;
+import org.jooq.Row6;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
@@ -23,17 +44,32 @@ public class AccountEventRepository implements AccountEventStore {
 
   static final String APPEND_TIMER = "wealthpay.account.event_store.append";
 
+  private static final String AGGREGATE_TYPE = "AccountEvent";
+
   private final DSLContext dslContext;
   private final EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper;
   private final AccountEventSerializer accountEventSerializer;
+  private final Clock clock;
+  private final AppendStrategy appendStrategy;
+  private final int loadFetchSize;
 
   public AccountEventRepository(
       DSLContext dslContext,
       EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper,
-      AccountEventSerializer accountEventSerializer) {
+      AccountEventSerializer accountEventSerializer,
+      Clock clock,
+      @Value("${account-event.append.strategy}") AppendStrategy appendStrategy,
+      @Value("${account-event.load.fetch-size}") int loadFetchSize) {
+    if (loadFetchSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account-event.load.fetch-size must be > 0 but was " + loadFetchSize);
+    }
     this.dslContext = dslContext;
     this.eventStoreEntryToAccountEventMapper = eventStoreEntryToAccountEventMapper;
     this.accountEventSerializer = accountEventSerializer;
+    this.clock = clock;
+    this.appendStrategy = appendStrategy;
+    this.loadFetchSize = loadFetchSize;
   }
 
   @Override
@@ -43,27 +79,77 @@ public class AccountEventRepository implements AccountEventStore {
 
   @Override
   public List<AccountEvent> loadEventsAfterVersion(AccountId accountId, long version) {
-    UUID accountUuid = accountId.id();
-
-    List<EventStore> rows =
-        dslContext
-            .select(
-                EVENT_STORE.ID,
-                EVENT_STORE.EVENT_ID,
-                EVENT_STORE.ACCOUNT_ID,
-                EVENT_STORE.VERSION,
-                EVENT_STORE.EVENT_TYPE,
-                EVENT_STORE.PAYLOAD,
-                EVENT_STORE.CREATED_AT)
-            .from(EVENT_STORE)
-            .where(EVENT_STORE.ACCOUNT_ID.eq(accountUuid))
-            .and(EVENT_STORE.VERSION.gt(version))
-            .orderBy(EVENT_STORE.VERSION.asc())
-            .fetchInto(EventStore.class);
+    List<EventStore> rows = eventsAfterVersion(accountId, version).fetchInto(EventStore.class);
 
     return rows.stream().map(eventStoreEntryToAccountEventMapper).toList();
   }
 
+  /**
+   * Streams the same rows as {@link #loadEventsAfterVersion} through a jOOQ cursor, mapping each
+   * row to its event only when the consumer pulls it. With a fetch size, PgJDBC reads {@code
+   * account-event.load.fetch-size} rows per round-trip instead of buffering the whole result — but
+   * only when auto-commit is off, which is why callers must be inside a transaction.
+   */
+  @Override
+  public Stream<AccountEvent> streamEventsAfterVersion(AccountId accountId, long version) {
+    return eventsAfterVersion(accountId, version)
+        .fetchSize(loadFetchSize)
+        .fetchStreamInto(EventStore.class)
+        .map(eventStoreEntryToAccountEventMapper);
+  }
+
+  private ResultQuery<Record7<Long, UUID, UUID, Long, String, JSONB, OffsetDateTime>>
+      eventsAfterVersion(AccountId accountId, long version) {
+    return dslContext
+        .select(
+            EVENT_STORE.ID,
+            EVENT_STORE.EVENT_ID,
+            EVENT_STORE.ACCOUNT_ID,
+            EVENT_STORE.VERSION,
+            EVENT_STORE.EVENT_TYPE,
+            EVENT_STORE.PAYLOAD,
+            EVENT_STORE.CREATED_AT)
+        .from(EVENT_STORE)
+        .where(EVENT_STORE.ACCOUNT_ID.eq(accountId.id()))
+        .and(EVENT_STORE.VERSION.gt(version))
+        .orderBy(EVENT_STORE.VERSION.asc());
+  }
+
+  /**
+   * Appends {@code events} to {@code event_store} and writes their {@code outbox} rows, if and only
+   * if the account's head version is still {@code expectedVersion}. Each event is serialized once;
+   * the same JSONB payload feeds both tables.
+   *
+   * <p>{@link AppendStrategy#GUARDED_INSERT} (default) does everything in one data-modifying CTE:
+   *
+   * <pre>{@code
+   * WITH pending_events(event_id, account_id, version, event_type, occurred_at, payload) AS (
+   *        SELECT * FROM (VALUES (...), (...))),
+   *      stored_events(event_id) AS (
+   *        INSERT INTO event_store (event_id, account_id, version, event_type, payload)
+   *        SELECT ... FROM pending_events
+   *        WHERE (SELECT coalesce(max(version), 0) FROM event_store WHERE account_id = ?) = :expected
+   *        RETURNING event_id)
+   * INSERT INTO outbox (event_id, aggregate_type, aggregate_id, aggregate_version, event_type,
+   *                     occurred_at, payload)
+   * SELECT ... FROM pending_events JOIN stored_events USING (event_id)
+   * }</pre>
+   *
+   * The version subquery is an InitPlan evaluated once, as a backward scan of the {@code
+   * (account_id, version)} unique index. Outbox rows are only produced for event rows that were
+   * actually stored, so the pair stays all-or-nothing inside the statement — and, as before, inside
+   * the caller's transaction. Zero rows means the guard failed (the head moved) and is reported as
+   * {@link OptimisticLockingFailureException}; the mismatch message needs the actual head version,
+   * so it is read with a second query on that cold path only.
+   *
+   * <p>Two writers that both pass the guard on the same snapshot still race on the unique {@code
+   * (account_id, version)} constraint: the loser blocks until the winner commits, then fails with a
+   * unique violation, translated to {@link OptimisticLockingFailureException} exactly as before.
+   *
+   * <p>{@link AppendStrategy#SELECT_THEN_INSERT} is the original three-round-trip implementation
+   * ({@code SELECT max(version)}, {@code INSERT} event_store, {@code INSERT} outbox), kept
+   * selectable for before/after benchmarking and as an operational fallback.
+   */
   @Override
   @AdapterMetric(name = APPEND_TIMER)
   public void appendEvents(AccountId accountId, long expectedVersion, List<AccountEvent> events) {
@@ -72,55 +158,219 @@ public class AccountEventRepository implements AccountEventStore {
     }
 
     UUID accountUuid = accountId.id();
+    ensureContiguous(accountUuid, expectedVersion, events);
+    List<PendingEvent> pendingEvents =
+        events.stream()
+            .map(
+                event ->
+                    new PendingEvent(
+                        event.eventId().id(),
+                        event.version(),
+                        event.getClass().getSimpleName(),
+                        OffsetDateTime.ofInstant(event.occurredAt(), clock.getZone()),
+                        accountEventSerializer.apply(event)))
+            .toList();
 
-    Long currentVersion =
+    try {
+      if (appendStrategy == AppendStrategy.SELECT_THEN_INSERT) {
+        selectThenInsert(accountUuid, expectedVersion, pendingEvents);
+      } else {
+        guardedInsert(accountUuid, expectedVersion, pendingEvents);
+      }
+    } catch (DataIntegrityViolationException e) {
+      throw new OptimisticLockingFailureException(
+          "Concurrent modification detected for account %s".formatted(accountUuid), e);
+    }
+  }
+
+  private static void ensureContiguous(
+      UUID accountUuid, long expectedVersion, List<AccountEvent> events) {
+    long nextExpectedVersion = expectedVersion;
+    for (AccountEvent event : events) {
+      nextExpectedVersion++;
+      if (event.version() != nextExpectedVersion) {
+        throw new IllegalStateException( // This indicates a bug in the calling code, not a
+            // concurrency issue.
+            "Event version gap: expected %d but got %d for account %s"
+                .formatted(nextExpectedVersion, event.version(), accountUuid));
+      }
+    }
+  }
+
+  private void guardedInsert(
+      UUID accountUuid, long expectedVersion, List<PendingEvent> pendingEvents) {
+    @SuppressWarnings("unchecked")
+    Row6<UUID, UUID, Long, String, OffsetDateTime, JSONB>[] rows =
+        pendingEvents.stream()
+            .map(pendingEvent -> pendingEvent.toRow(accountUuid))
+            .toArray(Row6[]::new);
+
+    CommonTableExpression<Record6<UUID, UUID, Long, String, OffsetDateTime, JSONB>> pending =
+        name("pending_events")
+            .fields(
+                EVENT_STORE.EVENT_ID.getName(),
+                EVENT_STORE.ACCOUNT_ID.getName(),
+                EVENT_STORE.VERSION.getName(),
+                EVENT_STORE.EVENT_TYPE.getName(),
+                OUTBOX.OCCURRED_AT.getName(),
+                EVENT_STORE.PAYLOAD.getName())
+            .as(selectFrom(values(rows)));
+    Field<UUID> pendingEventId = pending.field(EVENT_STORE.EVENT_ID);
+    Field<UUID> pendingAccountId = pending.field(EVENT_STORE.ACCOUNT_ID);
+    Field<Long> pendingVersion = pending.field(EVENT_STORE.VERSION);
+    Field<String> pendingEventType = pending.field(EVENT_STORE.EVENT_TYPE);
+    Field<OffsetDateTime> pendingOccurredAt = pending.field(OUTBOX.OCCURRED_AT);
+    Field<JSONB> pendingPayload = pending.field(EVENT_STORE.PAYLOAD);
+
+    Field<Long> headVersion =
+        field(
+            select(coalesce(max(EVENT_STORE.VERSION), 0L))
+                .from(EVENT_STORE)
+                .where(EVENT_STORE.ACCOUNT_ID.eq(accountUuid)));
+
+    CommonTableExpression<Record1<UUID>> stored =
+        name("stored_events")
+            .fields(EVENT_STORE.EVENT_ID.getName())
+            .as(
+                dslContext
+                    .insertInto(EVENT_STORE)
+                    .columns(
+                        EVENT_STORE.EVENT_ID,
+                        EVENT_STORE.ACCOUNT_ID,
+                        EVENT_STORE.VERSION,
+                        EVENT_STORE.EVENT_TYPE,
+                        EVENT_STORE.PAYLOAD)
+                    .select(
+                        select(
+                                pendingEventId,
+                                pendingAccountId,
+                                pendingVersion,
+                                pendingEventType,
+                                pendingPayload)
+                            .from(pending)
+                            .where(headVersion.eq(expectedVersion)))
+                    .returningResult(EVENT_STORE.EVENT_ID));
+    Field<UUID> storedEventId = stored.field(EVENT_STORE.EVENT_ID);
+
+    int published =
         dslContext
-            .select(max(EVENT_STORE.VERSION))
-            .from(EVENT_STORE)
-            .where(EVENT_STORE.ACCOUNT_ID.eq(accountUuid))
-            .fetchOneInto(Long.class);
+            .with(pending)
+            .with(stored)
+            .insertInto(OUTBOX)
+            .columns(
+                OUTBOX.EVENT_ID,
+                OUTBOX.AGGREGATE_TYPE,
+                OUTBOX.AGGREGATE_ID,
+                OUTBOX.AGGREGATE_VERSION,
+                OUTBOX.EVENT_TYPE,
+                OUTBOX.OCCURRED_AT,
+                OUTBOX.PAYLOAD)
+            .select(
+                select(
+                        pendingEventId,
+                        inline(AGGREGATE_TYPE),
+                        pendingAccountId,
+                        pendingVersion,
+                        pendingEventType,
+                        pendingOccurredAt,
+                        pendingPayload)
+                    .from(pending)
+                    .join(stored)
+                    .on(storedEventId.eq(pendingEventId)))
+            .execute();
 
-    long actualVersion = currentVersion != null ? currentVersion : 0L;
+    if (published == 0) {
+      throw versionMismatch(accountUuid, expectedVersion, currentVersion(accountUuid));
+    }
+  }
+
+  private void selectThenInsert(
+      UUID accountUuid, long expectedVersion, List<PendingEvent> pendingEvents) {
+    long actualVersion = currentVersion(accountUuid);
 
     if (actualVersion != expectedVersion) {
-      throw new OptimisticLockingFailureException(
-          "Version mismatch for account %s: expected %d but found %d"
-              .formatted(accountUuid, expectedVersion, actualVersion));
+      throw versionMismatch(accountUuid, expectedVersion, actualVersion);
     }
 
-    long nextExpectedVersion = actualVersion;
+    var eventStoreInsert =
+        dslContext
+            .insertInto(EVENT_STORE)
+            .columns(
+                EVENT_STORE.EVENT_ID,
+                EVENT_STORE.ACCOUNT_ID,
+                EVENT_STORE.VERSION,
+                EVENT_STORE.EVENT_TYPE,
+                EVENT_STORE.PAYLOAD);
+    var outboxInsert =
+        dslContext
+            .insertInto(OUTBOX)
+            .columns(
+                OUTBOX.EVENT_ID,
+                OUTBOX.AGGREGATE_TYPE,
+                OUTBOX.AGGREGATE_ID,
+                OUTBOX.AGGREGATE_VERSION,
+                OUTBOX.EVENT_TYPE,
+                OUTBOX.OCCURRED_AT,
+                OUTBOX.PAYLOAD);
 
-    try {
+    for (PendingEvent pendingEvent : pendingEvents) {
+      eventStoreInsert.values(
+          pendingEvent.eventId(),
+          accountUuid,
+          pendingEvent.version(),
+          pendingEvent.eventType(),
+          pendingEvent.payload());
+      outboxInsert.values(
+          pendingEvent.eventId(),
+          AGGREGATE_TYPE,
+          accountUuid,
+          pendingEvent.version(),
+          pendingEvent.eventType(),
+          pendingEvent.occurredAt(),
+          pendingEvent.payload());
+    }
 
-      var insertStep =
-          dslContext
-              .insertInto(EVENT_STORE)
-              .columns(
-                  EVENT_STORE.EVENT_ID,
-                  EVENT_STORE.ACCOUNT_ID,
-                  EVENT_STORE.VERSION,
-                  EVENT_STORE.EVENT_TYPE,
-                  EVENT_STORE.PAYLOAD);
-
-      for (AccountEvent event : events) {
-        nextExpectedVersion++;
-        if (event.version() != nextExpectedVersion) {
-          throw new IllegalStateException( // This indicates a bug in the calling code, not a
-              // concurrency issue.
-              "Event version gap: expected %d but got %d for account %s"
-                  .formatted(nextExpectedVersion, event.version(), accountUuid));
-        }
-        String eventType = event.getClass().getSimpleName();
-        JSONB payload = accountEventSerializer.apply(event);
-
-        insertStep.values(event.eventId().id(), accountUuid, event.version(), eventType, payload);
-      }
+    eventStoreInsert.execute();
+    outboxInsert.execute();
+  }
 
-      insertStep.execute();
+  private long currentVersion(UUID accountUuid) {
+    Long currentVersion =
+        dslContext
+            .select(max(EVENT_STORE.VERSION))
+            .from(EVENT_STORE)
+            .where(EVENT_STORE.ACCOUNT_ID.eq(accountUuid))
+            .fetchOneInto(Long.class);
 
-    } catch (DataIntegrityViolationException e) {
-      throw new OptimisticLockingFailureException(
-          "Concurrent modification detected for account %s".formatted(accountUuid), e);
+    return currentVersion != null ? currentVersion : 0L;
+  }
+
+  private static OptimisticLockingFailureException versionMismatch(
+      UUID accountUuid, long expectedVersion, long actualVersion) {
+    return new OptimisticLockingFailureException(
+        "Version mismatch for account %s: expected %d but found %d"
+            .formatted(accountUuid, expectedVersion, actualVersion));
+  }
+
+  /** An event serialized once, ready to be written to both {@code event_store} and outbox. */
+  private record PendingEvent(
+      UUID eventId, long version, String eventType, OffsetDateTime occurredAt, JSONB payload) {
+
+    Row6<UUID, UUID, Long, String, OffsetDateTime, JSONB> toRow(UUID accountUuid) {
+      return row(
+          val(eventId, EVENT_STORE.EVENT_ID),
+          val(accountUuid, EVENT_STORE.ACCOUNT_ID),
+          val(version, EVENT_STORE.VERSION),
+          val(eventType, EVENT_STORE.EVENT_TYPE),
+          val(occurredAt, OUTBOX.OCCURRED_AT),
+          val(payload, EVENT_STORE.PAYLOAD));
     }
   }
+
+  public enum AppendStrategy {
+    /** Version guard, event_store and outbox inserts in a single statement. */
+    GUARDED_INSERT,
+    /** {@code SELECT max(version)} round-trip followed by one insert per table. */
+    SELECT_THEN_INSERT
+  }
 }
@@ -0,0 +1,113 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.girardsimon.wealthpay.account.jooq.tables.EventStore.EVENT_STORE;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.application.AccountHistoryReader;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryEntry;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.jooq.tables.pojos.EventStore;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset pagination over {@code event_store}:
+ *
+ * <pre>{@code
+ * SELECT event_id, account_id, version, event_type, payload, created_at
+ * FROM event_store
+ * WHERE account_id = ? AND version > :afterVersion
+ *   [AND event_type IN (...)] [AND created_at >= :from] [AND created_at < :to]
+ * ORDER BY version
+ * LIMIT :limit + 1
+ * }</pre>
+ *
+ * The seek is a range scan of {@code idx_event_store_account_history}, which also carries {@code
+ * event_type} and {@code created_at}: filtered-out events are skipped inside the index, and only
+ * the returned rows are read from the heap. Unlike {@code OFFSET}, the cost of a page does not grow
+ * with its depth. Rows are decoded one by one as the cursor yields them; the extra row only tells
+ * that a next page exists and is never decoded.
+ */
+@Repository
+public class AccountHistoryRepository implements AccountHistoryReader {
+
+  private final DSLContext dslContext;
+  private final EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper;
+
+  public AccountHistoryRepository(
+      DSLContext dslContext,
+      EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper) {
+    this.dslContext = dslContext;
+    this.eventStoreEntryToAccountEventMapper = eventStoreEntryToAccountEventMapper;
+  }
+
+  @Override
+  public AccountHistoryPage readHistory(AccountHistoryQuery query) {
+    List<AccountHistoryEntry> entries = new ArrayList<>(query.limit());
+    boolean hasNextPage = false;
+    try (Stream<EventStore> rows =
+        dslContext
+            .select(
+                EVENT_STORE.EVENT_ID,
+                EVENT_STORE.ACCOUNT_ID,
+                EVENT_STORE.VERSION,
+                EVENT_STORE.EVENT_TYPE,
+                EVENT_STORE.PAYLOAD,
+                EVENT_STORE.CREATED_AT)
+            .from(EVENT_STORE)
+            .where(conditions(query))
+            .orderBy(EVENT_STORE.VERSION.asc())
+            .limit(query.limit() + 1)
+            .fetchStreamInto(EventStore.class)) {
+      Iterator<EventStore> iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        EventStore row = iterator.next();
+        if (entries.size() == query.limit()) {
+          hasNextPage = true;
+          break;
+        }
+        entries.add(
+            new AccountHistoryEntry(
+                eventStoreEntryToAccountEventMapper.apply(row), row.getCreatedAt().toInstant()));
+      }
+    }
+    return new AccountHistoryPage(
+        entries,
+        hasNextPage
+            ? OptionalLong.of(entries.getLast().event().version())
+            : OptionalLong.empty());
+  }
+
+  private static List<Condition> conditions(AccountHistoryQuery query) {
+    List<Condition> conditions = new ArrayList<>();
+    conditions.add(EVENT_STORE.ACCOUNT_ID.eq(query.accountId().id()));
+    conditions.add(EVENT_STORE.VERSION.gt(query.afterVersion()));
+    if (!query.eventTypes().isEmpty()) {
+      // Stored as the event class simple name, see AccountEventRepository#appendEvents.
+      conditions.add(
+          EVENT_STORE.EVENT_TYPE.in(
+              query.eventTypes().stream().map(Class::getSimpleName).sorted().toList()));
+    }
+    if (query.recordedFrom() != null) {
+      conditions.add(EVENT_STORE.CREATED_AT.ge(utc(query.recordedFrom())));
+    }
+    if (query.recordedTo() != null) {
+      conditions.add(EVENT_STORE.CREATED_AT.lt(utc(query.recordedTo())));
+    }
+    return conditions;
+  }
+
+  private static OffsetDateTime utc(Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+}
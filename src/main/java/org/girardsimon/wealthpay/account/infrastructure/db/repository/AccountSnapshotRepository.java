@@ -3,14 +3,22 @@ package org.girardsimon.wealthpay.account.infrastructure.db.repository;
 import static org.girardsimon.wealthpay.account.jooq.tables.AccountSnapshot.ACCOUNT_SNAPSHOT;
 
 import java.util.Optional;
+import java.util.UUID;
 import org.girardsimon.wealthpay.account.application.AccountSnapshotStore;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotBinaryDeserializer;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotBinarySerializer;
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotDeserializer;
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotSerializer;
 import org.girardsimon.wealthpay.account.infrastructure.metric.AdapterMetric;
 import org.girardsimon.wealthpay.account.jooq.tables.records.AccountSnapshotRecord;
 import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.jooq.Record5;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -18,34 +26,70 @@ public class AccountSnapshotRepository implements AccountSnapshotStore {
 
   static final String SAVE_TIMER = "wealthpay.account.snapshot.save";
 
+  private static final Logger log = LoggerFactory.getLogger(AccountSnapshotRepository.class);
+
+  /**
+   * Encoding used when writing a snapshot. Reads always dispatch on the row's {@code
+   * schema_version}, so both encodings stay readable whichever is configured.
+   *
+   * <ul>
+   *   <li>{@link #BINARY} — compact encoding in {@code binary_state} ({@link
+   *       AccountSnapshotBinarySerializer}). Default.
+   *   <li>{@link #JSON} — JSONB tree in {@code state} ({@link AccountSnapshotSerializer}). For a
+   *       rolling upgrade from a version that only reads JSON snapshots.
+   * </ul>
+   */
+  public enum SnapshotFormat {
+    BINARY,
+    JSON
+  }
+
   private final DSLContext dslContext;
 
   private final AccountSnapshotDeserializer accountSnapshotDeserializer;
   private final AccountSnapshotSerializer accountSnapshotSerializer;
+  private final AccountSnapshotBinaryDeserializer accountSnapshotBinaryDeserializer;
+  private final AccountSnapshotBinarySerializer accountSnapshotBinarySerializer;
+  private final SnapshotFormat snapshotFormat;
 
   public AccountSnapshotRepository(
       DSLContext dslContext,
       AccountSnapshotDeserializer accountSnapshotDeserializer,
-      AccountSnapshotSerializer accountSnapshotSerializer) {
+      AccountSnapshotSerializer accountSnapshotSerializer,
+      AccountSnapshotBinaryDeserializer accountSnapshotBinaryDeserializer,
+      AccountSnapshotBinarySerializer accountSnapshotBinarySerializer,
+      @Value("${account-event.snapshot.format}") SnapshotFormat snapshotFormat) {
     this.dslContext = dslContext;
     this.accountSnapshotDeserializer = accountSnapshotDeserializer;
     this.accountSnapshotSerializer = accountSnapshotSerializer;
+    this.accountSnapshotBinaryDeserializer = accountSnapshotBinaryDeserializer;
+    this.accountSnapshotBinarySerializer = accountSnapshotBinarySerializer;
+    this.snapshotFormat = snapshotFormat;
   }
 
   @Override
   public Optional<AccountSnapshot> load(AccountId accountId) {
     return dslContext
-        .select(ACCOUNT_SNAPSHOT.ACCOUNT_ID, ACCOUNT_SNAPSHOT.STATE, ACCOUNT_SNAPSHOT.VERSION)
+        .select(
+            ACCOUNT_SNAPSHOT.ACCOUNT_ID,
+            ACCOUNT_SNAPSHOT.STATE,
+            ACCOUNT_SNAPSHOT.BINARY_STATE,
+            ACCOUNT_SNAPSHOT.VERSION,
+            ACCOUNT_SNAPSHOT.SCHEMA_VERSION)
         .from(ACCOUNT_SNAPSHOT)
         .where(ACCOUNT_SNAPSHOT.ACCOUNT_ID.eq(accountId.id()))
         .fetchOptional()
-        .flatMap(accountSnapshotDeserializer);
+        .flatMap(this::decode);
   }
 
   @Override
   @AdapterMetric(name = SAVE_TIMER)
   public void saveSnapshot(AccountSnapshot accountSnapshot) {
-    AccountSnapshotRecord row = accountSnapshotSerializer.apply(accountSnapshot);
+    AccountSnapshotRecord row =
+        switch (snapshotFormat) {
+          case BINARY -> accountSnapshotBinarySerializer.apply(accountSnapshot);
+          case JSON -> accountSnapshotSerializer.apply(accountSnapshot);
+        };
 
     dslContext
         .insertInto(ACCOUNT_SNAPSHOT)
@@ -56,4 +100,25 @@ public class AccountSnapshotRepository implements AccountSnapshotStore {
         .where(ACCOUNT_SNAPSHOT.VERSION.lt(accountSnapshot.version()))
         .execute();
   }
+
+  private Optional<AccountSnapshot> decode(Record5<UUID, JSONB, byte[], Long, Long> row) {
+    long schemaVersion = row.get(ACCOUNT_SNAPSHOT.SCHEMA_VERSION);
+    if (schemaVersion == AccountSnapshotBinarySerializer.SCHEMA_VERSION) {
+      return accountSnapshotBinaryDeserializer.apply(
+          row.into(
+              ACCOUNT_SNAPSHOT.ACCOUNT_ID,
+              ACCOUNT_SNAPSHOT.BINARY_STATE,
+              ACCOUNT_SNAPSHOT.VERSION));
+    }
+    if (schemaVersion == AccountSnapshotSerializer.SCHEMA_VERSION) {
+      return accountSnapshotDeserializer.apply(
+          row.into(ACCOUNT_SNAPSHOT.ACCOUNT_ID, ACCOUNT_SNAPSHOT.STATE, ACCOUNT_SNAPSHOT.VERSION));
+    }
+    // Snapshot is performance optimization and should not block a critical path
+    log.warn(
+        "Unsupported snapshot schema version {} for account {}",
+        schemaVersion,
+        row.get(ACCOUNT_SNAPSHOT.ACCOUNT_ID));
+    return Optional.empty();
+  }
 }
@@ -1,6 +1,7 @@
 package org.girardsimon.wealthpay.account.infrastructure.db.repository;
 
 import static org.girardsimon.wealthpay.account.jooq.tables.ProcessedTransactions.PROCESSED_TRANSACTIONS;
+import static org.jooq.impl.DSL.any;
 import static org.jooq.impl.DSL.inline;
 import static org.jooq.impl.DSL.name;
 import static org.jooq.impl.DSL.selectOne;
@@ -8,8 +9,17 @@ import static org.jooq.impl.DSL.selectOne;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
 import org.girardsimon.wealthpay.account.application.ProcessedTransactionStore;
 import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
 import org.girardsimon.wealthpay.account.domain.exception.TransactionIdConflictException;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.TransactionId;
@@ -92,6 +102,88 @@ public class ProcessedTransactionRepository implements ProcessedTransactionStore
     return TransactionStatus.NO_EFFECT;
   }
 
+  /*
+   * Same outcome as register for each command, in two statements whatever the batch size:
+   *  1. one multi-row INSERT ... ON CONFLICT DO NOTHING RETURNING → the ids actually inserted
+   *  2. one SELECT of the fingerprints of the others, in a fresh snapshot so that rows committed
+   *     concurrently since (1) are seen, as in fallbackFingerprint
+   *
+   * Rows are inserted in transaction id order: two batches sharing ids lock them in the same order
+   * and cannot deadlock.
+   */
+  @Override
+  public Map<TransactionId, TransactionStatus> registerAll(
+      AccountId accountId, List<? extends AccountTransaction> commands, Instant occurredAt) {
+    if (commands.isEmpty()) {
+      return Map.of();
+    }
+    OffsetDateTime timestamp = OffsetDateTime.ofInstant(occurredAt, clock.getZone());
+    SortedMap<UUID, String> fingerprints = new TreeMap<>();
+    for (AccountTransaction command : commands) {
+      if (fingerprints.putIfAbsent(command.transactionId().id(), command.fingerprint()) != null) {
+        throw new IllegalArgumentException(
+            "Transaction id %s is registered twice in the same call"
+                .formatted(command.transactionId()));
+      }
+    }
+
+    var insert =
+        dslContext
+            .insertInto(PROCESSED_TRANSACTIONS)
+            .columns(
+                PROCESSED_TRANSACTIONS.ACCOUNT_ID,
+                PROCESSED_TRANSACTIONS.TRANSACTION_ID,
+                PROCESSED_TRANSACTIONS.FINGERPRINT,
+                PROCESSED_TRANSACTIONS.OCCURRED_AT);
+    fingerprints.forEach(
+        (transactionId, fingerprint) ->
+            insert.values(accountId.id(), transactionId, fingerprint, timestamp));
+    Set<UUID> inserted =
+        new HashSet<>(
+            insert
+                .onConflict(
+                    PROCESSED_TRANSACTIONS.ACCOUNT_ID, PROCESSED_TRANSACTIONS.TRANSACTION_ID)
+                .doNothing()
+                .returningResult(PROCESSED_TRANSACTIONS.TRANSACTION_ID)
+                .fetch(PROCESSED_TRANSACTIONS.TRANSACTION_ID));
+
+    UUID[] existing =
+        fingerprints.keySet().stream().filter(id -> !inserted.contains(id)).toArray(UUID[]::new);
+    Map<UUID, String> storedFingerprints =
+        existing.length == 0
+            ? Map.of()
+            : dslContext
+                .select(PROCESSED_TRANSACTIONS.TRANSACTION_ID, PROCESSED_TRANSACTIONS.FINGERPRINT)
+                .from(PROCESSED_TRANSACTIONS)
+                .where(PROCESSED_TRANSACTIONS.ACCOUNT_ID.eq(accountId.id()))
+                .and(PROCESSED_TRANSACTIONS.TRANSACTION_ID.eq(any(existing)))
+                .fetchMap(
+                    PROCESSED_TRANSACTIONS.TRANSACTION_ID, PROCESSED_TRANSACTIONS.FINGERPRINT);
+
+    Map<TransactionId, TransactionStatus> statuses = HashMap.newHashMap(fingerprints.size());
+    fingerprints.forEach(
+        (transactionId, fingerprint) -> {
+          if (inserted.contains(transactionId)) {
+            statuses.put(TransactionId.of(transactionId), TransactionStatus.COMMITTED);
+            return;
+          }
+          String storedFingerprint = storedFingerprints.get(transactionId);
+          if (storedFingerprint == null || storedFingerprint.equals(fingerprint)) {
+            statuses.put(TransactionId.of(transactionId), TransactionStatus.NO_EFFECT);
+          }
+        });
+    return statuses;
+  }
+
+  @Override
+  public void release(AccountId accountId, TransactionId transactionId) {
+    dslContext
+        .deleteFrom(PROCESSED_TRANSACTIONS)
+        .where(PROCESSED_TRANSACTIONS.ACCOUNT_ID.eq(accountId.id()))
+        .and(PROCESSED_TRANSACTIONS.TRANSACTION_ID.eq(transactionId.id()))
+        .execute();
+  }
+
   /*
    * Fallback for the rare case where two concurrent transactions race on the same
    * transaction ID: the CTE returns nothing because the INSERT conflicts (DO NOTHING)
@@ -0,0 +1,67 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.girardsimon.wealthpay.account.jooq.tables.ProjectionOffsets.PROJECTION_OFFSETS;
+import static org.jooq.impl.DSL.any;
+import static org.jooq.impl.DSL.currentOffsetDateTime;
+import static org.jooq.impl.DSL.excluded;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProjectionOffsetRepository implements ProjectionOffsetStore {
+
+  private final DSLContext dslContext;
+
+  public ProjectionOffsetRepository(DSLContext dslContext) {
+    this.dslContext = dslContext;
+  }
+
+  @Override
+  public Map<Integer, Long> nextOffsets(String topic, Collection<Integer> partitions) {
+    if (partitions.isEmpty()) {
+      return Map.of();
+    }
+    return dslContext
+        .select(PROJECTION_OFFSETS.PARTITION, PROJECTION_OFFSETS.NEXT_OFFSET)
+        .from(PROJECTION_OFFSETS)
+        .where(PROJECTION_OFFSETS.TOPIC.eq(topic))
+        .and(PROJECTION_OFFSETS.PARTITION.eq(any(partitions.toArray(Integer[]::new))))
+        .fetchMap(PROJECTION_OFFSETS.PARTITION, PROJECTION_OFFSETS.NEXT_OFFSET);
+  }
+
+  /**
+   * One multi-row upsert for every partition of the checkpoint, in partition order so that two
+   * instances briefly sharing partitions during a rebalance lock the rows in the same order. The
+   * {@code WHERE} guard keeps the highest position when they both write.
+   */
+  @Override
+  public void save(ProjectionCheckpoint checkpoint) {
+    if (checkpoint.nextOffsets().isEmpty()) {
+      return;
+    }
+    SortedMap<Integer, Long> nextOffsets = new TreeMap<>(checkpoint.nextOffsets());
+    var upsert =
+        dslContext
+            .insertInto(PROJECTION_OFFSETS)
+            .columns(
+                PROJECTION_OFFSETS.TOPIC,
+                PROJECTION_OFFSETS.PARTITION,
+                PROJECTION_OFFSETS.NEXT_OFFSET);
+    nextOffsets.forEach(
+        (partition, nextOffset) -> upsert.values(checkpoint.topic(), partition, nextOffset));
+    upsert
+        .onConflict(PROJECTION_OFFSETS.TOPIC, PROJECTION_OFFSETS.PARTITION)
+        .doUpdate()
+        .set(PROJECTION_OFFSETS.NEXT_OFFSET, excluded(PROJECTION_OFFSETS.NEXT_OFFSET))
+        .set(PROJECTION_OFFSETS.UPDATED_AT, currentOffsetDateTime())
+        .where(PROJECTION_OFFSETS.NEXT_OFFSET.lt(excluded(PROJECTION_OFFSETS.NEXT_OFFSET)))
+        .execute();
+  }
+}
@@ -0,0 +1,93 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.girardsimon.wealthpay.account.jooq.tables.EventStore.EVENT_STORE;
+import static org.jooq.impl.DSL.count;
+import static org.jooq.impl.DSL.min;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures, for a sample of balance reads, how stale the served view was: how many events of the
+ * account were already in {@code event_store} but not yet projected ({@code
+ * wealthpay.account.projection.staleness.versions}), and how long the oldest of them had been
+ * waiting ({@code wealthpay.account.projection.staleness}, zero when the view was current).
+ *
+ * <p>This is what a client actually observes, per account, whatever the partition or the consumer
+ * instance. Each sampled read costs one extra index range scan on {@code (account_id, version)};
+ * {@code account.projection.staleness.sample-rate} bounds it. Sampling never fails a read.
+ */
+@Component
+public class ProjectionStalenessSampler {
+
+  static final String STALENESS_METRIC = "wealthpay.account.projection.staleness";
+  static final String STALENESS_VERSIONS_METRIC = "wealthpay.account.projection.staleness.versions";
+
+  private static final Logger log = LoggerFactory.getLogger(ProjectionStalenessSampler.class);
+
+  private final DSLContext dslContext;
+  private final Clock clock;
+  private final double sampleRate;
+  private final Timer staleness;
+  private final DistributionSummary stalenessVersions;
+
+  public ProjectionStalenessSampler(
+      DSLContext dslContext,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      @Value("${account.projection.staleness.sample-rate}") double sampleRate) {
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException(
+          "Property account.projection.staleness.sample-rate must be between 0 and 1 but was "
+              + sampleRate);
+    }
+    this.dslContext = dslContext;
+    this.clock = clock;
+    this.sampleRate = sampleRate;
+    this.staleness =
+        Timer.builder(STALENESS_METRIC)
+            .description("Age of the oldest event not yet projected when a balance is read")
+            .register(meterRegistry);
+    this.stalenessVersions =
+        DistributionSummary.builder(STALENESS_VERSIONS_METRIC)
+            .description("Events not yet projected when a balance is read")
+            .register(meterRegistry);
+  }
+
+  public void sample(AccountBalanceView view) {
+    if (sampleRate == 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      return;
+    }
+    try {
+      Record2<Integer, OffsetDateTime> unprojected =
+          dslContext
+              .select(count(), min(EVENT_STORE.CREATED_AT))
+              .from(EVENT_STORE)
+              .where(EVENT_STORE.ACCOUNT_ID.eq(view.accountId().id()))
+              .and(EVENT_STORE.VERSION.gt(view.version()))
+              .fetchSingle();
+      OffsetDateTime oldest = unprojected.value2();
+      Duration age =
+          oldest == null ? Duration.ZERO : Duration.between(oldest.toInstant(), clock.instant());
+      stalenessVersions.record(unprojected.value1());
+      staleness.record(age.isNegative() ? Duration.ZERO : age);
+    } catch (RuntimeException samplingFailure) {
+      log.warn(
+          "Failed to sample projection staleness (accountId={})",
+          view.accountId().id(),
+          samplingFailure);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.girardsimon.wealthpay.account.application.ProjectionOwnership;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Last committed {@code account_balance_view} row of the accounts whose outbox partition this
+ * instance consumes, so that {@link AccountBalanceReadModel#projectAll} can skip the read.
+ *
+ * <p>The outbox topic is keyed by account id: an account's events always arrive on one partition,
+ * hence one consumer thread, and nothing else writes the view while the partition is assigned here.
+ * An entry is therefore only accepted for an account the consumer has {@link #assign assigned} to a
+ * partition, and is dropped with its partition on revocation ({@link #release}); the next owner
+ * rebuilds it lazily from the database. Entries are written after commit only.
+ *
+ * <p>The cache is never trusted blindly: when a cached state cannot absorb a batch (version gap) or
+ * its upsert is rejected by the version guard, the read model {@link #evictStale evicts} it and
+ * falls back to reading the row.
+ *
+ * <p>Holds at most {@code account.projection.cache.maximum-size} accounts, and assigns at most as
+ * many; beyond that, new accounts are simply not cached. Lookups are counted as {@code
+ * wealthpay.account.projection.cache.lookup{result=hit|miss|stale}} and the size exported as {@code
+ * wealthpay.account.projection.cache.size}.
+ */
+@Component
+public class ProjectionStateCache implements ProjectionOwnership {
+
+  static final String LOOKUP_METRIC = "wealthpay.account.projection.cache.lookup";
+  static final String SIZE_METRIC = "wealthpay.account.projection.cache.size";
+
+  private static final Logger log = LoggerFactory.getLogger(ProjectionStateCache.class);
+
+  private final ConcurrentHashMap<UUID, CachedProjection> states = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<UUID, Integer> partitionByAccount = new ConcurrentHashMap<>();
+  private final long maximumSize;
+  private final MeterRegistry meterRegistry;
+
+  public ProjectionStateCache(
+      @Value("${account.projection.cache.maximum-size}") long maximumSize,
+      MeterRegistry meterRegistry) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException(
+          "Property account.projection.cache.maximum-size must be > 0 but was " + maximumSize);
+    }
+    this.maximumSize = maximumSize;
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(SIZE_METRIC, states, ConcurrentHashMap::size)
+        .description("Number of account projection states held by the outbox consumer")
+        .register(meterRegistry);
+  }
+
+  /** Committed view row of an account, as the read model last wrote or read it. */
+  record CachedProjection(
+      BigDecimal balance, BigDecimal reserved, String currency, String status, long version) {}
+
+  /**
+   * Called for every consumed record, so bounded like the states it guards: an account assigned
+   * beyond the maximum size is not recorded, so its state is never cached.
+   */
+  @Override
+  public void assign(AccountId accountId, int partition) {
+    UUID id = accountId.id();
+    if (partitionByAccount.size() >= maximumSize && !partitionByAccount.containsKey(id)) {
+      return;
+    }
+    partitionByAccount.put(id, partition);
+  }
+
+  @Override
+  public void release(Collection<Integer> partitions) {
+    Set<Integer> revoked = new HashSet<>(partitions);
+    partitionByAccount
+        .entrySet()
+        .removeIf(
+            entry -> {
+              if (!revoked.contains(entry.getValue())) {
+                return false;
+              }
+              states.remove(entry.getKey());
+              return true;
+            });
+  }
+
+  Optional<CachedProjection> get(UUID accountId) {
+    CachedProjection cachedProjection = states.get(accountId);
+    recordSafely(cachedProjection != null ? "hit" : "miss");
+    return Optional.ofNullable(cachedProjection);
+  }
+
+  /** Keeps the higher version; ignored for accounts not assigned to a partition consumed here. */
+  void put(UUID accountId, CachedProjection cachedProjection) {
+    if (!partitionByAccount.containsKey(accountId)) {
+      return;
+    }
+    if (states.size() >= maximumSize && !states.containsKey(accountId)) {
+      return;
+    }
+    states.merge(
+        accountId,
+        cachedProjection,
+        (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+  }
+
+  void evict(UUID accountId) {
+    states.remove(accountId);
+  }
+
+  /** Drops every entry, keeping the partition bookkeeping: the view was replaced wholesale. */
+  void clear() {
+    states.clear();
+  }
+
+  /** Drops entries that turned out to disagree with the database. */
+  void evictStale(Collection<UUID> accountIds) {
+    accountIds.forEach(
+        accountId -> {
+          states.remove(accountId);
+          recordSafely("stale");
+        });
+  }
+
+  int assignedCount() {
+    return partitionByAccount.size();
+  }
+
+  private void recordSafely(String result) {
+    try {
+      meterRegistry.counter(LOOKUP_METRIC, "result", result).increment();
+    } catch (RuntimeException meterFailure) {
+      log.warn("Failed to record projection cache metric (result={})", result, meterFailure);
+    }
+  }
+}
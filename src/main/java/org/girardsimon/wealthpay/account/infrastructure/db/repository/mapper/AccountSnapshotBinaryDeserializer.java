@@ -0,0 +1,92 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper;
+
+import static org.girardsimon.wealthpay.account.jooq.tables.AccountSnapshot.ACCOUNT_SNAPSHOT;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.jooq.Record3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/** Reads snapshots written by {@link AccountSnapshotBinarySerializer}; see it for the layout. */
+@Component
+public class AccountSnapshotBinaryDeserializer
+    implements Function<Record3<UUID, byte[], Long>, Optional<AccountSnapshot>> {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(AccountSnapshotBinaryDeserializer.class);
+
+  @Override
+  public Optional<AccountSnapshot> apply(Record3<UUID, byte[], Long> entry) {
+    try {
+      AccountId accountId = AccountId.of(entry.get(ACCOUNT_SNAPSHOT.ACCOUNT_ID));
+      long version = entry.get(ACCOUNT_SNAPSHOT.VERSION);
+      byte[] binaryState = entry.get(ACCOUNT_SNAPSHOT.BINARY_STATE);
+      if (binaryState == null) {
+        throw new IllegalStateException("Binary snapshot has no binary_state");
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(binaryState);
+
+      SupportedCurrency currency = SupportedCurrency.valueOf(readAsciiName(buffer));
+      AccountStatus status = AccountStatus.valueOf(readAsciiName(buffer));
+      Money balance = Money.of(readAmount(buffer), currency);
+      Map<ReservationId, Money> reservations = readReservations(buffer, currency);
+      if (buffer.hasRemaining()) {
+        throw new IllegalStateException(
+            "Binary snapshot has %d trailing bytes".formatted(buffer.remaining()));
+      }
+
+      return Optional.of(
+          new AccountSnapshot(accountId, currency, balance, status, reservations, version));
+    } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+      // Snapshot is performance optimization and should not block a critical path
+      log.warn("Unable to deserialize binary account snapshot", e);
+      return Optional.empty();
+    }
+  }
+
+  private static Map<ReservationId, Money> readReservations(
+      ByteBuffer buffer, SupportedCurrency currency) {
+    int count = buffer.getInt();
+    int maxCount = buffer.remaining() / AccountSnapshotBinarySerializer.RESERVATION_BYTES;
+    if (count < 0 || count > maxCount) {
+      throw new IllegalStateException("Invalid reservation count in binary snapshot: " + count);
+    }
+    Map<ReservationId, Money> reservations = HashMap.newHashMap(count);
+    for (int i = 0; i < count; i++) {
+      ReservationId reservationId =
+          ReservationId.of(new UUID(buffer.getLong(), buffer.getLong()));
+      reservations.put(reservationId, Money.of(readAmount(buffer), currency));
+    }
+    return reservations;
+  }
+
+  private static String readAsciiName(ByteBuffer buffer) {
+    int length = buffer.get();
+    if (length < 0) {
+      throw new IllegalStateException("Invalid name length in binary snapshot: " + length);
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.US_ASCII);
+  }
+
+  private static BigDecimal readAmount(ByteBuffer buffer) {
+    long unscaledValue = buffer.getLong();
+    return BigDecimal.valueOf(unscaledValue, buffer.get());
+  }
+}
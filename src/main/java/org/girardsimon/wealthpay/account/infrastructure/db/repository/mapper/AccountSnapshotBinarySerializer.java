@@ -0,0 +1,104 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.jooq.tables.records.AccountSnapshotRecord;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes snapshots in the compact binary encoding ({@link #SCHEMA_VERSION}), stored in {@code
+ * account_snapshot.binary_state}. Big-endian layout:
+ *
+ * <pre>
+ * currency      u8 length + US-ASCII enum name
+ * status        u8 length + US-ASCII enum name
+ * balance       i64 unscaled value, i8 scale
+ * reservations  i32 count, then per reservation:
+ *                 i64 + i64 reservation id (UUID most / least significant bits)
+ *                 i64 unscaled amount, i8 scale
+ * </pre>
+ *
+ * Reservation amounts carry no currency: the aggregate only holds reservations in the account
+ * currency, and a snapshot violating that is rejected rather than silently rewritten. Amounts whose
+ * unscaled value does not fit in a long are rejected too; either rejection only skips the snapshot.
+ */
+@Component
+public class AccountSnapshotBinarySerializer
+    implements Function<AccountSnapshot, AccountSnapshotRecord> {
+
+  public static final long SCHEMA_VERSION = 2L;
+
+  static final int RESERVATION_BYTES = Long.BYTES * 3 + Byte.BYTES;
+
+  @Override
+  public AccountSnapshotRecord apply(AccountSnapshot accountSnapshot) {
+    byte[] currency = asciiName(accountSnapshot.currency().name());
+    byte[] status = asciiName(accountSnapshot.status().name());
+    Map<ReservationId, Money> reservations = accountSnapshot.reservations();
+
+    ByteBuffer buffer =
+        ByteBuffer.allocate(
+            Byte.BYTES
+                + currency.length
+                + Byte.BYTES
+                + status.length
+                + Long.BYTES
+                + Byte.BYTES
+                + Integer.BYTES
+                + reservations.size() * RESERVATION_BYTES);
+    buffer.put((byte) currency.length).put(currency);
+    buffer.put((byte) status.length).put(status);
+    putAmount(buffer, accountSnapshot.balance().amount());
+    buffer.putInt(reservations.size());
+    reservations.forEach(
+        (reservationId, money) -> {
+          ensureAccountCurrency(money, accountSnapshot.currency());
+          UUID id = reservationId.id();
+          buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+          putAmount(buffer, money.amount());
+        });
+
+    AccountSnapshotRecord accountSnapshotRecord = new AccountSnapshotRecord();
+    accountSnapshotRecord.setAccountId(accountSnapshot.accountId().id());
+    accountSnapshotRecord.setVersion(accountSnapshot.version());
+    accountSnapshotRecord.setState(null);
+    accountSnapshotRecord.setBinaryState(buffer.array());
+    accountSnapshotRecord.setSchemaVersion(SCHEMA_VERSION);
+    return accountSnapshotRecord;
+  }
+
+  private static byte[] asciiName(String name) {
+    byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+    if (bytes.length > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Enum name too long for binary snapshot: " + name);
+    }
+    return bytes;
+  }
+
+  private static void putAmount(ByteBuffer buffer, BigDecimal amount) {
+    if (amount.scale() < 0 || amount.scale() > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Unsupported amount scale for binary snapshot: " + amount);
+    }
+    try {
+      buffer.putLong(amount.unscaledValue().longValueExact()).put((byte) amount.scale());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Amount too large for binary snapshot: " + amount, e);
+    }
+  }
+
+  private static void ensureAccountCurrency(Money money, SupportedCurrency accountCurrency) {
+    if (money.currency() != accountCurrency) {
+      throw new IllegalArgumentException(
+          "Reservation in %s on a %s account cannot be written to a binary snapshot"
+              .formatted(money.currency(), accountCurrency));
+    }
+  }
+}
@@ -49,6 +49,7 @@ public class AccountSnapshotSerializer implements Function<AccountSnapshot, Acco
     root.set(RESERVATIONS, reservationsNode);
 
     accountSnapshotRecord.setState(JSONB.valueOf(objectMapper.writeValueAsString(root)));
+    accountSnapshotRecord.setBinaryState(null);
     accountSnapshotRecord.setSchemaVersion(SCHEMA_VERSION);
 
     return accountSnapshotRecord;
@@ -0,0 +1,256 @@
+package org.girardsimon.wealthpay.account.infrastructure.serialization;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
+import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCanceled;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
+import org.girardsimon.wealthpay.account.domain.exception.UnsupportedCurrencyException;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Decodes account event payloads in a single pass over the JSON tokens, for both the event store
+ * (rehydration, rebuild) and the outbox consumer (projection).
+ *
+ * <p>No {@code JsonNode} tree is built: the fields of interest are picked as their tokens go by,
+ * UUIDs are parsed straight from the parser's character buffer, amounts via {@link
+ * JsonParser#getDecimalValue()}, and currencies matched against {@link SupportedCurrency} without
+ * materializing a string. Unknown fields are skipped. Failures mirror the tree-based mappers:
+ * {@link IllegalStateException} for a missing field, {@link IllegalArgumentException} for a
+ * malformed UUID, {@link UnsupportedCurrencyException} for an unknown currency.
+ */
+public class AccountEventPayloadDecoder {
+
+  static final String OCCURRED_AT = "occurredAt";
+  static final String CURRENCY = "currency";
+  static final String AMOUNT = "amount";
+  static final String TRANSACTION_ID = "transactionId";
+  static final String RESERVATION_ID = "reservationId";
+  static final String INITIAL_BALANCE = "initialBalance";
+
+  private static final int UUID_LENGTH = 36;
+  private static final SupportedCurrency[] CURRENCIES = SupportedCurrency.values();
+
+  private final ObjectMapper objectMapper;
+
+  public AccountEventPayloadDecoder(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /** Payload fields shared by every event type; each type reads the subset it needs. */
+  private static final class PayloadFields {
+    private Instant occurredAt;
+    private SupportedCurrency currency;
+    private BigDecimal amount;
+    private BigDecimal initialBalance;
+    private UUID transactionId;
+    private UUID reservationId;
+  }
+
+  /** Event store entry: {@code occurredAt} is read from the payload. */
+  public AccountEvent decode(
+      AccountEventType accountEventType,
+      EventId eventId,
+      AccountId accountId,
+      long version,
+      String payload) {
+    PayloadFields fields;
+    try (JsonParser parser = objectMapper.createParser(payload)) {
+      fields = readFields(parser, true);
+    }
+    AccountEventMeta accountEventMeta =
+        AccountEventMeta.of(eventId, accountId, required(fields.occurredAt, OCCURRED_AT), version);
+    return toEvent(accountEventType, accountEventMeta, fields);
+  }
+
+  /** Outbox record carried as a string: metadata comes from the record headers. */
+  public AccountEvent decode(
+      AccountEventType accountEventType, AccountEventMeta accountEventMeta, String payload) {
+    if (accountEventType == AccountEventType.ACCOUNT_CLOSED) {
+      return new AccountClosed(accountEventMeta);
+    }
+    try (JsonParser parser = objectMapper.createParser(payload)) {
+      return toEvent(accountEventType, accountEventMeta, readFields(parser, false));
+    }
+  }
+
+  /** Outbox record carried as UTF-8 bytes (Avro {@code Utf8}), decoded without a string copy. */
+  public AccountEvent decode(
+      AccountEventType accountEventType,
+      AccountEventMeta accountEventMeta,
+      byte[] payload,
+      int offset,
+      int length) {
+    if (accountEventType == AccountEventType.ACCOUNT_CLOSED) {
+      return new AccountClosed(accountEventMeta);
+    }
+    try (JsonParser parser = objectMapper.createParser(payload, offset, length)) {
+      return toEvent(accountEventType, accountEventMeta, readFields(parser, false));
+    }
+  }
+
+  private static PayloadFields readFields(JsonParser parser, boolean readOccurredAt) {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IllegalStateException("Event payload must be a JSON object");
+    }
+    PayloadFields fields = new PayloadFields();
+    String name;
+    while ((name = parser.nextName()) != null) {
+      if (parser.nextToken() == JsonToken.VALUE_NULL) {
+        continue;
+      }
+      switch (name) {
+        case OCCURRED_AT -> {
+          if (readOccurredAt) {
+            fields.occurredAt = Instant.parse(parser.getString());
+          }
+        }
+        case CURRENCY -> fields.currency = readCurrency(parser);
+        case AMOUNT -> fields.amount = readDecimal(parser, AMOUNT);
+        case INITIAL_BALANCE -> fields.initialBalance = readDecimal(parser, INITIAL_BALANCE);
+        case TRANSACTION_ID -> fields.transactionId = readUuid(parser);
+        case RESERVATION_ID -> fields.reservationId = readUuid(parser);
+        default -> parser.skipChildren();
+      }
+    }
+    return fields;
+  }
+
+  private static AccountEvent toEvent(
+      AccountEventType accountEventType, AccountEventMeta meta, PayloadFields fields) {
+    return switch (accountEventType) {
+      case ACCOUNT_OPENED -> {
+        SupportedCurrency currency = required(fields.currency, CURRENCY);
+        yield new AccountOpened(
+            meta, currency, Money.of(required(fields.initialBalance, INITIAL_BALANCE), currency));
+      }
+      case FUNDS_CREDITED ->
+          new FundsCredited(
+              meta,
+              TransactionId.of(required(fields.transactionId, TRANSACTION_ID)),
+              money(fields));
+      case FUNDS_DEBITED ->
+          new FundsDebited(
+              meta,
+              TransactionId.of(required(fields.transactionId, TRANSACTION_ID)),
+              money(fields));
+      case FUNDS_RESERVED ->
+          new FundsReserved(
+              meta,
+              TransactionId.of(required(fields.transactionId, TRANSACTION_ID)),
+              ReservationId.of(required(fields.reservationId, RESERVATION_ID)),
+              money(fields));
+      case RESERVATION_CANCELED ->
+          new ReservationCanceled(
+              meta,
+              ReservationId.of(required(fields.reservationId, RESERVATION_ID)),
+              money(fields));
+      case RESERVATION_CAPTURED ->
+          new ReservationCaptured(
+              meta,
+              ReservationId.of(required(fields.reservationId, RESERVATION_ID)),
+              money(fields));
+      case ACCOUNT_CLOSED -> new AccountClosed(meta);
+    };
+  }
+
+  private static Money money(PayloadFields fields) {
+    return Money.of(required(fields.amount, AMOUNT), required(fields.currency, CURRENCY));
+  }
+
+  private static <T> T required(T value, String fieldName) {
+    if (value == null) {
+      throw new IllegalStateException("Missing required field '" + fieldName + "'");
+    }
+    return value;
+  }
+
+  private static BigDecimal readDecimal(JsonParser parser, String fieldName) {
+    return switch (parser.currentToken()) {
+      case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+      case VALUE_STRING ->
+          new BigDecimal(
+              parser.getStringCharacters(), parser.getStringOffset(), parser.getStringLength());
+      default -> throw new IllegalStateException("Field '" + fieldName + "' must be a number");
+    };
+  }
+
+  private static SupportedCurrency readCurrency(JsonParser parser) {
+    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+      throw new IllegalStateException("Field '" + CURRENCY + "' must be a string");
+    }
+    char[] chars = parser.getStringCharacters();
+    int offset = parser.getStringOffset();
+    int length = parser.getStringLength();
+    for (SupportedCurrency currency : CURRENCIES) {
+      String code = currency.name();
+      if (code.length() == length && regionMatches(code, chars, offset)) {
+        return currency;
+      }
+    }
+    throw new UnsupportedCurrencyException(new String(chars, offset, length));
+  }
+
+  private static boolean regionMatches(String code, char[] chars, int offset) {
+    for (int i = 0; i < code.length(); i++) {
+      if (code.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Canonical 8-4-4-4-12 form only, which is what the serializers write. */
+  private static UUID readUuid(JsonParser parser) {
+    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+      throw new IllegalArgumentException("Invalid UUID: not a string");
+    }
+    char[] chars = parser.getStringCharacters();
+    int offset = parser.getStringOffset();
+    int length = parser.getStringLength();
+    if (length != UUID_LENGTH
+        || chars[offset + 8] != '-'
+        || chars[offset + 13] != '-'
+        || chars[offset + 18] != '-'
+        || chars[offset + 23] != '-') {
+      throw invalidUuid(chars, offset, length);
+    }
+    long mostSignificantBits = 0L;
+    long leastSignificantBits = 0L;
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        continue;
+      }
+      int digit = Character.digit(chars[offset + i], 16);
+      if (digit < 0) {
+        throw invalidUuid(chars, offset, length);
+      }
+      if (i < 18) {
+        mostSignificantBits = (mostSignificantBits << 4) | digit;
+      } else {
+        leastSignificantBits = (leastSignificantBits << 4) | digit;
+      }
+    }
+    return new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  private static IllegalArgumentException invalidUuid(char[] chars, int offset, int length) {
+    return new IllegalArgumentException(
+        "Invalid UUID string: " + new String(chars, offset, length));
+  }
+}
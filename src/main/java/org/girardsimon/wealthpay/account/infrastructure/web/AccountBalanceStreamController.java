@@ -0,0 +1,148 @@
+package org.girardsimon.wealthpay.account.infrastructure.web;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import org.girardsimon.wealthpay.account.application.AccountBalanceStream;
+import org.girardsimon.wealthpay.account.application.AccountBalanceSubscription;
+import org.girardsimon.wealthpay.account.application.AccountReadService;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountBalanceViewDomainToDtoMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent balance updates of one account, for integrators that would otherwise poll {@code GET
+ * /accounts/{id}}: a {@code balance} event with the current view on connect, then one per version
+ * this instance projects, each carrying the same body as {@code GET /accounts/{id}} and the version
+ * as event id. A comment line is sent after {@code account.balance-stream.heartbeat-interval}
+ * without update, so proxies keep the connection open; the stream ends after {@code
+ * account.balance-stream.timeout} and the client reconnects.
+ *
+ * <p>Not part of the OpenAPI contract: the generator has no model for {@code text/event-stream}.
+ * Each stream is written by its own virtual thread, parked on the subscription buffer between
+ * updates; neither a platform thread nor a database connection is held while idle.
+ */
+@RestController
+public class AccountBalanceStreamController {
+
+  private static final Logger log = LoggerFactory.getLogger(AccountBalanceStreamController.class);
+
+  private final AccountBalanceStream accountBalanceStream;
+  private final AccountReadService accountReadService;
+  private final AccountBalanceViewDomainToDtoMapper accountBalanceViewDomainToDtoMapper;
+  private final Duration heartbeatInterval;
+  private final Duration timeout;
+
+  private final ExecutorService writers =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("account-balance-stream-", 0).factory());
+
+  public AccountBalanceStreamController(
+      AccountBalanceStream accountBalanceStream,
+      AccountReadService accountReadService,
+      AccountBalanceViewDomainToDtoMapper accountBalanceViewDomainToDtoMapper,
+      @Value("${account.balance-stream.heartbeat-interval}") Duration heartbeatInterval,
+      @Value("${account.balance-stream.timeout}") Duration timeout) {
+    if (!heartbeatInterval.isPositive()) {
+      throw new IllegalArgumentException(
+          "Property account.balance-stream.heartbeat-interval must be > 0 but was "
+              + heartbeatInterval);
+    }
+    if (!timeout.isPositive()) {
+      throw new IllegalArgumentException(
+          "Property account.balance-stream.timeout must be > 0 but was " + timeout);
+    }
+    this.accountBalanceStream = accountBalanceStream;
+    this.accountReadService = accountReadService;
+    this.accountBalanceViewDomainToDtoMapper = accountBalanceViewDomainToDtoMapper;
+    this.heartbeatInterval = heartbeatInterval;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Subscribes before reading the current view, so a version committed in between is not missed;
+   * views not newer than the last one sent are skipped. The emitter callbacks are registered before
+   * the writer starts, and also close the subscription, in case the writer is cancelled before it
+   * runs.
+   */
+  @GetMapping(path = "/accounts/{id}/balance-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamAccountBalance(@PathVariable UUID id) {
+    AccountId accountId = AccountId.of(id);
+    AccountBalanceSubscription subscription = accountBalanceStream.subscribe(accountId);
+    AccountBalanceView current;
+    try {
+      current = accountReadService.getAccountBalance(accountId);
+    } catch (RuntimeException notReadable) {
+      subscription.close();
+      throw notReadable;
+    }
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    FutureTask<Void> writer = new FutureTask<>(() -> write(emitter, subscription, current), null);
+    Runnable stop =
+        () -> {
+          writer.cancel(true);
+          subscription.close();
+        };
+    emitter.onTimeout(emitter::complete);
+    emitter.onCompletion(stop);
+    emitter.onError(_ -> stop.run());
+    writers.execute(writer);
+    return emitter;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    writers.shutdownNow();
+  }
+
+  private void write(
+      SseEmitter emitter, AccountBalanceSubscription subscription, AccountBalanceView current) {
+    try (subscription) {
+      emitter.send(balanceEvent(current));
+      long lastVersion = current.version();
+      while (!Thread.currentThread().isInterrupted()) {
+        Optional<AccountBalanceView> next = subscription.next(heartbeatInterval);
+        if (next.isEmpty()) {
+          emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else if (next.get().version() > lastVersion) {
+          lastVersion = next.get().version();
+          emitter.send(balanceEvent(next.get()));
+        }
+      }
+    } catch (InterruptedException _) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | IllegalStateException disconnected) {
+      // Client gone, or emitter already completed by a timeout: nothing left to write to.
+      log.debug(
+          "Balance stream closed (accountId={}): {}",
+          subscription.accountId().id(),
+          disconnected.getMessage());
+    } catch (RuntimeException writeFailure) {
+      log.warn("Balance stream failed (accountId={})", subscription.accountId().id(), writeFailure);
+      emitter.completeWithError(writeFailure);
+    } finally {
+      // No-op once completed; otherwise ends the response instead of leaving it open until timeout.
+      emitter.complete();
+    }
+  }
+
+  private SseEmitter.SseEventBuilder balanceEvent(AccountBalanceView view) {
+    return SseEmitter.event()
+        .name("balance")
+        .id(Long.toString(view.version()))
+        .data(accountBalanceViewDomainToDtoMapper.apply(view), MediaType.APPLICATION_JSON);
+  }
+}
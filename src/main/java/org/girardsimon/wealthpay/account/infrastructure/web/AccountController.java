@@ -1,23 +1,39 @@
 package org.girardsimon.wealthpay.account.infrastructure.web;
 
 import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.girardsimon.wealthpay.account.api.generated.AccountApi;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountBalanceLookupEntryDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountBalanceLookupRequestDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountEventTypeDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountHistoryPageDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountLookupStatusDto;
 import org.girardsimon.wealthpay.account.api.generated.model.AccountResponseDto;
 import org.girardsimon.wealthpay.account.api.generated.model.CloseAccountResponseDto;
 import org.girardsimon.wealthpay.account.api.generated.model.OpenAccountRequestDto;
 import org.girardsimon.wealthpay.account.api.generated.model.OpenAccountResponseDto;
 import org.girardsimon.wealthpay.account.application.AccountApplicationService;
 import org.girardsimon.wealthpay.account.application.AccountReadService;
-import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
 import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
 import org.girardsimon.wealthpay.account.domain.command.CloseAccount;
 import org.girardsimon.wealthpay.account.domain.command.OpenAccount;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountBalanceViewDomainToDtoMapper;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountEventTypeDtoToDomainMapper;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountHistoryPageToDtoMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.CloseAccountDtoToDomainMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.CloseAccountResponseToDtoMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.OpenAccountDtoToDomainMapper;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -39,6 +55,8 @@ public class AccountController implements AccountApi {
   private final CloseAccountDtoToDomainMapper closeAccountDtoToDomainMapper;
   private final AccountBalanceViewDomainToDtoMapper accountBalanceViewDomainToDtoMapper;
   private final CloseAccountResponseToDtoMapper closeAccountResponseToDtoMapper;
+  private final AccountEventTypeDtoToDomainMapper accountEventTypeDtoToDomainMapper;
+  private final AccountHistoryPageToDtoMapper accountHistoryPageToDtoMapper;
 
   public AccountController(
       AccountApplicationService accountApplicationService,
@@ -46,26 +64,104 @@ public class AccountController implements AccountApi {
       OpenAccountDtoToDomainMapper openAccountDtoToDomainMapper,
       CloseAccountDtoToDomainMapper closeAccountDtoToDomainMapper,
       AccountBalanceViewDomainToDtoMapper accountBalanceViewDomainToDtoMapper,
-      CloseAccountResponseToDtoMapper closeAccountResponseToDtoMapper) {
+      CloseAccountResponseToDtoMapper closeAccountResponseToDtoMapper,
+      AccountEventTypeDtoToDomainMapper accountEventTypeDtoToDomainMapper,
+      AccountHistoryPageToDtoMapper accountHistoryPageToDtoMapper) {
     this.accountApplicationService = accountApplicationService;
     this.accountReadService = accountReadService;
     this.openAccountDtoToDomainMapper = openAccountDtoToDomainMapper;
     this.closeAccountDtoToDomainMapper = closeAccountDtoToDomainMapper;
     this.accountBalanceViewDomainToDtoMapper = accountBalanceViewDomainToDtoMapper;
     this.closeAccountResponseToDtoMapper = closeAccountResponseToDtoMapper;
+    this.accountEventTypeDtoToDomainMapper = accountEventTypeDtoToDomainMapper;
+    this.accountHistoryPageToDtoMapper = accountHistoryPageToDtoMapper;
   }
 
   @Override
   public ResponseEntity<CloseAccountResponseDto> closeAccount(UUID id) {
     CloseAccount closeAccount = closeAccountDtoToDomainMapper.apply(id);
-    TransactionStatus transactionStatus = accountApplicationService.closeAccount(closeAccount);
-    return ResponseEntity.ok(closeAccountResponseToDtoMapper.apply(transactionStatus));
+    TransactionResult transactionResult = accountApplicationService.closeAccount(closeAccount);
+    return ResponseEntity.ok(closeAccountResponseToDtoMapper.apply(transactionResult));
   }
 
+  /**
+   * A conditional poll ({@code If-None-Match}, no {@code minVersion}) first reads the version only:
+   * when the entity tag still matches, the view is neither read, mapped nor serialized. Otherwise,
+   * and for read-your-writes polls, the {@code ETag} of the full response is checked by Spring MVC
+   * itself, which turns a match into a 304 before the body is written.
+   */
   @Override
-  public ResponseEntity<AccountResponseDto> getAccountById(UUID id) {
-    AccountBalanceView accountBalance = accountReadService.getAccountBalance(AccountId.of(id));
-    return ResponseEntity.ok(accountBalanceViewDomainToDtoMapper.apply(accountBalance));
+  public ResponseEntity<AccountResponseDto> getAccountById(
+      UUID id, Long minVersion, String ifNoneMatch) {
+    AccountId accountId = AccountId.of(id);
+    if (minVersion == null && ifNoneMatch != null) {
+      Optional<String> unchanged =
+          accountReadService
+              .findAccountVersion(accountId)
+              .map(version -> AccountETag.of(accountId, version))
+              .filter(etag -> AccountETag.matches(ifNoneMatch, etag));
+      if (unchanged.isPresent()) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchanged.get()).build();
+      }
+    }
+    AccountBalanceView accountBalance =
+        minVersion == null
+            ? accountReadService.getAccountBalance(accountId)
+            : accountReadService.getAccountBalance(accountId, minVersion);
+    return ResponseEntity.ok()
+        .eTag(AccountETag.of(accountId, accountBalance.version()))
+        .body(accountBalanceViewDomainToDtoMapper.apply(accountBalance));
+  }
+
+  @Override
+  public ResponseEntity<AccountHistoryPageDto> getAccountHistory(
+      UUID id,
+      Long afterVersion,
+      Integer limit,
+      List<AccountEventTypeDto> eventType,
+      OffsetDateTime recordedFrom,
+      OffsetDateTime recordedTo) {
+    Set<Class<? extends AccountEvent>> eventTypes =
+        eventType == null
+            ? Set.of()
+            : eventType.stream()
+                .map(accountEventTypeDtoToDomainMapper)
+                .collect(Collectors.toUnmodifiableSet());
+    AccountHistoryQuery query =
+        new AccountHistoryQuery(
+            AccountId.of(id),
+            afterVersion,
+            limit,
+            eventTypes,
+            recordedFrom == null ? null : recordedFrom.toInstant(),
+            recordedTo == null ? null : recordedTo.toInstant());
+    return ResponseEntity.ok(
+        accountHistoryPageToDtoMapper.apply(accountReadService.getAccountHistory(query)));
+  }
+
+  @Override
+  public ResponseEntity<List<AccountBalanceLookupEntryDto>> lookupAccountBalances(
+      @SuppressWarnings("java:S5128") AccountBalanceLookupRequestDto lookupRequestDto) {
+    List<AccountId> accountIds =
+        lookupRequestDto.getAccountIds().stream().map(AccountId::of).toList();
+    Map<AccountId, AccountBalanceView> accountBalances =
+        accountReadService.getAccountBalances(accountIds);
+    List<AccountBalanceLookupEntryDto> entries =
+        accountIds.stream()
+            .map(
+                accountId -> {
+                  AccountBalanceView accountBalance = accountBalances.get(accountId);
+                  return accountBalance == null
+                      ? new AccountBalanceLookupEntryDto()
+                          .id(accountId.id())
+                          .status(AccountLookupStatusDto.NOT_FOUND)
+                      : new AccountBalanceLookupEntryDto()
+                          .id(accountId.id())
+                          .status(AccountLookupStatusDto.FOUND)
+                          .account(accountBalanceViewDomainToDtoMapper.apply(accountBalance));
+                })
+            .toList();
+    return ResponseEntity.ok(entries);
   }
 
   @Override
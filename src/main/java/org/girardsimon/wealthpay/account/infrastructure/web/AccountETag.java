@@ -0,0 +1,36 @@
+package org.girardsimon.wealthpay.account.infrastructure.web;
+
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+
+/**
+ * Strong entity tags of an account representation. The projection version changes with every event
+ * applied to the view, so the account id and the version identify the body byte for byte.
+ */
+final class AccountETag {
+
+  private AccountETag() {}
+
+  static String of(AccountId accountId, long version) {
+    return "\"" + accountId.id() + "-" + version + "\"";
+  }
+
+  /**
+   * Whether {@code ifNoneMatch} lists {@code etag}, or is {@code *}. {@code If-None-Match} uses the
+   * weak comparison (RFC 9110, 13.1.2), so a {@code W/} prefix does not prevent a match.
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.strip();
+      if (tag.equals("*")) {
+        return true;
+      }
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -6,6 +6,7 @@ import org.girardsimon.wealthpay.account.api.generated.model.ReservationResponse
 import org.girardsimon.wealthpay.account.api.generated.model.ReserveFundsRequestDto;
 import org.girardsimon.wealthpay.account.api.generated.model.ReserveFundsResponseDto;
 import org.girardsimon.wealthpay.account.application.AccountApplicationService;
+import org.girardsimon.wealthpay.account.application.AccountCommandBatcher;
 import org.girardsimon.wealthpay.account.application.response.ReservationResponse;
 import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
 import org.girardsimon.wealthpay.account.domain.command.CancelReservation;
@@ -30,6 +31,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AccountReservationController implements AccountReservationApi {
 
   private final AccountApplicationService accountApplicationService;
+  private final AccountCommandBatcher accountCommandBatcher;
 
   private final ReserveFundsDtoToDomainMapper reserveFundsDtoToDomainMapper;
   private final ReserveFundsResponseToDtoMapper reserveFundsResponseToDtoMapper;
@@ -39,12 +41,14 @@ public class AccountReservationController implements AccountReservationApi {
 
   public AccountReservationController(
       AccountApplicationService accountApplicationService,
+      AccountCommandBatcher accountCommandBatcher,
       ReserveFundsDtoToDomainMapper reserveFundsDtoToDomainMapper,
       ReserveFundsResponseToDtoMapper reserveFundsResponseToDtoMapper,
       CaptureReservationDtoToDomainMapper captureReservationDtoToDomainMapper,
       CancelReservationDtoToDomainMapper cancelReservationDtoToDomainMapper,
       ReservationResponseToDtoMapper reservationResponseToDtoMapper) {
     this.accountApplicationService = accountApplicationService;
+    this.accountCommandBatcher = accountCommandBatcher;
     this.reserveFundsDtoToDomainMapper = reserveFundsDtoToDomainMapper;
     this.reserveFundsResponseToDtoMapper = reserveFundsResponseToDtoMapper;
     this.captureReservationDtoToDomainMapper = captureReservationDtoToDomainMapper;
@@ -77,8 +81,7 @@ public class AccountReservationController implements AccountReservationApi {
       @SuppressWarnings("java:S5128") ReserveFundsRequestDto reserveFundsRequestDto) {
     ReserveFunds reserveFunds =
         reserveFundsDtoToDomainMapper.apply(id, transactionId, reserveFundsRequestDto);
-    ReserveFundsResponse reserveFundsResponse =
-        accountApplicationService.reserveFunds(reserveFunds);
+    ReserveFundsResponse reserveFundsResponse = accountCommandBatcher.reserveFunds(reserveFunds);
     return ResponseEntity.ok(reserveFundsResponseToDtoMapper.apply(reserveFundsResponse));
   }
 }
@@ -1,15 +1,25 @@
 package org.girardsimon.wealthpay.account.infrastructure.web;
 
+import java.util.List;
 import java.util.UUID;
 import org.girardsimon.wealthpay.account.api.generated.AccountTransactionApi;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchRequestDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchResponseDto;
 import org.girardsimon.wealthpay.account.api.generated.model.CreditAccountRequestDto;
 import org.girardsimon.wealthpay.account.api.generated.model.DebitAccountRequestDto;
 import org.girardsimon.wealthpay.account.api.generated.model.TransactionResponseDto;
 import org.girardsimon.wealthpay.account.api.generated.model.TransactionStatusDto;
 import org.girardsimon.wealthpay.account.application.AccountApplicationService;
-import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.application.AccountCommandBatcher;
+import org.girardsimon.wealthpay.account.application.CommandBatchRejectedException;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
 import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
 import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountCommandBatchDtoToDomainMapper;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountCommandBatchResponseToDtoMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.CreditAccountDtoToDomainMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.DebitAccountDtoToDomainMapper;
 import org.springframework.http.ResponseEntity;
@@ -25,18 +35,27 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class AccountTransactionController implements AccountTransactionApi {
 
+  private final AccountCommandBatcher accountCommandBatcher;
   private final AccountApplicationService accountApplicationService;
 
   private final CreditAccountDtoToDomainMapper creditAccountDtoToDomainMapper;
   private final DebitAccountDtoToDomainMapper debitAccountDtoToDomainMapper;
+  private final AccountCommandBatchDtoToDomainMapper accountCommandBatchDtoToDomainMapper;
+  private final AccountCommandBatchResponseToDtoMapper accountCommandBatchResponseToDtoMapper;
 
   public AccountTransactionController(
+      AccountCommandBatcher accountCommandBatcher,
       AccountApplicationService accountApplicationService,
       CreditAccountDtoToDomainMapper creditAccountDtoToDomainMapper,
-      DebitAccountDtoToDomainMapper debitAccountDtoToDomainMapper) {
+      DebitAccountDtoToDomainMapper debitAccountDtoToDomainMapper,
+      AccountCommandBatchDtoToDomainMapper accountCommandBatchDtoToDomainMapper,
+      AccountCommandBatchResponseToDtoMapper accountCommandBatchResponseToDtoMapper) {
+    this.accountCommandBatcher = accountCommandBatcher;
     this.accountApplicationService = accountApplicationService;
     this.creditAccountDtoToDomainMapper = creditAccountDtoToDomainMapper;
     this.debitAccountDtoToDomainMapper = debitAccountDtoToDomainMapper;
+    this.accountCommandBatchDtoToDomainMapper = accountCommandBatchDtoToDomainMapper;
+    this.accountCommandBatchResponseToDtoMapper = accountCommandBatchResponseToDtoMapper;
   }
 
   @Override
@@ -46,10 +65,8 @@ public class AccountTransactionController implements AccountTransactionApi {
       @SuppressWarnings("java:S5128") CreditAccountRequestDto creditAccountRequestDto) {
     CreditAccount creditAccount =
         creditAccountDtoToDomainMapper.apply(id, transactionId, creditAccountRequestDto);
-    TransactionStatus transactionStatus = accountApplicationService.creditAccount(creditAccount);
-    return ResponseEntity.ok(
-        new TransactionResponseDto()
-            .status(TransactionStatusDto.valueOf(transactionStatus.name())));
+    TransactionResult transactionResult = accountCommandBatcher.creditAccount(creditAccount);
+    return ResponseEntity.ok(toTransactionResponseDto(transactionResult));
   }
 
   @Override
@@ -59,9 +76,40 @@ public class AccountTransactionController implements AccountTransactionApi {
       @SuppressWarnings("java:S5128") DebitAccountRequestDto debitAccountRequestDto) {
     DebitAccount debitAccount =
         debitAccountDtoToDomainMapper.apply(id, transactionId, debitAccountRequestDto);
-    TransactionStatus transactionStatus = accountApplicationService.debitAccount(debitAccount);
-    return ResponseEntity.ok(
+    TransactionResult transactionResult = accountCommandBatcher.debitAccount(debitAccount);
+    return ResponseEntity.ok(toTransactionResponseDto(transactionResult));
+  }
+
+  /**
+   * Runs the batch directly rather than through {@link AccountCommandBatcher}: it already is one
+   * transaction for one account, and in atomic mode it must not share it with other requests.
+   */
+  @Override
+  public ResponseEntity<AccountCommandBatchResponseDto> applyCommandBatch(
+      UUID id,
+      @SuppressWarnings("java:S5128") AccountCommandBatchRequestDto accountCommandBatchRequestDto) {
+    List<AccountTransaction> commands =
+        accountCommandBatchDtoToDomainMapper.apply(id, accountCommandBatchRequestDto);
+    try {
+      List<CommandOutcome> outcomes =
+          accountApplicationService.processBatch(
+              AccountId.of(id),
+              commands,
+              accountCommandBatchDtoToDomainMapper.mode(accountCommandBatchRequestDto));
+      return ResponseEntity.ok(
+          accountCommandBatchResponseToDtoMapper.committed(commands, outcomes));
+    } catch (CommandBatchRejectedException rejected) {
+      return ResponseEntity.unprocessableContent()
+          .body(accountCommandBatchResponseToDtoMapper.rolledBack(commands, rejected));
+    }
+  }
+
+  private static TransactionResponseDto toTransactionResponseDto(
+      TransactionResult transactionResult) {
+    TransactionResponseDto responseDto =
         new TransactionResponseDto()
-            .status(TransactionStatusDto.valueOf(transactionStatus.name())));
+            .status(TransactionStatusDto.valueOf(transactionResult.status().name()));
+    transactionResult.version().ifPresent(responseDto::version);
+    return responseDto;
   }
 }
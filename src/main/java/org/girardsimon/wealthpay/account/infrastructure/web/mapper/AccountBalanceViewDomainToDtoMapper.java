@@ -21,6 +21,7 @@ public class AccountBalanceViewDomainToDtoMapper
         .balanceAmount(balance.amount())
         .reservedAmount(accountBalanceView.reservedFunds().amount())
         .currency(SupportedCurrencyDto.valueOf(currency.name()))
-        .status(AccountStatusDto.valueOf(accountBalanceView.status()));
+        .status(AccountStatusDto.valueOf(accountBalanceView.status()))
+        .version(accountBalanceView.version());
   }
 }
@@ -0,0 +1,48 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import java.util.List;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchRequestDto;
+import org.girardsimon.wealthpay.account.application.CommandBatchMode;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
+import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
+import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.command.ReserveFunds;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.springframework.stereotype.Component;
+
+/** Translates a batch request into its commands, in request order, and its mode. */
+@Component
+public class AccountCommandBatchDtoToDomainMapper {
+
+  private final MoneyDtoToDomainMapper moneyDtoToDomainMapper;
+
+  public AccountCommandBatchDtoToDomainMapper(MoneyDtoToDomainMapper moneyDtoToDomainMapper) {
+    this.moneyDtoToDomainMapper = moneyDtoToDomainMapper;
+  }
+
+  public List<AccountTransaction> apply(
+      UUID accountId, AccountCommandBatchRequestDto accountCommandBatchRequestDto) {
+    AccountId domainAccountId = AccountId.of(accountId);
+    return accountCommandBatchRequestDto.getItems().stream()
+        .map(item -> toCommand(domainAccountId, item))
+        .toList();
+  }
+
+  public CommandBatchMode mode(AccountCommandBatchRequestDto accountCommandBatchRequestDto) {
+    return CommandBatchMode.valueOf(accountCommandBatchRequestDto.getMode().name());
+  }
+
+  private AccountTransaction toCommand(AccountId accountId, AccountCommandBatchItemDto item) {
+    TransactionId transactionId = TransactionId.of(item.getTransactionId());
+    Money money = moneyDtoToDomainMapper.apply(item.getAmount(), item.getCurrency());
+    return switch (item.getType()) {
+      case CREDIT -> new CreditAccount(transactionId, accountId, money);
+      case DEBIT -> new DebitAccount(transactionId, accountId, money);
+      case RESERVE -> new ReserveFunds(transactionId, accountId, money);
+    };
+  }
+}
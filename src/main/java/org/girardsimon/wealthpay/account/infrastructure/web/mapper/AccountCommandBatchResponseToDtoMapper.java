@@ -0,0 +1,107 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemResultDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemStatusDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchResponseDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandErrorDto;
+import org.girardsimon.wealthpay.account.application.CommandBatchRejectedException;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
+import org.girardsimon.wealthpay.account.application.response.ReservationResult;
+import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
+import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
+import org.girardsimon.wealthpay.account.domain.exception.AccountCurrencyMismatchException;
+import org.girardsimon.wealthpay.account.domain.exception.AccountInactiveException;
+import org.girardsimon.wealthpay.account.domain.exception.AmountMustBePositiveException;
+import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
+import org.girardsimon.wealthpay.account.domain.exception.TransactionIdConflictException;
+import org.girardsimon.wealthpay.account.domain.exception.UnsupportedCurrencyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports a batch item by item, in request order. A rejected item carries the status its own
+ * endpoint would have answered with, as {@code AccountExceptionHandler} maps it.
+ */
+@Component
+public class AccountCommandBatchResponseToDtoMapper {
+
+  public AccountCommandBatchResponseDto committed(
+      List<? extends AccountTransaction> commands, List<CommandOutcome> outcomes) {
+    List<AccountCommandBatchItemResultDto> items = new ArrayList<>(commands.size());
+    for (int index = 0; index < commands.size(); index++) {
+      items.add(toItemDto(commands.get(index), outcomes.get(index)));
+    }
+    return new AccountCommandBatchResponseDto().committed(true).items(items);
+  }
+
+  public AccountCommandBatchResponseDto rolledBack(
+      List<? extends AccountTransaction> commands, CommandBatchRejectedException rejected) {
+    List<AccountCommandBatchItemResultDto> items = new ArrayList<>(commands.size());
+    for (int index = 0; index < commands.size(); index++) {
+      AccountTransaction command = commands.get(index);
+      items.add(
+          index == rejected.getIndex()
+              ? toRejectedDto(command, rejected.getRejection())
+              : new AccountCommandBatchItemResultDto()
+                  .transactionId(command.transactionId().id())
+                  .status(AccountCommandBatchItemStatusDto.ROLLED_BACK));
+    }
+    return new AccountCommandBatchResponseDto().committed(false).items(items);
+  }
+
+  private static AccountCommandBatchItemResultDto toItemDto(
+      AccountTransaction command, CommandOutcome outcome) {
+    if (outcome.isFailure()) {
+      return toRejectedDto(command, outcome.failure());
+    }
+    AccountCommandBatchItemResultDto itemDto =
+        new AccountCommandBatchItemResultDto().transactionId(command.transactionId().id());
+    OptionalLong version;
+    if (outcome.response() instanceof ReserveFundsResponse reserveFundsResponse) {
+      itemDto
+          .reservationId(reserveFundsResponse.reservationId().id())
+          .status(
+              reserveFundsResponse.reservationResult() == ReservationResult.NO_EFFECT
+                  ? AccountCommandBatchItemStatusDto.NO_EFFECT
+                  : AccountCommandBatchItemStatusDto.COMMITTED);
+      version = reserveFundsResponse.version();
+    } else {
+      TransactionResult transactionResult = (TransactionResult) outcome.response();
+      itemDto.status(
+          transactionResult.status() == TransactionStatus.NO_EFFECT
+              ? AccountCommandBatchItemStatusDto.NO_EFFECT
+              : AccountCommandBatchItemStatusDto.COMMITTED);
+      version = transactionResult.version();
+    }
+    version.ifPresent(itemDto::version);
+    return itemDto;
+  }
+
+  private static AccountCommandBatchItemResultDto toRejectedDto(
+      AccountTransaction command, RuntimeException rejection) {
+    return new AccountCommandBatchItemResultDto()
+        .transactionId(command.transactionId().id())
+        .status(AccountCommandBatchItemStatusDto.REJECTED)
+        .error(
+            new AccountCommandErrorDto()
+                .status(errorStatus(rejection).value())
+                .message(rejection.getMessage()));
+  }
+
+  private static HttpStatus errorStatus(RuntimeException rejection) {
+    return switch (rejection) {
+      case AccountInactiveException _, TransactionIdConflictException _ -> HttpStatus.CONFLICT;
+      case AccountCurrencyMismatchException _,
+          AmountMustBePositiveException _,
+          InsufficientFundsException _,
+          UnsupportedCurrencyException _ ->
+          HttpStatus.UNPROCESSABLE_CONTENT;
+      default -> HttpStatus.INTERNAL_SERVER_ERROR;
+    };
+  }
+}
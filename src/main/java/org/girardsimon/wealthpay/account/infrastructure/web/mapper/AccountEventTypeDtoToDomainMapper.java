@@ -0,0 +1,31 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import java.util.function.Function;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountEventTypeDto;
+import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
+import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCanceled;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountEventTypeDtoToDomainMapper
+    implements Function<AccountEventTypeDto, Class<? extends AccountEvent>> {
+
+  @Override
+  public Class<? extends AccountEvent> apply(AccountEventTypeDto accountEventTypeDto) {
+    return switch (accountEventTypeDto) {
+      case ACCOUNT_OPENED -> AccountOpened.class;
+      case FUNDS_CREDITED -> FundsCredited.class;
+      case FUNDS_DEBITED -> FundsDebited.class;
+      case FUNDS_RESERVED -> FundsReserved.class;
+      case RESERVATION_CANCELED -> ReservationCanceled.class;
+      case RESERVATION_CAPTURED -> ReservationCaptured.class;
+      case ACCOUNT_CLOSED -> AccountClosed.class;
+    };
+  }
+}
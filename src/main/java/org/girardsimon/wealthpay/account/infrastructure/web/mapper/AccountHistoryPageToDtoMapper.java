@@ -0,0 +1,95 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Function;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountEventTypeDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountHistoryEntryDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountHistoryPageDto;
+import org.girardsimon.wealthpay.account.api.generated.model.SupportedCurrencyDto;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryEntry;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
+import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCanceled;
+import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountHistoryPageToDtoMapper
+    implements Function<AccountHistoryPage, AccountHistoryPageDto> {
+
+  private static OffsetDateTime utc(Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+
+  private static AccountHistoryEntryDto withMoney(AccountHistoryEntryDto entryDto, Money money) {
+    return entryDto
+        .amount(money.amount())
+        .currency(SupportedCurrencyDto.valueOf(money.currency().name()));
+  }
+
+  private static AccountHistoryEntryDto toDto(AccountHistoryEntry entry) {
+    AccountEvent event = entry.event();
+    AccountHistoryEntryDto entryDto =
+        new AccountHistoryEntryDto()
+            .eventId(event.eventId().id())
+            .version(event.version())
+            .occurredAt(utc(event.occurredAt()))
+            .recordedAt(utc(entry.recordedAt()));
+    return switch (event) {
+      case AccountOpened opened ->
+          withMoney(entryDto.type(AccountEventTypeDto.ACCOUNT_OPENED), opened.initialBalance());
+      case FundsCredited credited ->
+          withMoney(
+              entryDto
+                  .type(AccountEventTypeDto.FUNDS_CREDITED)
+                  .transactionId(credited.transactionId().id()),
+              credited.money());
+      case FundsDebited debited ->
+          withMoney(
+              entryDto
+                  .type(AccountEventTypeDto.FUNDS_DEBITED)
+                  .transactionId(debited.transactionId().id()),
+              debited.money());
+      case FundsReserved reserved ->
+          withMoney(
+              entryDto
+                  .type(AccountEventTypeDto.FUNDS_RESERVED)
+                  .transactionId(reserved.transactionId().id())
+                  .reservationId(reserved.reservationId().id()),
+              reserved.money());
+      case ReservationCanceled canceled ->
+          withMoney(
+              entryDto
+                  .type(AccountEventTypeDto.RESERVATION_CANCELED)
+                  .reservationId(canceled.reservationId().id()),
+              canceled.money());
+      case ReservationCaptured captured ->
+          withMoney(
+              entryDto
+                  .type(AccountEventTypeDto.RESERVATION_CAPTURED)
+                  .reservationId(captured.reservationId().id()),
+              captured.money());
+      case AccountClosed _ -> entryDto.type(AccountEventTypeDto.ACCOUNT_CLOSED);
+    };
+  }
+
+  @Override
+  public AccountHistoryPageDto apply(AccountHistoryPage accountHistoryPage) {
+    AccountHistoryPageDto pageDto =
+        new AccountHistoryPageDto()
+            .entries(
+                accountHistoryPage.entries().stream()
+                    .map(AccountHistoryPageToDtoMapper::toDto)
+                    .toList());
+    accountHistoryPage.nextAfterVersion().ifPresent(pageDto::nextAfterVersion);
+    return pageDto;
+  }
+}
@@ -17,7 +17,8 @@ public class ReservationResponseToDtoMapper
         new ReservationResponseDto()
             .accountId(reservationResponse.accountId().id())
             .reservationId(reservationResponse.reservationId().id())
-            .status(ReservationResultDto.valueOf(reservationResponse.reservationResult().name()));
+            .status(ReservationResultDto.valueOf(reservationResponse.reservationResult().name()))
+            .version(reservationResponse.version());
 
     reservationResponse
         .money()
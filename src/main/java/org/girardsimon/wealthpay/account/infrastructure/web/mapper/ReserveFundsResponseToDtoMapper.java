@@ -12,8 +12,11 @@ public class ReserveFundsResponseToDtoMapper
 
   @Override
   public ReserveFundsResponseDto apply(ReserveFundsResponse reserveFundsResponse) {
-    return new ReserveFundsResponseDto()
-        .reservationId(reserveFundsResponse.reservationId().id())
-        .status(ReservationResultDto.valueOf(reserveFundsResponse.reservationResult().name()));
+    ReserveFundsResponseDto responseDto =
+        new ReserveFundsResponseDto()
+            .reservationId(reserveFundsResponse.reservationId().id())
+            .status(ReservationResultDto.valueOf(reserveFundsResponse.reservationResult().name()));
+    reserveFundsResponse.version().ifPresent(responseDto::version);
+    return responseDto;
   }
 }
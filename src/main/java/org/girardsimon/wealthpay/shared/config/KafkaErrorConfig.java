@@ -1,11 +1,13 @@
 package org.girardsimon.wealthpay.shared.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.RetryListener;
 import org.springframework.util.backoff.ExponentialBackOff;
 
 @Configuration
@@ -18,12 +20,15 @@ public class KafkaErrorConfig {
   private double multiplier;
 
   @Bean
-  public DefaultErrorHandler errorHandler(KafkaTemplate<String, Object> kafkaTemplate) {
+  public DefaultErrorHandler errorHandler(
+      KafkaTemplate<String, Object> kafkaTemplate, ObjectProvider<RetryListener> retryListeners) {
     var recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate);
     var backOff = new ExponentialBackOff(initialIntervalMs, multiplier);
     DefaultErrorHandler defaultErrorHandler = new DefaultErrorHandler(recoverer, backOff);
     defaultErrorHandler.addNotRetryableExceptions(
         IllegalStateException.class, IllegalArgumentException.class);
+    defaultErrorHandler.setRetryListeners(
+        retryListeners.orderedStream().toArray(RetryListener[]::new));
     return defaultErrorHandler;
   }
 }
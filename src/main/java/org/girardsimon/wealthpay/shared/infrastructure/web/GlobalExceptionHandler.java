@@ -1,5 +1,6 @@
 package org.girardsimon.wealthpay.shared.infrastructure.web;
 
+import jakarta.validation.ConstraintViolationException;
 import java.util.List;
 import java.util.Optional;
 import org.girardsimon.wealthpay.shared.api.generated.model.ApiErrorDto;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
@@ -26,7 +28,9 @@ public class GlobalExceptionHandler {
     IllegalArgumentException.class,
     HttpMessageNotReadableException.class,
     MissingRequestHeaderException.class,
-    MethodArgumentTypeMismatchException.class
+    MethodArgumentTypeMismatchException.class,
+    HandlerMethodValidationException.class,
+    ConstraintViolationException.class
   })
   public ResponseEntity<ApiErrorDto> handleBadRequestException(Exception e) {
     log.warn("Bad Request exception: ", e);
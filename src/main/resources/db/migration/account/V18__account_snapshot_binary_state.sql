@@ -0,0 +1,16 @@
+-- V18: Binary snapshot encoding.
+--
+-- schema_version selects the codec: 1 = JSONB tree in state, 2 = compact
+-- binary encoding in binary_state (UUIDs as 16 bytes, amounts as unscaled
+-- long + scale). Existing rows stay at version 1 and remain readable; they
+-- are rewritten in the new format the next time the snapshot is refreshed.
+ALTER TABLE account.account_snapshot
+    ADD COLUMN binary_state BYTEA;
+
+ALTER TABLE account.account_snapshot
+    ALTER COLUMN state DROP NOT NULL;
+
+-- Exactly one encoding per row.
+ALTER TABLE account.account_snapshot
+    ADD CONSTRAINT account_snapshot_state_check
+        CHECK ((state IS NULL) <> (binary_state IS NULL));
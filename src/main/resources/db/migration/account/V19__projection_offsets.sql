@@ -0,0 +1,14 @@
+-- V19: Consumer positions of the balance projection.
+--
+-- With account.projection.database-offsets.enabled, the outbox consumer
+-- stores the next offset to read per topic-partition here, in the same
+-- transaction as the account_balance_view upsert, and seeks to it when the
+-- partition is assigned. Kafka consumer group offsets are then not committed.
+CREATE TABLE IF NOT EXISTS account.projection_offsets
+(
+    topic       TEXT        NOT NULL,
+    partition   INTEGER     NOT NULL,
+    next_offset BIGINT      NOT NULL,
+    updated_at  TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (topic, partition)
+);
@@ -0,0 +1,19 @@
+-- V20: Covering index for keyset pages of an account's history.
+--
+-- GET /accounts/{id}/history seeks on (account_id, version) past the cursor
+-- and filters on event_type and created_at. With both in INCLUDE, skipping
+-- filtered-out events is an index-only scan (event_store is append-only, so
+-- its pages stay all-visible once vacuumed); the heap is visited only for the
+-- payloads of the rows a page returns.
+--
+-- It replaces idx_event_store_account_id_version from V1, which duplicated the
+-- uq_event_store_account_version constraint index.
+--
+-- CREATE INDEX blocks appends while it builds. On a large event store, build
+-- the index beforehand outside Flyway, with the same statement plus
+-- CONCURRENTLY; IF NOT EXISTS then makes this step a no-op. (CONCURRENTLY is
+-- not used here: it waits on Flyway's own transactional advisory lock.)
+CREATE INDEX IF NOT EXISTS idx_event_store_account_history
+    ON account.event_store (account_id, version) INCLUDE (event_type, created_at);
+
+DROP INDEX IF EXISTS account.idx_event_store_account_id_version;
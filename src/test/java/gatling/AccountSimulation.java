@@ -3,21 +3,18 @@ package gatling;
 import static io.gatling.javaapi.core.CoreDsl.StringBody;
 import static io.gatling.javaapi.core.CoreDsl.atOnceUsers;
 import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
-import static io.gatling.javaapi.core.CoreDsl.doIf;
 import static io.gatling.javaapi.core.CoreDsl.exec;
 import static io.gatling.javaapi.core.CoreDsl.global;
 import static io.gatling.javaapi.core.CoreDsl.jsonPath;
-import static io.gatling.javaapi.core.CoreDsl.pause;
 import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
-import static io.gatling.javaapi.core.CoreDsl.repeat;
 import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.header;
 import static io.gatling.javaapi.http.HttpDsl.http;
 import static io.gatling.javaapi.http.HttpDsl.status;
 
 import io.gatling.javaapi.core.ScenarioBuilder;
 import io.gatling.javaapi.core.Simulation;
 import io.gatling.javaapi.http.HttpProtocolBuilder;
-import java.time.Duration;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -25,8 +22,13 @@ public class AccountSimulation extends Simulation {
 
   private static final AtomicReference<String> heavyAccountId = new AtomicReference<>();
   private final String baseUrl = System.getProperty("baseUrl", "http://localhost:8080");
+  // Gatling's HTTP cache would turn repeated GETs into conditional ones on its own: Balance Polling
+  // sends If-None-Match explicitly so that both kinds of poll are measured.
   private final HttpProtocolBuilder httpProtocol =
-      http.baseUrl(baseUrl).acceptHeader("application/json").contentTypeHeader("application/json");
+      http.baseUrl(baseUrl)
+          .acceptHeader("application/json")
+          .contentTypeHeader("application/json")
+          .disableCaching();
   // Scenario 1: Full account lifecycle (open → deposit → read → withdraw)
   private final ScenarioBuilder accountLifecycle =
       scenario("Account Lifecycle")
@@ -44,42 +46,14 @@ public class AccountSimulation extends Simulation {
                   .post("/accounts/#{accountId}/deposits")
                   .header("Transaction-Id", _ -> UUID.randomUUID().toString())
                   .body(StringBody("{\"currency\":\"EUR\",\"amount\":500}"))
-                  .check(status().is(200)))
+                  .check(status().is(200))
+                  .check(jsonPath("$.version").saveAs("depositVersion")))
           .exitHereIfFailed()
-          .exec(session -> session.set("depositVisible", false))
-          .exec(
-              repeat(19, "projectionRetryAttempt")
-                  .on(
-                      doIf(session -> !session.getBoolean("depositVisible"))
-                          .then(
-                              pause(Duration.ofMillis(500))
-                                  .exec(
-                                      http("Get Account Retry")
-                                          .get("/accounts/#{accountId}")
-                                          .silent()
-                                          .check(status().saveAs("getAccountStatus"))
-                                          .check(
-                                              jsonPath("$.balanceAmount")
-                                                  .ofDouble()
-                                                  .optional()
-                                                  .saveAs("balanceAmount")))
-                                  .exec(
-                                      session -> {
-                                        boolean projectionCaughtUp =
-                                            session.getInt("getAccountStatus") == 200
-                                                && session.contains("balanceAmount")
-                                                && session.getDouble("balanceAmount") == 1500.0;
-                                        return session.set("depositVisible", projectionCaughtUp);
-                                      }))))
           .exec(
-              doIf(session -> !session.getBoolean("depositVisible"))
-                  .then(
-                      pause(Duration.ofMillis(500))
-                          .exec(
-                              http("Get Account")
-                                  .get("/accounts/#{accountId}")
-                                  .check(status().is(200))
-                                  .check(jsonPath("$.balanceAmount").ofDouble().is(1500.0)))))
+              http("Get Account")
+                  .get("/accounts/#{accountId}?minVersion=#{depositVersion}")
+                  .check(status().is(200))
+                  .check(jsonPath("$.balanceAmount").ofDouble().is(1500.0)))
           .exitHereIfFailed()
           .exec(
               http("Withdraw")
@@ -150,6 +124,35 @@ public class AccountSimulation extends Simulation {
                       .body(StringBody("{\"currency\":\"EUR\",\"amount\":1}"))
                       .check(status().is(200))));
 
+  // Scenario 4: Dashboard polling of an account that does not change. Compare "Poll Account" with
+  // "Poll Account If-None-Match" (304 from a version-only lookup, no body) in the report.
+  private final ScenarioBuilder balancePolling =
+      scenario("Balance Polling")
+          .exec(
+              http("Open Account for Polling")
+                  .post("/accounts")
+                  .body(
+                      StringBody(
+                          "{\"accountCurrency\":\"EUR\",\"initialAmount\":100,\"initialAmountCurrency\":\"EUR\"}"))
+                  .check(status().is(201))
+                  .check(jsonPath("$.accountId").saveAs("accountId")))
+          .exitHereIfFailed()
+          .exec(
+              http("Await Projection")
+                  .get("/accounts/#{accountId}?minVersion=1")
+                  .check(status().is(200))
+                  .check(header("ETag").saveAs("etag")))
+          .exitHereIfFailed()
+          .repeat(20)
+          .on(exec(http("Poll Account").get("/accounts/#{accountId}").check(status().is(200))))
+          .repeat(20)
+          .on(
+              exec(
+                  http("Poll Account If-None-Match")
+                      .get("/accounts/#{accountId}")
+                      .header("If-None-Match", "#{etag}")
+                      .check(status().is(304))));
+
   // Load profile
   {
     setUp(
@@ -161,6 +164,10 @@ public class AccountSimulation extends Simulation {
                 rampUsersPerSec(1).to(50).during(30),
                 constantUsersPerSec(50).during(60),
                 rampUsersPerSec(50).to(1).during(30)),
+            balancePolling.injectOpen(
+                rampUsersPerSec(1).to(10).during(30),
+                constantUsersPerSec(10).during(60),
+                rampUsersPerSec(10).to(1).during(30)),
             heavyAccountSetup
                 .injectOpen(atOnceUsers(1))
                 .andThen(heavyAccountLoad.injectOpen(atOnceUsers(1))))
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -18,12 +19,17 @@ import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import org.girardsimon.wealthpay.account.application.metric.SnapshotPolicyMetrics;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
 import org.girardsimon.wealthpay.account.application.response.ReservationResponse;
 import org.girardsimon.wealthpay.account.application.response.ReservationResult;
 import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
 import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
 import org.girardsimon.wealthpay.account.domain.command.CancelReservation;
 import org.girardsimon.wealthpay.account.domain.command.CaptureReservation;
 import org.girardsimon.wealthpay.account.domain.command.CloseAccount;
@@ -40,10 +46,12 @@ import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
 import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
 import org.girardsimon.wealthpay.account.domain.event.ReservationCanceled;
 import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
+import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
 import org.girardsimon.wealthpay.account.domain.exception.ReservationAlreadyCanceledException;
 import org.girardsimon.wealthpay.account.domain.exception.ReservationAlreadyCapturedException;
 import org.girardsimon.wealthpay.account.domain.exception.ReservationNotFoundException;
 import org.girardsimon.wealthpay.account.domain.exception.ReservationStoreInconsistencyException;
+import org.girardsimon.wealthpay.account.domain.exception.TransactionIdConflictException;
 import org.girardsimon.wealthpay.account.domain.model.Account;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
@@ -71,11 +79,11 @@ class AccountApplicationServiceTest {
   public static final Instant INSTANT_FOR_TESTS = Instant.parse("2025-11-16T15:00:00Z");
   public static final int SNAPSHOT_THRESHOLD = 100;
   AccountEventStore accountEventStore = mock(AccountEventStore.class);
-  AccountEventPublisher accountEventPublisher = mock(AccountEventPublisher.class);
   ProcessedTransactionStore processedTransactionStore = mock(ProcessedTransactionStore.class);
   ProcessedReservationStore processedReservationStore = mock(ProcessedReservationStore.class);
-  AccountSnapshotStore accountSnapshotStore = mock(AccountSnapshotStore.class);
+  AccountSnapshotWriter accountSnapshotWriter = mock(AccountSnapshotWriter.class);
   AccountLoader accountLoader = mock(AccountLoader.class);
+  SnapshotPolicyMetrics snapshotPolicyMetrics = mock(SnapshotPolicyMetrics.class);
 
   Clock clock = Clock.fixed(INSTANT_FOR_TESTS, ZoneOffset.UTC);
 
@@ -99,38 +107,17 @@ class AccountApplicationServiceTest {
   AccountApplicationService accountApplicationService =
       new AccountApplicationService(
           accountEventStore,
-          accountEventPublisher,
           processedTransactionStore,
           processedReservationStore,
-          accountSnapshotStore,
+          accountSnapshotWriter,
           clock,
           accountIdGenerator,
           eventIdGenerator,
           reservationIdGenerator,
-          SNAPSHOT_THRESHOLD,
+          new ThresholdSnapshotPolicy(SNAPSHOT_THRESHOLD),
+          snapshotPolicyMetrics,
           accountLoader);
 
-  @Test
-  void constructor_should_throw_when_snapshot_threshold_is_not_positive() {
-    assertThatExceptionOfType(IllegalArgumentException.class)
-        .isThrownBy(
-            () ->
-                new AccountApplicationService(
-                    accountEventStore,
-                    accountEventPublisher,
-                    processedTransactionStore,
-                    processedReservationStore,
-                    accountSnapshotStore,
-                    clock,
-                    accountIdGenerator,
-                    eventIdGenerator,
-                    reservationIdGenerator,
-                    0,
-                    accountLoader))
-        .withMessageContaining("account-event.snapshot.threshold")
-        .withMessageContaining("> 0");
-  }
-
   @Test
   void openAccount_saves_event_AccountOpened_when_account_does_not_exist() {
     // Arrange
@@ -145,10 +132,9 @@ class AccountApplicationServiceTest {
     AccountEventMeta accountEventMeta =
         AccountEventMeta.of(eventId, accountId, Instant.parse("2025-11-16T15:00:00Z"), 1L);
     AccountOpened accountOpened = new AccountOpened(accountEventMeta, currency, initialBalance);
-    InOrder inOrder = inOrder(accountEventStore, accountEventPublisher);
+    InOrder inOrder = inOrder(accountEventStore);
     inOrder.verify(accountEventStore).appendEvents(accountId, 0L, List.of(accountOpened));
-    inOrder.verify(accountEventPublisher).publish(List.of(accountOpened));
-    verify(accountSnapshotStore, never()).saveSnapshot(any());
+    verify(accountSnapshotWriter, never()).saveOnCommit(any());
   }
 
   @Test
@@ -178,9 +164,8 @@ class AccountApplicationServiceTest {
         AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 3L);
     ReservationCaptured reservationCaptured =
         new ReservationCaptured(accountEventMeta, reservationId, reservedAmount);
-    InOrder inOrder = inOrder(accountEventStore, accountEventPublisher, processedReservationStore);
+    InOrder inOrder = inOrder(accountEventStore, processedReservationStore);
     inOrder.verify(accountEventStore).appendEvents(accountId, 2L, List.of(reservationCaptured));
-    inOrder.verify(accountEventPublisher).publish(List.of(reservationCaptured));
     inOrder
         .verify(processedReservationStore)
         .updatePhase(accountId, reservationId, ReservationPhase.CAPTURED, INSTANT_FOR_TESTS);
@@ -190,7 +175,8 @@ class AccountApplicationServiceTest {
         () ->
             assertThat(captureReservationResponse.reservationResult())
                 .isEqualTo(ReservationResult.CAPTURED),
-        () -> assertThat(captureReservationResponse.money()).contains(reservedAmount));
+        () -> assertThat(captureReservationResponse.money()).contains(reservedAmount),
+        () -> assertThat(captureReservationResponse.version()).isEqualTo(3L));
   }
 
   @Test
@@ -220,14 +206,14 @@ class AccountApplicationServiceTest {
 
     // Assert
     verify(accountEventStore, never()).appendEvents(any(), anyLong(), any());
-    verify(accountEventPublisher, never()).publish(any());
     assertAll(
         () -> assertThat(captureReservationResponse.accountId()).isEqualTo(accountId),
         () -> assertThat(captureReservationResponse.reservationId()).isEqualTo(otherReservationId),
         () ->
             assertThat(captureReservationResponse.reservationResult())
                 .isEqualTo(ReservationResult.NO_EFFECT),
-        () -> assertThat(captureReservationResponse.money()).isEmpty());
+        () -> assertThat(captureReservationResponse.money()).isEmpty(),
+        () -> assertThat(captureReservationResponse.version()).isEqualTo(2L));
   }
 
   @Test
@@ -310,9 +296,8 @@ class AccountApplicationServiceTest {
         AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 3L);
     ReservationCanceled reservationCanceled =
         new ReservationCanceled(accountEventMeta, reservationId, reservedAmount);
-    InOrder inOrder = inOrder(accountEventStore, accountEventPublisher, processedReservationStore);
+    InOrder inOrder = inOrder(accountEventStore, processedReservationStore);
     inOrder.verify(accountEventStore).appendEvents(accountId, 2L, List.of(reservationCanceled));
-    inOrder.verify(accountEventPublisher).publish(List.of(reservationCanceled));
     inOrder
         .verify(processedReservationStore)
         .updatePhase(accountId, reservationId, ReservationPhase.CANCELED, INSTANT_FOR_TESTS);
@@ -352,7 +337,6 @@ class AccountApplicationServiceTest {
 
     // Assert
     verify(accountEventStore, never()).appendEvents(any(), anyLong(), any());
-    verify(accountEventPublisher, never()).publish(any());
     verify(processedReservationStore, never()).updatePhase(any(), any(), any(), any());
     assertAll(
         () -> assertThat(reservationResponse.accountId()).isEqualTo(accountId),
@@ -472,12 +456,11 @@ class AccountApplicationServiceTest {
         .thenReturn(TransactionStatus.NO_EFFECT);
 
     // Act
-    TransactionStatus transactionStatus = accountApplicationService.creditAccount(creditAccount);
+    TransactionResult transactionResult = accountApplicationService.creditAccount(creditAccount);
 
     // Assert
-    assertThat(transactionStatus).isEqualTo(TransactionStatus.NO_EFFECT);
+    assertThat(transactionResult).isEqualTo(TransactionResult.replayed());
     verifyNoInteractions(accountEventStore);
-    verifyNoInteractions(accountEventPublisher);
   }
 
   @Test
@@ -498,16 +481,15 @@ class AccountApplicationServiceTest {
         .thenReturn(TransactionStatus.COMMITTED);
 
     // Act
-    TransactionStatus transactionStatus = accountApplicationService.creditAccount(creditAccount);
+    TransactionResult transactionResult = accountApplicationService.creditAccount(creditAccount);
 
     // Assert
     AccountEventMeta accountEventMeta =
         AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 2L);
     FundsCredited fundsCredited = new FundsCredited(accountEventMeta, transactionId, money);
-    InOrder inOrder = inOrder(accountEventStore, accountEventPublisher);
+    InOrder inOrder = inOrder(accountEventStore);
     inOrder.verify(accountEventStore).appendEvents(accountId, 1L, List.of(fundsCredited));
-    inOrder.verify(accountEventPublisher).publish(List.of(fundsCredited));
-    assertThat(transactionStatus).isEqualTo(TransactionStatus.COMMITTED);
+    assertThat(transactionResult).isEqualTo(TransactionResult.committed(2L));
   }
 
   @Test
@@ -525,25 +507,24 @@ class AccountApplicationServiceTest {
         .thenReturn(TransactionStatus.COMMITTED);
 
     // Act
-    TransactionStatus transactionStatus = accountApplicationService.creditAccount(creditAccount);
+    TransactionResult transactionResult = accountApplicationService.creditAccount(creditAccount);
 
     // Assert
     AccountEventMeta accountEventMeta =
         AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 100L);
     FundsCredited fundsCredited = new FundsCredited(accountEventMeta, transactionId, money);
     ArgumentCaptor<AccountSnapshot> accountCaptor = ArgumentCaptor.forClass(AccountSnapshot.class);
-    InOrder inOrder =
-        inOrder(accountLoader, accountEventStore, accountEventPublisher, accountSnapshotStore);
+    InOrder inOrder = inOrder(accountLoader, accountEventStore, accountSnapshotWriter);
     inOrder.verify(accountLoader).loadAccount(accountId);
     inOrder.verify(accountEventStore).appendEvents(accountId, 99L, List.of(fundsCredited));
-    inOrder.verify(accountEventPublisher).publish(List.of(fundsCredited));
-    inOrder.verify(accountSnapshotStore).saveSnapshot(accountCaptor.capture());
+    inOrder.verify(accountSnapshotWriter).saveOnCommit(accountCaptor.capture());
     assertAll(
-        () -> assertThat(transactionStatus).isEqualTo(TransactionStatus.COMMITTED),
+        () -> assertThat(transactionResult).isEqualTo(TransactionResult.committed(100L)),
         () -> assertThat(accountCaptor.getValue().version()).isEqualTo(100L),
         () ->
             assertThat(accountCaptor.getValue().balance())
                 .isEqualTo(Money.of(new BigDecimal("113.00"), usd)));
+    verify(snapshotPolicyMetrics).recordDecision(true);
     verify(accountEventStore, never()).loadEventsAfterVersion(any(), anyLong());
   }
 
@@ -558,12 +539,11 @@ class AccountApplicationServiceTest {
         .thenReturn(TransactionStatus.NO_EFFECT);
 
     // Act
-    TransactionStatus transactionStatus = accountApplicationService.debitAccount(debitAccount);
+    TransactionResult transactionResult = accountApplicationService.debitAccount(debitAccount);
 
     // Assert
-    assertThat(transactionStatus).isEqualTo(TransactionStatus.NO_EFFECT);
+    assertThat(transactionResult).isEqualTo(TransactionResult.replayed());
     verifyNoInteractions(accountEventStore);
-    verifyNoInteractions(accountEventPublisher);
   }
 
   @Test
@@ -584,16 +564,15 @@ class AccountApplicationServiceTest {
         .thenReturn(TransactionStatus.COMMITTED);
 
     // Act
-    TransactionStatus transactionStatus = accountApplicationService.debitAccount(debitAccount);
+    TransactionResult transactionResult = accountApplicationService.debitAccount(debitAccount);
 
     // Assert
     AccountEventMeta accountEventMeta =
         AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 2L);
     FundsDebited fundsDebited = new FundsDebited(accountEventMeta, transactionId, money);
-    InOrder inOrder = inOrder(accountEventStore, accountEventPublisher);
+    InOrder inOrder = inOrder(accountEventStore);
     inOrder.verify(accountEventStore).appendEvents(accountId, 1L, List.of(fundsDebited));
-    inOrder.verify(accountEventPublisher).publish(List.of(fundsDebited));
-    assertThat(transactionStatus).isEqualTo(TransactionStatus.COMMITTED);
+    assertThat(transactionResult).isEqualTo(TransactionResult.committed(2L));
   }
 
   @Test
@@ -614,13 +593,13 @@ class AccountApplicationServiceTest {
 
     // Assert
     verifyNoInteractions(accountEventStore);
-    verifyNoInteractions(accountEventPublisher);
     verify(processedReservationStore, never()).register(any(), any(), any(), any(), any());
     assertAll(
         () -> assertThat(reserveFundsResponse.reservationId()).isEqualTo(reservationId),
         () ->
             assertThat(reserveFundsResponse.reservationResult())
-                .isEqualTo(ReservationResult.NO_EFFECT));
+                .isEqualTo(ReservationResult.NO_EFFECT),
+        () -> assertThat(reserveFundsResponse.version()).isEmpty());
   }
 
   @Test
@@ -649,9 +628,8 @@ class AccountApplicationServiceTest {
         AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 2L);
     FundsReserved fundsReserved =
         new FundsReserved(accountEventMeta, transactionId, reservationId, money);
-    InOrder inOrder = inOrder(accountEventStore, accountEventPublisher, processedReservationStore);
+    InOrder inOrder = inOrder(accountEventStore, processedReservationStore);
     inOrder.verify(accountEventStore).appendEvents(accountId, 1L, List.of(fundsReserved));
-    inOrder.verify(accountEventPublisher).publish(List.of(fundsReserved));
     inOrder
         .verify(processedReservationStore)
         .register(
@@ -660,7 +638,8 @@ class AccountApplicationServiceTest {
         () -> assertThat(reserveFundsResponse.reservationId()).isEqualTo(reservationId),
         () ->
             assertThat(reserveFundsResponse.reservationResult())
-                .isEqualTo(ReservationResult.RESERVED));
+                .isEqualTo(ReservationResult.RESERVED),
+        () -> assertThat(reserveFundsResponse.version()).hasValue(2L));
   }
 
   @Test
@@ -679,12 +658,11 @@ class AccountApplicationServiceTest {
     CloseAccount closeAccount = new CloseAccount(accountId);
 
     // Act
-    TransactionStatus transactionStatus = accountApplicationService.closeAccount(closeAccount);
+    TransactionResult transactionResult = accountApplicationService.closeAccount(closeAccount);
 
     // Assert
     verifyNoInteractions(accountEventStore);
-    verifyNoInteractions(accountEventPublisher);
-    assertThat(transactionStatus).isEqualTo(TransactionStatus.NO_EFFECT);
+    assertThat(transactionResult).isEqualTo(TransactionResult.noEffect(2L));
   }
 
   @Test
@@ -700,16 +678,266 @@ class AccountApplicationServiceTest {
     CloseAccount closeAccount = new CloseAccount(accountId);
 
     // Act
-    TransactionStatus transactionStatus = accountApplicationService.closeAccount(closeAccount);
+    TransactionResult transactionResult = accountApplicationService.closeAccount(closeAccount);
 
     // Assert
     AccountEventMeta accountEventMetaCloseAccount =
         AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 2L);
     AccountClosed accountClosed = new AccountClosed(accountEventMetaCloseAccount);
-    InOrder inOrder = inOrder(accountEventStore, accountEventPublisher);
+    InOrder inOrder = inOrder(accountEventStore);
     inOrder.verify(accountEventStore).appendEvents(accountId, 1L, List.of(accountClosed));
-    inOrder.verify(accountEventPublisher).publish(List.of(accountClosed));
-    assertThat(transactionStatus).isEqualTo(TransactionStatus.COMMITTED);
+    assertThat(transactionResult).isEqualTo(TransactionResult.committed(2L));
+  }
+
+  @Test
+  void processBatch_should_append_events_of_all_commands_in_one_call() {
+    // Arrange
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountEventMeta accountOpenedMeta =
+        AccountEventMeta.of(fixtureEventIdGenerator.newId(), accountId, Instant.now(), 1L);
+    AccountOpened accountOpened =
+        new AccountOpened(accountOpenedMeta, usd, Money.of(new BigDecimal("10.00"), usd));
+    when(accountLoader.loadAccount(accountId))
+        .thenReturn(Account.rehydrate(List.of(accountOpened)));
+    Money creditAmount = Money.of(new BigDecimal("50.00"), usd);
+    Money debitAmount = Money.of(new BigDecimal("20.00"), usd);
+    CreditAccount creditAccount =
+        new CreditAccount(TransactionId.of(UUID.randomUUID()), accountId, creditAmount);
+    DebitAccount debitAccount =
+        new DebitAccount(TransactionId.of(UUID.randomUUID()), accountId, debitAmount);
+    when(processedTransactionStore.registerAll(
+            accountId, List.of(creditAccount, debitAccount), INSTANT_FOR_TESTS))
+        .thenReturn(
+            Map.of(
+                creditAccount.transactionId(), TransactionStatus.COMMITTED,
+                debitAccount.transactionId(), TransactionStatus.COMMITTED));
+
+    // Act
+    List<CommandOutcome> outcomes =
+        accountApplicationService.processBatch(accountId, List.of(creditAccount, debitAccount));
+
+    // Assert
+    FundsCredited fundsCredited =
+        new FundsCredited(
+            AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 2L),
+            creditAccount.transactionId(),
+            creditAmount);
+    FundsDebited fundsDebited =
+        new FundsDebited(
+            AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 3L),
+            debitAccount.transactionId(),
+            debitAmount);
+    verify(accountLoader).loadAccount(accountId);
+    verify(accountEventStore).appendEvents(accountId, 1L, List.of(fundsCredited, fundsDebited));
+    assertThat(outcomes)
+        .containsExactly(
+            CommandOutcome.success(TransactionResult.committed(2L)),
+            CommandOutcome.success(TransactionResult.committed(3L)));
+  }
+
+  @Test
+  void processBatch_should_fail_only_rejected_command_and_release_its_transaction_id() {
+    // Arrange
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountEventMeta accountOpenedMeta =
+        AccountEventMeta.of(fixtureEventIdGenerator.newId(), accountId, Instant.now(), 1L);
+    AccountOpened accountOpened =
+        new AccountOpened(accountOpenedMeta, usd, Money.of(new BigDecimal("10.00"), usd));
+    when(accountLoader.loadAccount(accountId))
+        .thenReturn(Account.rehydrate(List.of(accountOpened)));
+    DebitAccount tooLargeDebit =
+        new DebitAccount(
+            TransactionId.of(UUID.randomUUID()),
+            accountId,
+            Money.of(new BigDecimal("100.00"), usd));
+    Money creditAmount = Money.of(new BigDecimal("5.00"), usd);
+    CreditAccount creditAccount =
+        new CreditAccount(TransactionId.of(UUID.randomUUID()), accountId, creditAmount);
+    when(processedTransactionStore.registerAll(
+            accountId, List.of(tooLargeDebit, creditAccount), INSTANT_FOR_TESTS))
+        .thenReturn(
+            Map.of(
+                tooLargeDebit.transactionId(), TransactionStatus.COMMITTED,
+                creditAccount.transactionId(), TransactionStatus.COMMITTED));
+
+    // Act
+    List<CommandOutcome> outcomes =
+        accountApplicationService.processBatch(accountId, List.of(tooLargeDebit, creditAccount));
+
+    // Assert
+    FundsCredited fundsCredited =
+        new FundsCredited(
+            AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 2L),
+            creditAccount.transactionId(),
+            creditAmount);
+    verify(processedTransactionStore).release(accountId, tooLargeDebit.transactionId());
+    verify(accountEventStore).appendEvents(accountId, 1L, List.of(fundsCredited));
+    assertAll(
+        () -> assertThat(outcomes).hasSize(2),
+        () -> assertThat(outcomes.get(0).failure()).isInstanceOf(InsufficientFundsException.class),
+        () ->
+            assertThat(outcomes.get(1))
+                .isEqualTo(CommandOutcome.success(TransactionResult.committed(2L))));
+  }
+
+  @Test
+  void processBatch_should_fail_whole_batch_when_command_fails_with_non_domain_exception() {
+    // Arrange
+    Account account = mock(Account.class);
+    when(accountLoader.loadAccount(accountId)).thenReturn(account);
+    SupportedCurrency usd = SupportedCurrency.USD;
+    CreditAccount failingCredit =
+        new CreditAccount(
+            TransactionId.of(UUID.randomUUID()), accountId, Money.of(BigDecimal.ONE, usd));
+    CreditAccount creditAccount =
+        new CreditAccount(
+            TransactionId.of(UUID.randomUUID()), accountId, Money.of(BigDecimal.TEN, usd));
+    when(processedTransactionStore.registerAll(
+            accountId, List.of(failingCredit, creditAccount), INSTANT_FOR_TESTS))
+        .thenReturn(
+            Map.of(
+                failingCredit.transactionId(), TransactionStatus.COMMITTED,
+                creditAccount.transactionId(), TransactionStatus.COMMITTED));
+    IllegalStateException unexpected = new IllegalStateException("unexpected");
+    when(account.handle(eq(failingCredit), any(EventIdGenerator.class), any(Instant.class)))
+        .thenThrow(unexpected);
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () ->
+                accountApplicationService.processBatch(
+                    accountId, List.of(failingCredit, creditAccount)))
+        .isSameAs(unexpected);
+    verify(processedTransactionStore, never()).release(any(), any());
+    verifyNoInteractions(accountEventStore);
+  }
+
+  @Test
+  void processBatch_should_not_touch_account_when_every_command_is_replay_or_conflict() {
+    // Arrange
+    SupportedCurrency usd = SupportedCurrency.USD;
+    CreditAccount replayedCredit =
+        new CreditAccount(
+            TransactionId.of(UUID.randomUUID()), accountId, Money.of(BigDecimal.ONE, usd));
+    CreditAccount conflictingCredit =
+        new CreditAccount(
+            TransactionId.of(UUID.randomUUID()), accountId, Money.of(BigDecimal.TEN, usd));
+    // The conflicting transaction id is left out by the store
+    when(processedTransactionStore.registerAll(
+            accountId, List.of(replayedCredit, conflictingCredit), INSTANT_FOR_TESTS))
+        .thenReturn(Map.of(replayedCredit.transactionId(), TransactionStatus.NO_EFFECT));
+
+    // Act
+    List<CommandOutcome> outcomes =
+        accountApplicationService.processBatch(
+            accountId, List.of(replayedCredit, conflictingCredit));
+
+    // Assert
+    assertAll(
+        () -> assertThat(outcomes).hasSize(2),
+        () ->
+            assertThat(outcomes.get(0))
+                .isEqualTo(CommandOutcome.success(TransactionResult.replayed())),
+        () ->
+            assertThat(outcomes.get(1).failure())
+                .isInstanceOf(TransactionIdConflictException.class)
+                .hasMessageContaining(conflictingCredit.transactionId().toString()));
+    verifyNoInteractions(accountLoader, accountEventStore);
+  }
+
+  @Test
+  void processBatch_should_throw_when_command_targets_another_account() {
+    // Arrange
+    CreditAccount otherAccountCredit =
+        new CreditAccount(
+            TransactionId.of(UUID.randomUUID()),
+            fixtureAccountIdGenerator.newId(),
+            Money.of(BigDecimal.ONE, SupportedCurrency.USD));
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () -> accountApplicationService.processBatch(accountId, List.of(otherAccountCredit)))
+        .withMessageContaining("batch is for " + accountId);
+    verifyNoInteractions(processedTransactionStore, accountEventStore);
+  }
+
+  @Test
+  void processBatch_should_register_repeated_transaction_id_on_its_own_turn() {
+    // Arrange
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountEventMeta accountOpenedMeta =
+        AccountEventMeta.of(fixtureEventIdGenerator.newId(), accountId, Instant.now(), 1L);
+    AccountOpened accountOpened =
+        new AccountOpened(accountOpenedMeta, usd, Money.of(new BigDecimal("10.00"), usd));
+    when(accountLoader.loadAccount(accountId))
+        .thenReturn(Account.rehydrate(List.of(accountOpened)));
+    Money creditAmount = Money.of(new BigDecimal("5.00"), usd);
+    CreditAccount creditAccount =
+        new CreditAccount(TransactionId.of(UUID.randomUUID()), accountId, creditAmount);
+    when(processedTransactionStore.registerAll(
+            accountId, List.of(creditAccount), INSTANT_FOR_TESTS))
+        .thenReturn(Map.of(creditAccount.transactionId(), TransactionStatus.COMMITTED));
+    when(processedTransactionStore.register(
+            accountId,
+            creditAccount.transactionId(),
+            creditAccount.fingerprint(),
+            INSTANT_FOR_TESTS))
+        .thenReturn(TransactionStatus.NO_EFFECT);
+
+    // Act
+    List<CommandOutcome> outcomes =
+        accountApplicationService.processBatch(accountId, List.of(creditAccount, creditAccount));
+
+    // Assert
+    FundsCredited fundsCredited =
+        new FundsCredited(
+            AccountEventMeta.of(eventId, accountId, INSTANT_FOR_TESTS, 2L),
+            creditAccount.transactionId(),
+            creditAmount);
+    verify(accountEventStore).appendEvents(accountId, 1L, List.of(fundsCredited));
+    assertThat(outcomes)
+        .containsExactly(
+            CommandOutcome.success(TransactionResult.committed(2L)),
+            CommandOutcome.success(TransactionResult.replayed()));
+  }
+
+  @Test
+  void processBatch_should_throw_with_index_of_rejected_command_when_atomic() {
+    // Arrange
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountEventMeta accountOpenedMeta =
+        AccountEventMeta.of(fixtureEventIdGenerator.newId(), accountId, Instant.now(), 1L);
+    AccountOpened accountOpened =
+        new AccountOpened(accountOpenedMeta, usd, Money.of(new BigDecimal("10.00"), usd));
+    when(accountLoader.loadAccount(accountId))
+        .thenReturn(Account.rehydrate(List.of(accountOpened)));
+    CreditAccount creditAccount =
+        new CreditAccount(
+            TransactionId.of(UUID.randomUUID()), accountId, Money.of(new BigDecimal("5.00"), usd));
+    DebitAccount tooLargeDebit =
+        new DebitAccount(
+            TransactionId.of(UUID.randomUUID()),
+            accountId,
+            Money.of(new BigDecimal("100.00"), usd));
+    List<AccountTransaction> commands = List.of(creditAccount, tooLargeDebit);
+    when(processedTransactionStore.registerAll(accountId, commands, INSTANT_FOR_TESTS))
+        .thenReturn(
+            Map.of(
+                creditAccount.transactionId(), TransactionStatus.COMMITTED,
+                tooLargeDebit.transactionId(), TransactionStatus.COMMITTED));
+
+    // Act ... Assert
+    assertThatExceptionOfType(CommandBatchRejectedException.class)
+        .isThrownBy(
+            () ->
+                accountApplicationService.processBatch(
+                    accountId, commands, CommandBatchMode.ATOMIC))
+        .withMessageStartingWith("Command 1 of the batch was rejected")
+        .withCauseInstanceOf(InsufficientFundsException.class);
+    verify(processedTransactionStore, never()).release(any(), any());
+    verifyNoInteractions(accountEventStore);
   }
 
   private List<AccountEvent> buildHistory(
@@ -0,0 +1,107 @@
+package org.girardsimon.wealthpay.account.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import org.girardsimon.wealthpay.account.application.metric.AccountBalanceStreamMetrics;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class AccountBalanceStreamTest {
+
+  private static final String SUBSCRIBERS_METRIC = "wealthpay.account.balance_stream.subscribers";
+  private static final String DROPPED_METRIC = "wealthpay.account.balance_stream.dropped";
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AccountBalanceStream accountBalanceStream =
+      new AccountBalanceStream(new AccountBalanceStreamMetrics(meterRegistry), 2);
+
+  private static AccountBalanceView viewAt(AccountId accountId, long version) {
+    Money balance = Money.of(BigDecimal.valueOf(version), SupportedCurrency.USD);
+    return new AccountBalanceView(
+        accountId, balance, Money.of(BigDecimal.ZERO, SupportedCurrency.USD), "OPENED", version);
+  }
+
+  @Test
+  void publish_should_reach_every_subscriber_of_the_account_only() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountId otherAccountId = accountIdGenerator.newId();
+    AccountBalanceView view = viewAt(accountId, 1L);
+
+    try (AccountBalanceSubscription first = accountBalanceStream.subscribe(accountId);
+        AccountBalanceSubscription second = accountBalanceStream.subscribe(accountId);
+        AccountBalanceSubscription other = accountBalanceStream.subscribe(otherAccountId)) {
+      // Act
+      accountBalanceStream.publish(view);
+
+      // Assert
+      assertAll(
+          () -> assertThat(first.next(Duration.ZERO)).contains(view),
+          () -> assertThat(second.next(Duration.ZERO)).contains(view),
+          () -> assertThat(other.next(Duration.ZERO)).isEmpty());
+    }
+  }
+
+  @Test
+  void publish_should_drop_oldest_views_when_subscriber_buffer_is_full() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+
+    try (AccountBalanceSubscription subscription = accountBalanceStream.subscribe(accountId)) {
+      // Act
+      for (long version = 1L; version <= 5L; version++) {
+        accountBalanceStream.publish(viewAt(accountId, version));
+      }
+
+      // Assert
+      Optional<AccountBalanceView> first = subscription.next(Duration.ZERO);
+      Optional<AccountBalanceView> second = subscription.next(Duration.ZERO);
+      assertAll(
+          () -> assertThat(first).map(AccountBalanceView::version).contains(4L),
+          () -> assertThat(second).map(AccountBalanceView::version).contains(5L),
+          () -> assertThat(subscription.next(Duration.ZERO)).isEmpty(),
+          () -> assertThat(meterRegistry.counter(DROPPED_METRIC).count()).isEqualTo(3.0));
+    }
+  }
+
+  @Test
+  void close_should_unsubscribe_once() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceSubscription subscription = accountBalanceStream.subscribe(accountId);
+    double subscribedCount = meterRegistry.get(SUBSCRIBERS_METRIC).gauge().value();
+
+    // Act
+    subscription.close();
+    subscription.close();
+
+    // Assert
+    assertAll(
+        () -> assertThat(subscribedCount).isOne(),
+        () -> assertThat(meterRegistry.get(SUBSCRIBERS_METRIC).gauge().value()).isZero(),
+        () -> assertThat(accountBalanceStream.subscriberCount()).isZero());
+  }
+
+  @Test
+  void constructor_should_reject_non_positive_buffer_size() {
+    // Arrange
+    AccountBalanceStreamMetrics metrics = new AccountBalanceStreamMetrics(meterRegistry);
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new AccountBalanceStream(metrics, 0))
+        .withMessage("Property account.balance-stream.buffer-size must be > 0 but was 0");
+  }
+}
@@ -0,0 +1,219 @@
+package org.girardsimon.wealthpay.account.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.girardsimon.wealthpay.account.application.metric.AccountCommandBatchMetrics;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
+import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
+import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AccountCommandBatcherTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+
+  AccountApplicationService accountApplicationService = mock(AccountApplicationService.class);
+  AccountCommandBatchMetrics accountCommandBatchMetrics = mock(AccountCommandBatchMetrics.class);
+
+  AccountId accountId = accountIdGenerator.newId();
+
+  private AccountCommandBatcher accountCommandBatcher;
+
+  @AfterEach
+  void tearDown() {
+    if (accountCommandBatcher != null) {
+      accountCommandBatcher.shutdown();
+    }
+  }
+
+  @Test
+  void constructor_should_throw_when_window_is_negative() {
+    Duration window = Duration.ofMillis(-1);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountCommandBatcher(
+                    accountApplicationService, accountCommandBatchMetrics, true, window, 64))
+        .withMessageContaining("account.command-batching.window")
+        .withMessageContaining(">= 0");
+  }
+
+  @Test
+  void constructor_should_throw_when_max_batch_size_is_not_positive() {
+    Duration window = Duration.ofMillis(2);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountCommandBatcher(
+                    accountApplicationService, accountCommandBatchMetrics, true, window, 0))
+        .withMessageContaining("account.command-batching.max-batch-size")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  void creditAccount_should_delegate_to_application_service_when_batching_is_disabled() {
+    // Arrange
+    accountCommandBatcher = batcher(false, Duration.ZERO, 64);
+    CreditAccount creditAccount = credit();
+    when(accountApplicationService.creditAccount(creditAccount))
+        .thenReturn(TransactionResult.committed(2L));
+
+    // Act
+    TransactionResult transactionResult = accountCommandBatcher.creditAccount(creditAccount);
+
+    // Assert
+    assertThat(transactionResult).isEqualTo(TransactionResult.committed(2L));
+    verify(accountApplicationService).creditAccount(creditAccount);
+    verifyNoInteractions(accountCommandBatchMetrics);
+  }
+
+  @Test
+  void creditAccount_should_return_batched_outcome_when_batching_is_enabled() {
+    // Arrange
+    accountCommandBatcher = batcher(true, Duration.ZERO, 64);
+    CreditAccount creditAccount = credit();
+    when(accountApplicationService.processBatch(accountId, List.of(creditAccount)))
+        .thenReturn(List.of(CommandOutcome.success(TransactionResult.committed(2L))));
+
+    // Act
+    TransactionResult transactionResult = accountCommandBatcher.creditAccount(creditAccount);
+
+    // Assert
+    assertThat(transactionResult).isEqualTo(TransactionResult.committed(2L));
+    verify(accountCommandBatchMetrics).recordBatchSize(1);
+    verify(accountCommandBatchMetrics, timeout(1000))
+        .recordCommand(
+            eq("credit"), any(Duration.class), eq(TransactionResult.committed(2L)), isNull());
+  }
+
+  @Test
+  void debitAccount_should_rethrow_failure_of_its_own_command_only() {
+    // Arrange
+    accountCommandBatcher = batcher(true, Duration.ZERO, 64);
+    DebitAccount debitAccount =
+        new DebitAccount(
+            TransactionId.of(UUID.randomUUID()),
+            accountId,
+            Money.of(new BigDecimal("100.00"), SupportedCurrency.USD));
+    InsufficientFundsException rejection = new InsufficientFundsException();
+    when(accountApplicationService.processBatch(accountId, List.of(debitAccount)))
+        .thenReturn(List.of(CommandOutcome.failure(rejection)));
+
+    // Act ... Assert
+    assertThatExceptionOfType(InsufficientFundsException.class)
+        .isThrownBy(() -> accountCommandBatcher.debitAccount(debitAccount))
+        .isSameAs(rejection);
+    verify(accountCommandBatchMetrics, timeout(1000))
+        .recordCommand(eq("debit"), any(Duration.class), isNull(), eq(rejection));
+  }
+
+  @Test
+  void creditAccount_should_rethrow_exception_failing_the_whole_batch() {
+    // Arrange
+    accountCommandBatcher = batcher(true, Duration.ZERO, 64);
+    CreditAccount creditAccount = credit();
+    when(accountApplicationService.processBatch(eq(accountId), anyList()))
+        .thenThrow(new IllegalStateException("database unavailable"));
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> accountCommandBatcher.creditAccount(creditAccount))
+        .withMessage("database unavailable");
+    verify(accountCommandBatchMetrics, timeout(1000))
+        .recordCommand(
+            eq("credit"), any(Duration.class), isNull(), any(IllegalStateException.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void creditAccount_should_group_concurrent_commands_up_to_max_batch_size() throws Exception {
+    // Arrange
+    int callers = 3;
+    accountCommandBatcher = batcher(true, Duration.ofMillis(300), 2);
+    when(accountApplicationService.processBatch(eq(accountId), anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<AccountTransaction> commands = invocation.getArgument(1);
+              return commands.stream()
+                  .map(_ -> CommandOutcome.success(TransactionResult.committed(2L)))
+                  .toList();
+            });
+    CountDownLatch go = new CountDownLatch(1);
+    List<Future<TransactionResult>> results = new ArrayList<>();
+
+    // Act
+    try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+      for (int i = 0; i < callers; i++) {
+        CreditAccount creditAccount = credit();
+        results.add(
+            executor.submit(
+                () -> {
+                  go.await();
+                  return accountCommandBatcher.creditAccount(creditAccount);
+                }));
+      }
+      go.countDown();
+      for (Future<TransactionResult> result : results) {
+        assertThat(result.get()).isEqualTo(TransactionResult.committed(2L));
+      }
+    }
+
+    // Assert
+    ArgumentCaptor<List<AccountTransaction>> batchCaptor = ArgumentCaptor.forClass(List.class);
+    verify(accountApplicationService, times(2)).processBatch(eq(accountId), batchCaptor.capture());
+    assertAll(
+        () -> assertThat(batchCaptor.getAllValues().get(0)).hasSize(2),
+        () -> assertThat(batchCaptor.getAllValues().get(1)).hasSize(1));
+    verify(accountCommandBatchMetrics).recordBatchSize(2);
+    verify(accountCommandBatchMetrics).recordBatchSize(1);
+    verify(accountCommandBatchMetrics, timeout(1000).times(callers))
+        .recordCommand(
+            eq("credit"), any(Duration.class), eq(TransactionResult.committed(2L)), isNull());
+    verify(accountApplicationService, never()).creditAccount(any());
+  }
+
+  private AccountCommandBatcher batcher(boolean enabled, Duration window, int maxBatchSize) {
+    return new AccountCommandBatcher(
+        accountApplicationService, accountCommandBatchMetrics, enabled, window, maxBatchSize);
+  }
+
+  private CreditAccount credit() {
+    return new CreditAccount(
+        TransactionId.of(UUID.randomUUID()),
+        accountId,
+        Money.of(new BigDecimal("10.00"), SupportedCurrency.USD));
+  }
+}
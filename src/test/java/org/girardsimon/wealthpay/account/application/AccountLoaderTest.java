@@ -2,6 +2,12 @@ package org.girardsimon.wealthpay.account.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -10,6 +16,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.application.metric.AccountCacheMetrics;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
 import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
 import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
@@ -42,6 +52,9 @@ class AccountLoaderTest {
 
   @Mock AccountEventStore accountEventStore;
   @Mock AccountSnapshotStore accountSnapshotStore;
+  @Mock AccountCache accountCache;
+  @Mock AccountCacheMetrics accountCacheMetrics;
+  @Mock RehydrationCostTracker rehydrationCostTracker;
 
   @InjectMocks AccountLoader accountLoader;
 
@@ -55,7 +68,8 @@ class AccountLoaderTest {
     AccountEventMeta meta =
         AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L);
     AccountOpened accountOpened = new AccountOpened(meta, usd, initialBalance);
-    when(accountEventStore.loadEvents(accountId)).thenReturn(List.of(accountOpened));
+    when(accountEventStore.streamEventsAfterVersion(accountId, 0L))
+        .thenReturn(Stream.of(accountOpened));
 
     // Act
     Account account = accountLoader.loadAccount(accountId);
@@ -66,7 +80,10 @@ class AccountLoaderTest {
         () -> assertThat(account.getBalance()).isEqualTo(initialBalance),
         () -> assertThat(account.getReservations()).isEmpty(),
         () -> assertThat(account.getCurrency()).isEqualTo(usd),
-        () -> assertThat(account.getVersion()).isEqualTo(1L));
+        () -> assertThat(account.getVersion()).isEqualTo(1L),
+        () ->
+            verify(rehydrationCostTracker)
+                .recordReplay(eq(accountId), eq(0L), eq(1), anyLong()));
   }
 
   @Test
@@ -86,8 +103,8 @@ class AccountLoaderTest {
         AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 401L);
     FundsCredited fundsCredited =
         new FundsCredited(meta, TransactionId.of(UUID.randomUUID()), credit);
-    when(accountEventStore.loadEventsAfterVersion(accountId, version))
-        .thenReturn(List.of(fundsCredited));
+    when(accountEventStore.streamEventsAfterVersion(accountId, version))
+        .thenReturn(Stream.of(fundsCredited));
 
     // Act
     Account account = accountLoader.loadAccount(accountId);
@@ -99,6 +116,122 @@ class AccountLoaderTest {
             assertThat(account.getBalance()).isEqualTo(Money.of(new BigDecimal("5555565.00"), usd)),
         () -> assertThat(account.getReservations()).isEqualTo(reservations),
         () -> assertThat(account.getCurrency()).isEqualTo(usd),
-        () -> assertThat(account.getVersion()).isEqualTo(401L));
+        () -> assertThat(account.getVersion()).isEqualTo(401L),
+        () ->
+            verify(rehydrationCostTracker)
+                .recordReplay(eq(accountId), eq(400L), eq(1), anyLong()));
+  }
+
+  @Test
+  void loadAccount_should_close_event_stream_when_rehydrating_from_store() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    when(accountSnapshotStore.load(accountId)).thenReturn(Optional.empty());
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountEventMeta meta =
+        AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L);
+    AccountOpened accountOpened =
+        new AccountOpened(meta, usd, Money.of(new BigDecimal("10.00"), usd));
+    AtomicBoolean closed = new AtomicBoolean();
+    when(accountEventStore.streamEventsAfterVersion(accountId, 0L))
+        .thenReturn(Stream.<AccountEvent>of(accountOpened).onClose(() -> closed.set(true)));
+
+    // Act
+    accountLoader.loadAccount(accountId);
+
+    // Assert
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  void loadAccount_should_only_check_tail_and_record_hit_when_cached_state_is_current() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Money balance = Money.of(new BigDecimal("42.00"), usd);
+    AccountSnapshot cached =
+        new AccountSnapshot(accountId, usd, balance, AccountStatus.OPENED, Map.of(), 7L);
+    when(accountCache.get(accountId)).thenReturn(Optional.of(cached));
+    when(accountEventStore.loadEventsAfterVersion(accountId, 7L)).thenReturn(List.of());
+
+    // Act
+    Account account = accountLoader.loadAccount(accountId);
+
+    // Assert
+    assertAll(
+        () -> assertThat(account.getBalance()).isEqualTo(balance),
+        () -> assertThat(account.getVersion()).isEqualTo(7L),
+        () -> verify(accountCacheMetrics).recordHit(),
+        () -> verify(accountSnapshotStore, never()).load(any()),
+        () -> verifyNoInteractions(rehydrationCostTracker));
+  }
+
+  @Test
+  void loadAccount_should_replay_tail_and_record_stale_when_cached_state_is_behind() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Money balance = Money.of(new BigDecimal("42.00"), usd);
+    AccountSnapshot cached =
+        new AccountSnapshot(accountId, usd, balance, AccountStatus.OPENED, Map.of(), 7L);
+    when(accountCache.get(accountId)).thenReturn(Optional.of(cached));
+    AccountEventMeta meta =
+        AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 8L);
+    FundsCredited fundsCredited =
+        new FundsCredited(
+            meta, TransactionId.of(UUID.randomUUID()), Money.of(new BigDecimal("8.00"), usd));
+    when(accountEventStore.loadEventsAfterVersion(accountId, 7L))
+        .thenReturn(List.of(fundsCredited));
+
+    // Act
+    Account account = accountLoader.loadAccount(accountId);
+
+    // Assert
+    assertAll(
+        () -> assertThat(account.getBalance()).isEqualTo(Money.of(new BigDecimal("50.00"), usd)),
+        () -> assertThat(account.getVersion()).isEqualTo(8L),
+        () -> verify(accountCacheMetrics).recordStale(),
+        () -> verify(accountSnapshotStore, never()).load(any()));
+  }
+
+  @Test
+  void loadAccount_should_record_miss_when_account_is_not_cached() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    when(accountCache.get(accountId)).thenReturn(Optional.empty());
+    when(accountSnapshotStore.load(accountId)).thenReturn(Optional.empty());
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountEventMeta meta =
+        AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L);
+    AccountOpened accountOpened =
+        new AccountOpened(meta, usd, Money.of(new BigDecimal("10.00"), usd));
+    when(accountEventStore.streamEventsAfterVersion(accountId, 0L))
+        .thenReturn(Stream.of(accountOpened));
+
+    // Act
+    accountLoader.loadAccount(accountId);
+
+    // Assert
+    verify(accountCacheMetrics).recordMiss();
+  }
+
+  @Test
+  void cacheOnCommit_should_put_snapshot_immediately_when_no_transaction_is_active() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountEventMeta meta =
+        AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L);
+    Money initialBalance = Money.of(new BigDecimal("10.00"), usd);
+    Account account = Account.rehydrate(List.of(new AccountOpened(meta, usd, initialBalance)));
+
+    // Act
+    accountLoader.cacheOnCommit(account);
+
+    // Assert
+    verify(accountCache)
+        .put(
+            new AccountSnapshot(
+                accountId, usd, initialBalance, AccountStatus.OPENED, Map.of(), 1L));
   }
 }
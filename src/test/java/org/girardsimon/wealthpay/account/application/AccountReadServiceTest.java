@@ -1,27 +1,75 @@
 package org.girardsimon.wealthpay.account.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
+import org.girardsimon.wealthpay.account.domain.exception.AccountBalanceNotFoundException;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
 import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class AccountReadServiceTest {
 
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration RECHECK_INTERVAL = Duration.ofSeconds(1);
+
   private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final AccountProjectionWatcher accountProjectionWatcher = new AccountProjectionWatcher();
 
   @Mock AccountBalanceReader accountBalanceReader;
 
-  @InjectMocks AccountReadService accountReadService;
+  @Mock AccountBalanceCache accountBalanceCache;
+
+  @Mock AccountHistoryReader accountHistoryReader;
+
+  AccountReadService accountReadService;
+
+  @BeforeEach
+  void setUp() {
+    accountReadService =
+        new AccountReadService(
+            accountBalanceReader,
+            accountBalanceCache,
+            accountHistoryReader,
+            accountProjectionWatcher,
+            TIMEOUT,
+            RECHECK_INTERVAL);
+  }
+
+  private static AccountBalanceView view(AccountId accountId, long version) {
+    Money balance = Money.of(new BigDecimal("10.00"), SupportedCurrency.USD);
+    Money reservedFunds = Money.of(BigDecimal.ZERO, SupportedCurrency.USD);
+    return new AccountBalanceView(accountId, balance, reservedFunds, "OPENED", version);
+  }
 
   @Test
   void getAccountBalance_should_return_account_balance_view_for_given_id() {
@@ -36,4 +84,262 @@ class AccountReadServiceTest {
     // Assert
     assertThat(accountBalanceView).isEqualTo(mock);
   }
+
+  @Test
+  void getAccountBalance_should_serve_cached_view_without_reading() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView cached = view(accountId, 3L);
+    when(accountBalanceCache.get(accountId)).thenReturn(Optional.of(cached));
+
+    // Act
+    AccountBalanceView accountBalanceView = accountReadService.getAccountBalance(accountId);
+
+    // Assert
+    assertThat(accountBalanceView).isEqualTo(cached);
+    verifyNoInteractions(accountBalanceReader);
+  }
+
+  @Test
+  void getAccountBalance_should_cache_view_read_on_cache_miss() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView read = view(accountId, 3L);
+    when(accountBalanceReader.getAccountBalance(accountId)).thenReturn(read);
+
+    // Act
+    AccountBalanceView accountBalanceView = accountReadService.getAccountBalance(accountId);
+
+    // Assert
+    assertThat(accountBalanceView).isEqualTo(read);
+    verify(accountBalanceCache).put(read);
+  }
+
+  @Test
+  void findAccountVersion_should_return_version_of_cached_view_without_reading() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    when(accountBalanceCache.get(accountId)).thenReturn(Optional.of(view(accountId, 7L)));
+
+    // Act
+    Optional<Long> version = accountReadService.findAccountVersion(accountId);
+
+    // Assert
+    assertThat(version).contains(7L);
+    verifyNoInteractions(accountBalanceReader);
+  }
+
+  @Test
+  void findAccountVersion_should_return_version_read_by_reader() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    when(accountBalanceReader.findAccountVersion(accountId)).thenReturn(Optional.of(4L));
+
+    // Act
+    Optional<Long> version = accountReadService.findAccountVersion(accountId);
+
+    // Assert
+    assertThat(version).contains(4L);
+  }
+
+  @Test
+  void getAccountHistory_should_return_page_read_by_history_reader() {
+    // Arrange
+    AccountHistoryQuery query =
+        new AccountHistoryQuery(accountIdGenerator.newId(), 0L, 50, Set.of(), null, null);
+    AccountHistoryPage page = new AccountHistoryPage(List.of(), OptionalLong.empty());
+    when(accountHistoryReader.readHistory(query)).thenReturn(page);
+
+    // Act
+    AccountHistoryPage accountHistory = accountReadService.getAccountHistory(query);
+
+    // Assert
+    assertThat(accountHistory).isEqualTo(page);
+  }
+
+  @Test
+  void getAccountBalances_should_return_views_found_by_reader() {
+    // Arrange
+    AccountId known = accountIdGenerator.newId();
+    AccountId unknown = accountIdGenerator.newId();
+    AccountBalanceView view = view(known, 1L);
+    when(accountBalanceReader.getAccountBalances(List.of(known, unknown)))
+        .thenReturn(Map.of(known, view));
+
+    // Act
+    Map<AccountId, AccountBalanceView> accountBalances =
+        accountReadService.getAccountBalances(List.of(known, unknown));
+
+    // Assert
+    assertThat(accountBalances).containsExactly(entry(known, view));
+  }
+
+  @Test
+  void getAccountBalances_should_read_only_accounts_missing_from_cache() {
+    // Arrange
+    AccountId cachedId = accountIdGenerator.newId();
+    AccountId missedId = accountIdGenerator.newId();
+    AccountBalanceView cached = view(cachedId, 2L);
+    AccountBalanceView read = view(missedId, 1L);
+    when(accountBalanceCache.get(cachedId)).thenReturn(Optional.of(cached));
+    when(accountBalanceReader.getAccountBalances(List.of(missedId)))
+        .thenReturn(Map.of(missedId, read));
+
+    // Act
+    Map<AccountId, AccountBalanceView> accountBalances =
+        accountReadService.getAccountBalances(List.of(cachedId, missedId));
+
+    // Assert
+    assertThat(accountBalances).containsOnly(entry(cachedId, cached), entry(missedId, read));
+    verify(accountBalanceCache).put(read);
+  }
+
+  @Test
+  void getAccountBalance_should_return_without_waiting_when_view_has_reached_min_version() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView caughtUp = view(accountId, 3L);
+    when(accountBalanceReader.getAccountBalance(accountId)).thenReturn(caughtUp);
+
+    // Act
+    AccountBalanceView accountBalanceView = accountReadService.getAccountBalance(accountId, 2L);
+
+    // Assert
+    assertAll(
+        () -> assertThat(accountBalanceView).isEqualTo(caughtUp),
+        () -> assertThat(accountProjectionWatcher.watchCount()).isZero());
+    verify(accountBalanceReader).getAccountBalance(accountId);
+  }
+
+  @Test
+  void getAccountBalance_should_read_again_once_projection_of_min_version_is_reported()
+      throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView behind = view(accountId, 1L);
+    AccountBalanceView caughtUp = view(accountId, 2L);
+    when(accountBalanceReader.getAccountBalance(accountId)).thenReturn(behind, caughtUp);
+
+    // Act
+    CompletableFuture<AccountBalanceView> result =
+        CompletableFuture.supplyAsync(() -> accountReadService.getAccountBalance(accountId, 2L));
+    verify(accountBalanceReader, timeout(1000)).getAccountBalance(accountId);
+    accountProjectionWatcher.projected(accountId, 2L);
+
+    // Assert
+    assertAll(
+        () -> assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(caughtUp),
+        () -> assertThat(accountProjectionWatcher.watchCount()).isZero());
+    verify(accountBalanceReader, times(2)).getAccountBalance(accountId);
+  }
+
+  @Test
+  void getAccountBalance_should_read_database_when_cached_view_is_behind_min_version() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView caughtUp = view(accountId, 2L);
+    when(accountBalanceCache.get(accountId)).thenReturn(Optional.of(view(accountId, 1L)));
+    when(accountBalanceReader.getAccountBalance(accountId)).thenReturn(caughtUp);
+
+    // Act
+    AccountBalanceView accountBalanceView = accountReadService.getAccountBalance(accountId, 2L);
+
+    // Assert
+    assertThat(accountBalanceView).isEqualTo(caughtUp);
+    verify(accountBalanceCache).put(caughtUp);
+  }
+
+  @Test
+  void getAccountBalance_should_serve_cached_view_once_it_has_reached_min_version() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView cached = view(accountId, 2L);
+    when(accountBalanceCache.get(accountId)).thenReturn(Optional.of(cached));
+
+    // Act
+    AccountBalanceView accountBalanceView = accountReadService.getAccountBalance(accountId, 2L);
+
+    // Assert
+    assertThat(accountBalanceView).isEqualTo(cached);
+    verify(accountBalanceReader, never()).getAccountBalance(accountId);
+  }
+
+  @Test
+  void getAccountBalance_should_return_latest_view_when_min_version_is_not_reached_in_time() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView behind = view(accountId, 1L);
+    when(accountBalanceReader.getAccountBalance(accountId)).thenReturn(behind);
+    accountReadService =
+        new AccountReadService(
+            accountBalanceReader,
+            accountBalanceCache,
+            accountHistoryReader,
+            accountProjectionWatcher,
+            Duration.ofMillis(50),
+            Duration.ofMillis(10));
+
+    // Act
+    AccountBalanceView accountBalanceView = accountReadService.getAccountBalance(accountId, 2L);
+
+    // Assert
+    assertAll(
+        () -> assertThat(accountBalanceView).isEqualTo(behind),
+        () -> assertThat(accountProjectionWatcher.watchCount()).isZero());
+  }
+
+  @Test
+  void getAccountBalance_should_throw_not_found_when_account_is_never_projected_in_time() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    when(accountBalanceReader.getAccountBalance(accountId))
+        .thenThrow(new AccountBalanceNotFoundException(accountId));
+    accountReadService =
+        new AccountReadService(
+            accountBalanceReader,
+            accountBalanceCache,
+            accountHistoryReader,
+            accountProjectionWatcher,
+            Duration.ZERO,
+            RECHECK_INTERVAL);
+
+    // Act ... Assert
+    assertThatExceptionOfType(AccountBalanceNotFoundException.class)
+        .isThrownBy(() -> accountReadService.getAccountBalance(accountId, 1L));
+    assertThat(accountProjectionWatcher.watchCount()).isZero();
+  }
+
+  @Test
+  void constructor_should_reject_non_positive_recheck_interval() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountReadService(
+                    accountBalanceReader,
+                    accountBalanceCache,
+                    accountHistoryReader,
+                    accountProjectionWatcher,
+                    TIMEOUT,
+                    Duration.ZERO))
+        .withMessageContaining("account.read-your-writes.recheck-interval")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  void constructor_should_reject_negative_timeout() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountReadService(
+                    accountBalanceReader,
+                    accountBalanceCache,
+                    accountHistoryReader,
+                    accountProjectionWatcher,
+                    Duration.ofSeconds(-1),
+                    RECHECK_INTERVAL))
+        .withMessageContaining("account.read-your-writes.timeout")
+        .withMessageContaining(">= 0");
+  }
 }
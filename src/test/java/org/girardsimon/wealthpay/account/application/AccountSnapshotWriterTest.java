@@ -0,0 +1,220 @@
+package org.girardsimon.wealthpay.account.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.girardsimon.wealthpay.account.application.metric.AccountSnapshotWriterMetrics;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class AccountSnapshotWriterTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+
+  AccountSnapshotStore accountSnapshotStore = mock(AccountSnapshotStore.class);
+  AccountSnapshotWriterMetrics accountSnapshotWriterMetrics =
+      mock(AccountSnapshotWriterMetrics.class);
+  RehydrationCostTracker rehydrationCostTracker = mock(RehydrationCostTracker.class);
+
+  AccountId accountId = accountIdGenerator.newId();
+  AccountId otherAccountId = accountIdGenerator.newId();
+
+  private AccountSnapshotWriter accountSnapshotWriter;
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    if (accountSnapshotWriter != null) {
+      accountSnapshotWriter.shutdown();
+    }
+  }
+
+  @Test
+  void constructor_should_throw_when_max_pending_is_not_positive() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountSnapshotWriter(
+                    accountSnapshotStore, accountSnapshotWriterMetrics, rehydrationCostTracker, 0))
+        .withMessageContaining("account-event.snapshot.writer.max-pending")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  void saveOnCommit_should_write_snapshot_immediately_when_no_transaction_is_active() {
+    // Arrange
+    accountSnapshotWriter = writer(10);
+    AccountSnapshot accountSnapshot = snapshot(accountId, 100L);
+
+    // Act
+    accountSnapshotWriter.saveOnCommit(accountSnapshot);
+    accountSnapshotWriter.shutdown();
+
+    // Assert
+    verify(accountSnapshotStore).saveSnapshot(accountSnapshot);
+    verify(rehydrationCostTracker).recordSnapshotScheduled(accountId, 100L);
+    verify(rehydrationCostTracker).recordSnapshotWritten(eq(accountId), eq(100L), anyLong());
+  }
+
+  @Test
+  void saveOnCommit_should_write_snapshot_only_after_commit() {
+    // Arrange
+    accountSnapshotWriter = writer(10);
+    AccountSnapshot accountSnapshot = snapshot(accountId, 100L);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // Act
+    accountSnapshotWriter.saveOnCommit(accountSnapshot);
+
+    // Assert
+    assertThat(accountSnapshotWriter.pendingCount()).isZero();
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    accountSnapshotWriter.shutdown();
+    verify(accountSnapshotStore).saveSnapshot(accountSnapshot);
+  }
+
+  @Test
+  void saveOnCommit_should_not_write_snapshot_when_transaction_rolls_back() {
+    // Arrange
+    accountSnapshotWriter = writer(10);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // Act
+    accountSnapshotWriter.saveOnCommit(snapshot(accountId, 100L));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(
+            synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    accountSnapshotWriter.shutdown();
+
+    // Assert
+    verifyNoInteractions(accountSnapshotStore);
+  }
+
+  @Test
+  void saveOnCommit_should_write_only_latest_pending_version_per_account() throws Exception {
+    // Arrange
+    accountSnapshotWriter = writer(10);
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AccountSnapshot blocking = snapshot(otherAccountId, 100L);
+    blockOn(blocking, writing, release);
+    accountSnapshotWriter.saveOnCommit(blocking);
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // Act
+    accountSnapshotWriter.saveOnCommit(snapshot(accountId, 100L));
+    accountSnapshotWriter.saveOnCommit(snapshot(accountId, 300L));
+    accountSnapshotWriter.saveOnCommit(snapshot(accountId, 200L));
+    release.countDown();
+    accountSnapshotWriter.shutdown();
+
+    // Assert
+    verify(accountSnapshotStore).saveSnapshot(snapshot(accountId, 300L));
+    verify(accountSnapshotStore, never()).saveSnapshot(snapshot(accountId, 100L));
+    verify(accountSnapshotStore, never()).saveSnapshot(snapshot(accountId, 200L));
+  }
+
+  @Test
+  void saveOnCommit_should_drop_snapshot_of_new_account_when_queue_is_full() throws Exception {
+    // Arrange
+    accountSnapshotWriter = writer(1);
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AccountSnapshot blocking = snapshot(accountIdGenerator.newId(), 100L);
+    blockOn(blocking, writing, release);
+    accountSnapshotWriter.saveOnCommit(blocking);
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+    accountSnapshotWriter.saveOnCommit(snapshot(accountId, 100L));
+
+    // Act
+    accountSnapshotWriter.saveOnCommit(snapshot(otherAccountId, 100L));
+    accountSnapshotWriter.saveOnCommit(snapshot(accountId, 200L));
+    release.countDown();
+    accountSnapshotWriter.shutdown();
+
+    // Assert
+    verify(accountSnapshotWriterMetrics).recordDropped();
+    verify(accountSnapshotStore).saveSnapshot(snapshot(accountId, 200L));
+    verify(accountSnapshotStore, never()).saveSnapshot(snapshot(otherAccountId, 100L));
+  }
+
+  @Test
+  void saveOnCommit_should_keep_writing_when_a_snapshot_write_fails() {
+    // Arrange
+    accountSnapshotWriter = writer(10);
+    AccountSnapshot failing = snapshot(accountId, 100L);
+    AccountSnapshot succeeding = snapshot(otherAccountId, 100L);
+    doThrow(new IllegalStateException("boom")).when(accountSnapshotStore).saveSnapshot(failing);
+
+    // Act
+    accountSnapshotWriter.saveOnCommit(failing);
+    accountSnapshotWriter.saveOnCommit(succeeding);
+    accountSnapshotWriter.shutdown();
+
+    // Assert
+    verify(accountSnapshotWriterMetrics).recordFailed();
+    verify(accountSnapshotStore).saveSnapshot(succeeding);
+  }
+
+  @Test
+  void constructor_should_register_pending_gauge() {
+    // Act
+    accountSnapshotWriter = writer(10);
+
+    // Assert
+    verify(accountSnapshotWriterMetrics).registerPendingGauge(any());
+  }
+
+  private AccountSnapshotWriter writer(int maxPending) {
+    return new AccountSnapshotWriter(
+        accountSnapshotStore, accountSnapshotWriterMetrics, rehydrationCostTracker, maxPending);
+  }
+
+  private void blockOn(AccountSnapshot snapshot, CountDownLatch writing, CountDownLatch release) {
+    doAnswer(
+            _ -> {
+              writing.countDown();
+              release.await();
+              return null;
+            })
+        .when(accountSnapshotStore)
+        .saveSnapshot(snapshot);
+  }
+
+  private static AccountSnapshot snapshot(AccountId accountId, long version) {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    return new AccountSnapshot(
+        accountId,
+        usd,
+        Money.of(new BigDecimal("100.00"), usd),
+        AccountStatus.OPENED,
+        Map.of(),
+        version);
+  }
+}
@@ -0,0 +1,115 @@
+package org.girardsimon.wealthpay.account.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.girardsimon.wealthpay.account.application.metric.SnapshotPolicyMetrics;
+import org.girardsimon.wealthpay.account.domain.model.Account;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class CostBasedSnapshotPolicyTest {
+
+  private static final Duration MAX_REPLAY = Duration.ofMillis(1);
+  private static final int MIN_EVENTS = 10;
+  private static final int MAX_EVENTS = 500;
+
+  RehydrationCostTracker rehydrationCostTracker =
+      new RehydrationCostTracker(mock(SnapshotPolicyMetrics.class), 100);
+  CostBasedSnapshotPolicy costBasedSnapshotPolicy =
+      new CostBasedSnapshotPolicy(rehydrationCostTracker, MAX_REPLAY, MIN_EVENTS, MAX_EVENTS);
+
+  AccountId accountId = new TestAccountIdGenerator().newId();
+
+  @Test
+  void constructor_should_throw_when_max_events_is_below_min_events() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new CostBasedSnapshotPolicy(rehydrationCostTracker, MAX_REPLAY, 10, 9))
+        .withMessageContaining("account-event.snapshot.cost.max-events")
+        .withMessageContaining(">= min-events");
+  }
+
+  @Test
+  void constructor_should_throw_when_max_replay_is_not_positive() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new CostBasedSnapshotPolicy(
+                    rehydrationCostTracker, Duration.ZERO, MIN_EVENTS, MAX_EVENTS))
+        .withMessageContaining("account-event.snapshot.cost.max-replay")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  void shouldSnapshot_should_use_max_events_interval_when_account_is_not_tracked() {
+    // Act ... Assert
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(500L), 499L)).isTrue();
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(499L), 498L)).isFalse();
+  }
+
+  @Test
+  void shouldSnapshot_should_skip_when_fewer_than_min_events_even_if_replay_is_expensive() {
+    // Arrange: 1 ms per event, far above the budget
+    rehydrationCostTracker.recordReplay(accountId, 100L, 1, 1_000_000L);
+
+    // Act
+    boolean snapshot = costBasedSnapshotPolicy.shouldSnapshot(accountAt(109L), 108L);
+
+    // Assert
+    assertThat(snapshot).isFalse();
+  }
+
+  @Test
+  void shouldSnapshot_should_snapshot_when_estimated_replay_reaches_budget() {
+    // Arrange: 50 µs per event -> 20 events reach the 1 ms budget
+    rehydrationCostTracker.recordReplay(accountId, 100L, 10, 500_000L);
+
+    // Act ... Assert
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(119L), 118L)).isFalse();
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(120L), 119L)).isTrue();
+  }
+
+  @Test
+  void shouldSnapshot_should_wait_for_replay_to_outweigh_last_snapshot_write() {
+    // Arrange: 50 µs per event, but the last snapshot of this account took 2 ms to write
+    rehydrationCostTracker.recordReplay(accountId, 100L, 10, 500_000L);
+    rehydrationCostTracker.recordSnapshotWritten(accountId, 100L, 2_000_000L);
+
+    // Act ... Assert
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(120L), 119L)).isFalse();
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(140L), 139L)).isTrue();
+  }
+
+  @Test
+  void shouldSnapshot_should_snapshot_at_max_events_when_no_replay_cost_was_measured() {
+    // Arrange
+    rehydrationCostTracker.recordSnapshotScheduled(accountId, 100L);
+
+    // Act ... Assert
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(599L), 598L)).isFalse();
+    assertThat(costBasedSnapshotPolicy.shouldSnapshot(accountAt(600L), 599L)).isTrue();
+  }
+
+  private Account accountAt(long version) {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    return Account.rehydrateFromSnapshot(
+        new AccountSnapshot(
+            accountId,
+            usd,
+            Money.of(new BigDecimal("10.00"), usd),
+            AccountStatus.OPENED,
+            Map.of(),
+            version),
+        List.of());
+  }
+}
@@ -0,0 +1,85 @@
+package org.girardsimon.wealthpay.account.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.girardsimon.wealthpay.account.application.RehydrationCostTracker.LastSnapshot;
+import org.girardsimon.wealthpay.account.application.metric.SnapshotPolicyMetrics;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class RehydrationCostTrackerTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+
+  SnapshotPolicyMetrics snapshotPolicyMetrics = mock(SnapshotPolicyMetrics.class);
+  RehydrationCostTracker rehydrationCostTracker =
+      new RehydrationCostTracker(snapshotPolicyMetrics, 2);
+
+  AccountId accountId = accountIdGenerator.newId();
+
+  @Test
+  void constructor_should_throw_when_tracked_accounts_is_not_positive() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new RehydrationCostTracker(snapshotPolicyMetrics, 0))
+        .withMessageContaining("account-event.snapshot.cost.tracked-accounts")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  void recordReplay_should_export_replay_and_smooth_cost_per_event() {
+    // Act
+    rehydrationCostTracker.recordReplay(accountId, 0L, 10, 1_000L);
+    rehydrationCostTracker.recordReplay(accountId, 0L, 10, 2_000L);
+
+    // Assert
+    verify(snapshotPolicyMetrics).recordReplay(10, 1_000L);
+    verify(snapshotPolicyMetrics).recordReplay(10, 2_000L);
+    assertThat(rehydrationCostTracker.nanosPerEvent()).isCloseTo(110d, within(0.001));
+  }
+
+  @Test
+  void recordReplay_should_not_change_cost_per_event_when_nothing_was_replayed() {
+    // Act
+    rehydrationCostTracker.recordReplay(accountId, 7L, 0, 1_000L);
+
+    // Assert
+    assertThat(rehydrationCostTracker.nanosPerEvent()).isZero();
+    assertThat(rehydrationCostTracker.lastSnapshot(accountId)).contains(new LastSnapshot(7L, 0L));
+  }
+
+  @Test
+  void lastSnapshot_should_keep_highest_version_and_last_write_time() {
+    // Act
+    rehydrationCostTracker.recordSnapshotWritten(accountId, 200L, 3_000L);
+    rehydrationCostTracker.recordReplay(accountId, 100L, 5, 500L);
+    rehydrationCostTracker.recordSnapshotScheduled(accountId, 300L);
+
+    // Assert
+    assertThat(rehydrationCostTracker.lastSnapshot(accountId))
+        .contains(new LastSnapshot(300L, 3_000L));
+  }
+
+  @Test
+  void lastSnapshot_should_be_empty_for_new_accounts_once_tracking_limit_is_reached() {
+    // Arrange
+    AccountId otherAccountId = accountIdGenerator.newId();
+    AccountId untrackedAccountId = accountIdGenerator.newId();
+    rehydrationCostTracker.recordSnapshotScheduled(accountId, 100L);
+    rehydrationCostTracker.recordSnapshotScheduled(otherAccountId, 100L);
+
+    // Act
+    rehydrationCostTracker.recordSnapshotScheduled(untrackedAccountId, 100L);
+    rehydrationCostTracker.recordSnapshotScheduled(accountId, 200L);
+
+    // Assert
+    assertThat(rehydrationCostTracker.lastSnapshot(untrackedAccountId)).isEmpty();
+    assertThat(rehydrationCostTracker.lastSnapshot(accountId))
+        .contains(new LastSnapshot(200L, 0L));
+  }
+}
@@ -0,0 +1,54 @@
+package org.girardsimon.wealthpay.account.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.girardsimon.wealthpay.account.domain.model.Account;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ThresholdSnapshotPolicyTest {
+
+  ThresholdSnapshotPolicy thresholdSnapshotPolicy = new ThresholdSnapshotPolicy(100);
+
+  @Test
+  void constructor_should_throw_when_snapshot_threshold_is_not_positive() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new ThresholdSnapshotPolicy(0))
+        .withMessageContaining("account-event.snapshot.threshold")
+        .withMessageContaining("> 0");
+  }
+
+  @ParameterizedTest
+  @CsvSource({"99, 100, true", "98, 101, true", "100, 101, false", "101, 199, false"})
+  void shouldSnapshot_should_be_true_only_when_a_threshold_multiple_is_crossed(
+      long previousVersion, long version, boolean expected) {
+    // Act
+    boolean snapshot = thresholdSnapshotPolicy.shouldSnapshot(accountAt(version), previousVersion);
+
+    // Assert
+    assertThat(snapshot).isEqualTo(expected);
+  }
+
+  private static Account accountAt(long version) {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    return Account.rehydrateFromSnapshot(
+        new AccountSnapshot(
+            new TestAccountIdGenerator().newId(),
+            usd,
+            Money.of(new BigDecimal("10.00"), usd),
+            AccountStatus.OPENED,
+            Map.of(),
+            version),
+        List.of());
+  }
+}
@@ -0,0 +1,80 @@
+package org.girardsimon.wealthpay.account.application.metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.OptionalLong;
+import org.girardsimon.wealthpay.account.application.response.ReservationResult;
+import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
+import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
+import org.girardsimon.wealthpay.account.domain.model.ReservationIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestReservationIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class AccountCommandBatchMetricsTest {
+
+  private static final String METRIC = "wealthpay.account.command";
+
+  private final ReservationIdGenerator reservationIdGenerator = new TestReservationIdGenerator();
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AccountCommandBatchMetrics accountCommandBatchMetrics =
+      new AccountCommandBatchMetrics(meterRegistry);
+
+  @Test
+  void recordCommand_should_record_response_outcome_under_own_command_tag() {
+    // Act
+    accountCommandBatchMetrics.recordCommand(
+        "credit", Duration.ofMillis(3), TransactionResult.committed(2L), null);
+    accountCommandBatchMetrics.recordCommand(
+        "reserve",
+        Duration.ofMillis(3),
+        new ReserveFundsResponse(
+            reservationIdGenerator.newId(), ReservationResult.NO_EFFECT, OptionalLong.empty()),
+        null);
+
+    // Assert
+    assertAll(
+        () -> assertThat(timerCount("credit", "committed")).isEqualTo(1L),
+        () -> assertThat(timerCount("reserve", "idempotent")).isEqualTo(1L),
+        () -> assertThat(meterRegistry.find(METRIC).tag("command", "batch").timer()).isNull());
+  }
+
+  @Test
+  void recordCommand_should_record_failure_outcome_under_own_command_tag() {
+    // Act
+    accountCommandBatchMetrics.recordCommand(
+        "debit", Duration.ofMillis(3), null, new InsufficientFundsException());
+
+    // Assert
+    assertAll(
+        () -> assertThat(timerCount("debit", "invariant_violation")).isEqualTo(1L),
+        () -> assertThat(timerCount("debit", "committed")).isZero());
+  }
+
+  @Test
+  void recordCommand_should_not_throw_when_meter_registry_throws() {
+    // Arrange
+    AccountCommandBatchMetrics failingMetrics =
+        new AccountCommandBatchMetrics(new CommandMetricAspectTest.FailingMeterRegistry());
+
+    // Act ... Assert
+    assertThatCode(
+            () ->
+                failingMetrics.recordCommand(
+                    "credit", Duration.ofMillis(3), TransactionResult.committed(2L), null))
+        .doesNotThrowAnyException();
+  }
+
+  private long timerCount(String command, String outcome) {
+    Timer timer =
+        meterRegistry.find(METRIC).tag("command", command).tag("outcome", outcome).timer();
+    return timer == null ? 0L : timer.count();
+  }
+}
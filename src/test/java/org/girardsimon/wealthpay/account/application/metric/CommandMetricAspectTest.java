@@ -11,11 +11,14 @@ import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.girardsimon.wealthpay.account.application.CommandBatchRejectedException;
 import org.girardsimon.wealthpay.account.application.response.ReservationResponse;
 import org.girardsimon.wealthpay.account.application.response.ReservationResult;
 import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
 import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
 import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
 import org.girardsimon.wealthpay.account.domain.exception.InvalidAccountEventStreamException;
@@ -80,6 +83,22 @@ class CommandMetricAspectTest {
     assertThat(timerCount("credit", "committed")).isZero();
   }
 
+  // -- TransactionResult return type ----------------------------------------
+
+  @Test
+  void records_outcome_from_status_when_method_returns_TransactionResult() {
+    // Arrange
+    TestTarget target = proxy(new TestTarget(), aspect);
+
+    // Act
+    target.debitCommand(TransactionResult.committed(2L));
+    target.debitCommand(TransactionResult.replayed());
+
+    // Assert
+    assertThat(timerCount("debit", "committed")).isEqualTo(1L);
+    assertThat(timerCount("debit", "idempotent")).isEqualTo(1L);
+  }
+
   // -- ReservationResponse return type --------------------------------------
 
   @Test
@@ -184,6 +203,23 @@ class CommandMetricAspectTest {
     assertThat(timerCount("probe", "error")).isZero();
   }
 
+  @Test
+  void records_outcome_of_the_rejection_when_CommandBatchRejectedException_is_thrown() {
+    // Arrange
+    TestTarget target = proxy(new TestTarget(), aspect);
+    CommandBatchRejectedException rejected =
+        new CommandBatchRejectedException(
+            3,
+            new TransactionIdConflictException(
+                ACCOUNT_ID_GENERATOR.newId(), TransactionId.of(UUID.randomUUID())));
+
+    // Act + Assert
+    assertThatExceptionOfType(CommandBatchRejectedException.class)
+        .isThrownBy(() -> target.commandThrowing(rejected));
+    assertThat(timerCount("probe", "concurrency_conflict")).isEqualTo(1L);
+    assertThat(timerCount("probe", "invariant_violation")).isZero();
+  }
+
   @Test
   void records_not_found_outcome_when_NotFoundException_from_domain_package_is_thrown() {
     // Arrange
@@ -353,16 +389,22 @@ class CommandMetricAspectTest {
       return desiredOutcome;
     }
 
+    @CommandMetric(command = "debit")
+    public TransactionResult debitCommand(TransactionResult desiredOutcome) {
+      return desiredOutcome;
+    }
+
     @CommandMetric(command = "cancel")
     public ReservationResponse cancelCommand(ReservationResult result) {
       AccountId accountId = ACCOUNT_ID_GENERATOR.newId();
       ReservationId reservationId = RESERVATION_ID_GENERATOR.newId();
-      return new ReservationResponse(accountId, reservationId, Optional.empty(), result);
+      return new ReservationResponse(accountId, reservationId, Optional.empty(), result, 1L);
     }
 
     @CommandMetric(command = "reserve")
     public ReserveFundsResponse reserveCommand(ReservationResult result) {
-      return new ReserveFundsResponse(RESERVATION_ID_GENERATOR.newId(), result);
+      return new ReserveFundsResponse(
+          RESERVATION_ID_GENERATOR.newId(), result, OptionalLong.empty());
     }
 
     @CommandMetric(command = "nullable")
@@ -0,0 +1,194 @@
+package org.girardsimon.wealthpay.account.application.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.girardsimon.wealthpay.account.application.metric.CommandMetric;
+import org.girardsimon.wealthpay.account.application.metric.ConflictRetryMetrics;
+import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ConflictRetryAspectTest {
+
+  private static final String METRIC = "wealthpay.account.command.attempts";
+
+  private MeterRegistry meterRegistry;
+  private ConflictRetryMetrics conflictRetryMetrics;
+  private ConflictRetryAspect aspect;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    conflictRetryMetrics = new ConflictRetryMetrics(meterRegistry);
+    aspect = new ConflictRetryAspect(conflictRetryMetrics, 3, Duration.ZERO, Duration.ZERO);
+  }
+
+  @Test
+  void constructor_should_throw_when_max_attempts_is_not_positive() {
+    Duration backoff = Duration.ofMillis(5);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new ConflictRetryAspect(conflictRetryMetrics, 0, backoff, backoff))
+        .withMessageContaining("account.command-retry.max-attempts")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  void constructor_should_throw_when_max_backoff_is_below_initial_backoff() {
+    Duration initialBackoff = Duration.ofMillis(50);
+    Duration maxBackoff = Duration.ofMillis(5);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () -> new ConflictRetryAspect(conflictRetryMetrics, 3, initialBackoff, maxBackoff))
+        .withMessageContaining("account.command-retry.max-backoff");
+  }
+
+  @Test
+  void retry_should_return_result_and_record_one_attempt_when_no_conflict() {
+    // Arrange
+    TestTarget target = proxy(new TestTarget(0));
+
+    // Act
+    TransactionStatus status = target.creditCommand();
+
+    // Assert
+    assertAll(
+        () -> assertThat(status).isEqualTo(TransactionStatus.COMMITTED),
+        () -> assertThat(target.invocations()).isEqualTo(1),
+        () -> assertThat(summary("credit").count()).isEqualTo(1L),
+        () -> assertThat(summary("credit").totalAmount()).isEqualTo(1.0));
+  }
+
+  @Test
+  void retry_should_rerun_method_until_it_succeeds_when_conflicts_are_within_budget() {
+    // Arrange
+    TestTarget target = proxy(new TestTarget(2));
+
+    // Act
+    TransactionStatus status = target.creditCommand();
+
+    // Assert
+    assertAll(
+        () -> assertThat(status).isEqualTo(TransactionStatus.COMMITTED),
+        () -> assertThat(target.invocations()).isEqualTo(3),
+        () -> assertThat(summary("credit").totalAmount()).isEqualTo(3.0));
+  }
+
+  @Test
+  void retry_should_rethrow_conflict_when_attempts_are_exhausted() {
+    // Arrange
+    TestTarget target = proxy(new TestTarget(Integer.MAX_VALUE));
+
+    // Act ... Assert
+    assertThatExceptionOfType(OptimisticLockingFailureException.class)
+        .isThrownBy(target::creditCommand);
+    assertAll(
+        () -> assertThat(target.invocations()).isEqualTo(3),
+        () -> assertThat(summary("credit").totalAmount()).isEqualTo(3.0));
+  }
+
+  @Test
+  void retry_should_not_rerun_method_on_domain_rejection() {
+    // Arrange
+    TestTarget target = proxy(new TestTarget(0));
+
+    // Act ... Assert
+    assertThatExceptionOfType(InsufficientFundsException.class)
+        .isThrownBy(target::rejectingCommand);
+    assertAll(
+        () -> assertThat(target.invocations()).isEqualTo(1),
+        () -> assertThat(summary("rejectingCommand").totalAmount()).isEqualTo(1.0));
+  }
+
+  @Test
+  void retry_should_not_rerun_method_when_called_inside_an_active_transaction() {
+    // Arrange
+    TestTarget target = proxy(new TestTarget(Integer.MAX_VALUE));
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+
+    // Act ... Assert
+    try {
+      assertThatExceptionOfType(OptimisticLockingFailureException.class)
+          .isThrownBy(target::creditCommand);
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+    assertThat(target.invocations()).isEqualTo(1);
+  }
+
+  @Test
+  void retry_should_wait_with_bounded_backoff_between_attempts() {
+    // Arrange
+    ConflictRetryAspect backoffAspect =
+        new ConflictRetryAspect(
+            conflictRetryMetrics, 3, Duration.ofMillis(1), Duration.ofMillis(2));
+    TestTarget target = proxy(new TestTarget(2), backoffAspect);
+
+    // Act
+    long start = System.nanoTime();
+    TransactionStatus status = target.creditCommand();
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    // Assert
+    assertAll(
+        () -> assertThat(status).isEqualTo(TransactionStatus.COMMITTED),
+        () -> assertThat(target.invocations()).isEqualTo(3),
+        () -> assertThat(elapsed).isLessThan(Duration.ofSeconds(1)));
+  }
+
+  // -- Test scaffolding ----------------------------------------------------
+
+  private TestTarget proxy(TestTarget target) {
+    return proxy(target, aspect);
+  }
+
+  private static TestTarget proxy(TestTarget target, ConflictRetryAspect aspectInstance) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.addAspect(aspectInstance);
+    return factory.getProxy();
+  }
+
+  private DistributionSummary summary(String command) {
+    return meterRegistry.get(METRIC).tag("command", command).summary();
+  }
+
+  /** Test double failing its first {@code conflicts} invocations with an optimistic conflict. */
+  static class TestTarget {
+
+    private final int conflicts;
+    private int invocations;
+
+    TestTarget(int conflicts) {
+      this.conflicts = conflicts;
+    }
+
+    @CommandMetric(command = "credit")
+    @RetryOnConflict
+    public TransactionStatus creditCommand() {
+      invocations++;
+      if (invocations <= conflicts) {
+        throw new OptimisticLockingFailureException("version mismatch");
+      }
+      return TransactionStatus.COMMITTED;
+    }
+
+    @RetryOnConflict
+    public TransactionStatus rejectingCommand() {
+      invocations++;
+      throw new InsufficientFundsException();
+    }
+
+    public int invocations() {
+      return invocations;
+    }
+  }
+}
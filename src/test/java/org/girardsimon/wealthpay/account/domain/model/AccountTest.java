@@ -9,6 +9,7 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
 import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
@@ -56,6 +57,53 @@ class AccountTest {
         .isThrownBy(() -> Account.rehydrate(history));
   }
 
+  @Test
+  void rehydrate_from_stream_requires_at_least_one_event() {
+    // Arrange
+    Stream<AccountEvent> history = Stream.empty();
+
+    // Act ... Assert
+    assertThatExceptionOfType(AccountHistoryNotFoundException.class)
+        .isThrownBy(() -> Account.rehydrate(history));
+  }
+
+  @Test
+  void rehydrate_from_stream_should_produce_same_state_as_list() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Instant now = Instant.now();
+    ReservationId reservationId = reservationIdGenerator.newId();
+    List<AccountEvent> history =
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), accountId, now, 1L),
+                usd,
+                Money.of(new BigDecimal("100.00"), usd)),
+            new FundsReserved(
+                AccountEventMeta.of(eventIdGenerator.newId(), accountId, now, 2L),
+                TransactionId.of(UUID.randomUUID()),
+                reservationId,
+                Money.of(new BigDecimal("30.00"), usd)),
+            new FundsDebited(
+                AccountEventMeta.of(eventIdGenerator.newId(), accountId, now, 3L),
+                TransactionId.of(UUID.randomUUID()),
+                Money.of(new BigDecimal("20.00"), usd)));
+    Account referenceAccount = Account.rehydrate(history);
+
+    // Act
+    Account streamedAccount = Account.rehydrate(history.stream());
+
+    // Assert
+    assertAll(
+        () -> assertThat(streamedAccount.getBalance()).isEqualTo(referenceAccount.getBalance()),
+        () -> assertThat(streamedAccount.getStatus()).isEqualTo(referenceAccount.getStatus()),
+        () -> assertThat(streamedAccount.getVersion()).isEqualTo(3L),
+        () ->
+            assertThat(streamedAccount.getReservations())
+                .isEqualTo(referenceAccount.getReservations()));
+  }
+
   @Test
   void rehydrateFromSnapshot_should_produce_same_state_as_full_replay() {
     // Arrange
@@ -0,0 +1,37 @@
+package org.girardsimon.wealthpay.account.infrastructure.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountBalanceRebuilder;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountBalanceRebuilder.RebuildProgress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceRebuildEndpointTest {
+
+  @Mock AccountBalanceRebuilder accountBalanceRebuilder;
+
+  @InjectMocks AccountBalanceRebuildEndpoint accountBalanceRebuildEndpoint;
+
+  @Test
+  void rebuild_should_start_rebuild_and_return_its_progress() {
+    // Arrange
+    RebuildProgress running =
+        new RebuildProgress(RebuildProgress.Status.RUNNING, 0, 64, 0L, 0L, 1L, 0L, null);
+    when(accountBalanceRebuilder.start()).thenReturn(true);
+    when(accountBalanceRebuilder.progress()).thenReturn(running);
+
+    // Act
+    RebuildProgress progress = accountBalanceRebuildEndpoint.rebuild();
+
+    // Assert
+    verify(accountBalanceRebuilder).start();
+    assertThat(progress).isEqualTo(running);
+  }
+}
@@ -0,0 +1,190 @@
+package org.girardsimon.wealthpay.account.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class CaffeineAccountBalanceCacheTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final CaffeineAccountBalanceCache cache =
+      new CaffeineAccountBalanceCache(true, 100, 10, meterRegistry);
+
+  private static AccountBalanceView view(AccountId accountId, String balance, long version) {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    return new AccountBalanceView(
+        accountId,
+        Money.of(new BigDecimal(balance), usd),
+        Money.of(BigDecimal.ZERO, usd),
+        "OPENED",
+        version);
+  }
+
+  private double lookups(String result) {
+    return meterRegistry
+        .counter(CaffeineAccountBalanceCache.LOOKUP_METRIC, "result", result)
+        .count();
+  }
+
+  @Test
+  void get_should_return_put_view_and_count_lookups() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView view = view(accountId, "10.00", 3L);
+    cache.get(accountId);
+
+    // Act
+    cache.put(view);
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(accountId)).contains(view),
+        () -> assertThat(lookups("hit")).isOne(),
+        () -> assertThat(lookups("miss")).isOne(),
+        () ->
+            assertThat(
+                    meterRegistry.get(CaffeineAccountBalanceCache.SIZE_METRIC).gauge().value())
+                .isEqualTo(1.0));
+  }
+
+  @Test
+  void put_should_not_regress_version_when_older_view_arrives_late() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView newer = view(accountId, "20.00", 5L);
+    cache.put(newer);
+
+    // Act
+    cache.put(view(accountId, "10.00", 4L));
+
+    // Assert
+    assertThat(cache.get(accountId)).contains(newer);
+  }
+
+  @Test
+  void invalidate_should_drop_older_view_and_refuse_it_afterwards() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView older = view(accountId, "10.00", 4L);
+    cache.put(older);
+
+    // Act
+    cache.invalidate(accountId, 5L);
+    cache.put(older);
+
+    // Assert
+    assertThat(cache.get(accountId)).isEmpty();
+  }
+
+  @Test
+  void invalidate_should_refuse_view_read_before_it_when_nothing_was_cached() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView committed = view(accountId, "20.00", 5L);
+
+    // Act
+    cache.invalidate(accountId, 5L);
+    cache.put(view(accountId, "10.00", 4L));
+    AccountBalanceView beforeCommitted = cache.get(accountId).orElse(null);
+    cache.put(committed);
+
+    // Assert
+    assertAll(
+        () -> assertThat(beforeCommitted).isNull(),
+        () -> assertThat(cache.get(accountId)).contains(committed));
+  }
+
+  @Test
+  void invalidate_should_not_create_entries_for_accounts_never_cached() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView view = view(accountId, "10.00", 1L);
+    cache.put(view);
+
+    // Act
+    for (int notified = 0; notified < 1_000; notified++) {
+      cache.invalidate(accountIdGenerator.newId(), 1L);
+    }
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(accountId)).contains(view),
+        () ->
+            assertThat(
+                    meterRegistry.get(CaffeineAccountBalanceCache.SIZE_METRIC).gauge().value())
+                .isEqualTo(1.0));
+  }
+
+  @Test
+  void invalidate_should_keep_view_already_at_notified_version() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView current = view(accountId, "20.00", 5L);
+    cache.put(current);
+
+    // Act
+    cache.invalidate(accountId, 5L);
+
+    // Assert
+    assertThat(cache.get(accountId)).contains(current);
+  }
+
+  @Test
+  void invalidateAll_should_drop_every_view() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    cache.put(view(accountId, "10.00", 1L));
+
+    // Act
+    cache.invalidateAll();
+
+    // Assert
+    assertThat(cache.get(accountId)).isEmpty();
+  }
+
+  @Test
+  void get_should_always_miss_without_counting_when_disabled() {
+    // Arrange
+    CaffeineAccountBalanceCache disabled =
+        new CaffeineAccountBalanceCache(false, 100, 10, meterRegistry);
+    AccountId accountId = accountIdGenerator.newId();
+
+    // Act
+    disabled.put(view(accountId, "10.00", 1L));
+
+    // Assert
+    assertAll(
+        () -> assertThat(disabled.get(accountId)).isEmpty(),
+        () -> assertThat(lookups("miss")).isZero());
+  }
+
+  @Test
+  void constructor_should_reject_non_positive_maximum_size() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new CaffeineAccountBalanceCache(true, 0, 10, meterRegistry))
+        .withMessageContaining("account.balance-cache.maximum-size")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  void constructor_should_reject_non_positive_tombstone_maximum_size() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new CaffeineAccountBalanceCache(true, 100, 0, meterRegistry))
+        .withMessageContaining("account.balance-cache.tombstone-maximum-size")
+        .withMessageContaining("> 0");
+  }
+}
@@ -0,0 +1,92 @@
+package org.girardsimon.wealthpay.account.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class CaffeineAccountCacheTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final CaffeineAccountCache cache =
+      new CaffeineAccountCache(100, Duration.ofMinutes(10), meterRegistry);
+
+  private static AccountSnapshot snapshot(AccountId accountId, String balance, long version) {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    return new AccountSnapshot(
+        accountId,
+        usd,
+        Money.of(new BigDecimal(balance), usd),
+        AccountStatus.OPENED,
+        Map.of(),
+        version);
+  }
+
+  @Test
+  void get_should_return_put_snapshot() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountSnapshot accountSnapshot = snapshot(accountId, "10.00", 3L);
+
+    // Act
+    cache.put(accountSnapshot);
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(accountId)).contains(accountSnapshot),
+        () ->
+            assertThat(meterRegistry.get("wealthpay.account.cache.size").gauge().value())
+                .isEqualTo(1.0));
+  }
+
+  @Test
+  void put_should_not_regress_version_when_older_snapshot_arrives_late() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountSnapshot newer = snapshot(accountId, "20.00", 5L);
+    AccountSnapshot older = snapshot(accountId, "10.00", 4L);
+
+    // Act
+    cache.put(newer);
+    cache.put(older);
+
+    // Assert
+    assertThat(cache.get(accountId)).contains(newer);
+  }
+
+  @Test
+  void evict_should_remove_cached_snapshot() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    cache.put(snapshot(accountId, "10.00", 1L));
+
+    // Act
+    cache.evict(accountId);
+
+    // Assert
+    assertThat(cache.get(accountId)).isEmpty();
+  }
+
+  @Test
+  void constructor_should_throw_when_maximum_size_is_not_positive() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () -> new CaffeineAccountCache(0, Duration.ofMinutes(10), new SimpleMeterRegistry()))
+        .withMessageContaining("account.cache.maximum-size")
+        .withMessageContaining("> 0");
+  }
+}
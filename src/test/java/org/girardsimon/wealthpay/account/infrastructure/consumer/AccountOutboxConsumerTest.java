@@ -1,24 +1,53 @@
 package org.girardsimon.wealthpay.account.infrastructure.consumer;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.girardsimon.wealthpay.account.application.AccountBalanceProjector;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
+import org.girardsimon.wealthpay.account.application.ProjectionOwnership;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
 import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
 import org.girardsimon.wealthpay.account.domain.model.EventId;
 import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
 import org.girardsimon.wealthpay.account.infrastructure.consumer.mapper.AccountEventDeserializer;
 import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
 import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
 import org.girardsimon.wealthpay.shared.config.KafkaErrorConfig;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
@@ -26,12 +55,22 @@ import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
 import org.springframework.boot.kafka.autoconfigure.KafkaAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 @SpringBootTest(
-    classes = {AccountOutboxConsumer.class, AccountEventDeserializer.class, KafkaErrorConfig.class})
+    classes = {
+      AccountOutboxConsumer.class,
+      AccountProjectionDispatcher.class,
+      ProjectionLatencyMetrics.class,
+      AccountEventDeserializer.class,
+      KafkaErrorConfig.class,
+      TimeConfig.class,
+      SimpleMeterRegistry.class
+    })
 @ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
 @EmbeddedKafka(
     partitions = 1,
@@ -52,38 +91,282 @@ class AccountOutboxConsumerTest {
   private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
 
   @MockitoBean AccountBalanceProjector accountBalanceProjector;
+  @MockitoBean ProjectionOwnership projectionOwnership;
+  @MockitoBean ProjectionOffsetStore projectionOffsetStore;
   @Autowired KafkaTemplate<String, String> kafkaTemplate;
+  @Autowired ProjectionLatencyMetrics projectionLatencyMetrics;
 
-  @Test
-  void should_deserialize_and_project_account_opened_event() throws Exception {
-    // Arrange
-    AccountId accountId = accountIdGenerator.newId();
-    EventId eventId = eventIdGenerator.newId();
+  private static ProducerRecord<String, String> accountOpenedRecord(
+      AccountId accountId, EventId eventId, String currency) {
     Instant now = Instant.now();
     String payload =
         """
-      {"currency":"USD","initialBalance":100.00,"occurredAt":"%s"}
+      {"currency":"%s","initialBalance":100.00,"occurredAt":"%s"}
       """
-            .formatted(now);
+            .formatted(currency, now);
     RecordHeaders headers = new RecordHeaders();
     headers.add("id", eventId.id().toString().getBytes(UTF_8));
     headers.add("eventType", "AccountOpened".getBytes(UTF_8));
     headers.add("occurredAt", now.toString().getBytes(UTF_8));
     headers.add("aggregateVersion", "1".getBytes(UTF_8));
-    ProducerRecord<String, String> producerRecord =
-        new ProducerRecord<>(ACCOUNT_EVENT_TOPIC, 0, accountId.id().toString(), payload, headers);
+    return new ProducerRecord<>(
+        ACCOUNT_EVENT_TOPIC, 0, accountId.id().toString(), payload, headers);
+  }
+
+  private static boolean containsAccount(
+      Collection<List<AccountEvent>> eventsByAccount, AccountId accountId) {
+    return eventsByAccount.stream()
+        .flatMap(List::stream)
+        .anyMatch(event -> event.accountId().equals(accountId));
+  }
+
+  private AccountOutboxConsumer databaseOffsetsConsumer(
+      AccountProjectionDispatcher dispatcher, AccountEventDeserializer deserializer) {
+    return new AccountOutboxConsumer(
+        dispatcher,
+        deserializer,
+        projectionOwnership,
+        projectionOffsetStore,
+        projectionLatencyMetrics,
+        true);
+  }
+
+  private AccountEvent accountOpened(AccountId accountId) {
+    return new AccountOpened(
+        AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+        SupportedCurrency.USD,
+        Money.of(BigDecimal.TEN, SupportedCurrency.USD));
+  }
+
+  private static ConsumerRecord<String, Object> consumerRecord(int partition, long offset) {
+    return new ConsumerRecord<>(ACCOUNT_EVENT_TOPIC, partition, offset, "key", "value");
+  }
+
+  @Test
+  void should_deserialize_and_project_account_opened_event() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    EventId eventId = eventIdGenerator.newId();
+    ProducerRecord<String, String> producerRecord = accountOpenedRecord(accountId, eventId, "USD");
 
     // Act
     kafkaTemplate.send(producerRecord).get(5, TimeUnit.SECONDS);
 
     // Assert
     verify(accountBalanceProjector, timeout(5000))
-        .project(
+        .projectAll(
             argThat(
-                events ->
-                    events.size() == 1
-                        && events.getFirst() instanceof AccountOpened opened
+                eventsByAccount ->
+                    eventsByAccount.size() == 1
+                        && eventsByAccount.iterator().next().size() == 1
+                        && eventsByAccount.iterator().next().getFirst()
+                            instanceof AccountOpened opened
                         && opened.accountId().equals(accountId)
                         && opened.eventId().equals(eventId)));
+    verify(projectionOwnership).assign(accountId, 0);
+  }
+
+  @Test
+  void should_project_records_around_a_poison_record_and_never_the_poison_record()
+      throws Exception {
+    // Arrange
+    AccountId before = accountIdGenerator.newId();
+    AccountId poison = accountIdGenerator.newId();
+    AccountId after = accountIdGenerator.newId();
+
+    // Act
+    kafkaTemplate.send(accountOpenedRecord(before, eventIdGenerator.newId(), "USD"));
+    kafkaTemplate.send(accountOpenedRecord(poison, eventIdGenerator.newId(), "XXX"));
+    kafkaTemplate
+        .send(accountOpenedRecord(after, eventIdGenerator.newId(), "USD"))
+        .get(5, TimeUnit.SECONDS);
+
+    // Assert
+    verify(accountBalanceProjector, timeout(10000).atLeastOnce())
+        .projectAll(argThat(eventsByAccount -> containsAccount(eventsByAccount, before)));
+    verify(accountBalanceProjector, timeout(10000).atLeastOnce())
+        .projectAll(argThat(eventsByAccount -> containsAccount(eventsByAccount, after)));
+    verify(accountBalanceProjector, never())
+        .projectAll(argThat(eventsByAccount -> containsAccount(eventsByAccount, poison)));
+  }
+
+  @Test
+  void consume_should_checkpoint_next_offset_of_every_partition_when_database_offsets_enabled() {
+    // Arrange
+    AccountProjectionDispatcher dispatcher = mock(AccountProjectionDispatcher.class);
+    AccountEventDeserializer deserializer = mock(AccountEventDeserializer.class);
+    AccountEvent event = accountOpened(accountIdGenerator.newId());
+    List<ConsumerRecord<String, Object>> consumerRecords =
+        List.of(consumerRecord(0, 7L), consumerRecord(1, 3L), consumerRecord(0, 8L));
+    consumerRecords.forEach(
+        consumerRecord -> when(deserializer.apply(consumerRecord)).thenReturn(event));
+
+    // Act
+    databaseOffsetsConsumer(dispatcher, deserializer).consumeAccountEventOutbox(consumerRecords);
+
+    // Assert
+    verify(dispatcher)
+        .project(
+            eq(List.of(event, event, event)),
+            eq(new ProjectionCheckpoint(ACCOUNT_EVENT_TOPIC, Map.of(0, 9L, 1, 4L))),
+            any());
+  }
+
+  @Test
+  void consume_should_checkpoint_only_records_before_undeserializable_record() {
+    // Arrange
+    AccountProjectionDispatcher dispatcher = mock(AccountProjectionDispatcher.class);
+    AccountEventDeserializer deserializer = mock(AccountEventDeserializer.class);
+    AccountEvent event = accountOpened(accountIdGenerator.newId());
+    ConsumerRecord<String, Object> valid = consumerRecord(0, 7L);
+    ConsumerRecord<String, Object> poison = consumerRecord(0, 8L);
+    when(deserializer.apply(valid)).thenReturn(event);
+    when(deserializer.apply(poison)).thenThrow(new IllegalArgumentException("poison"));
+    AccountOutboxConsumer consumer = databaseOffsetsConsumer(dispatcher, deserializer);
+
+    // Act ... Assert
+    assertThatExceptionOfType(BatchListenerFailedException.class)
+        .isThrownBy(() -> consumer.consumeAccountEventOutbox(List.of(valid, poison)));
+    verify(dispatcher)
+        .project(
+            eq(List.of(event)),
+            eq(new ProjectionCheckpoint(ACCOUNT_EVENT_TOPIC, Map.of(0, 8L))),
+            any());
+  }
+
+  @Test
+  void consume_should_measure_projected_prefix_without_duplicates_when_projection_fails() {
+    // Arrange
+    AccountProjectionDispatcher dispatcher = mock(AccountProjectionDispatcher.class);
+    AccountEventDeserializer deserializer = mock(AccountEventDeserializer.class);
+    ProjectionLatencyMetrics latencyMetrics = mock(ProjectionLatencyMetrics.class);
+    AccountEvent redelivered = accountOpened(accountIdGenerator.newId());
+    AccountEvent projected = accountOpened(accountIdGenerator.newId());
+    AccountEvent poison = accountOpened(accountIdGenerator.newId());
+    List<ConsumerRecord<String, Object>> consumerRecords =
+        List.of(consumerRecord(0, 7L), consumerRecord(0, 8L), consumerRecord(0, 9L));
+    when(deserializer.apply(consumerRecords.get(0))).thenReturn(redelivered);
+    when(deserializer.apply(consumerRecords.get(1))).thenReturn(projected);
+    when(deserializer.apply(consumerRecords.get(2))).thenReturn(poison);
+    doAnswer(
+            invocation -> {
+              Set<EventId> duplicates = invocation.getArgument(1);
+              duplicates.add(redelivered.eventId());
+              throw new BatchListenerFailedException(
+                  "Cannot project account event", new IllegalStateException("version gap"), 2);
+            })
+        .when(dispatcher)
+        .project(anyList(), anySet());
+    AccountOutboxConsumer consumer =
+        new AccountOutboxConsumer(
+            dispatcher,
+            deserializer,
+            projectionOwnership,
+            projectionOffsetStore,
+            latencyMetrics,
+            false);
+
+    // Act ... Assert
+    assertThatExceptionOfType(BatchListenerFailedException.class)
+        .isThrownBy(() -> consumer.consumeAccountEventOutbox(consumerRecords));
+    verify(latencyMetrics)
+        .projected(
+            consumerRecords.subList(0, 2),
+            List.of(redelivered, projected),
+            Set.of(redelivered.eventId()));
+  }
+
+  @Test
+  void consumeAccountEvent_should_checkpoint_next_offset_when_database_offsets_enabled() {
+    // Arrange
+    AccountProjectionDispatcher dispatcher = mock(AccountProjectionDispatcher.class);
+    AccountEventDeserializer deserializer = mock(AccountEventDeserializer.class);
+    AccountEvent event = accountOpened(accountIdGenerator.newId());
+    ConsumerRecord<String, Object> consumerRecord = consumerRecord(0, 7L);
+    when(deserializer.apply(consumerRecord)).thenReturn(event);
+
+    // Act
+    databaseOffsetsConsumer(dispatcher, deserializer).consumeAccountEvent(consumerRecord);
+
+    // Assert
+    verify(dispatcher)
+        .project(
+            eq(List.of(event)),
+            eq(new ProjectionCheckpoint(ACCOUNT_EVENT_TOPIC, Map.of(0, 8L))),
+            any());
+  }
+
+  @Test
+  void consumeAccountEvent_should_throw_projection_failure_rather_than_batch_failure() {
+    // Arrange
+    AccountProjectionDispatcher dispatcher = mock(AccountProjectionDispatcher.class);
+    AccountEventDeserializer deserializer = mock(AccountEventDeserializer.class);
+    ConsumerRecord<String, Object> consumerRecord = consumerRecord(0, 7L);
+    when(deserializer.apply(consumerRecord)).thenReturn(accountOpened(accountIdGenerator.newId()));
+    IllegalStateException versionGap = new IllegalStateException("version gap");
+    doThrow(new BatchListenerFailedException("Cannot project account event", versionGap, 0))
+        .when(dispatcher)
+        .project(anyList(), anySet());
+    AccountOutboxConsumer consumer =
+        new AccountOutboxConsumer(
+            dispatcher,
+            deserializer,
+            projectionOwnership,
+            projectionOffsetStore,
+            projectionLatencyMetrics,
+            false);
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> consumer.consumeAccountEvent(consumerRecord))
+        .isSameAs(versionGap);
+  }
+
+  @Test
+  void onPartitionsAssigned_should_seek_to_stored_offsets_when_database_offsets_enabled() {
+    // Arrange
+    ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+    when(projectionOffsetStore.nextOffsets(eq(ACCOUNT_EVENT_TOPIC), anyCollection()))
+        .thenReturn(Map.of(0, 42L));
+    AccountOutboxConsumer consumer =
+        databaseOffsetsConsumer(
+            mock(AccountProjectionDispatcher.class), mock(AccountEventDeserializer.class));
+
+    // Act
+    consumer.onPartitionsAssigned(
+        Map.of(
+            new TopicPartition(ACCOUNT_EVENT_TOPIC, 0), 0L,
+            new TopicPartition(ACCOUNT_EVENT_TOPIC, 1), 0L),
+        callback);
+
+    // Assert
+    verify(projectionOffsetStore)
+        .nextOffsets(
+            eq(ACCOUNT_EVENT_TOPIC),
+            argThat(partitions -> partitions.containsAll(List.of(0, 1)) && partitions.size() == 2));
+    verify(callback).seek(ACCOUNT_EVENT_TOPIC, 0, 42L);
+    verify(callback, never()).seek(eq(ACCOUNT_EVENT_TOPIC), eq(1), anyLong());
+  }
+
+  @Test
+  void onPartitionsAssigned_should_keep_kafka_positions_when_database_offsets_disabled() {
+    // Arrange
+    ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+    AccountOutboxConsumer consumer =
+        new AccountOutboxConsumer(
+            mock(AccountProjectionDispatcher.class),
+            mock(AccountEventDeserializer.class),
+            projectionOwnership,
+            projectionOffsetStore,
+            projectionLatencyMetrics,
+            false);
+
+    // Act
+    consumer.onPartitionsAssigned(
+        Map.of(new TopicPartition(ACCOUNT_EVENT_TOPIC, 0), 0L), callback);
+
+    // Assert
+    verify(projectionOffsetStore, never()).nextOffsets(eq(ACCOUNT_EVENT_TOPIC), anyCollection());
+    verify(callback, never()).seek(eq(ACCOUNT_EVENT_TOPIC), anyInt(), anyLong());
   }
 }
@@ -0,0 +1,282 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer;
+
+import static java.util.stream.Collectors.toSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.girardsimon.wealthpay.account.application.AccountBalanceProjector;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+class AccountProjectionDispatcherTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AccountBalanceProjector accountBalanceProjector =
+      mock(AccountBalanceProjector.class);
+  private final Set<EventId> duplicates = ConcurrentHashMap.newKeySet();
+
+  private AccountProjectionDispatcher dispatcher(boolean keyOrdered, int workers) {
+    return new AccountProjectionDispatcher(
+        accountBalanceProjector, meterRegistry, keyOrdered, workers, false);
+  }
+
+  private AccountEvent credited(AccountId accountId, long version) {
+    return new FundsCredited(
+        AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), version),
+        TransactionId.of(UUID.randomUUID()),
+        Money.of(BigDecimal.ONE, SupportedCurrency.USD));
+  }
+
+  /** Two accounts interleaved, as a partition delivers them: A1, B1, A2, B2. */
+  private List<AccountEvent> interleavedPoll(AccountId first, AccountId second) {
+    return List.of(
+        credited(first, 2L), credited(second, 2L), credited(first, 3L), credited(second, 3L));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void project_should_project_whole_poll_in_one_call_when_key_ordered_is_disabled() {
+    // Arrange
+    AccountId first = accountIdGenerator.newId();
+    AccountId second = accountIdGenerator.newId();
+    List<AccountEvent> events = interleavedPoll(first, second);
+    ArgumentCaptor<Collection<List<AccountEvent>>> callCaptor =
+        ArgumentCaptor.forClass(Collection.class);
+
+    // Act
+    dispatcher(false, 4).project(events, duplicates);
+
+    // Assert
+    verify(accountBalanceProjector).projectAll(callCaptor.capture());
+    assertThat(callCaptor.getValue())
+        .containsExactly(
+            List.of(events.get(0), events.get(2)), List.of(events.get(1), events.get(3)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void project_should_keep_every_account_in_one_worker_and_in_offset_order() {
+    // Arrange
+    List<AccountId> accountIds = new ArrayList<>();
+    List<AccountEvent> events = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      accountIds.add(accountIdGenerator.newId());
+    }
+    for (long version = 2L; version <= 4L; version++) {
+      for (AccountId accountId : accountIds) {
+        events.add(credited(accountId, version));
+      }
+    }
+    ArgumentCaptor<Collection<List<AccountEvent>>> callCaptor =
+        ArgumentCaptor.forClass(Collection.class);
+
+    // Act
+    dispatcher(true, 4).project(events, duplicates);
+
+    // Assert
+    verify(accountBalanceProjector, atMost(4)).projectAll(callCaptor.capture());
+    List<List<AccountEvent>> projectedGroups =
+        callCaptor.getAllValues().stream().flatMap(Collection::stream).toList();
+    assertAll(
+        () -> assertThat(projectedGroups).hasSize(accountIds.size()),
+        () ->
+            assertThat(projectedGroups)
+                .allSatisfy(
+                    group ->
+                        assertThat(group)
+                            .extracting(AccountEvent::version)
+                            .containsExactly(2L, 3L, 4L)),
+        () ->
+            assertThat(meterRegistry.summary(AccountProjectionDispatcher.KEY_QUEUE_METRIC).count())
+                .isEqualTo(accountIds.size()),
+        () ->
+            assertThat(
+                    meterRegistry.get(AccountProjectionDispatcher.IN_FLIGHT_METRIC).gauge().value())
+                .isZero());
+  }
+
+  @Test
+  void project_should_report_lowest_index_failing_on_its_own_across_workers() {
+    // Arrange
+    AccountId first = accountIdGenerator.newId();
+    AccountId second = accountIdGenerator.newId();
+    List<AccountEvent> events = interleavedPoll(first, second);
+    IllegalStateException poison = new IllegalStateException("version gap");
+    doThrow(new IllegalStateException("batch rolled back"))
+        .when(accountBalanceProjector)
+        .projectAll(any());
+    doThrow(poison).when(accountBalanceProjector).project(List.of(events.get(2)));
+    doThrow(new IllegalStateException("later gap"))
+        .when(accountBalanceProjector)
+        .project(List.of(events.get(3)));
+
+    // Act ... Assert
+    assertThatExceptionOfType(BatchListenerFailedException.class)
+        .isThrownBy(() -> dispatcher(true, 2).project(events, duplicates))
+        .satisfies(
+            e ->
+                assertAll(
+                    () -> assertThat(e.getIndex()).isEqualTo(2),
+                    () -> assertThat(e.getCause()).isSameAs(poison)));
+    verify(accountBalanceProjector).project(List.of(events.get(0)));
+  }
+
+  @Test
+  void project_should_rethrow_failure_when_no_event_fails_on_its_own() {
+    // Arrange
+    AccountId first = accountIdGenerator.newId();
+    AccountId second = accountIdGenerator.newId();
+    List<AccountEvent> events = interleavedPoll(first, second);
+    IllegalStateException transientFailure = new IllegalStateException("connection reset");
+    doThrow(transientFailure).when(accountBalanceProjector).projectAll(any());
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> dispatcher(true, 2).project(events, duplicates))
+        .isSameAs(transientFailure);
+    events.forEach(event -> verify(accountBalanceProjector).project(List.of(event)));
+  }
+
+  @Test
+  void constructor_should_reject_non_positive_workers() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> dispatcher(true, 0))
+        .withMessageContaining("account.projection.key-ordered.workers")
+        .withMessageContaining("> 0");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void project_should_store_checkpoint_with_whole_poll_in_one_call() {
+    // Arrange
+    AccountId first = accountIdGenerator.newId();
+    AccountId second = accountIdGenerator.newId();
+    List<AccountEvent> events = interleavedPoll(first, second);
+    ProjectionCheckpoint checkpoint = new ProjectionCheckpoint("topic", Map.of(0, 4L));
+    ArgumentCaptor<Collection<List<AccountEvent>>> callCaptor =
+        ArgumentCaptor.forClass(Collection.class);
+
+    // Act
+    dispatcher(false, 4).project(events, checkpoint, duplicates);
+
+    // Assert
+    verify(accountBalanceProjector).projectAll(callCaptor.capture(), eq(checkpoint));
+    verify(accountBalanceProjector, never()).projectAll(any());
+    assertThat(callCaptor.getValue())
+        .containsExactly(
+            List.of(events.get(0), events.get(2)), List.of(events.get(1), events.get(3)));
+  }
+
+  @Test
+  void project_should_project_one_by_one_without_checkpoint_when_checkpointed_poll_fails() {
+    // Arrange
+    AccountId first = accountIdGenerator.newId();
+    AccountId second = accountIdGenerator.newId();
+    List<AccountEvent> events = interleavedPoll(first, second);
+    ProjectionCheckpoint checkpoint = new ProjectionCheckpoint("topic", Map.of(0, 4L));
+    IllegalStateException poison = new IllegalStateException("version gap");
+    doThrow(new IllegalStateException("batch rolled back"))
+        .when(accountBalanceProjector)
+        .projectAll(any(), eq(checkpoint));
+    doThrow(poison).when(accountBalanceProjector).project(List.of(events.get(1)));
+
+    // Act ... Assert
+    assertThatExceptionOfType(BatchListenerFailedException.class)
+        .isThrownBy(() -> dispatcher(false, 4).project(events, checkpoint, duplicates))
+        .satisfies(e -> assertThat(e.getIndex()).isEqualTo(1));
+    verify(accountBalanceProjector).project(List.of(events.get(0)));
+  }
+
+  @Test
+  void project_should_collect_duplicates_reported_before_failing_event() {
+    // Arrange
+    AccountId first = accountIdGenerator.newId();
+    AccountId second = accountIdGenerator.newId();
+    List<AccountEvent> events = interleavedPoll(first, second);
+    EventId redelivered = events.get(0).eventId();
+    doThrow(new IllegalStateException("batch rolled back"))
+        .when(accountBalanceProjector)
+        .projectAll(any());
+    when(accountBalanceProjector.project(List.of(events.get(0)))).thenReturn(Set.of(redelivered));
+    doThrow(new IllegalStateException("version gap"))
+        .when(accountBalanceProjector)
+        .project(List.of(events.get(1)));
+
+    // Act ... Assert
+    assertThatExceptionOfType(BatchListenerFailedException.class)
+        .isThrownBy(() -> dispatcher(false, 4).project(events, duplicates))
+        .satisfies(e -> assertThat(e.getIndex()).isEqualTo(1));
+    assertThat(duplicates).containsExactly(redelivered);
+  }
+
+  @Test
+  void project_should_collect_duplicates_of_every_worker() {
+    // Arrange
+    AccountId first = accountIdGenerator.newId();
+    AccountId second = accountIdGenerator.newId();
+    List<AccountEvent> events = interleavedPoll(first, second);
+    when(accountBalanceProjector.projectAll(any()))
+        .thenAnswer(
+            invocation -> {
+              Collection<List<AccountEvent>> call = invocation.getArgument(0);
+              return call.stream()
+                  .map(accountEvents -> accountEvents.getFirst().eventId())
+                  .collect(toSet());
+            });
+
+    // Act
+    dispatcher(true, 64).project(events, duplicates);
+
+    // Assert
+    assertThat(duplicates)
+        .containsExactlyInAnyOrder(events.get(0).eventId(), events.get(1).eventId());
+  }
+
+  @Test
+  void constructor_should_reject_key_ordered_mode_with_database_offsets() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountProjectionDispatcher(
+                    accountBalanceProjector, meterRegistry, true, 4, true))
+        .withMessageContaining("account.projection.key-ordered.enabled")
+        .withMessageContaining("account.projection.database-offsets.enabled");
+  }
+}
@@ -0,0 +1,173 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class ProjectionLatencyMetricsTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-01T10:00:10Z");
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ProjectionLatencyMetrics projectionLatencyMetrics =
+      new ProjectionLatencyMetrics(meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+  private AccountEvent openedAt(Instant occurredAt) {
+    return new AccountOpened(
+        AccountEventMeta.of(eventIdGenerator.newId(), accountIdGenerator.newId(), occurredAt, 1L),
+        SupportedCurrency.USD,
+        Money.of(BigDecimal.TEN, SupportedCurrency.USD));
+  }
+
+  private static ConsumerRecord<String, Object> recordAt(int partition, Instant timestamp) {
+    return new ConsumerRecord<>(
+        "wealthpay.AccountEvent",
+        partition,
+        0L,
+        timestamp.toEpochMilli(),
+        TimestampType.CREATE_TIME,
+        -1,
+        -1,
+        "key",
+        "value",
+        new RecordHeaders(),
+        Optional.empty());
+  }
+
+  private double gauge(String name, int partition) {
+    return meterRegistry.get(name).tag("partition", Integer.toString(partition)).gauge().value();
+  }
+
+  @Test
+  void projected_should_record_event_and_record_latencies_up_to_now() {
+    // Arrange
+    List<AccountEvent> events =
+        List.of(openedAt(NOW.minusSeconds(4)), openedAt(NOW.minusSeconds(2)));
+    List<ConsumerRecord<String, Object>> records =
+        List.of(recordAt(0, NOW.minusSeconds(3)), recordAt(0, NOW.minusSeconds(1)));
+
+    // Act
+    projectionLatencyMetrics.projected(records, events, Set.of());
+
+    // Assert
+    var eventLatency = meterRegistry.timer(ProjectionLatencyMetrics.EVENT_LATENCY_METRIC);
+    var recordLatency = meterRegistry.timer(ProjectionLatencyMetrics.RECORD_LATENCY_METRIC);
+    assertAll(
+        () -> assertThat(eventLatency.count()).isEqualTo(2),
+        () -> assertThat(eventLatency.max(TimeUnit.SECONDS)).isEqualTo(4.0),
+        () -> assertThat(recordLatency.count()).isEqualTo(2),
+        () -> assertThat(recordLatency.totalTime(TimeUnit.SECONDS)).isEqualTo(4.0));
+  }
+
+  @Test
+  void projected_should_not_measure_events_already_projected_by_an_earlier_delivery() {
+    // Arrange
+    AccountEvent redelivered = openedAt(NOW.minusSeconds(60));
+    List<AccountEvent> events = List.of(redelivered, openedAt(NOW.minusSeconds(2)));
+    List<ConsumerRecord<String, Object>> records =
+        List.of(recordAt(0, NOW.minusSeconds(59)), recordAt(0, NOW.minusSeconds(1)));
+
+    // Act
+    projectionLatencyMetrics.projected(records, events, Set.of(redelivered.eventId()));
+
+    // Assert
+    var eventLatency = meterRegistry.timer(ProjectionLatencyMetrics.EVENT_LATENCY_METRIC);
+    assertAll(
+        () -> assertThat(eventLatency.count()).isEqualTo(1),
+        () -> assertThat(eventLatency.max(TimeUnit.SECONDS)).isEqualTo(2.0),
+        () -> assertThat(gauge(ProjectionLatencyMetrics.EVENT_LAG_METRIC, 0)).isEqualTo(2.0));
+  }
+
+  @Test
+  void projected_should_export_last_projection_and_event_lag_per_partition() {
+    // Arrange
+    List<AccountEvent> events =
+        List.of(
+            openedAt(NOW.minusSeconds(9)),
+            openedAt(NOW.minusSeconds(5)),
+            openedAt(NOW.minusSeconds(7)));
+    List<ConsumerRecord<String, Object>> records =
+        List.of(recordAt(0, NOW), recordAt(1, NOW), recordAt(0, NOW));
+
+    // Act
+    projectionLatencyMetrics.projected(records, events, Set.of());
+
+    // Assert
+    assertAll(
+        () ->
+            assertThat(gauge(ProjectionLatencyMetrics.LAST_PROJECTED_METRIC, 0))
+                .isEqualTo(NOW.getEpochSecond()),
+        () -> assertThat(gauge(ProjectionLatencyMetrics.EVENT_LAG_METRIC, 0)).isEqualTo(7.0),
+        () -> assertThat(gauge(ProjectionLatencyMetrics.EVENT_LAG_METRIC, 1)).isEqualTo(5.0));
+  }
+
+  @Test
+  void projected_should_not_record_negative_latency_under_clock_skew() {
+    // Act
+    projectionLatencyMetrics.projected(
+        List.of(recordAt(0, NOW.plusSeconds(1))), List.of(openedAt(NOW.plusSeconds(2))), Set.of());
+
+    // Assert
+    assertAll(
+        () ->
+            assertThat(
+                    meterRegistry
+                        .timer(ProjectionLatencyMetrics.EVENT_LATENCY_METRIC)
+                        .totalTime(TimeUnit.SECONDS))
+                .isZero(),
+        () -> assertThat(gauge(ProjectionLatencyMetrics.EVENT_LAG_METRIC, 0)).isZero());
+  }
+
+  @Test
+  void release_should_remove_gauges_of_revoked_partitions_only() {
+    // Arrange
+    projectionLatencyMetrics.projected(
+        List.of(recordAt(0, NOW), recordAt(1, NOW)),
+        List.of(openedAt(NOW), openedAt(NOW)),
+        Set.of());
+
+    // Act
+    projectionLatencyMetrics.release(List.of(0));
+
+    // Assert
+    assertAll(
+        () ->
+            assertThat(
+                    meterRegistry
+                        .find(ProjectionLatencyMetrics.EVENT_LAG_METRIC)
+                        .tag("partition", "0")
+                        .gauge())
+                .isNull(),
+        () ->
+            assertThat(
+                    meterRegistry
+                        .find(ProjectionLatencyMetrics.LAST_PROJECTED_METRIC)
+                        .tag("partition", "1")
+                        .gauge())
+                .isNotNull());
+  }
+}
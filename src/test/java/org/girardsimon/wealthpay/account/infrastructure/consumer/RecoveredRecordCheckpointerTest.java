@@ -0,0 +1,175 @@
+package org.girardsimon.wealthpay.account.infrastructure.consumer;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
+import org.girardsimon.wealthpay.account.application.ProjectionOwnership;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.infrastructure.consumer.mapper.AccountEventDeserializer;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+
+class RecoveredRecordCheckpointerTest {
+
+  private static final String ACCOUNT_EVENT_TOPIC = "wealthpay.AccountEvent";
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+
+  private final InMemoryProjectionOffsetStore projectionOffsetStore =
+      new InMemoryProjectionOffsetStore();
+
+  private final RecoveredRecordCheckpointer recoveredRecordCheckpointer =
+      new RecoveredRecordCheckpointer(projectionOffsetStore);
+
+  private static ConsumerRecord<String, Object> consumerRecord(int partition, long offset) {
+    return new ConsumerRecord<>(ACCOUNT_EVENT_TOPIC, partition, offset, "key", "value");
+  }
+
+  private AccountEvent accountOpened() {
+    return new AccountOpened(
+        AccountEventMeta.of(
+            eventIdGenerator.newId(), accountIdGenerator.newId(), Instant.now(), 1L),
+        SupportedCurrency.USD,
+        Money.of(BigDecimal.TEN, SupportedCurrency.USD));
+  }
+
+  private AccountOutboxConsumer databaseOffsetsConsumer(
+      AccountProjectionDispatcher dispatcher, AccountEventDeserializer deserializer) {
+    return new AccountOutboxConsumer(
+        dispatcher,
+        deserializer,
+        mock(ProjectionOwnership.class),
+        projectionOffsetStore,
+        new ProjectionLatencyMetrics(new SimpleMeterRegistry(), Clock.systemUTC()),
+        true);
+  }
+
+  @Test
+  void onPartitionsAssigned_should_seek_past_record_recovered_to_dead_letter_topic() {
+    // Arrange
+    AccountProjectionDispatcher dispatcher = mock(AccountProjectionDispatcher.class);
+    doAnswer(
+            invocation -> {
+              projectionOffsetStore.save(invocation.getArgument(1));
+              return null;
+            })
+        .when(dispatcher)
+        .project(anyList(), any(ProjectionCheckpoint.class), anySet());
+    AccountEventDeserializer deserializer = mock(AccountEventDeserializer.class);
+    ConsumerRecord<String, Object> valid = consumerRecord(0, 7L);
+    ConsumerRecord<String, Object> poison = consumerRecord(0, 8L);
+    IllegalArgumentException poisonFailure = new IllegalArgumentException("poison");
+    when(deserializer.apply(valid)).thenReturn(accountOpened());
+    when(deserializer.apply(poison)).thenThrow(poisonFailure);
+    AccountOutboxConsumer consumer = databaseOffsetsConsumer(dispatcher, deserializer);
+    assertThatExceptionOfType(BatchListenerFailedException.class)
+        .isThrownBy(() -> consumer.consumeAccountEventOutbox(List.of(valid, poison)));
+    ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+
+    // Act
+    recoveredRecordCheckpointer.recovered(poison, poisonFailure);
+    databaseOffsetsConsumer(dispatcher, deserializer)
+        .onPartitionsAssigned(Map.of(new TopicPartition(ACCOUNT_EVENT_TOPIC, 0), 0L), callback);
+
+    // Assert
+    verify(callback).seek(ACCOUNT_EVENT_TOPIC, 0, 9L);
+  }
+
+  @Test
+  void recovered_should_store_position_after_last_record_of_each_partition_of_recovered_batch() {
+    // Arrange
+    ConsumerRecords<String, Object> consumerRecords =
+        new ConsumerRecords<>(
+            Map.of(
+                new TopicPartition(ACCOUNT_EVENT_TOPIC, 0),
+                List.of(consumerRecord(0, 4L), consumerRecord(0, 5L)),
+                new TopicPartition(ACCOUNT_EVENT_TOPIC, 1),
+                List.of(consumerRecord(1, 2L))),
+            Map.of());
+
+    // Act
+    recoveredRecordCheckpointer.recovered(consumerRecords, new IllegalStateException("failure"));
+
+    // Assert
+    ConsumerSeekCallback callback = mock(ConsumerSeekCallback.class);
+    databaseOffsetsConsumer(
+            mock(AccountProjectionDispatcher.class), mock(AccountEventDeserializer.class))
+        .onPartitionsAssigned(
+            Map.of(
+                new TopicPartition(ACCOUNT_EVENT_TOPIC, 0), 0L,
+                new TopicPartition(ACCOUNT_EVENT_TOPIC, 1), 0L),
+            callback);
+    verify(callback).seek(ACCOUNT_EVENT_TOPIC, 0, 6L);
+    verify(callback).seek(ACCOUNT_EVENT_TOPIC, 1, 3L);
+  }
+
+  @Test
+  void recovered_should_not_fail_recovery_when_position_cannot_be_stored() {
+    // Arrange
+    ProjectionOffsetStore failingStore = mock(ProjectionOffsetStore.class);
+    ProjectionCheckpoint checkpoint = new ProjectionCheckpoint(ACCOUNT_EVENT_TOPIC, Map.of(0, 9L));
+    doThrow(new IllegalStateException("database down")).when(failingStore).save(checkpoint);
+
+    // Act
+    new RecoveredRecordCheckpointer(failingStore)
+        .recovered(consumerRecord(0, 8L), new IllegalArgumentException("poison"));
+
+    // Assert
+    verify(failingStore).save(checkpoint);
+  }
+
+  /** Keeps the highest position per partition, like the {@code projection_offsets} upsert. */
+  private static final class InMemoryProjectionOffsetStore implements ProjectionOffsetStore {
+
+    private final Map<String, Map<Integer, Long>> nextOffsetsByTopic = new HashMap<>();
+
+    @Override
+    public Map<Integer, Long> nextOffsets(String topic, Collection<Integer> partitions) {
+      Map<Integer, Long> stored = nextOffsetsByTopic.getOrDefault(topic, Map.of());
+      Map<Integer, Long> nextOffsets = new HashMap<>();
+      partitions.stream()
+          .filter(stored::containsKey)
+          .forEach(partition -> nextOffsets.put(partition, stored.get(partition)));
+      return nextOffsets;
+    }
+
+    @Override
+    public void save(ProjectionCheckpoint checkpoint) {
+      Map<Integer, Long> stored =
+          nextOffsetsByTopic.computeIfAbsent(checkpoint.topic(), _ -> new HashMap<>());
+      checkpoint
+          .nextOffsets()
+          .forEach((partition, offset) -> stored.merge(partition, offset, Math::max));
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.girardsimon.wealthpay.account.application.AccountProjectionWatcher;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.infrastructure.cache.CaffeineAccountBalanceCache;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Notifications are only delivered once the notifying transaction commits: no test transaction
+@JooqTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountBalanceChangeListenerTest extends AbstractContainerTest {
+
+  @Autowired private DSLContext dslContext;
+  @Autowired private DataSource dataSource;
+
+  private final CaffeineAccountBalanceCache cache =
+      new CaffeineAccountBalanceCache(true, 1_000, 1_000, new SimpleMeterRegistry());
+
+  private AccountBalanceChangeNotifier notifier;
+  private AccountBalanceChangeListener listener;
+
+  @BeforeEach
+  void startListener() {
+    notifier = new AccountBalanceChangeNotifier(dslContext, true);
+    listener = new AccountBalanceChangeListener(dataSource, cache, new AccountProjectionWatcher());
+    listener.start();
+    assertThat(await(listener::isListening)).isTrue();
+  }
+
+  @AfterEach
+  void stopListener() {
+    listener.stop();
+  }
+
+  private static boolean await(BooleanSupplier condition) {
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+    while (!condition.getAsBoolean() && Instant.now().isBefore(deadline)) {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    return condition.getAsBoolean();
+  }
+
+  private static AccountBalanceView viewAt(AccountId accountId, long version) {
+    Money amount = Money.of(BigDecimal.TEN, SupportedCurrency.USD);
+    return new AccountBalanceView(accountId, amount, amount, "OPENED", version);
+  }
+
+  @Test
+  void notifyWritten_should_invalidate_older_views_of_every_notified_account() {
+    // Arrange
+    // Enough accounts for the payload to be split over several notifications
+    List<AccountId> accountIds =
+        IntStream.range(0, 300).mapToObj(_ -> AccountId.of(UUID.randomUUID())).toList();
+    AccountId current = accountIds.getFirst();
+    AccountId unrelated = AccountId.of(UUID.randomUUID());
+    accountIds.forEach(accountId -> cache.put(viewAt(accountId, 1L)));
+    cache.put(viewAt(unrelated, 1L));
+    Map<UUID, Long> versions = new LinkedHashMap<>();
+    accountIds.forEach(accountId -> versions.put(accountId.id(), 2L));
+    versions.put(current.id(), 1L);
+
+    // Act
+    notifier.notifyWritten(versions);
+
+    // Assert
+    AccountId last = accountIds.getLast();
+    assertAll(
+        () -> assertThat(await(() -> cache.get(last).isEmpty())).isTrue(),
+        () ->
+            assertThat(accountIds.subList(1, accountIds.size()))
+                .allMatch(accountId -> cache.get(accountId).isEmpty()),
+        () -> assertThat(cache.get(current)).contains(viewAt(current, 1L)),
+        () -> assertThat(cache.get(unrelated)).contains(viewAt(unrelated, 1L)));
+  }
+
+  @Test
+  void notifyReplaced_should_invalidate_every_view() {
+    // Arrange
+    AccountId accountId = AccountId.of(UUID.randomUUID());
+    cache.put(viewAt(accountId, 1L));
+
+    // Act
+    notifier.notifyReplaced();
+
+    // Assert
+    assertThat(await(() -> cache.get(accountId).isEmpty())).isTrue();
+  }
+
+  @Test
+  void apply_should_invalidate_every_view_when_payload_is_malformed() {
+    // Arrange
+    AccountId accountId = AccountId.of(UUID.randomUUID());
+    cache.put(viewAt(accountId, 1L));
+
+    // Act
+    listener.apply("not-an-account:2");
+
+    // Assert
+    assertThat(cache.get(accountId)).isEmpty();
+  }
+
+  @Test
+  void listen_should_invalidate_cache_and_listen_again_when_cache_fails() {
+    // Arrange
+    CaffeineAccountBalanceCache failingOnce =
+        spy(new CaffeineAccountBalanceCache(true, 1_000, 1_000, new SimpleMeterRegistry()));
+    doThrow(new IllegalStateException("cache failure"))
+        .doCallRealMethod()
+        .when(failingOnce)
+        .invalidate(any(AccountId.class), anyLong());
+    AccountBalanceChangeListener recovering =
+        new AccountBalanceChangeListener(dataSource, failingOnce, new AccountProjectionWatcher());
+    AccountId failed = AccountId.of(UUID.randomUUID());
+    AccountId next = AccountId.of(UUID.randomUUID());
+    recovering.start();
+    try {
+      assertThat(await(recovering::isListening)).isTrue();
+      failingOnce.put(viewAt(failed, 1L));
+
+      // Act
+      notifier.notifyWritten(Map.of(failed.id(), 2L));
+      boolean stoppedListening = await(() -> !recovering.isListening());
+      boolean listeningAgain = await(recovering::isListening);
+      failingOnce.put(viewAt(next, 1L));
+      notifier.notifyWritten(Map.of(next.id(), 2L));
+
+      // Assert
+      assertAll(
+          () -> assertThat(stoppedListening).isTrue(),
+          () -> assertThat(listeningAgain).isTrue(),
+          () -> assertThat(failingOnce.get(failed)).isEmpty(),
+          () -> assertThat(await(() -> failingOnce.get(next).isEmpty())).isTrue());
+    } finally {
+      recovering.stop();
+    }
+  }
+
+  @Test
+  void notifyWritten_should_send_nothing_when_disabled() {
+    // Arrange
+    AccountId accountId = AccountId.of(UUID.randomUUID());
+    AccountId marker = AccountId.of(UUID.randomUUID());
+    cache.put(viewAt(accountId, 1L));
+    cache.put(viewAt(marker, 1L));
+
+    // Act
+    new AccountBalanceChangeNotifier(dslContext, false).notifyWritten(Map.of(accountId.id(), 2L));
+    // Notifications are delivered in commit order: once the marker's is applied, so would be any
+    notifier.notifyWritten(Map.of(marker.id(), 2L));
+
+    // Assert
+    assertAll(
+        () -> assertThat(await(() -> cache.get(marker).isEmpty())).isTrue(),
+        () -> assertThat(cache.get(accountId)).contains(viewAt(accountId, 1L)));
+  }
+}
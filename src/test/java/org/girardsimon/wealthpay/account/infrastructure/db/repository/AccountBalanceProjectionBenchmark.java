@@ -0,0 +1,223 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.application.AccountBalanceStream;
+import org.girardsimon.wealthpay.account.application.AccountProjectionWatcher;
+import org.girardsimon.wealthpay.account.application.metric.AccountBalanceStreamMetrics;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.infrastructure.cache.CaffeineAccountBalanceCache;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountBalanceViewEntryToDomainMapper;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Before/after latency benchmark for a consumer batch: {@link ProjectionPath#PER_ACCOUNT} ({@link
+ * AccountBalanceReadModel#project} once per account, one SELECT and one upsert each) against {@link
+ * ProjectionPath#SET_BASED} ({@link AccountBalanceReadModel#projectAll} with a cold {@link
+ * ProjectionStateCache}, two statements per batch) and {@link ProjectionPath#CACHED} (accounts
+ * assigned to a consumed partition, so the read is served from the cache: one upsert per batch).
+ * Each batch credits {@code batchSize} distinct accounts once, the worst case for the per-account
+ * path and the common case after a consumer outage.
+ *
+ * <p>Not picked up by the default surefire run (class name does not end in {@code Test}). Run
+ * explicitly against the Testcontainers Postgres:
+ *
+ * <pre>{@code
+ * ./mvnw test -Dtest=AccountBalanceProjectionBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * }</pre>
+ *
+ * Each batch commits in its own transaction, as the consumer does. Results (statements per batch,
+ * p50/p99 per batch, events per second) are logged at INFO; only the relative difference between
+ * the two paths is meaningful on a local container.
+ */
+@JooqTest
+@Import(AccountBalanceViewEntryToDomainMapper.class)
+class AccountBalanceProjectionBenchmark extends AbstractContainerTest {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(AccountBalanceProjectionBenchmark.class);
+
+  private static final int MEASURED_EVENTS = 20_000;
+  private static final int WARMUP_BATCHES = 3;
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+
+  @Autowired private DSLContext dsl;
+  @Autowired private AccountBalanceViewEntryToDomainMapper accountBalanceViewEntryToDomainMapper;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  static Stream<Arguments> projectionCases() {
+    return Stream.of(ProjectionPath.values())
+        .flatMap(path -> Stream.of(1, 100, 10_000).map(batchSize -> Arguments.of(path, batchSize)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("projectionCases")
+  void project_batch_latency(ProjectionPath projectionPath, int batchSize) {
+    // Arrange
+    AtomicLong statements = new AtomicLong();
+    DSLContext countingDsl =
+        DSL.using(
+            dsl.configuration()
+                .derive(
+                    new DefaultExecuteListenerProvider(
+                        new ExecuteListener() {
+                          @Override
+                          public void executeStart(ExecuteContext ctx) {
+                            statements.incrementAndGet();
+                          }
+                        })));
+    ProjectionStateCache projectionStateCache =
+        new ProjectionStateCache(MEASURED_EVENTS, new SimpleMeterRegistry());
+    AccountBalanceReadModel readModel =
+        new AccountBalanceReadModel(
+            countingDsl,
+            accountBalanceViewEntryToDomainMapper,
+            projectionStateCache,
+            new AccountProjectionWatcher(),
+            new ProjectionOffsetRepository(countingDsl),
+            new ProjectionStalenessSampler(
+                countingDsl, new SimpleMeterRegistry(), Clock.systemUTC(), 0.0),
+            new AccountBalanceStream(
+                new AccountBalanceStreamMetrics(new SimpleMeterRegistry()), 16),
+            new CaffeineAccountBalanceCache(
+                false, MEASURED_EVENTS, MEASURED_EVENTS, new SimpleMeterRegistry()),
+            new AccountBalanceChangeNotifier(countingDsl, false));
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    List<AccountId> accountIds = openAccounts(readModel, txTemplate, batchSize);
+    if (projectionPath == ProjectionPath.CACHED) {
+      accountIds.forEach(accountId -> projectionStateCache.assign(accountId, 0));
+    }
+    long[] versions = new long[batchSize];
+    Arrays.fill(versions, 1L);
+
+    for (int i = 0; i < WARMUP_BATCHES; i++) {
+      projectBatch(projectionPath, readModel, txTemplate, creditBatch(accountIds, versions));
+    }
+    statements.set(0);
+
+    // Act
+    int batches = Math.max(MEASURED_EVENTS / batchSize, 5);
+    long[] latencies = new long[batches];
+    for (int i = 0; i < batches; i++) {
+      List<List<AccountEvent>> batch = creditBatch(accountIds, versions);
+      long start = System.nanoTime();
+      projectBatch(projectionPath, readModel, txTemplate, batch);
+      latencies[i] = System.nanoTime() - start;
+    }
+
+    // Assert
+    Arrays.sort(latencies);
+    double statementsPerBatch = (double) statements.get() / batches;
+    double totalSeconds = Arrays.stream(latencies).sum() / 1e9;
+    log.info(
+        "project path={} batchSize={} batches={} statements/batch={} p50={}us p99={}us"
+            + " events/s={}",
+        projectionPath,
+        batchSize,
+        batches,
+        statementsPerBatch,
+        latencies[batches / 2] / 1_000,
+        latencies[(int) (batches * 0.99)] / 1_000,
+        (long) (batches * (double) batchSize / totalSeconds));
+    assertThat(statementsPerBatch)
+        .isEqualTo(
+            switch (projectionPath) {
+              case PER_ACCOUNT -> 2.0 * batchSize;
+              case SET_BASED -> 2.0;
+              case CACHED -> 1.0;
+            });
+  }
+
+  private static void projectBatch(
+      ProjectionPath projectionPath,
+      AccountBalanceReadModel readModel,
+      TransactionTemplate txTemplate,
+      List<List<AccountEvent>> batch) {
+    txTemplate.executeWithoutResult(
+        _ -> {
+          switch (projectionPath) {
+            case PER_ACCOUNT -> batch.forEach(readModel::project);
+            case SET_BASED, CACHED -> readModel.projectAll(batch);
+          }
+        });
+  }
+
+  private List<AccountId> openAccounts(
+      AccountBalanceReadModel readModel, TransactionTemplate txTemplate, int count) {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    List<AccountId> accountIds = new ArrayList<>(count);
+    List<List<AccountEvent>> batch = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      AccountId accountId = accountIdGenerator.newId();
+      accountIds.add(accountId);
+      batch.add(
+          List.of(
+              new AccountOpened(
+                  AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+                  usd,
+                  Money.of(BigDecimal.TEN, usd))));
+    }
+    txTemplate.executeWithoutResult(_ -> readModel.projectAll(batch));
+    return accountIds;
+  }
+
+  private List<List<AccountEvent>> creditBatch(List<AccountId> accountIds, long[] versions) {
+    List<List<AccountEvent>> batch = new ArrayList<>(accountIds.size());
+    for (int i = 0; i < accountIds.size(); i++) {
+      versions[i]++;
+      batch.add(
+          List.of(
+              new FundsCredited(
+                  AccountEventMeta.of(
+                      eventIdGenerator.newId(), accountIds.get(i), Instant.now(), versions[i]),
+                  TransactionId.of(UUID.randomUUID()),
+                  Money.of(BigDecimal.ONE, SupportedCurrency.USD))));
+    }
+    return batch;
+  }
+
+  enum ProjectionPath {
+    PER_ACCOUNT,
+    SET_BASED,
+    CACHED
+  }
+}
@@ -4,17 +4,33 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.girardsimon.wealthpay.account.jooq.tables.AccountBalanceView.ACCOUNT_BALANCE_VIEW;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.application.AccountBalanceCache;
+import org.girardsimon.wealthpay.account.application.AccountBalanceStream;
+import org.girardsimon.wealthpay.account.application.AccountBalanceSubscription;
+import org.girardsimon.wealthpay.account.application.AccountProjectionWatcher;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
+import org.girardsimon.wealthpay.account.application.metric.AccountBalanceStreamMetrics;
 import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
 import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
@@ -25,8 +41,10 @@ import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
 import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
 import org.girardsimon.wealthpay.account.domain.event.ReservationCanceled;
 import org.girardsimon.wealthpay.account.domain.event.ReservationCaptured;
+import org.girardsimon.wealthpay.account.domain.exception.AccountBalanceNotFoundException;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
 import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
 import org.girardsimon.wealthpay.account.domain.model.Money;
 import org.girardsimon.wealthpay.account.domain.model.ReservationId;
@@ -37,17 +55,30 @@ import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.Acc
 import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
 import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
 import org.girardsimon.wealthpay.account.testsupport.TestReservationIdGenerator;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
 import org.jooq.DSLContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
 @JooqTest
-@Import({AccountBalanceReadModel.class, AccountBalanceViewEntryToDomainMapper.class})
+@Import({
+  AccountBalanceReadModel.class,
+  AccountBalanceViewEntryToDomainMapper.class,
+  ProjectionStateCache.class,
+  ProjectionOffsetRepository.class,
+  ProjectionStalenessSampler.class,
+  AccountBalanceStream.class,
+  AccountBalanceStreamMetrics.class,
+  AccountBalanceChangeNotifier.class,
+  SimpleMeterRegistry.class,
+  TimeConfig.class
+})
 class AccountBalanceReadModelTest extends AbstractContainerTest {
 
   private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
@@ -58,6 +89,17 @@ class AccountBalanceReadModelTest extends AbstractContainerTest {
   @Autowired private PlatformTransactionManager transactionManager;
 
   @Autowired private AccountBalanceReadModel accountBalanceReadModel;
+  @Autowired private ProjectionStateCache projectionStateCache;
+  @Autowired private ProjectionOffsetStore projectionOffsetStore;
+  @Autowired private SimpleMeterRegistry meterRegistry;
+  @Autowired private AccountBalanceStream accountBalanceStream;
+
+  @MockitoBean private AccountProjectionWatcher accountProjectionWatcher;
+  @MockitoBean private AccountBalanceCache accountBalanceCache;
+
+  private double projectionCacheLookups(String result) {
+    return meterRegistry.counter(ProjectionStateCache.LOOKUP_METRIC, "result", result).count();
+  }
 
   @Test
   void getAccountBalance_should_returns_expected_account_balance_view() {
@@ -97,6 +139,66 @@ class AccountBalanceReadModelTest extends AbstractContainerTest {
         () -> assertThat(accountBalance.version()).isEqualTo(version));
   }
 
+  @Test
+  void findAccountVersion_should_return_view_version_or_empty_when_unknown() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    dslContext
+        .insertInto(ACCOUNT_BALANCE_VIEW)
+        .set(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID, accountId.id())
+        .set(ACCOUNT_BALANCE_VIEW.CURRENCY, "USD")
+        .set(ACCOUNT_BALANCE_VIEW.BALANCE, BigDecimal.TEN)
+        .set(ACCOUNT_BALANCE_VIEW.RESERVED, BigDecimal.ZERO)
+        .set(ACCOUNT_BALANCE_VIEW.STATUS, "OPENED")
+        .set(ACCOUNT_BALANCE_VIEW.VERSION, 5L)
+        .execute();
+
+    // Act ... Assert
+    assertAll(
+        () -> assertThat(accountBalanceReadModel.findAccountVersion(accountId)).contains(5L),
+        () ->
+            assertThat(accountBalanceReadModel.findAccountVersion(accountIdGenerator.newId()))
+                .isEmpty());
+  }
+
+  @Test
+  void getAccountBalances_should_return_existing_views_only() {
+    // Arrange
+    AccountId firstAccountId = accountIdGenerator.newId();
+    AccountId secondAccountId = accountIdGenerator.newId();
+    AccountId unknownAccountId = accountIdGenerator.newId();
+    for (AccountId accountId : List.of(firstAccountId, secondAccountId)) {
+      dslContext
+          .insertInto(ACCOUNT_BALANCE_VIEW)
+          .set(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID, accountId.id())
+          .set(ACCOUNT_BALANCE_VIEW.CURRENCY, "USD")
+          .set(ACCOUNT_BALANCE_VIEW.BALANCE, BigDecimal.TEN)
+          .set(ACCOUNT_BALANCE_VIEW.RESERVED, BigDecimal.ZERO)
+          .set(ACCOUNT_BALANCE_VIEW.STATUS, "OPENED")
+          .set(ACCOUNT_BALANCE_VIEW.VERSION, 1L)
+          .execute();
+    }
+
+    // Act
+    Map<AccountId, AccountBalanceView> accountBalances =
+        accountBalanceReadModel.getAccountBalances(
+            List.of(firstAccountId, unknownAccountId, secondAccountId, firstAccountId));
+
+    // Assert
+    assertAll(
+        () -> assertThat(accountBalances).containsOnlyKeys(firstAccountId, secondAccountId),
+        () -> assertThat(accountBalances.get(secondAccountId).version()).isOne(),
+        () ->
+            assertThat(accountBalances.get(firstAccountId).balance())
+                .isEqualTo(Money.of(BigDecimal.TEN, SupportedCurrency.USD)));
+  }
+
+  @Test
+  void getAccountBalances_should_return_empty_map_for_no_ids() {
+    // Act ... Assert
+    assertThat(accountBalanceReadModel.getAccountBalances(List.of())).isEmpty();
+  }
+
   @Test
   void project_update_account_balance_view_as_expected() {
     // Arrange
@@ -243,6 +345,483 @@ class AccountBalanceReadModelTest extends AbstractContainerTest {
         .isThrownBy(() -> accountBalanceReadModel.project(events));
   }
 
+  @Test
+  void projectAll_should_project_every_account_of_the_batch() {
+    // Arrange
+    AccountId firstAccountId = accountIdGenerator.newId();
+    AccountId secondAccountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    List<AccountEvent> firstAccountEvents =
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), firstAccountId, Instant.now(), 1L),
+                usd,
+                Money.of(BigDecimal.TEN, usd)),
+            new FundsCredited(
+                AccountEventMeta.of(eventIdGenerator.newId(), firstAccountId, Instant.now(), 2L),
+                TransactionId.of(UUID.randomUUID()),
+                Money.of(BigDecimal.ONE, usd)));
+    List<AccountEvent> secondAccountEvents =
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), secondAccountId, Instant.now(), 1L),
+                usd,
+                Money.of(BigDecimal.TEN, usd)));
+
+    // Act
+    accountBalanceReadModel.projectAll(List.of(firstAccountEvents, secondAccountEvents));
+
+    // Assert
+    AccountBalanceView firstBalance = accountBalanceReadModel.getAccountBalance(firstAccountId);
+    AccountBalanceView secondBalance = accountBalanceReadModel.getAccountBalance(secondAccountId);
+    assertAll(
+        () -> assertThat(firstBalance.version()).isEqualTo(2L),
+        () -> assertThat(firstBalance.balance().amount()).isEqualByComparingTo("11"),
+        () -> assertThat(secondBalance.version()).isEqualTo(1L),
+        () -> assertThat(secondBalance.balance().amount()).isEqualByComparingTo("10"));
+  }
+
+  @Test
+  void projectAll_should_skip_already_projected_events_and_advance_existing_rows() {
+    // Arrange
+    AccountId existingAccountId = accountIdGenerator.newId();
+    AccountId newAccountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    dslContext
+        .insertInto(ACCOUNT_BALANCE_VIEW)
+        .set(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID, existingAccountId.id())
+        .set(ACCOUNT_BALANCE_VIEW.CURRENCY, "USD")
+        .set(ACCOUNT_BALANCE_VIEW.BALANCE, new BigDecimal("11.0000"))
+        .set(ACCOUNT_BALANCE_VIEW.RESERVED, BigDecimal.ZERO)
+        .set(ACCOUNT_BALANCE_VIEW.STATUS, "OPENED")
+        .set(ACCOUNT_BALANCE_VIEW.VERSION, 2L)
+        .execute();
+    List<AccountEvent> existingAccountEvents =
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), existingAccountId, Instant.now(), 1L),
+                usd,
+                Money.of(BigDecimal.TEN, usd)),
+            new FundsCredited(
+                AccountEventMeta.of(eventIdGenerator.newId(), existingAccountId, Instant.now(), 2L),
+                TransactionId.of(UUID.randomUUID()),
+                Money.of(BigDecimal.ONE, usd)),
+            new FundsDebited(
+                AccountEventMeta.of(eventIdGenerator.newId(), existingAccountId, Instant.now(), 3L),
+                TransactionId.of(UUID.randomUUID()),
+                Money.of(new BigDecimal("4"), usd)));
+    List<AccountEvent> newAccountEvents =
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), newAccountId, Instant.now(), 1L),
+                usd,
+                Money.of(BigDecimal.TEN, usd)));
+
+    // Act
+    Set<EventId> firstDuplicates =
+        accountBalanceReadModel.projectAll(List.of(existingAccountEvents, newAccountEvents));
+    Set<EventId> secondDuplicates =
+        accountBalanceReadModel.projectAll(List.of(existingAccountEvents, newAccountEvents));
+
+    // Assert
+    AccountBalanceView existingBalance =
+        accountBalanceReadModel.getAccountBalance(existingAccountId);
+    AccountBalanceView newBalance = accountBalanceReadModel.getAccountBalance(newAccountId);
+    assertAll(
+        () ->
+            assertThat(firstDuplicates)
+                .containsExactlyInAnyOrder(
+                    existingAccountEvents.get(0).eventId(), existingAccountEvents.get(1).eventId()),
+        () ->
+            assertThat(secondDuplicates)
+                .containsExactlyInAnyOrderElementsOf(
+                    Stream.concat(existingAccountEvents.stream(), newAccountEvents.stream())
+                        .map(AccountEvent::eventId)
+                        .toList()),
+        () -> assertThat(existingBalance.version()).isEqualTo(3L),
+        () -> assertThat(existingBalance.balance().amount()).isEqualByComparingTo("7"),
+        () -> assertThat(newBalance.version()).isEqualTo(1L),
+        () -> assertThat(newBalance.balance().amount()).isEqualByComparingTo("10"));
+  }
+
+  @Test
+  void projectAll_should_roll_back_every_account_when_one_account_fails() {
+    // Arrange
+    AccountId validAccountId = accountIdGenerator.newId();
+    AccountId invalidAccountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    List<AccountEvent> validEvents =
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), validAccountId, Instant.now(), 1L),
+                usd,
+                Money.of(BigDecimal.TEN, usd)));
+    List<AccountEvent> nonContiguousEvents =
+        List.of(
+            new FundsCredited(
+                AccountEventMeta.of(eventIdGenerator.newId(), invalidAccountId, Instant.now(), 3L),
+                TransactionId.of(UUID.randomUUID()),
+                Money.of(BigDecimal.ONE, usd)));
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    // REQUIRES_NEW so the rollback is observable from the test transaction
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    List<List<AccountEvent>> batch = List.of(validEvents, nonContiguousEvents);
+
+    // Act
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () ->
+                txTemplate.executeWithoutResult(_ -> accountBalanceReadModel.projectAll(batch)));
+
+    // Assert
+    assertThatExceptionOfType(AccountBalanceNotFoundException.class)
+        .isThrownBy(() -> accountBalanceReadModel.getAccountBalance(validAccountId));
+  }
+
+  @Test
+  void projectAll_should_store_checkpoint_with_projected_rows() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    String topic = "wealthpay.AccountEvent." + UUID.randomUUID();
+    List<List<AccountEvent>> batch =
+        List.of(
+            List.of(
+                new AccountOpened(
+                    AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+                    usd,
+                    Money.of(BigDecimal.TEN, usd))));
+
+    // Act
+    accountBalanceReadModel.projectAll(batch, new ProjectionCheckpoint(topic, Map.of(0, 8L)));
+
+    // Assert
+    assertAll(
+        () -> assertThat(accountBalanceReadModel.getAccountBalance(accountId).version()).isOne(),
+        () ->
+            assertThat(projectionOffsetStore.nextOffsets(topic, List.of(0)))
+                .containsExactlyEntriesOf(Map.of(0, 8L)));
+  }
+
+  @Test
+  void projectAll_should_roll_back_checkpoint_with_rows_when_one_account_fails() {
+    // Arrange
+    AccountId validAccountId = accountIdGenerator.newId();
+    AccountId invalidAccountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    String topic = "wealthpay.AccountEvent." + UUID.randomUUID();
+    List<List<AccountEvent>> batch =
+        List.of(
+            List.of(
+                new AccountOpened(
+                    AccountEventMeta.of(
+                        eventIdGenerator.newId(), validAccountId, Instant.now(), 1L),
+                    usd,
+                    Money.of(BigDecimal.TEN, usd))),
+            List.of(
+                new FundsCredited(
+                    AccountEventMeta.of(
+                        eventIdGenerator.newId(), invalidAccountId, Instant.now(), 3L),
+                    TransactionId.of(UUID.randomUUID()),
+                    Money.of(BigDecimal.ONE, usd))));
+    ProjectionCheckpoint checkpoint = new ProjectionCheckpoint(topic, Map.of(0, 2L));
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    // REQUIRES_NEW so the rollback is observable from the test transaction
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    // Act
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () ->
+                txTemplate.executeWithoutResult(
+                    _ -> accountBalanceReadModel.projectAll(batch, checkpoint)));
+
+    // Assert
+    assertAll(
+        () ->
+            assertThatExceptionOfType(AccountBalanceNotFoundException.class)
+                .isThrownBy(() -> accountBalanceReadModel.getAccountBalance(validAccountId)),
+        () -> assertThat(projectionOffsetStore.nextOffsets(topic, List.of(0))).isEmpty());
+  }
+
+  @Test
+  void projectAll_should_fold_from_cached_state_committed_by_previous_batch() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    projectionStateCache.assign(accountId, 0);
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    // REQUIRES_NEW so the batches commit and the afterCommit callback fills the cache
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    List<List<AccountEvent>> openBatch =
+        List.of(
+            List.of(
+                new AccountOpened(
+                    AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+                    usd,
+                    Money.of(BigDecimal.TEN, usd))));
+    List<List<AccountEvent>> creditBatch =
+        List.of(
+            List.of(
+                new FundsCredited(
+                    AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 2L),
+                    TransactionId.of(UUID.randomUUID()),
+                    Money.of(BigDecimal.ONE, usd))));
+    txTemplate.executeWithoutResult(_ -> accountBalanceReadModel.projectAll(openBatch));
+    double hitsBefore = projectionCacheLookups("hit");
+
+    // Act
+    txTemplate.executeWithoutResult(_ -> accountBalanceReadModel.projectAll(creditBatch));
+
+    // Assert
+    AccountBalanceView accountBalance = accountBalanceReadModel.getAccountBalance(accountId);
+    assertAll(
+        () -> assertThat(projectionCacheLookups("hit")).isEqualTo(hitsBefore + 1),
+        () -> assertThat(accountBalance.version()).isEqualTo(2L),
+        () -> assertThat(accountBalance.balance().amount()).isEqualByComparingTo("11"));
+  }
+
+  @Test
+  void projectAll_should_report_projected_version_to_watcher_once_committed() {
+    // Arrange
+    AccountId committedAccountId = accountIdGenerator.newId();
+    AccountId rolledBackAccountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    // Act
+    txTemplate.executeWithoutResult(
+        _ ->
+            accountBalanceReadModel.projectAll(
+                List.of(
+                    List.of(
+                        new AccountOpened(
+                            AccountEventMeta.of(
+                                eventIdGenerator.newId(), committedAccountId, Instant.now(), 1L),
+                            usd,
+                            Money.of(BigDecimal.TEN, usd)))));
+    txTemplate.executeWithoutResult(
+        status -> {
+          accountBalanceReadModel.projectAll(
+              List.of(
+                  List.of(
+                      new AccountOpened(
+                          AccountEventMeta.of(
+                              eventIdGenerator.newId(), rolledBackAccountId, Instant.now(), 1L),
+                          usd,
+                          Money.of(BigDecimal.TEN, usd))));
+          status.setRollbackOnly();
+        });
+
+    // Assert
+    verify(accountProjectionWatcher).projected(committedAccountId, 1L);
+    verify(accountProjectionWatcher, never()).projected(rolledBackAccountId, 1L);
+  }
+
+  @Test
+  void projectAll_should_write_committed_views_through_to_balance_cache() {
+    // Arrange
+    AccountId committedAccountId = accountIdGenerator.newId();
+    AccountId rolledBackAccountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    // Act
+    txTemplate.executeWithoutResult(
+        _ ->
+            accountBalanceReadModel.projectAll(
+                List.of(
+                    List.of(
+                        new AccountOpened(
+                            AccountEventMeta.of(
+                                eventIdGenerator.newId(), committedAccountId, Instant.now(), 1L),
+                            usd,
+                            Money.of(BigDecimal.TEN, usd)))));
+    txTemplate.executeWithoutResult(
+        status -> {
+          accountBalanceReadModel.projectAll(
+              List.of(
+                  List.of(
+                      new AccountOpened(
+                          AccountEventMeta.of(
+                              eventIdGenerator.newId(), rolledBackAccountId, Instant.now(), 1L),
+                          usd,
+                          Money.of(BigDecimal.TEN, usd))));
+          status.setRollbackOnly();
+        });
+
+    // Assert
+    verify(accountBalanceCache)
+        .put(
+            argThat(
+                view ->
+                    view.accountId().equals(committedAccountId)
+                        && view.version() == 1L
+                        && view.balance().equals(Money.of(BigDecimal.TEN, usd))));
+    verify(accountBalanceCache, never())
+        .put(argThat(view -> view.accountId().equals(rolledBackAccountId)));
+  }
+
+  @Test
+  void projectAll_should_publish_committed_views_to_balance_stream_subscribers() throws Exception {
+    // Arrange
+    AccountId committedAccountId = accountIdGenerator.newId();
+    AccountId rolledBackAccountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    try (AccountBalanceSubscription committed = accountBalanceStream.subscribe(committedAccountId);
+        AccountBalanceSubscription rolledBack =
+            accountBalanceStream.subscribe(rolledBackAccountId)) {
+      // Act
+      txTemplate.executeWithoutResult(
+          _ ->
+              accountBalanceReadModel.projectAll(
+                  List.of(
+                      List.of(
+                          new AccountOpened(
+                              AccountEventMeta.of(
+                                  eventIdGenerator.newId(), committedAccountId, Instant.now(), 1L),
+                              usd,
+                              Money.of(BigDecimal.TEN, usd)))));
+      txTemplate.executeWithoutResult(
+          status -> {
+            accountBalanceReadModel.projectAll(
+                List.of(
+                    List.of(
+                        new AccountOpened(
+                            AccountEventMeta.of(
+                                eventIdGenerator.newId(), rolledBackAccountId, Instant.now(), 1L),
+                            usd,
+                            Money.of(BigDecimal.TEN, usd))));
+            status.setRollbackOnly();
+          });
+
+      // Assert
+      AccountBalanceView published = committed.next(Duration.ZERO).orElseThrow();
+      assertAll(
+          () -> assertThat(published.accountId()).isEqualTo(committedAccountId),
+          () -> assertThat(published.version()).isEqualTo(1L),
+          () -> assertThat(published.balance()).isEqualTo(Money.of(BigDecimal.TEN, usd)),
+          () -> assertThat(published.status()).isEqualTo("OPENED"),
+          () -> assertThat(rolledBack.next(Duration.ZERO)).isEmpty());
+    }
+  }
+
+  @Test
+  void project_should_publish_committed_view_to_balance_stream_subscribers() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    try (AccountBalanceSubscription subscription = accountBalanceStream.subscribe(accountId)) {
+      // Act
+      txTemplate.executeWithoutResult(
+          _ ->
+              accountBalanceReadModel.project(
+                  List.of(
+                      new AccountOpened(
+                          AccountEventMeta.of(
+                              eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+                          usd,
+                          Money.of(BigDecimal.TEN, usd)),
+                      new FundsCredited(
+                          AccountEventMeta.of(
+                              eventIdGenerator.newId(), accountId, Instant.now(), 2L),
+                          TransactionId.of(UUID.randomUUID()),
+                          Money.of(BigDecimal.ONE, usd)))));
+
+      // Assert
+      AccountBalanceView published = subscription.next(Duration.ZERO).orElseThrow();
+      assertAll(
+          () -> assertThat(published.version()).isEqualTo(2L),
+          () -> assertThat(published.balance()).isEqualTo(Money.of(BigDecimal.valueOf(11), usd)),
+          () -> assertThat(subscription.next(Duration.ZERO)).isEmpty());
+    }
+  }
+
+  @Test
+  void projectAll_should_publish_to_subscriber_that_arrives_before_commit() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    AtomicReference<AccountBalanceSubscription> lateSubscription = new AtomicReference<>();
+
+    // Act
+    txTemplate.executeWithoutResult(
+        _ -> {
+          accountBalanceReadModel.projectAll(
+              List.of(
+                  List.of(
+                      new AccountOpened(
+                          AccountEventMeta.of(
+                              eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+                          usd,
+                          Money.of(BigDecimal.TEN, usd)))));
+          // Subscribed after the upsert, before the commit: it read no row yet
+          lateSubscription.set(accountBalanceStream.subscribe(accountId));
+        });
+
+    // Assert
+    try (AccountBalanceSubscription subscription = lateSubscription.get()) {
+      assertThat(subscription.next(Duration.ZERO))
+          .hasValueSatisfying(view -> assertThat(view.version()).isEqualTo(1L));
+    }
+  }
+
+  @Test
+  void projectAll_should_fall_back_to_database_when_cached_state_is_rejected() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    projectionStateCache.assign(accountId, 0);
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    // REQUIRES_NEW so the batches commit and the afterCommit callback fills the cache
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    List<List<AccountEvent>> openBatch =
+        List.of(
+            List.of(
+                new AccountOpened(
+                    AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+                    usd,
+                    Money.of(BigDecimal.TEN, usd))));
+    List<List<AccountEvent>> creditBatch =
+        List.of(
+            List.of(
+                new FundsCredited(
+                    AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 2L),
+                    TransactionId.of(UUID.randomUUID()),
+                    Money.of(BigDecimal.ONE, usd))));
+    txTemplate.executeWithoutResult(_ -> accountBalanceReadModel.projectAll(openBatch));
+    // Row advanced behind the cache's back
+    txTemplate.executeWithoutResult(
+        _ ->
+            dslContext
+                .update(ACCOUNT_BALANCE_VIEW)
+                .set(ACCOUNT_BALANCE_VIEW.BALANCE, new BigDecimal("50.0000"))
+                .set(ACCOUNT_BALANCE_VIEW.VERSION, 2L)
+                .where(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID.eq(accountId.id()))
+                .execute());
+    double staleBefore = projectionCacheLookups("stale");
+
+    // Act
+    txTemplate.executeWithoutResult(_ -> accountBalanceReadModel.projectAll(creditBatch));
+
+    // Assert
+    AccountBalanceView accountBalance = accountBalanceReadModel.getAccountBalance(accountId);
+    assertAll(
+        () -> assertThat(projectionCacheLookups("stale")).isEqualTo(staleBefore + 1),
+        () -> assertThat(accountBalance.version()).isEqualTo(2L),
+        () -> assertThat(accountBalance.balance().amount()).isEqualByComparingTo("50"));
+  }
+
   @Test
   void project_should_be_idempotent() throws Exception {
     // Arrange
@@ -0,0 +1,185 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.girardsimon.wealthpay.account.jooq.tables.AccountBalanceView.ACCOUNT_BALANCE_VIEW;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.application.AccountBalanceStream;
+import org.girardsimon.wealthpay.account.application.AccountEventStore;
+import org.girardsimon.wealthpay.account.application.AccountProjectionWatcher;
+import org.girardsimon.wealthpay.account.application.metric.AccountBalanceStreamMetrics;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.exception.AccountBalanceNotFoundException;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.infrastructure.cache.CaffeineAccountBalanceCache;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountBalanceRebuilder.RebuildProgress;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountBalanceViewEntryToDomainMapper;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+// The rebuild runs its own transactions on worker threads and locks the view: no test transaction
+@JooqTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  AccountBalanceRebuilder.class,
+  AccountBalanceReadModel.class,
+  AccountBalanceViewEntryToDomainMapper.class,
+  ProjectionStateCache.class,
+  ProjectionOffsetRepository.class,
+  ProjectionStalenessSampler.class,
+  AccountProjectionWatcher.class,
+  AccountBalanceStream.class,
+  AccountBalanceStreamMetrics.class,
+  CaffeineAccountBalanceCache.class,
+  AccountBalanceChangeNotifier.class,
+  SimpleMeterRegistry.class,
+  AccountEventRepository.class,
+  EventStoreEntryToAccountEventMapper.class,
+  AccountEventSerializer.class,
+  TimeConfig.class,
+  ObjectMapper.class
+})
+class AccountBalanceRebuilderTest extends AbstractContainerTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+
+  @Autowired private DSLContext dslContext;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private AccountEventStore accountEventStore;
+  @Autowired private AccountBalanceReadModel accountBalanceReadModel;
+  @Autowired private AccountBalanceRebuilder accountBalanceRebuilder;
+
+  private void open(AccountId accountId, String initialBalance) {
+    SupportedCurrency usd = SupportedCurrency.USD;
+    accountEventStore.appendEvents(
+        accountId,
+        0L,
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+                usd,
+                Money.of(new BigDecimal(initialBalance), usd))));
+  }
+
+  private void insertViewRow(UUID accountId, String balance, long version) {
+    dslContext
+        .insertInto(ACCOUNT_BALANCE_VIEW)
+        .set(ACCOUNT_BALANCE_VIEW.ACCOUNT_ID, accountId)
+        .set(ACCOUNT_BALANCE_VIEW.CURRENCY, "USD")
+        .set(ACCOUNT_BALANCE_VIEW.BALANCE, new BigDecimal(balance))
+        .set(ACCOUNT_BALANCE_VIEW.RESERVED, BigDecimal.ZERO)
+        .set(ACCOUNT_BALANCE_VIEW.STATUS, "OPENED")
+        .set(ACCOUNT_BALANCE_VIEW.VERSION, version)
+        .execute();
+  }
+
+  @Test
+  void rebuild_should_replace_view_with_state_folded_from_event_store() {
+    // Arrange
+    AccountId creditedAccountId = accountIdGenerator.newId();
+    AccountId openedAccountId = accountIdGenerator.newId();
+    UUID unknownAccountId = UUID.randomUUID();
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    txTemplate.executeWithoutResult(
+        _ -> {
+          open(creditedAccountId, "10.00");
+          accountEventStore.appendEvents(
+              creditedAccountId,
+              1L,
+              List.of(
+                  new FundsCredited(
+                      AccountEventMeta.of(
+                          eventIdGenerator.newId(), creditedAccountId, Instant.now(), 2L),
+                      TransactionId.of(UUID.randomUUID()),
+                      Money.of(new BigDecimal("5.00"), SupportedCurrency.USD))));
+          open(openedAccountId, "20.00");
+          insertViewRow(creditedAccountId.id(), "999.00", 2L);
+          insertViewRow(unknownAccountId, "1.00", 1L);
+        });
+
+    // Act
+    RebuildProgress progress = accountBalanceRebuilder.rebuild();
+
+    // Assert
+    AccountBalanceView creditedBalance =
+        accountBalanceReadModel.getAccountBalance(creditedAccountId);
+    AccountBalanceView openedBalance = accountBalanceReadModel.getAccountBalance(openedAccountId);
+    assertAll(
+        () -> assertThat(progress.status()).isEqualTo(RebuildProgress.Status.SUCCEEDED),
+        () -> assertThat(progress.rangesCompleted()).isEqualTo(progress.rangesTotal()),
+        () -> assertThat(progress.accounts()).isGreaterThanOrEqualTo(2L),
+        () -> assertThat(creditedBalance.version()).isEqualTo(2L),
+        () -> assertThat(creditedBalance.balance().amount()).isEqualByComparingTo("15"),
+        () -> assertThat(openedBalance.version()).isEqualTo(1L),
+        () -> assertThat(openedBalance.balance().amount()).isEqualByComparingTo("20"),
+        () ->
+            assertThatExceptionOfType(AccountBalanceNotFoundException.class)
+                .isThrownBy(
+                    () ->
+                        accountBalanceReadModel.getAccountBalance(AccountId.of(unknownAccountId))));
+  }
+
+  @Test
+  void rangeBounds_should_cut_the_account_id_space_into_increasing_slices() {
+    // Act
+    List<UUID> bounds = AccountBalanceRebuilder.rangeBounds(4);
+
+    // Assert
+    assertAll(
+        () ->
+            assertThat(bounds)
+                .extracting(UUID::getMostSignificantBits)
+                .containsExactly(0L, 0x4000000000000000L, 0x8000000000000000L, 0xC000000000000000L),
+        () -> assertThat(bounds).extracting(UUID::getLeastSignificantBits).containsOnly(0L));
+  }
+
+  @Test
+  void constructor_should_throw_when_parallelism_is_not_positive() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountBalanceRebuilder(
+                    dslContext,
+                    null,
+                    transactionManager,
+                    null,
+                    null,
+                    null,
+                    new SimpleMeterRegistry(),
+                    0,
+                    64,
+                    5000))
+        .withMessageContaining("account.projection.rebuild.parallelism")
+        .withMessageContaining("> 0");
+  }
+}
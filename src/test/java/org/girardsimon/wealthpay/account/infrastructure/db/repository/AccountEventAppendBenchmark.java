@@ -0,0 +1,179 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountEventRepository.AppendStrategy;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Before/after latency benchmark for {@link AccountEventRepository#appendEvents} (event_store +
+ * outbox write): {@link AppendStrategy#SELECT_THEN_INSERT} (three round-trips) against {@link
+ * AppendStrategy#GUARDED_INSERT} (one).
+ *
+ * <p>Not picked up by the default surefire run (class name does not end in {@code Test}). Run
+ * explicitly against the Testcontainers Postgres:
+ *
+ * <pre>{@code
+ * ./mvnw test -Dtest=AccountEventAppendBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * }</pre>
+ *
+ * Each append commits in its own transaction so the timing includes the lock hold time the extra
+ * round-trips extend. Results (statements per append, p50/p99/mean) are logged at INFO. The
+ * absolute numbers reflect a local container, so only the relative difference is meaningful — the
+ * saved round-trip grows with real network latency between the service and the database.
+ */
+@JooqTest
+@Import({
+  EventStoreEntryToAccountEventMapper.class,
+  AccountEventSerializer.class,
+  TimeConfig.class,
+  ObjectMapper.class
+})
+class AccountEventAppendBenchmark extends AbstractContainerTest {
+
+  private static final Logger log = LoggerFactory.getLogger(AccountEventAppendBenchmark.class);
+
+  private static final int ACCOUNTS = 50;
+  private static final int WARMUP_APPENDS = 500;
+  private static final int MEASURED_APPENDS = 5_000;
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+
+  @Autowired private DSLContext dsl;
+  @Autowired private EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper;
+  @Autowired private AccountEventSerializer accountEventSerializer;
+  @Autowired private Clock clock;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @ParameterizedTest
+  @EnumSource(AppendStrategy.class)
+  void appendEvents_latency(AppendStrategy appendStrategy) {
+    // Arrange
+    AtomicLong statements = new AtomicLong();
+    DSLContext countingDsl =
+        DSL.using(
+            dsl.configuration()
+                .derive(
+                    new DefaultExecuteListenerProvider(
+                        new ExecuteListener() {
+                          @Override
+                          public void executeStart(ExecuteContext ctx) {
+                            statements.incrementAndGet();
+                          }
+                        })));
+    AccountEventRepository repository =
+        new AccountEventRepository(
+            countingDsl,
+            eventStoreEntryToAccountEventMapper,
+            accountEventSerializer,
+            clock,
+            appendStrategy,
+            500);
+    TransactionTemplate txTemplate = new TransactionTemplate(transactionManager);
+    txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    List<AccountId> accountIds = openAccounts(repository, txTemplate);
+    long[] versions = new long[ACCOUNTS];
+    Arrays.fill(versions, 1L);
+
+    for (int i = 0; i < WARMUP_APPENDS; i++) {
+      credit(repository, txTemplate, accountIds, versions, i % ACCOUNTS);
+    }
+    statements.set(0);
+
+    // Act
+    long[] latencies = new long[MEASURED_APPENDS];
+    for (int i = 0; i < MEASURED_APPENDS; i++) {
+      long start = System.nanoTime();
+      credit(repository, txTemplate, accountIds, versions, i % ACCOUNTS);
+      latencies[i] = System.nanoTime() - start;
+    }
+
+    // Assert
+    Arrays.sort(latencies);
+    double statementsPerAppend = (double) statements.get() / MEASURED_APPENDS;
+    log.info(
+        "appendEvents strategy={} appends={} statements/append={} p50={}us p99={}us mean={}us",
+        appendStrategy,
+        MEASURED_APPENDS,
+        statementsPerAppend,
+        latencies[MEASURED_APPENDS / 2] / 1_000,
+        latencies[(int) (MEASURED_APPENDS * 0.99)] / 1_000,
+        Arrays.stream(latencies).average().orElse(0) / 1_000);
+    assertThat(statementsPerAppend)
+        .isEqualTo(appendStrategy == AppendStrategy.GUARDED_INSERT ? 1.0 : 3.0);
+  }
+
+  private List<AccountId> openAccounts(
+      AccountEventRepository repository, TransactionTemplate txTemplate) {
+    List<AccountId> accountIds = new ArrayList<>();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    for (int i = 0; i < ACCOUNTS; i++) {
+      AccountId accountId = accountIdGenerator.newId();
+      AccountOpened opened =
+          new AccountOpened(
+              AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+              usd,
+              Money.of(BigDecimal.TEN, usd));
+      txTemplate.executeWithoutResult(_ -> repository.appendEvents(accountId, 0L, List.of(opened)));
+      accountIds.add(accountId);
+    }
+    return accountIds;
+  }
+
+  private void credit(
+      AccountEventRepository repository,
+      TransactionTemplate txTemplate,
+      List<AccountId> accountIds,
+      long[] versions,
+      int accountIndex) {
+    AccountId accountId = accountIds.get(accountIndex);
+    long expectedVersion = versions[accountIndex];
+    FundsCredited credited =
+        new FundsCredited(
+            AccountEventMeta.of(
+                eventIdGenerator.newId(), accountId, Instant.now(), expectedVersion + 1),
+            TransactionId.of(UUID.randomUUID()),
+            Money.of(BigDecimal.ONE, SupportedCurrency.USD));
+    txTemplate.executeWithoutResult(
+        _ -> repository.appendEvents(accountId, expectedVersion, List.of(credited)));
+    versions[accountIndex] = expectedVersion + 1;
+  }
+}
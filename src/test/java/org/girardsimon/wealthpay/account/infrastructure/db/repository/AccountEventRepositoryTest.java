@@ -2,6 +2,7 @@ package org.girardsimon.wealthpay.account.infrastructure.db.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.girardsimon.wealthpay.account.jooq.tables.Outbox.OUTBOX;
 import static org.jooq.impl.DSL.field;
 import static org.jooq.impl.DSL.name;
 import static org.jooq.impl.DSL.table;
@@ -9,7 +10,9 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
@@ -17,6 +20,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import org.girardsimon.wealthpay.account.application.AccountEventStore;
 import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
 import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
@@ -31,8 +35,10 @@ import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
 import org.girardsimon.wealthpay.account.domain.model.TransactionId;
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.jooq.tables.records.OutboxRecord;
 import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
 import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
 import org.jooq.DSLContext;
 import org.jooq.JSONB;
 import org.junit.jupiter.api.Test;
@@ -50,6 +56,7 @@ import tools.jackson.databind.ObjectMapper;
   AccountEventRepository.class,
   EventStoreEntryToAccountEventMapper.class,
   AccountEventSerializer.class,
+  TimeConfig.class,
   ObjectMapper.class
 })
 class AccountEventRepositoryTest extends AbstractContainerTest {
@@ -60,6 +67,9 @@ class AccountEventRepositoryTest extends AbstractContainerTest {
   @Autowired private DSLContext dsl;
   @Autowired private AccountEventStore accountEventStore;
   @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper;
+  @Autowired private AccountEventSerializer accountEventSerializer;
+  @Autowired private Clock clock;
 
   @Test
   void loadEvents_should_return_deserialized_AccountOpened_event() {
@@ -139,6 +149,212 @@ class AccountEventRepositoryTest extends AbstractContainerTest {
             assertThat(accountOpened.initialBalance().currency()).isEqualTo(SupportedCurrency.USD));
   }
 
+  @Test
+  void appendEvents_persists_several_events_in_one_statement() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Instant occurredAt = Instant.parse("2025-11-16T15:00:00Z");
+    AccountOpened opened =
+        new AccountOpened(
+            AccountEventMeta.of(eventIdGenerator.newId(), accountId, occurredAt, 1L),
+            usd,
+            Money.of(BigDecimal.TEN, usd));
+    FundsCredited credited =
+        new FundsCredited(
+            AccountEventMeta.of(eventIdGenerator.newId(), accountId, occurredAt, 2L),
+            TransactionId.of(UUID.randomUUID()),
+            Money.of(BigDecimal.ONE, usd));
+
+    // Act
+    accountEventStore.appendEvents(accountId, 0L, List.of(opened, credited));
+
+    // Assert
+    List<AccountEvent> events = accountEventStore.loadEvents(accountId);
+    assertAll(
+        () -> assertThat(events).hasSize(2),
+        () -> assertThat(events.get(0)).isInstanceOf(AccountOpened.class),
+        () -> assertThat(events.get(1)).isInstanceOf(FundsCredited.class),
+        () -> assertThat(events.get(1).version()).isEqualTo(2L));
+  }
+
+  @Test
+  void appendEvents_should_persist_events_in_outbox() {
+    // Arrange
+    EventId eventId = eventIdGenerator.newId();
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Money initialBalance = Money.of(BigDecimal.TEN, usd);
+    Instant occurredAt = Instant.parse("2025-11-16T15:00:00Z");
+    AccountEventMeta metaOpened = AccountEventMeta.of(eventId, accountId, occurredAt, 1L);
+    AccountOpened opened = new AccountOpened(metaOpened, usd, initialBalance);
+
+    // Act
+    accountEventStore.appendEvents(accountId, 0L, List.of(opened));
+
+    // Assert
+    OutboxRecord outboxRecord =
+        dsl.selectFrom(OUTBOX).where(OUTBOX.EVENT_ID.eq(eventId.id())).fetchOne();
+    JSONB storedPayload =
+        dsl.select(field("payload", JSONB.class))
+            .from(table(name("account", "event_store")))
+            .where(field("event_id").eq(eventId.id()))
+            .fetchOne()
+            .value1();
+    assertAll(
+        () -> assertThat(outboxRecord).isNotNull(),
+        () -> assertThat(outboxRecord.getAggregateId()).isEqualTo(accountId.id()),
+        () -> assertThat(outboxRecord.getAggregateType()).isEqualTo("AccountEvent"),
+        () -> assertThat(outboxRecord.getAggregateVersion()).isEqualTo(1L),
+        () -> assertThat(outboxRecord.getEventType()).isEqualTo("AccountOpened"),
+        () -> assertThat(outboxRecord.getOccurredAt().toInstant()).isEqualTo(occurredAt),
+        () -> assertThat(outboxRecord.getPayload()).isEqualTo(storedPayload));
+  }
+
+  @Test
+  void appendEvents_should_not_write_outbox_when_version_guard_rejects_append() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    dsl.insertInto(table(name("account", "event_store")))
+        .columns(
+            field("event_id"),
+            field("account_id"),
+            field("version"),
+            field("event_type"),
+            field("payload"))
+        .values(
+            eventIdGenerator.newId().id(),
+            accountId.id(),
+            1L,
+            "AccountOpened",
+            JSONB.valueOf("{}"))
+        .execute();
+    AccountOpened opened =
+        new AccountOpened(
+            AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+            SupportedCurrency.USD,
+            Money.of(BigDecimal.TEN, SupportedCurrency.USD));
+
+    // Act
+    List<AccountEvent> openedEvents = List.of(opened);
+    assertThatExceptionOfType(OptimisticLockingFailureException.class)
+        .isThrownBy(() -> accountEventStore.appendEvents(accountId, 0L, openedEvents));
+
+    // Assert
+    assertThat(dsl.fetchCount(OUTBOX, OUTBOX.AGGREGATE_ID.eq(accountId.id()))).isZero();
+  }
+
+  @Test
+  void appendEvents_reports_actual_version_when_guard_rejects_append() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountOpened opened =
+        new AccountOpened(
+            AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+            usd,
+            Money.of(BigDecimal.TEN, usd));
+    accountEventStore.appendEvents(accountId, 0L, List.of(opened));
+    FundsCredited credited =
+        new FundsCredited(
+            AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 3L),
+            TransactionId.of(UUID.randomUUID()),
+            Money.of(BigDecimal.ONE, usd));
+
+    // Act ... Assert
+    List<AccountEvent> creditedEvents = List.of(credited);
+    assertThatExceptionOfType(OptimisticLockingFailureException.class)
+        .isThrownBy(() -> accountEventStore.appendEvents(accountId, 2L, creditedEvents))
+        .withMessageContaining("expected 2 but found 1");
+  }
+
+  @Test
+  void streamEventsAfterVersion_should_stream_events_after_version_across_fetch_batches() {
+    // Arrange
+    AccountEventRepository smallBatches =
+        new AccountEventRepository(
+            dsl,
+            eventStoreEntryToAccountEventMapper,
+            accountEventSerializer,
+            clock,
+            AccountEventRepository.AppendStrategy.GUARDED_INSERT,
+            2);
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Instant occurredAt = Instant.parse("2025-11-16T15:00:00Z");
+    List<AccountEvent> history = new ArrayList<>();
+    history.add(
+        new AccountOpened(
+            AccountEventMeta.of(eventIdGenerator.newId(), accountId, occurredAt, 1L),
+            usd,
+            Money.of(BigDecimal.TEN, usd)));
+    for (long version = 2L; version <= 6L; version++) {
+      history.add(
+          new FundsCredited(
+              AccountEventMeta.of(eventIdGenerator.newId(), accountId, occurredAt, version),
+              TransactionId.of(UUID.randomUUID()),
+              Money.of(BigDecimal.ONE, usd)));
+    }
+    smallBatches.appendEvents(accountId, 0L, history);
+
+    // Act
+    List<Long> streamedVersions;
+    try (Stream<AccountEvent> events = smallBatches.streamEventsAfterVersion(accountId, 1L)) {
+      streamedVersions = events.map(AccountEvent::version).toList();
+    }
+
+    // Assert
+    assertThat(streamedVersions).containsExactly(2L, 3L, 4L, 5L, 6L);
+  }
+
+  @Test
+  void constructor_should_reject_non_positive_fetch_size() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                new AccountEventRepository(
+                    dsl,
+                    eventStoreEntryToAccountEventMapper,
+                    accountEventSerializer,
+                    clock,
+                    AccountEventRepository.AppendStrategy.GUARDED_INSERT,
+                    0))
+        .withMessageContaining("account-event.load.fetch-size");
+  }
+
+  @Test
+  void appendEvents_with_select_then_insert_strategy_keeps_same_semantics() {
+    // Arrange
+    AccountEventRepository selectThenInsert =
+        new AccountEventRepository(
+            dsl,
+            eventStoreEntryToAccountEventMapper,
+            accountEventSerializer,
+            clock,
+            AccountEventRepository.AppendStrategy.SELECT_THEN_INSERT,
+            500);
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountOpened opened =
+        new AccountOpened(
+            AccountEventMeta.of(eventIdGenerator.newId(), accountId, Instant.now(), 1L),
+            usd,
+            Money.of(BigDecimal.TEN, usd));
+
+    // Act
+    selectThenInsert.appendEvents(accountId, 0L, List.of(opened));
+
+    // Assert
+    List<AccountEvent> openedEvents = List.of(opened);
+    assertAll(
+        () -> assertThat(selectThenInsert.loadEvents(accountId)).hasSize(1),
+        () -> assertThat(dsl.fetchCount(OUTBOX, OUTBOX.AGGREGATE_ID.eq(accountId.id()))).isOne(),
+        () ->
+            assertThatExceptionOfType(OptimisticLockingFailureException.class)
+                .isThrownBy(() -> selectThenInsert.appendEvents(accountId, 0L, openedEvents)));
+  }
+
   @Test
   void appendEvents_throws_OptimisticLockingFailureException_when_expectedVersion_is_outdated() {
     // Arrange
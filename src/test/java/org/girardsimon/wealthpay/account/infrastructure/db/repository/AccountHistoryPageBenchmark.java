@@ -0,0 +1,186 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.girardsimon.wealthpay.account.jooq.tables.EventStore.EVENT_STORE;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.girardsimon.wealthpay.account.application.AccountEventStore;
+import org.girardsimon.wealthpay.account.application.AccountHistoryReader;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.jooq.tables.pojos.EventStore;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
+import org.jooq.DSLContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.context.annotation.Import;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Latency of one {@value #PAGE_SIZE}-entry history page of a single account holding {@code
+ * history.depth} events (default {@value #DEFAULT_DEPTH}): {@link PagePath#KEYSET} ({@link
+ * AccountHistoryRepository}, {@code version > ?}) against {@link PagePath#OFFSET} (the same query
+ * with {@code OFFSET ?}), each read near the start of the history and near its end.
+ *
+ * <p>Not picked up by the default surefire run (class name does not end in {@code Test}). Run
+ * explicitly against the Testcontainers Postgres, for instance with ten million events:
+ *
+ * <pre>{@code
+ * ./mvnw test -Dtest=AccountHistoryPageBenchmark -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -Dhistory.depth=10000000
+ * }</pre>
+ *
+ * Results (p50/p99 per page) are logged at INFO. The keyset page is expected to cost the same at
+ * both positions, while the offset page grows with the number of skipped index entries; only that
+ * relative difference is meaningful on a local container.
+ */
+@JooqTest
+@Import({
+  AccountHistoryRepository.class,
+  AccountEventRepository.class,
+  EventStoreEntryToAccountEventMapper.class,
+  AccountEventSerializer.class,
+  TimeConfig.class,
+  ObjectMapper.class
+})
+class AccountHistoryPageBenchmark extends AbstractContainerTest {
+
+  private static final Logger log = LoggerFactory.getLogger(AccountHistoryPageBenchmark.class);
+
+  private static final long DEFAULT_DEPTH = 1_000_000L;
+  private static final int PAGE_SIZE = 50;
+  private static final int MEASURED_PAGES = 200;
+  private static final int WARMUP_PAGES = 20;
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+
+  @Autowired private DSLContext dsl;
+  @Autowired private AccountEventStore accountEventStore;
+  @Autowired private AccountHistoryReader accountHistoryReader;
+  @Autowired private EventStoreEntryToAccountEventMapper eventStoreEntryToAccountEventMapper;
+
+  @ParameterizedTest
+  @EnumSource(PagePath.class)
+  void read_page_latency(PagePath pagePath) {
+    // Arrange
+    long depth = Long.getLong("history.depth", DEFAULT_DEPTH);
+    AccountId accountId = seedHistory(depth);
+    dsl.execute("ANALYZE account.event_store");
+
+    for (long afterVersion : new long[] {10L, depth - PAGE_SIZE - 10L}) {
+      for (int i = 0; i < WARMUP_PAGES; i++) {
+        readPage(pagePath, accountId, afterVersion);
+      }
+
+      // Act
+      long[] latencies = new long[MEASURED_PAGES];
+      int pageSize = 0;
+      for (int i = 0; i < MEASURED_PAGES; i++) {
+        long start = System.nanoTime();
+        pageSize = readPage(pagePath, accountId, afterVersion);
+        latencies[i] = System.nanoTime() - start;
+      }
+
+      // Assert
+      Arrays.sort(latencies);
+      log.info(
+          "history page path={} depth={} afterVersion={} pages={} p50={}us p99={}us",
+          pagePath,
+          depth,
+          afterVersion,
+          MEASURED_PAGES,
+          latencies[MEASURED_PAGES / 2] / 1_000,
+          latencies[(int) (MEASURED_PAGES * 0.99)] / 1_000);
+      assertThat(pageSize).isEqualTo(PAGE_SIZE);
+    }
+  }
+
+  private int readPage(PagePath pagePath, AccountId accountId, long afterVersion) {
+    return switch (pagePath) {
+      case KEYSET ->
+          accountHistoryReader
+              .readHistory(
+                  new AccountHistoryQuery(accountId, afterVersion, PAGE_SIZE, Set.of(), null, null))
+              .entries()
+              .size();
+      case OFFSET ->
+          dsl
+              .select(
+                  EVENT_STORE.EVENT_ID,
+                  EVENT_STORE.ACCOUNT_ID,
+                  EVENT_STORE.VERSION,
+                  EVENT_STORE.EVENT_TYPE,
+                  EVENT_STORE.PAYLOAD,
+                  EVENT_STORE.CREATED_AT)
+              .from(EVENT_STORE)
+              .where(EVENT_STORE.ACCOUNT_ID.eq(accountId.id()))
+              .orderBy(EVENT_STORE.VERSION.asc())
+              .limit(PAGE_SIZE)
+              .offset(afterVersion)
+              .fetchInto(EventStore.class)
+              .stream()
+              .map(eventStoreEntryToAccountEventMapper)
+              .toList()
+              .size();
+    };
+  }
+
+  /**
+   * Appends the opening event through the repository, then generates the credits server-side, as in
+   * {@link AccountRehydrationMemoryBenchmark}.
+   */
+  private AccountId seedHistory(long depth) {
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Instant occurredAt = Instant.parse("2025-11-16T15:00:00Z");
+    accountEventStore.appendEvents(
+        accountId,
+        0L,
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), accountId, occurredAt, 1L),
+                usd,
+                Money.of(new BigDecimal("1000000000.00"), usd))));
+    dsl.execute(
+        """
+        INSERT INTO account.event_store (event_id, account_id, version, event_type, payload)
+        SELECT gen_random_uuid(), ?, v, 'FundsCredited',
+               jsonb_build_object(?::text, gen_random_uuid()::text, ?::text, ?::text,
+                                  ?::text, 1.00, ?::text, ?::text)
+        FROM generate_series(2, ?) AS v
+        """,
+        accountId.id(),
+        AccountEventSerializer.TRANSACTION_ID,
+        AccountEventSerializer.CURRENCY,
+        usd.name(),
+        AccountEventSerializer.AMOUNT,
+        AccountEventSerializer.OCCURRED_AT,
+        occurredAt.toString(),
+        depth);
+    return accountId;
+  }
+
+  enum PagePath {
+    KEYSET,
+    OFFSET
+  }
+}
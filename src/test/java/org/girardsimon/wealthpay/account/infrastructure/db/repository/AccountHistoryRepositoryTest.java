@@ -0,0 +1,185 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.girardsimon.wealthpay.account.jooq.tables.EventStore.EVENT_STORE;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.application.AccountEventStore;
+import org.girardsimon.wealthpay.account.application.AccountHistoryReader;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryEntry;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.context.annotation.Import;
+import tools.jackson.databind.ObjectMapper;
+
+@JooqTest
+@Import({
+  AccountHistoryRepository.class,
+  AccountEventRepository.class,
+  EventStoreEntryToAccountEventMapper.class,
+  AccountEventSerializer.class,
+  TimeConfig.class,
+  ObjectMapper.class
+})
+class AccountHistoryRepositoryTest extends AbstractContainerTest {
+
+  private static final Instant RECORDED_AT = Instant.parse("2026-03-01T10:00:00Z");
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+
+  @Autowired private DSLContext dsl;
+  @Autowired private AccountEventStore accountEventStore;
+  @Autowired private AccountHistoryReader accountHistoryReader;
+
+  private AccountId accountId;
+
+  /**
+   * Opens the account (v1), then credits (v2), debits (v3) and credits twice (v4, v5). Version
+   * {@code n} is recorded {@code n} minutes after {@link #RECORDED_AT}.
+   */
+  @BeforeEach
+  void appendHistory() {
+    accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Money one = Money.of(BigDecimal.ONE, usd);
+    accountEventStore.appendEvents(
+        accountId,
+        0L,
+        List.of(
+            new AccountOpened(meta(1L), usd, Money.of(BigDecimal.TEN, usd)),
+            new FundsCredited(meta(2L), TransactionId.of(UUID.randomUUID()), one),
+            new FundsDebited(meta(3L), TransactionId.of(UUID.randomUUID()), one),
+            new FundsCredited(meta(4L), TransactionId.of(UUID.randomUUID()), one),
+            new FundsCredited(meta(5L), TransactionId.of(UUID.randomUUID()), one)));
+    for (long version = 1L; version <= 5L; version++) {
+      dsl.update(EVENT_STORE)
+          .set(
+              EVENT_STORE.CREATED_AT,
+              RECORDED_AT.plus(version, ChronoUnit.MINUTES).atOffset(ZoneOffset.UTC))
+          .where(EVENT_STORE.ACCOUNT_ID.eq(accountId.id()))
+          .and(EVENT_STORE.VERSION.eq(version))
+          .execute();
+    }
+  }
+
+  private AccountEventMeta meta(long version) {
+    return AccountEventMeta.of(eventIdGenerator.newId(), accountId, RECORDED_AT, version);
+  }
+
+  private static List<Long> versions(AccountHistoryPage page) {
+    return page.entries().stream().map(entry -> entry.event().version()).toList();
+  }
+
+  @Test
+  void readHistory_should_walk_history_page_by_page_with_keyset_cursor() {
+    // Act
+    AccountHistoryPage first =
+        accountHistoryReader.readHistory(
+            new AccountHistoryQuery(accountId, 0L, 2, Set.of(), null, null));
+    AccountHistoryPage second =
+        accountHistoryReader.readHistory(
+            new AccountHistoryQuery(
+                accountId, first.nextAfterVersion().orElseThrow(), 2, Set.of(), null, null));
+    AccountHistoryPage last =
+        accountHistoryReader.readHistory(
+            new AccountHistoryQuery(
+                accountId, second.nextAfterVersion().orElseThrow(), 2, Set.of(), null, null));
+
+    // Assert
+    assertAll(
+        () -> assertThat(versions(first)).containsExactly(1L, 2L),
+        () -> assertThat(first.nextAfterVersion()).hasValue(2L),
+        () -> assertThat(versions(second)).containsExactly(3L, 4L),
+        () -> assertThat(second.nextAfterVersion()).hasValue(4L),
+        () -> assertThat(versions(last)).containsExactly(5L),
+        () -> assertThat(last.nextAfterVersion()).isEmpty());
+  }
+
+  @Test
+  void readHistory_should_decode_events_with_their_recording_time() {
+    // Act
+    AccountHistoryPage page =
+        accountHistoryReader.readHistory(
+            new AccountHistoryQuery(accountId, 0L, 1, Set.of(), null, null));
+
+    // Assert
+    AccountHistoryEntry entry = page.entries().getFirst();
+    assertAll(
+        () -> assertThat(entry.event()).isInstanceOf(AccountOpened.class),
+        () -> assertThat(entry.event().accountId()).isEqualTo(accountId),
+        () -> assertThat(entry.recordedAt()).isEqualTo(RECORDED_AT.plus(1, ChronoUnit.MINUTES)));
+  }
+
+  @Test
+  void readHistory_should_keep_only_requested_event_types() {
+    // Act
+    AccountHistoryPage page =
+        accountHistoryReader.readHistory(
+            new AccountHistoryQuery(accountId, 2L, 10, Set.of(FundsCredited.class), null, null));
+
+    // Assert
+    assertAll(
+        () -> assertThat(versions(page)).containsExactly(4L, 5L),
+        () -> assertThat(page.entries()).allMatch(e -> e.event() instanceof FundsCredited),
+        () -> assertThat(page.nextAfterVersion()).isEmpty());
+  }
+
+  @Test
+  void readHistory_should_keep_events_recorded_within_window() {
+    // Act
+    AccountHistoryPage page =
+        accountHistoryReader.readHistory(
+            new AccountHistoryQuery(
+                accountId,
+                0L,
+                10,
+                Set.of(),
+                RECORDED_AT.plus(2, ChronoUnit.MINUTES),
+                RECORDED_AT.plus(4, ChronoUnit.MINUTES)));
+
+    // Assert
+    assertThat(versions(page)).containsExactly(2L, 3L);
+  }
+
+  @Test
+  void readHistory_should_return_empty_last_page_for_unknown_account() {
+    // Act
+    AccountHistoryPage page =
+        accountHistoryReader.readHistory(
+            new AccountHistoryQuery(accountIdGenerator.newId(), 0L, 10, Set.of(), null, null));
+
+    // Assert
+    assertAll(
+        () -> assertThat(page.entries()).isEmpty(),
+        () -> assertThat(page.nextAfterVersion()).isEqualTo(OptionalLong.empty()));
+  }
+}
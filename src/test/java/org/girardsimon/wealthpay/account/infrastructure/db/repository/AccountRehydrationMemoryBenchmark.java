@@ -0,0 +1,155 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.application.AccountEventStore;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.model.Account;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.EventIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountEventSerializer;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.EventStoreEntryToAccountEventMapper;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestEventIdGenerator;
+import org.girardsimon.wealthpay.shared.config.TimeConfig;
+import org.jooq.DSLContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.context.annotation.Import;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Peak heap and duration of a full replay of a {@value #HISTORY_LENGTH}-event account: {@link
+ * LoadPath#LIST} ({@link AccountEventStore#loadEvents}, every row and event materialized before the
+ * first apply) against {@link LoadPath#STREAM} ({@link AccountEventStore#streamEventsAfterVersion},
+ * events applied as the cursor yields them).
+ *
+ * <p>Not picked up by the default surefire run (class name does not end in {@code Test}). Run
+ * explicitly against the Testcontainers Postgres, with a bounded heap:
+ *
+ * <pre>{@code
+ * ./mvnw test -Dtest=AccountRehydrationMemoryBenchmark -Dsurefire.failIfNoSpecifiedTests=false \
+ *     -DargLine=-Xmx256m
+ * }</pre>
+ *
+ * Under that heap the {@code STREAM} run completes, while the {@code LIST} run is expected to fail
+ * with {@link OutOfMemoryError}; without the bound both complete and the logged peaks show the gap.
+ * The peak is the sum of the per-pool heap peaks, an upper bound of the true peak that is good
+ * enough to tell constant from linear.
+ */
+@JooqTest
+@Import({
+  AccountEventRepository.class,
+  EventStoreEntryToAccountEventMapper.class,
+  AccountEventSerializer.class,
+  TimeConfig.class,
+  ObjectMapper.class
+})
+class AccountRehydrationMemoryBenchmark extends AbstractContainerTest {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(AccountRehydrationMemoryBenchmark.class);
+
+  private static final long HISTORY_LENGTH = 1_000_000L;
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final EventIdGenerator eventIdGenerator = new TestEventIdGenerator();
+
+  @Autowired private DSLContext dsl;
+  @Autowired private AccountEventStore accountEventStore;
+
+  @ParameterizedTest
+  @EnumSource(LoadPath.class)
+  void rehydrate_peak_heap(LoadPath loadPath) {
+    // Arrange
+    AccountId accountId = seedHistory();
+    List<MemoryPoolMXBean> heapPools =
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    System.gc();
+    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+    // Act
+    long start = System.nanoTime();
+    Account account =
+        switch (loadPath) {
+          case LIST -> Account.rehydrate(accountEventStore.loadEvents(accountId));
+          case STREAM -> {
+            try (Stream<AccountEvent> events =
+                accountEventStore.streamEventsAfterVersion(accountId, 0L)) {
+              yield Account.rehydrate(events);
+            }
+          }
+        };
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    // Assert
+    long peakHeapBytes =
+        heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    log.info(
+        "rehydrate path={} events={} peakHeap={}MiB maxHeap={}MiB duration={}ms",
+        loadPath,
+        HISTORY_LENGTH,
+        peakHeapBytes / (1024 * 1024),
+        Runtime.getRuntime().maxMemory() / (1024 * 1024),
+        elapsedMillis);
+    assertThat(account.getVersion()).isEqualTo(HISTORY_LENGTH);
+  }
+
+  /**
+   * Appends the opening event through the repository, then generates the credits server-side: a
+   * million client-side inserts would dominate the run.
+   */
+  private AccountId seedHistory() {
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Instant occurredAt = Instant.parse("2025-11-16T15:00:00Z");
+    accountEventStore.appendEvents(
+        accountId,
+        0L,
+        List.of(
+            new AccountOpened(
+                AccountEventMeta.of(eventIdGenerator.newId(), accountId, occurredAt, 1L),
+                usd,
+                Money.of(new BigDecimal("1000000000.00"), usd))));
+    dsl.execute(
+        """
+        INSERT INTO account.event_store (event_id, account_id, version, event_type, payload)
+        SELECT gen_random_uuid(), ?, v, 'FundsCredited',
+               jsonb_build_object(?::text, gen_random_uuid()::text, ?::text, ?::text,
+                                  ?::text, 1.00, ?::text, ?::text)
+        FROM generate_series(2, ?) AS v
+        """,
+        accountId.id(),
+        AccountEventSerializer.TRANSACTION_ID,
+        AccountEventSerializer.CURRENCY,
+        usd.name(),
+        AccountEventSerializer.AMOUNT,
+        AccountEventSerializer.OCCURRED_AT,
+        occurredAt.toString(),
+        HISTORY_LENGTH);
+    return accountId;
+  }
+
+  enum LoadPath {
+    LIST,
+    STREAM
+  }
+}
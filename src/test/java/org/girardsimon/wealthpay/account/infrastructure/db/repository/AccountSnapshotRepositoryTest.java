@@ -16,6 +16,9 @@ import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
 import org.girardsimon.wealthpay.account.domain.model.Money;
 import org.girardsimon.wealthpay.account.domain.model.ReservationId;
 import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.AccountSnapshotRepository.SnapshotFormat;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotBinaryDeserializer;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotBinarySerializer;
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotDeserializer;
 import org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper.AccountSnapshotSerializer;
 import org.girardsimon.wealthpay.account.jooq.tables.records.AccountSnapshotRecord;
@@ -32,6 +35,8 @@ import tools.jackson.databind.ObjectMapper;
   AccountSnapshotRepository.class,
   AccountSnapshotDeserializer.class,
   AccountSnapshotSerializer.class,
+  AccountSnapshotBinaryDeserializer.class,
+  AccountSnapshotBinarySerializer.class,
   ObjectMapper.class
 })
 class AccountSnapshotRepositoryTest extends AbstractContainerTest {
@@ -40,6 +45,10 @@ class AccountSnapshotRepositoryTest extends AbstractContainerTest {
 
   @Autowired private DSLContext dslContext;
   @Autowired private AccountSnapshotStore accountSnapshotStore;
+  @Autowired private AccountSnapshotDeserializer accountSnapshotDeserializer;
+  @Autowired private AccountSnapshotSerializer accountSnapshotSerializer;
+  @Autowired private AccountSnapshotBinaryDeserializer accountSnapshotBinaryDeserializer;
+  @Autowired private AccountSnapshotBinarySerializer accountSnapshotBinarySerializer;
 
   @Test
   void load_should_return_empty_when_account_snapshot_does_not_exist() {
@@ -87,7 +96,10 @@ class AccountSnapshotRepositoryTest extends AbstractContainerTest {
         () -> assertThat(row).isNotNull(),
         () -> assertThat(row.getVersion()).isEqualTo(3L),
         () ->
-            assertThat(row.getSchemaVersion()).isEqualTo(AccountSnapshotSerializer.SCHEMA_VERSION),
+            assertThat(row.getSchemaVersion())
+                .isEqualTo(AccountSnapshotBinarySerializer.SCHEMA_VERSION),
+        () -> assertThat(row.getState()).isNull(),
+        () -> assertThat(row.getBinaryState()).isNotEmpty(),
         () -> assertThat(loadedSnapshot).contains(snapshotToSave));
   }
 
@@ -188,4 +200,116 @@ class AccountSnapshotRepositoryTest extends AbstractContainerTest {
         () -> assertThat(row.getVersion()).isEqualTo(5L),
         () -> assertThat(loadedSnapshot).contains(currentSnapshot));
   }
+
+  @Test
+  void load_should_read_json_snapshot_written_before_binary_format() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountSnapshot jsonSnapshot =
+        new AccountSnapshot(
+            accountId,
+            usd,
+            Money.of(new BigDecimal("100.00"), usd),
+            AccountStatus.OPENED,
+            Map.of(
+                ReservationId.of(UUID.fromString("6f1b8f1e-7c5e-4a44-9d0a-2f0f3f1a9b11")),
+                Money.of(new BigDecimal("10.00"), usd)),
+            2L);
+    repository(SnapshotFormat.JSON).saveSnapshot(jsonSnapshot);
+
+    // Act
+    Optional<AccountSnapshot> loadedSnapshot = accountSnapshotStore.load(accountId);
+
+    // Assert
+    AccountSnapshotRecord row =
+        dslContext
+            .selectFrom(ACCOUNT_SNAPSHOT)
+            .where(ACCOUNT_SNAPSHOT.ACCOUNT_ID.eq(accountId.id()))
+            .fetchOne();
+    assertAll(
+        () -> assertThat(row).isNotNull(),
+        () ->
+            assertThat(row.getSchemaVersion()).isEqualTo(AccountSnapshotSerializer.SCHEMA_VERSION),
+        () -> assertThat(row.getBinaryState()).isNull(),
+        () -> assertThat(loadedSnapshot).contains(jsonSnapshot));
+  }
+
+  @Test
+  void saveSnapshot_should_replace_json_snapshot_with_binary_snapshot() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountSnapshot jsonSnapshot =
+        new AccountSnapshot(
+            accountId,
+            usd,
+            Money.of(new BigDecimal("100.00"), usd),
+            AccountStatus.OPENED,
+            Map.of(),
+            2L);
+    AccountSnapshot binarySnapshot =
+        new AccountSnapshot(
+            accountId,
+            usd,
+            Money.of(new BigDecimal("80.00"), usd),
+            AccountStatus.OPENED,
+            Map.of(),
+            4L);
+    repository(SnapshotFormat.JSON).saveSnapshot(jsonSnapshot);
+
+    // Act
+    accountSnapshotStore.saveSnapshot(binarySnapshot);
+
+    // Assert
+    AccountSnapshotRecord row =
+        dslContext
+            .selectFrom(ACCOUNT_SNAPSHOT)
+            .where(ACCOUNT_SNAPSHOT.ACCOUNT_ID.eq(accountId.id()))
+            .fetchOne();
+    Optional<AccountSnapshot> loadedSnapshot = accountSnapshotStore.load(accountId);
+    assertAll(
+        () -> assertThat(row).isNotNull(),
+        () ->
+            assertThat(row.getSchemaVersion())
+                .isEqualTo(AccountSnapshotBinarySerializer.SCHEMA_VERSION),
+        () -> assertThat(row.getState()).isNull(),
+        () -> assertThat(loadedSnapshot).contains(binarySnapshot));
+  }
+
+  @Test
+  void load_should_return_empty_when_schema_version_is_unknown() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    SupportedCurrency usd = SupportedCurrency.USD;
+    accountSnapshotStore.saveSnapshot(
+        new AccountSnapshot(
+            accountId,
+            usd,
+            Money.of(new BigDecimal("100.00"), usd),
+            AccountStatus.OPENED,
+            Map.of(),
+            2L));
+    dslContext
+        .update(ACCOUNT_SNAPSHOT)
+        .set(ACCOUNT_SNAPSHOT.SCHEMA_VERSION, 99L)
+        .where(ACCOUNT_SNAPSHOT.ACCOUNT_ID.eq(accountId.id()))
+        .execute();
+
+    // Act
+    Optional<AccountSnapshot> loadedSnapshot = accountSnapshotStore.load(accountId);
+
+    // Assert
+    assertThat(loadedSnapshot).isEmpty();
+  }
+
+  private AccountSnapshotRepository repository(SnapshotFormat snapshotFormat) {
+    return new AccountSnapshotRepository(
+        dslContext,
+        accountSnapshotDeserializer,
+        accountSnapshotSerializer,
+        accountSnapshotBinaryDeserializer,
+        accountSnapshotBinarySerializer,
+        snapshotFormat);
+  }
 }
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -135,4 +137,83 @@ class ProcessedTransactionRepositoryTest extends AbstractContainerTest {
                             accountId, transactionId, fingerprint, occurredAt))
                 .isInstanceOf(TransactionIdConflictException.class));
   }
+
+  @Test
+  void release_should_let_same_transaction_id_be_registered_again() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    TransactionId transactionId = TransactionId.of(UUID.randomUUID());
+    Instant occurredAt = Instant.now();
+    CreditAccount creditAccount =
+        new CreditAccount(
+            transactionId, accountId, Money.of(new BigDecimal("10.00"), SupportedCurrency.USD));
+    String fingerprint = creditAccount.fingerprint();
+    processedTransactionStore.register(accountId, transactionId, fingerprint, occurredAt);
+
+    // Act
+    processedTransactionStore.release(accountId, transactionId);
+
+    // Assert
+    TransactionStatus secondStatus =
+        processedTransactionStore.register(accountId, transactionId, fingerprint, occurredAt);
+    assertThat(secondStatus).isEqualTo(TransactionStatus.COMMITTED);
+  }
+
+  @Test
+  void registerAll_should_resolve_each_command_as_register_would() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    Instant occurredAt = Instant.now();
+    Money tenDollars = Money.of(new BigDecimal("10.00"), SupportedCurrency.USD);
+    CreditAccount fresh =
+        new CreditAccount(TransactionId.of(UUID.randomUUID()), accountId, tenDollars);
+    CreditAccount replayed =
+        new CreditAccount(TransactionId.of(UUID.randomUUID()), accountId, tenDollars);
+    DebitAccount conflicting =
+        new DebitAccount(TransactionId.of(UUID.randomUUID()), accountId, tenDollars);
+    processedTransactionStore.register(
+        accountId, replayed.transactionId(), replayed.fingerprint(), occurredAt);
+    processedTransactionStore.register(
+        accountId,
+        conflicting.transactionId(),
+        new CreditAccount(conflicting.transactionId(), accountId, tenDollars).fingerprint(),
+        occurredAt);
+
+    // Act
+    Map<TransactionId, TransactionStatus> statuses =
+        processedTransactionStore.registerAll(
+            accountId, List.of(fresh, replayed, conflicting), occurredAt);
+
+    // Assert
+    assertAll(
+        () ->
+            assertThat(statuses)
+                .containsOnly(
+                    Map.entry(fresh.transactionId(), TransactionStatus.COMMITTED),
+                    Map.entry(replayed.transactionId(), TransactionStatus.NO_EFFECT)),
+        () ->
+            assertThat(
+                    processedTransactionStore.register(
+                        accountId, fresh.transactionId(), fresh.fingerprint(), occurredAt))
+                .isEqualTo(TransactionStatus.NO_EFFECT));
+  }
+
+  @Test
+  void registerAll_should_reject_transaction_id_repeated_in_the_same_call() {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    TransactionId transactionId = TransactionId.of(UUID.randomUUID());
+    Money tenDollars = Money.of(new BigDecimal("10.00"), SupportedCurrency.USD);
+    List<CreditAccount> commands =
+        List.of(
+            new CreditAccount(transactionId, accountId, tenDollars),
+            new CreditAccount(transactionId, accountId, tenDollars));
+    Instant occurredAt = Instant.now();
+
+    // Act ... Assert
+    assertThatThrownBy(
+            () -> processedTransactionStore.registerAll(accountId, commands, occurredAt))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(transactionId.toString());
+  }
 }
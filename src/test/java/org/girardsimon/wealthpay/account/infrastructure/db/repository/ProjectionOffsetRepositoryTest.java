@@ -0,0 +1,61 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.application.ProjectionCheckpoint;
+import org.girardsimon.wealthpay.account.application.ProjectionOffsetStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+import org.springframework.context.annotation.Import;
+
+@JooqTest
+@Import(ProjectionOffsetRepository.class)
+class ProjectionOffsetRepositoryTest extends AbstractContainerTest {
+
+  @Autowired private ProjectionOffsetStore projectionOffsetStore;
+
+  private static String uniqueTopic() {
+    return "wealthpay.AccountEvent." + UUID.randomUUID();
+  }
+
+  @Test
+  void nextOffsets_should_return_stored_positions_of_requested_partitions_only() {
+    // Arrange
+    String topic = uniqueTopic();
+    projectionOffsetStore.save(new ProjectionCheckpoint(topic, Map.of(0, 10L, 1, 20L, 2, 30L)));
+    projectionOffsetStore.save(new ProjectionCheckpoint(uniqueTopic(), Map.of(0, 99L)));
+
+    // Act
+    Map<Integer, Long> nextOffsets = projectionOffsetStore.nextOffsets(topic, List.of(0, 2, 3));
+
+    // Assert
+    assertThat(nextOffsets).containsExactlyInAnyOrderEntriesOf(Map.of(0, 10L, 2, 30L));
+  }
+
+  @Test
+  void save_should_advance_positions_and_never_move_them_backwards() {
+    // Arrange
+    String topic = uniqueTopic();
+    projectionOffsetStore.save(new ProjectionCheckpoint(topic, Map.of(0, 10L, 1, 20L)));
+
+    // Act
+    projectionOffsetStore.save(new ProjectionCheckpoint(topic, Map.of(0, 15L, 1, 5L)));
+
+    // Assert
+    assertThat(projectionOffsetStore.nextOffsets(topic, List.of(0, 1)))
+        .containsExactlyInAnyOrderEntriesOf(Map.of(0, 15L, 1, 20L));
+  }
+
+  @Test
+  void nextOffsets_should_be_empty_for_partitions_never_checkpointed() {
+    // Act
+    Map<Integer, Long> nextOffsets = projectionOffsetStore.nextOffsets(uniqueTopic(), List.of(0));
+
+    // Assert
+    assertThat(nextOffsets).isEmpty();
+  }
+}
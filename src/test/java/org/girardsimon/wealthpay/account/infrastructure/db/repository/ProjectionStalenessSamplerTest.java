@@ -0,0 +1,111 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.girardsimon.wealthpay.account.jooq.tables.EventStore.EVENT_STORE;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jooq.test.autoconfigure.JooqTest;
+
+@JooqTest
+class ProjectionStalenessSamplerTest extends AbstractContainerTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-01T10:00:10Z");
+
+  @Autowired private DSLContext dslContext;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ProjectionStalenessSampler sampler(double sampleRate) {
+    return new ProjectionStalenessSampler(
+        dslContext, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC), sampleRate);
+  }
+
+  private void appendEvent(AccountId accountId, long version, Instant createdAt) {
+    dslContext
+        .insertInto(EVENT_STORE)
+        .set(EVENT_STORE.ACCOUNT_ID, accountId.id())
+        .set(EVENT_STORE.VERSION, version)
+        .set(EVENT_STORE.EVENT_TYPE, "FundsCredited")
+        .set(EVENT_STORE.PAYLOAD, JSONB.valueOf("{}"))
+        .set(EVENT_STORE.CREATED_AT, createdAt.atOffset(ZoneOffset.UTC))
+        .set(EVENT_STORE.EVENT_ID, UUID.randomUUID())
+        .execute();
+  }
+
+  private static AccountBalanceView viewAt(AccountId accountId, long version) {
+    Money amount = Money.of(BigDecimal.TEN, SupportedCurrency.USD);
+    return new AccountBalanceView(accountId, amount, amount, "OPENED", version);
+  }
+
+  @Test
+  void sample_should_record_unprojected_events_and_age_of_the_oldest() {
+    // Arrange
+    AccountId accountId = AccountId.of(UUID.randomUUID());
+    appendEvent(accountId, 1L, NOW.minusSeconds(9));
+    appendEvent(accountId, 2L, NOW.minusSeconds(5));
+    appendEvent(accountId, 3L, NOW.minusSeconds(3));
+
+    // Act
+    sampler(1.0).sample(viewAt(accountId, 1L));
+
+    // Assert
+    var staleness = meterRegistry.timer(ProjectionStalenessSampler.STALENESS_METRIC);
+    var versions = meterRegistry.summary(ProjectionStalenessSampler.STALENESS_VERSIONS_METRIC);
+    assertAll(
+        () -> assertThat(versions.count()).isOne(),
+        () -> assertThat(versions.totalAmount()).isEqualTo(2.0),
+        () -> assertThat(staleness.totalTime(TimeUnit.SECONDS)).isEqualTo(5.0));
+  }
+
+  @Test
+  void sample_should_record_zero_staleness_when_view_is_current() {
+    // Arrange
+    AccountId accountId = AccountId.of(UUID.randomUUID());
+    appendEvent(accountId, 1L, NOW.minusSeconds(9));
+
+    // Act
+    sampler(1.0).sample(viewAt(accountId, 1L));
+
+    // Assert
+    var staleness = meterRegistry.timer(ProjectionStalenessSampler.STALENESS_METRIC);
+    var versions = meterRegistry.summary(ProjectionStalenessSampler.STALENESS_VERSIONS_METRIC);
+    assertAll(
+        () -> assertThat(staleness.count()).isOne(),
+        () -> assertThat(staleness.totalTime(TimeUnit.SECONDS)).isZero(),
+        () -> assertThat(versions.totalAmount()).isZero());
+  }
+
+  @Test
+  void sample_should_record_nothing_when_sample_rate_is_zero() {
+    // Act
+    sampler(0.0).sample(viewAt(AccountId.of(UUID.randomUUID()), 1L));
+
+    // Assert
+    assertThat(meterRegistry.timer(ProjectionStalenessSampler.STALENESS_METRIC).count()).isZero();
+  }
+
+  @Test
+  void constructor_should_reject_sample_rate_outside_zero_and_one() {
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> sampler(1.5))
+        .withMessageContaining("account.projection.staleness.sample-rate")
+        .withMessageEndingWith("must be between 0 and 1 but was 1.5");
+  }
+}
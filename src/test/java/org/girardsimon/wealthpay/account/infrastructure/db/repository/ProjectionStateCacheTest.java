@@ -0,0 +1,164 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.infrastructure.db.repository.ProjectionStateCache.CachedProjection;
+import org.junit.jupiter.api.Test;
+
+class ProjectionStateCacheTest {
+
+  private static final int PARTITION_0 = 0;
+  private static final int PARTITION_1 = 1;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final ProjectionStateCache cache = new ProjectionStateCache(2, meterRegistry);
+
+  private static CachedProjection projection(String balance, long version) {
+    return new CachedProjection(new BigDecimal(balance), BigDecimal.ZERO, "USD", "OPENED", version);
+  }
+
+  private double lookups(String result) {
+    return meterRegistry
+        .get(ProjectionStateCache.LOOKUP_METRIC)
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  @Test
+  void get_should_return_put_projection_of_assigned_account() {
+    // Arrange
+    UUID accountId = UUID.randomUUID();
+    CachedProjection cachedProjection = projection("10.00", 3L);
+    cache.assign(AccountId.of(accountId), PARTITION_0);
+
+    // Act
+    cache.put(accountId, cachedProjection);
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(accountId)).contains(cachedProjection),
+        () -> assertThat(lookups("hit")).isEqualTo(1.0),
+        () ->
+            assertThat(meterRegistry.get(ProjectionStateCache.SIZE_METRIC).gauge().value())
+                .isEqualTo(1.0));
+  }
+
+  @Test
+  void put_should_ignore_account_not_assigned_to_a_partition() {
+    // Arrange
+    UUID accountId = UUID.randomUUID();
+
+    // Act
+    cache.put(accountId, projection("10.00", 1L));
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(accountId)).isEmpty(),
+        () -> assertThat(lookups("miss")).isEqualTo(1.0));
+  }
+
+  @Test
+  void put_should_not_regress_version_when_older_projection_arrives_late() {
+    // Arrange
+    UUID accountId = UUID.randomUUID();
+    CachedProjection newer = projection("20.00", 5L);
+    cache.assign(AccountId.of(accountId), PARTITION_0);
+
+    // Act
+    cache.put(accountId, newer);
+    cache.put(accountId, projection("10.00", 4L));
+
+    // Assert
+    assertThat(cache.get(accountId)).contains(newer);
+  }
+
+  @Test
+  void put_should_not_cache_new_accounts_beyond_maximum_size() {
+    // Arrange
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+    List.of(first, second, third)
+        .forEach(accountId -> cache.assign(AccountId.of(accountId), PARTITION_0));
+    cache.put(first, projection("10.00", 1L));
+    cache.put(second, projection("10.00", 1L));
+
+    // Act
+    cache.put(third, projection("10.00", 1L));
+    cache.put(first, projection("11.00", 2L));
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(third)).isEmpty(),
+        () -> assertThat(cache.get(first)).contains(projection("11.00", 2L)));
+  }
+
+  @Test
+  void assign_should_not_record_new_accounts_beyond_maximum_size() {
+    // Arrange
+    List<UUID> accountIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+    // Act
+    accountIds.forEach(accountId -> cache.assign(AccountId.of(accountId), PARTITION_0));
+    cache.assign(AccountId.of(accountIds.getFirst()), PARTITION_1);
+    cache.put(accountIds.getLast(), projection("10.00", 1L));
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.assignedCount()).isEqualTo(2),
+        () -> assertThat(cache.get(accountIds.getLast())).isEmpty());
+  }
+
+  @Test
+  void release_should_drop_accounts_of_revoked_partitions_only() {
+    // Arrange
+    UUID revokedAccountId = UUID.randomUUID();
+    UUID keptAccountId = UUID.randomUUID();
+    cache.assign(AccountId.of(revokedAccountId), PARTITION_0);
+    cache.assign(AccountId.of(keptAccountId), PARTITION_1);
+    cache.put(revokedAccountId, projection("10.00", 1L));
+    cache.put(keptAccountId, projection("10.00", 1L));
+
+    // Act
+    cache.release(List.of(PARTITION_0));
+    cache.put(revokedAccountId, projection("10.00", 2L));
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(revokedAccountId)).isEmpty(),
+        () -> assertThat(cache.get(keptAccountId)).isPresent());
+  }
+
+  @Test
+  void evictStale_should_remove_projection_and_count_stale_lookup() {
+    // Arrange
+    UUID accountId = UUID.randomUUID();
+    cache.assign(AccountId.of(accountId), PARTITION_0);
+    cache.put(accountId, projection("10.00", 1L));
+
+    // Act
+    cache.evictStale(List.of(accountId));
+
+    // Assert
+    assertAll(
+        () -> assertThat(cache.get(accountId)).isEmpty(),
+        () -> assertThat(lookups("stale")).isEqualTo(1.0));
+  }
+
+  @Test
+  void constructor_should_throw_when_maximum_size_is_not_positive() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new ProjectionStateCache(0, new SimpleMeterRegistry()))
+        .withMessageContaining("account.projection.cache.maximum-size")
+        .withMessageContaining("> 0");
+  }
+}
@@ -0,0 +1,122 @@
+package org.girardsimon.wealthpay.account.infrastructure.db.repository.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.girardsimon.wealthpay.account.jooq.tables.AccountSnapshot.ACCOUNT_SNAPSHOT;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountSnapshot;
+import org.girardsimon.wealthpay.account.domain.model.AccountStatus;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.jooq.tables.records.AccountSnapshotRecord;
+import org.jooq.Record3;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+class AccountSnapshotBinarySerializerTest {
+
+  AccountSnapshotBinarySerializer serializer = new AccountSnapshotBinarySerializer();
+  AccountSnapshotBinaryDeserializer deserializer = new AccountSnapshotBinaryDeserializer();
+
+  @Test
+  void serialize_and_deserialize_should_round_trip_snapshot() {
+    // Arrange
+    AccountId accountId = AccountId.of(UUID.fromString("4eadb67c-9d4e-44f7-bf8f-a2e0111e4f35"));
+    SupportedCurrency usd = SupportedCurrency.USD;
+    Map<ReservationId, Money> reservations =
+        Map.of(
+            ReservationId.of(UUID.fromString("cf79e4b1-a5dd-4d09-bffe-c18624f2384f")),
+            Money.of(new BigDecimal("40.10"), usd),
+            ReservationId.of(UUID.fromString("c4c81e66-3608-493a-95d0-7ecf76f2202e")),
+            Money.of(new BigDecimal("-12.50"), usd));
+    AccountSnapshot accountSnapshot =
+        new AccountSnapshot(
+            accountId,
+            usd,
+            Money.of(new BigDecimal("100.00"), usd),
+            AccountStatus.OPENED,
+            reservations,
+            3L);
+
+    // Act
+    AccountSnapshotRecord row = serializer.apply(accountSnapshot);
+    Optional<AccountSnapshot> decoded = deserializer.apply(binaryRecord(row));
+
+    // Assert
+    assertAll(
+        () -> assertThat(row.getAccountId()).isEqualTo(accountId.id()),
+        () -> assertThat(row.getVersion()).isEqualTo(3L),
+        () ->
+            assertThat(row.getSchemaVersion())
+                .isEqualTo(AccountSnapshotBinarySerializer.SCHEMA_VERSION),
+        () -> assertThat(row.getState()).isNull(),
+        // 4 ("USD") + 7 ("OPENED") + 9 (balance) + 4 (count) + 2 * 25 (reservations)
+        () -> assertThat(row.getBinaryState()).hasSize(74),
+        () -> assertThat(decoded).contains(accountSnapshot));
+  }
+
+  @Test
+  void serialize_should_throw_when_reservation_is_not_in_account_currency() {
+    // Arrange
+    AccountSnapshot accountSnapshot =
+        new AccountSnapshot(
+            AccountId.of(UUID.randomUUID()),
+            SupportedCurrency.USD,
+            Money.of(new BigDecimal("100.00"), SupportedCurrency.USD),
+            AccountStatus.OPENED,
+            Map.of(
+                ReservationId.of(UUID.randomUUID()),
+                Money.of(new BigDecimal("10.00"), SupportedCurrency.EUR)),
+            3L);
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> serializer.apply(accountSnapshot))
+        .withMessageContaining("EUR");
+  }
+
+  @Test
+  void deserialize_should_return_empty_when_binary_state_is_truncated() {
+    // Arrange
+    SupportedCurrency usd = SupportedCurrency.USD;
+    AccountSnapshot accountSnapshot =
+        new AccountSnapshot(
+            AccountId.of(UUID.randomUUID()),
+            usd,
+            Money.of(new BigDecimal("100.00"), usd),
+            AccountStatus.OPENED,
+            Map.of(ReservationId.of(UUID.randomUUID()), Money.of(BigDecimal.ONE, usd)),
+            3L);
+    AccountSnapshotRecord row = serializer.apply(accountSnapshot);
+    byte[] binaryState = row.getBinaryState();
+    row.setBinaryState(Arrays.copyOf(binaryState, binaryState.length - 1));
+
+    // Act
+    Optional<AccountSnapshot> decoded = deserializer.apply(binaryRecord(row));
+
+    // Assert
+    assertThat(decoded).isEmpty();
+  }
+
+  private static Record3<UUID, byte[], Long> binaryRecord(AccountSnapshotRecord row) {
+    Record3<UUID, byte[], Long> record3 =
+        DSL.using(SQLDialect.POSTGRES)
+            .newRecord(
+                ACCOUNT_SNAPSHOT.ACCOUNT_ID,
+                ACCOUNT_SNAPSHOT.BINARY_STATE,
+                ACCOUNT_SNAPSHOT.VERSION);
+    record3.set(ACCOUNT_SNAPSHOT.ACCOUNT_ID, row.getAccountId());
+    record3.set(ACCOUNT_SNAPSHOT.BINARY_STATE, row.getBinaryState());
+    record3.set(ACCOUNT_SNAPSHOT.VERSION, row.getVersion());
+    return record3;
+  }
+}
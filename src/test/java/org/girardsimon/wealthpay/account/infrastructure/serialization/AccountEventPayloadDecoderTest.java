@@ -0,0 +1,106 @@
+package org.girardsimon.wealthpay.account.infrastructure.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
+import org.girardsimon.wealthpay.account.domain.event.AccountEvent;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+class AccountEventPayloadDecoderTest {
+
+  private static final Instant OCCURRED_AT = Instant.parse("2026-02-13T22:00:00Z");
+
+  AccountEventPayloadDecoder decoder = new AccountEventPayloadDecoder(new ObjectMapper());
+
+  private static AccountEventMeta meta() {
+    return AccountEventMeta.of(
+        EventId.of(UUID.randomUUID()), AccountId.of(UUID.randomUUID()), OCCURRED_AT, 3L);
+  }
+
+  @Test
+  void decode_should_read_utf8_bytes_slice_and_skip_unknown_fields() {
+    // Arrange
+    AccountEventMeta meta = meta();
+    String json =
+        """
+        {"transactionId":"6A19786D-7B2A-466A-B0C7-E82997B0D979","extra":{"nested":[1,2]},\
+        "reservationId":"0c1d5c3e-2f4b-4a77-9b1e-8f3a2d6c7e90","currency":"EUR","amount":75.5,\
+        "occurredAt":"2026-02-13T22:00:00Z"}""";
+    byte[] jsonBytes = ("xx" + json + "yy").getBytes(StandardCharsets.UTF_8);
+
+    // Act
+    AccountEvent event =
+        decoder.decode(AccountEventType.FUNDS_RESERVED, meta, jsonBytes, 2, json.length());
+
+    // Assert
+    assertThat(event)
+        .isEqualTo(
+            new FundsReserved(
+                meta,
+                TransactionId.of(UUID.fromString("6a19786d-7b2a-466a-b0c7-e82997b0d979")),
+                ReservationId.of(UUID.fromString("0c1d5c3e-2f4b-4a77-9b1e-8f3a2d6c7e90")),
+                Money.of(new BigDecimal("75.50"), SupportedCurrency.EUR)));
+  }
+
+  @Test
+  void decode_should_read_occurred_at_from_payload_for_event_store_entries() {
+    // Arrange
+    EventId eventId = EventId.of(UUID.randomUUID());
+    AccountId accountId = AccountId.of(UUID.randomUUID());
+
+    // Act
+    AccountEvent event =
+        decoder.decode(
+            AccountEventType.ACCOUNT_CLOSED,
+            eventId,
+            accountId,
+            7L,
+            "{\"occurredAt\":\"2026-02-13T22:00:00Z\"}");
+
+    // Assert
+    assertThat(event)
+        .isEqualTo(new AccountClosed(AccountEventMeta.of(eventId, accountId, OCCURRED_AT, 7L)));
+  }
+
+  @Test
+  void decode_should_throw_IllegalArgumentException_when_UUID_is_not_canonical() {
+    // Arrange
+    String json =
+        """
+        {"transactionId":"6a19786d7b2a466ab0c7e82997b0d979","currency":"USD","amount":1}""";
+    AccountEventMeta meta = meta();
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> decoder.decode(AccountEventType.FUNDS_CREDITED, meta, json))
+        .withMessageContaining("6a19786d7b2a466ab0c7e82997b0d979");
+  }
+
+  @Test
+  void decode_should_throw_IllegalStateException_when_required_field_is_null() {
+    // Arrange
+    String json =
+        """
+        {"transactionId":"6a19786d-7b2a-466a-b0c7-e82997b0d979","currency":"USD","amount":null}""";
+    AccountEventMeta meta = meta();
+
+    // Act ... Assert
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> decoder.decode(AccountEventType.FUNDS_DEBITED, meta, json))
+        .withMessage("Missing required field 'amount'");
+  }
+}
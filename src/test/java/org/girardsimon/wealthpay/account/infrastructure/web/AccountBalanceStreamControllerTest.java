@@ -0,0 +1,150 @@
+package org.girardsimon.wealthpay.account.infrastructure.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountResponseDto;
+import org.girardsimon.wealthpay.account.application.AccountBalanceStream;
+import org.girardsimon.wealthpay.account.application.AccountReadService;
+import org.girardsimon.wealthpay.account.application.metric.AccountBalanceStreamMetrics;
+import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.domain.exception.AccountBalanceNotFoundException;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountBalanceViewDomainToDtoMapper;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(AccountBalanceStreamController.class)
+@Import({AccountBalanceStream.class, AccountBalanceStreamMetrics.class, SimpleMeterRegistry.class})
+class AccountBalanceStreamControllerTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+
+  @MockitoBean AccountReadService accountReadService;
+
+  @MockitoBean AccountBalanceViewDomainToDtoMapper accountBalanceViewDomainToDtoMapper;
+
+  @Autowired AccountBalanceStream accountBalanceStream;
+
+  @Autowired SimpleMeterRegistry meterRegistry;
+
+  @Autowired MockMvc mockMvc;
+
+  private double openSubscriptions() {
+    return meterRegistry.get("wealthpay.account.balance_stream.subscribers").gauge().value();
+  }
+
+  private static AccountBalanceView viewAt(AccountId accountId, long version) {
+    Money balance = Money.of(BigDecimal.TEN, SupportedCurrency.USD);
+    return new AccountBalanceView(accountId, balance, balance, "OPENED", version);
+  }
+
+  private static String awaitContent(MockHttpServletResponse response, String expected)
+      throws Exception {
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+    String content = response.getContentAsString();
+    while (!content.contains(expected) && Instant.now().isBefore(deadline)) {
+      Thread.sleep(10);
+      content = response.getContentAsString();
+    }
+    return content;
+  }
+
+  @Test
+  void streamAccountBalance_should_send_current_view_then_newer_published_views()
+      throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView current = viewAt(accountId, 1L);
+    AccountBalanceView next = viewAt(accountId, 2L);
+    when(accountReadService.getAccountBalance(accountId)).thenReturn(current);
+    when(accountBalanceViewDomainToDtoMapper.apply(current))
+        .thenReturn(new AccountResponseDto().id(accountId.id()).version(1L));
+    when(accountBalanceViewDomainToDtoMapper.apply(next))
+        .thenReturn(new AccountResponseDto().id(accountId.id()).version(2L));
+    double subscriptionsBefore = openSubscriptions();
+
+    // Act
+    MvcResult mvcResult =
+        mockMvc
+            .perform(
+                get("/accounts/{id}/balance-stream", accountId.id())
+                    .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    MockHttpServletResponse response = mvcResult.getResponse();
+    String initial = awaitContent(response, "id:1");
+    accountBalanceStream.publish(current);
+    accountBalanceStream.publish(next);
+    String updated = awaitContent(response, "id:2");
+
+    // Assert
+    assertAll(
+        () -> assertThat(openSubscriptions()).isEqualTo(subscriptionsBefore + 1),
+        () -> assertThat(initial).contains("event:balance", "id:1", "\"version\":1"),
+        () -> assertThat(updated).contains("id:2", "\"version\":2"),
+        () -> assertThat(updated.split("event:balance", -1)).hasSize(3));
+  }
+
+  @Test
+  void streamAccountBalance_should_complete_emitter_and_unsubscribe_when_writer_fails()
+      throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView current = viewAt(accountId, 1L);
+    IllegalArgumentException mappingFailure = new IllegalArgumentException("unmappable view");
+    when(accountReadService.getAccountBalance(accountId)).thenReturn(current);
+    when(accountBalanceViewDomainToDtoMapper.apply(current)).thenThrow(mappingFailure);
+    double subscriptionsBefore = openSubscriptions();
+
+    // Act
+    MvcResult mvcResult =
+        mockMvc
+            .perform(
+                get("/accounts/{id}/balance-stream", accountId.id())
+                    .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    Object asyncResult = mvcResult.getAsyncResult(5_000);
+
+    // Assert
+    assertAll(
+        () -> assertThat(asyncResult).isSameAs(mappingFailure),
+        () -> assertThat(openSubscriptions()).isEqualTo(subscriptionsBefore));
+  }
+
+  @Test
+  void streamAccountBalance_should_return_404_and_unsubscribe_when_account_is_unknown()
+      throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    when(accountReadService.getAccountBalance(accountId))
+        .thenThrow(new AccountBalanceNotFoundException(accountId));
+    double subscriptionsBefore = openSubscriptions();
+
+    // Act ... Assert
+    mockMvc
+        .perform(get("/accounts/{id}/balance-stream", accountId.id()))
+        .andExpect(status().isNotFound());
+    assertThat(openSubscriptions()).isEqualTo(subscriptionsBefore);
+  }
+}
@@ -1,16 +1,32 @@
 package org.girardsimon.wealthpay.account.infrastructure.web;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountBalanceLookupRequestDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountEventTypeDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountHistoryEntryDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountHistoryPageDto;
 import org.girardsimon.wealthpay.account.api.generated.model.AccountResponseDto;
 import org.girardsimon.wealthpay.account.api.generated.model.AccountStatusDto;
 import org.girardsimon.wealthpay.account.api.generated.model.CloseAccountResponseDto;
@@ -19,13 +35,19 @@ import org.girardsimon.wealthpay.account.api.generated.model.SupportedCurrencyDt
 import org.girardsimon.wealthpay.account.api.generated.model.TransactionStatusDto;
 import org.girardsimon.wealthpay.account.application.AccountApplicationService;
 import org.girardsimon.wealthpay.account.application.AccountReadService;
-import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
 import org.girardsimon.wealthpay.account.application.view.AccountBalanceView;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryQuery;
 import org.girardsimon.wealthpay.account.domain.command.CloseAccount;
 import org.girardsimon.wealthpay.account.domain.command.OpenAccount;
+import org.girardsimon.wealthpay.account.domain.event.FundsCredited;
+import org.girardsimon.wealthpay.account.domain.event.FundsDebited;
 import org.girardsimon.wealthpay.account.domain.model.AccountId;
 import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountBalanceViewDomainToDtoMapper;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountEventTypeDtoToDomainMapper;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountHistoryPageToDtoMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.CloseAccountDtoToDomainMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.CloseAccountResponseToDtoMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.OpenAccountDtoToDomainMapper;
@@ -58,6 +80,10 @@ class AccountControllerTest {
 
   @MockitoBean CloseAccountResponseToDtoMapper closeAccountResponseToDtoMapper;
 
+  @MockitoBean AccountEventTypeDtoToDomainMapper accountEventTypeDtoToDomainMapper;
+
+  @MockitoBean AccountHistoryPageToDtoMapper accountHistoryPageToDtoMapper;
+
   @Autowired MockMvc mockMvc;
 
   @Autowired ObjectMapper objectMapper;
@@ -92,16 +118,18 @@ class AccountControllerTest {
     UUID accountId = UUID.randomUUID();
     CloseAccount closeAccount = new CloseAccount(AccountId.of(accountId));
     when(closeAccountDtoToDomainMapper.apply(accountId)).thenReturn(closeAccount);
-    when(accountApplicationService.closeAccount(closeAccount))
-        .thenReturn(TransactionStatus.COMMITTED);
-    when(closeAccountResponseToDtoMapper.apply(TransactionStatus.COMMITTED))
-        .thenReturn(new CloseAccountResponseDto().status(TransactionStatusDto.COMMITTED));
+    TransactionResult transactionResult = TransactionResult.committed(2L);
+    when(accountApplicationService.closeAccount(closeAccount)).thenReturn(transactionResult);
+    when(closeAccountResponseToDtoMapper.apply(transactionResult))
+        .thenReturn(
+            new CloseAccountResponseDto().status(TransactionStatusDto.COMMITTED).version(2L));
 
     // Act ... Assert
     mockMvc
         .perform(post("/accounts/{id}/close", accountId).contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.status").value("COMMITTED"));
+        .andExpect(jsonPath("$.status").value("COMMITTED"))
+        .andExpect(jsonPath("$.version").value(2));
   }
 
   @Test
@@ -151,4 +179,199 @@ class AccountControllerTest {
         .andExpect(jsonPath("$.currency").value("USD"))
         .andExpect(jsonPath("$.status").value("OPENED"));
   }
+
+  @Test
+  void getAccountById_should_return_etag_built_from_id_and_version() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView accountBalanceView = mock(AccountBalanceView.class);
+    when(accountBalanceView.version()).thenReturn(7L);
+    when(accountReadService.getAccountBalance(accountId)).thenReturn(accountBalanceView);
+    when(accountBalanceViewDomainToDtoMapper.apply(accountBalanceView))
+        .thenReturn(new AccountResponseDto().id(accountId.id()).version(7L));
+
+    // Act ... Assert
+    mockMvc
+        .perform(get("/accounts/{id}", accountId.id()).contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + accountId.id() + "-7\""));
+    verify(accountReadService, never()).findAccountVersion(accountId);
+  }
+
+  @Test
+  void getAccountById_should_return_304_from_version_only_when_etag_matches() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    String etag = "\"" + accountId.id() + "-7\"";
+    when(accountReadService.findAccountVersion(accountId)).thenReturn(Optional.of(7L));
+
+    // Act ... Assert
+    mockMvc
+        .perform(get("/accounts/{id}", accountId.id()).header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", etag))
+        .andExpect(content().string(""));
+    verify(accountReadService, never()).getAccountBalance(accountId);
+  }
+
+  @Test
+  void getAccountById_should_return_200_with_new_etag_when_version_changed() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView accountBalanceView = mock(AccountBalanceView.class);
+    when(accountBalanceView.version()).thenReturn(8L);
+    when(accountReadService.findAccountVersion(accountId)).thenReturn(Optional.of(8L));
+    when(accountReadService.getAccountBalance(accountId)).thenReturn(accountBalanceView);
+    when(accountBalanceViewDomainToDtoMapper.apply(accountBalanceView))
+        .thenReturn(new AccountResponseDto().id(accountId.id()).version(8L));
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            get("/accounts/{id}", accountId.id())
+                .header("If-None-Match", "\"" + accountId.id() + "-7\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + accountId.id() + "-8\""))
+        .andExpect(jsonPath("$.version").value(8));
+  }
+
+  @Test
+  void lookupAccountBalances_should_return_one_entry_per_id_in_request_order() throws Exception {
+    // Arrange
+    AccountId known = accountIdGenerator.newId();
+    AccountId unknown = accountIdGenerator.newId();
+    AccountBalanceView accountBalanceView = mock(AccountBalanceView.class);
+    when(accountReadService.getAccountBalances(List.of(unknown, known)))
+        .thenReturn(Map.of(known, accountBalanceView));
+    when(accountBalanceViewDomainToDtoMapper.apply(accountBalanceView))
+        .thenReturn(new AccountResponseDto().id(known.id()).version(3L));
+    AccountBalanceLookupRequestDto lookupRequestDto =
+        new AccountBalanceLookupRequestDto().accountIds(List.of(unknown.id(), known.id()));
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            post("/accounts/balances/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(lookupRequestDto)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].id").value(unknown.id().toString()))
+        .andExpect(jsonPath("$[0].status").value("NOT_FOUND"))
+        .andExpect(jsonPath("$[0].account").doesNotExist())
+        .andExpect(jsonPath("$[1].id").value(known.id().toString()))
+        .andExpect(jsonPath("$[1].status").value("FOUND"))
+        .andExpect(jsonPath("$[1].account.version").value(3));
+  }
+
+  @Test
+  void lookupAccountBalances_should_return_400_when_too_many_ids() throws Exception {
+    // Arrange
+    List<UUID> accountIds = Stream.generate(UUID::randomUUID).limit(501).toList();
+    AccountBalanceLookupRequestDto lookupRequestDto =
+        new AccountBalanceLookupRequestDto().accountIds(accountIds);
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            post("/accounts/balances/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(lookupRequestDto)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("accountIds"));
+    verify(accountReadService, never()).getAccountBalances(anyList());
+  }
+
+  @Test
+  void getAccountById_should_wait_for_min_version_when_requested() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountBalanceView accountBalanceView = mock(AccountBalanceView.class);
+    when(accountReadService.getAccountBalance(accountId, 4L)).thenReturn(accountBalanceView);
+    when(accountBalanceViewDomainToDtoMapper.apply(accountBalanceView))
+        .thenReturn(new AccountResponseDto().id(accountId.id()).version(4L));
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            get("/accounts/{id}", accountId.id())
+                .queryParam("minVersion", "4")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.version").value(4));
+    verify(accountReadService, never()).getAccountBalance(accountId);
+  }
+
+  @Test
+  void getAccountHistory_should_read_first_page_with_default_cursor_and_limit() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    AccountHistoryPage accountHistoryPage = new AccountHistoryPage(List.of(), OptionalLong.of(50L));
+    when(accountReadService.getAccountHistory(
+            new AccountHistoryQuery(accountId, 0L, 50, Set.of(), null, null)))
+        .thenReturn(accountHistoryPage);
+    when(accountHistoryPageToDtoMapper.apply(accountHistoryPage))
+        .thenReturn(
+            new AccountHistoryPageDto()
+                .entries(
+                    List.of(
+                        new AccountHistoryEntryDto()
+                            .version(1L)
+                            .type(AccountEventTypeDto.ACCOUNT_OPENED)))
+                .nextAfterVersion(50L));
+
+    // Act ... Assert
+    mockMvc
+        .perform(get("/accounts/{id}/history", accountId.id()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.entries[0].version").value(1))
+        .andExpect(jsonPath("$.entries[0].type").value("ACCOUNT_OPENED"))
+        .andExpect(jsonPath("$.nextAfterVersion").value(50));
+  }
+
+  @Test
+  void getAccountHistory_should_pass_cursor_and_filters_to_read_service() throws Exception {
+    // Arrange
+    AccountId accountId = accountIdGenerator.newId();
+    Instant recordedFrom = Instant.parse("2026-03-01T00:00:00Z");
+    Instant recordedTo = Instant.parse("2026-04-01T00:00:00Z");
+    AccountHistoryPage accountHistoryPage = new AccountHistoryPage(List.of(), OptionalLong.empty());
+    when(accountEventTypeDtoToDomainMapper.apply(AccountEventTypeDto.FUNDS_CREDITED))
+        .thenAnswer(invocation -> FundsCredited.class);
+    when(accountEventTypeDtoToDomainMapper.apply(AccountEventTypeDto.FUNDS_DEBITED))
+        .thenAnswer(invocation -> FundsDebited.class);
+    when(accountReadService.getAccountHistory(
+            new AccountHistoryQuery(
+                accountId,
+                120L,
+                20,
+                Set.of(FundsCredited.class, FundsDebited.class),
+                recordedFrom,
+                recordedTo)))
+        .thenReturn(accountHistoryPage);
+    when(accountHistoryPageToDtoMapper.apply(accountHistoryPage))
+        .thenReturn(new AccountHistoryPageDto().entries(List.of()));
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            get("/accounts/{id}/history", accountId.id())
+                .queryParam("afterVersion", "120")
+                .queryParam("limit", "20")
+                .queryParam("eventType", "FUNDS_CREDITED", "FUNDS_DEBITED")
+                .queryParam("recordedFrom", "2026-03-01T00:00:00Z")
+                .queryParam("recordedTo", "2026-04-01T02:00:00+02:00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.entries").isEmpty())
+        .andExpect(jsonPath("$.nextAfterVersion").doesNotExist());
+  }
+
+  @Test
+  void getAccountHistory_should_return_400_when_limit_exceeds_page_maximum() throws Exception {
+    // Act ... Assert
+    mockMvc
+        .perform(get("/accounts/{id}/history", UUID.randomUUID()).queryParam("limit", "201"))
+        .andExpect(status().isBadRequest());
+    verify(accountReadService, never()).getAccountHistory(any());
+  }
 }
@@ -0,0 +1,35 @@
+package org.girardsimon.wealthpay.account.infrastructure.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.junit.jupiter.api.Test;
+
+class AccountETagTest {
+
+  private final AccountId accountId =
+      AccountId.of(UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e"));
+
+  @Test
+  void of_should_quote_account_id_and_version() {
+    // Act ... Assert
+    assertThat(AccountETag.of(accountId, 3L))
+        .isEqualTo("\"0f8fad5b-d9cb-469f-a165-70867728950e-3\"");
+  }
+
+  @Test
+  void matches_should_use_weak_comparison_over_a_list_of_tags() {
+    // Arrange
+    String etag = AccountETag.of(accountId, 3L);
+
+    // Act ... Assert
+    assertAll(
+        () -> assertThat(AccountETag.matches(etag, etag)).isTrue(),
+        () -> assertThat(AccountETag.matches("W/" + etag, etag)).isTrue(),
+        () -> assertThat(AccountETag.matches("\"other\", " + etag, etag)).isTrue(),
+        () -> assertThat(AccountETag.matches("*", etag)).isTrue(),
+        () -> assertThat(AccountETag.matches(AccountETag.of(accountId, 2L), etag)).isFalse());
+  }
+}
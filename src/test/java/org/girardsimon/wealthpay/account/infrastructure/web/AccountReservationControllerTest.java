@@ -14,6 +14,7 @@ import org.girardsimon.wealthpay.account.api.generated.model.ReserveFundsRequest
 import org.girardsimon.wealthpay.account.api.generated.model.ReserveFundsResponseDto;
 import org.girardsimon.wealthpay.account.api.generated.model.SupportedCurrencyDto;
 import org.girardsimon.wealthpay.account.application.AccountApplicationService;
+import org.girardsimon.wealthpay.account.application.AccountCommandBatcher;
 import org.girardsimon.wealthpay.account.application.response.ReservationResponse;
 import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
 import org.girardsimon.wealthpay.account.domain.command.CancelReservation;
@@ -40,6 +41,8 @@ class AccountReservationControllerTest {
 
   @MockitoBean AccountApplicationService accountApplicationService;
 
+  @MockitoBean AccountCommandBatcher accountCommandBatcher;
+
   @MockitoBean ReserveFundsDtoToDomainMapper reserveFundsDtoToDomainMapper;
 
   @MockitoBean ReserveFundsResponseToDtoMapper reserveFundsResponseToDtoMapper;
@@ -67,7 +70,7 @@ class AccountReservationControllerTest {
     ReserveFundsResponse reserveFundsResponse = mock(ReserveFundsResponse.class);
     when(reserveFundsDtoToDomainMapper.apply(accountId, transactionId, reserveFundsRequestDto))
         .thenReturn(reserveFunds);
-    when(accountApplicationService.reserveFunds(reserveFunds)).thenReturn(reserveFundsResponse);
+    when(accountCommandBatcher.reserveFunds(reserveFunds)).thenReturn(reserveFundsResponse);
     UUID reservationId = UUID.randomUUID();
     when(reserveFundsResponseToDtoMapper.apply(reserveFundsResponse))
         .thenReturn(
@@ -7,14 +7,31 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemResultDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemStatusDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchModeDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchRequestDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchResponseDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandTypeDto;
 import org.girardsimon.wealthpay.account.api.generated.model.CreditAccountRequestDto;
 import org.girardsimon.wealthpay.account.api.generated.model.DebitAccountRequestDto;
 import org.girardsimon.wealthpay.account.api.generated.model.SupportedCurrencyDto;
 import org.girardsimon.wealthpay.account.application.AccountApplicationService;
-import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.application.AccountCommandBatcher;
+import org.girardsimon.wealthpay.account.application.CommandBatchMode;
+import org.girardsimon.wealthpay.account.application.CommandBatchRejectedException;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
 import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
 import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.exception.InsufficientFundsException;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountCommandBatchDtoToDomainMapper;
+import org.girardsimon.wealthpay.account.infrastructure.web.mapper.AccountCommandBatchResponseToDtoMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.CreditAccountDtoToDomainMapper;
 import org.girardsimon.wealthpay.account.infrastructure.web.mapper.DebitAccountDtoToDomainMapper;
 import org.girardsimon.wealthpay.shared.infrastructure.web.GlobalExceptionHandler;
@@ -31,12 +48,18 @@ import tools.jackson.databind.ObjectMapper;
 @Import(GlobalExceptionHandler.class)
 class AccountTransactionControllerTest {
 
+  @MockitoBean AccountCommandBatcher accountCommandBatcher;
+
   @MockitoBean AccountApplicationService accountApplicationService;
 
   @MockitoBean CreditAccountDtoToDomainMapper creditAccountDtoToDomainMapper;
 
   @MockitoBean DebitAccountDtoToDomainMapper debitAccountDtoToDomainMapper;
 
+  @MockitoBean AccountCommandBatchDtoToDomainMapper accountCommandBatchDtoToDomainMapper;
+
+  @MockitoBean AccountCommandBatchResponseToDtoMapper accountCommandBatchResponseToDtoMapper;
+
   @Autowired MockMvc mockMvc;
 
   @Autowired ObjectMapper objectMapper;
@@ -53,8 +76,8 @@ class AccountTransactionControllerTest {
     CreditAccount creditAccount = mock(CreditAccount.class);
     when(creditAccountDtoToDomainMapper.apply(accountId, transactionId, creditAccountRequestDto))
         .thenReturn(creditAccount);
-    when(accountApplicationService.creditAccount(creditAccount))
-        .thenReturn(TransactionStatus.COMMITTED);
+    when(accountCommandBatcher.creditAccount(creditAccount))
+        .thenReturn(TransactionResult.committed(2L));
 
     // Act ... Assert
     mockMvc
@@ -64,7 +87,8 @@ class AccountTransactionControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(creditAccountRequestDto)))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.status").value("COMMITTED"));
+        .andExpect(jsonPath("$.status").value("COMMITTED"))
+        .andExpect(jsonPath("$.version").value(2));
   }
 
   @Test
@@ -79,8 +103,8 @@ class AccountTransactionControllerTest {
     DebitAccount debitAccount = mock(DebitAccount.class);
     when(debitAccountDtoToDomainMapper.apply(accountId, transactionId, debitAccountRequestDto))
         .thenReturn(debitAccount);
-    when(accountApplicationService.debitAccount(debitAccount))
-        .thenReturn(TransactionStatus.COMMITTED);
+    when(accountCommandBatcher.debitAccount(debitAccount))
+        .thenReturn(TransactionResult.committed(2L));
 
     // Act ... Assert
     mockMvc
@@ -90,6 +114,110 @@ class AccountTransactionControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(debitAccountRequestDto)))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.status").value("COMMITTED"));
+        .andExpect(jsonPath("$.status").value("COMMITTED"))
+        .andExpect(jsonPath("$.version").value(2));
+  }
+
+  private static AccountCommandBatchRequestDto commandBatchRequestDto(
+      AccountCommandBatchModeDto mode) {
+    return new AccountCommandBatchRequestDto()
+        .mode(mode)
+        .items(
+            List.of(
+                new AccountCommandBatchItemDto()
+                    .transactionId(UUID.randomUUID())
+                    .type(AccountCommandTypeDto.CREDIT)
+                    .currency(SupportedCurrencyDto.USD)
+                    .amount(BigDecimal.TEN)));
+  }
+
+  @Test
+  void applyCommandBatch_should_return_200_with_item_results_when_committed() throws Exception {
+    // Arrange
+    UUID accountId = UUID.randomUUID();
+    AccountCommandBatchRequestDto requestDto =
+        commandBatchRequestDto(AccountCommandBatchModeDto.BEST_EFFORT);
+    List<AccountTransaction> commands = List.of(mock(CreditAccount.class));
+    List<CommandOutcome> outcomes =
+        List.of(CommandOutcome.success(TransactionResult.committed(2L)));
+    when(accountCommandBatchDtoToDomainMapper.apply(accountId, requestDto)).thenReturn(commands);
+    when(accountCommandBatchDtoToDomainMapper.mode(requestDto))
+        .thenReturn(CommandBatchMode.BEST_EFFORT);
+    when(accountApplicationService.processBatch(
+            AccountId.of(accountId), commands, CommandBatchMode.BEST_EFFORT))
+        .thenReturn(outcomes);
+    when(accountCommandBatchResponseToDtoMapper.committed(commands, outcomes))
+        .thenReturn(
+            new AccountCommandBatchResponseDto()
+                .committed(true)
+                .items(
+                    List.of(
+                        new AccountCommandBatchItemResultDto()
+                            .transactionId(requestDto.getItems().getFirst().getTransactionId())
+                            .status(AccountCommandBatchItemStatusDto.COMMITTED)
+                            .version(2L))));
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            post("/accounts/{id}/command-batches", accountId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.committed").value(true))
+        .andExpect(jsonPath("$.items[0].status").value("COMMITTED"))
+        .andExpect(jsonPath("$.items[0].version").value(2));
+  }
+
+  @Test
+  void applyCommandBatch_should_return_422_when_atomic_batch_is_rejected() throws Exception {
+    // Arrange
+    UUID accountId = UUID.randomUUID();
+    AccountCommandBatchRequestDto requestDto =
+        commandBatchRequestDto(AccountCommandBatchModeDto.ATOMIC);
+    List<AccountTransaction> commands = List.of(mock(CreditAccount.class));
+    CommandBatchRejectedException rejected =
+        new CommandBatchRejectedException(0, mock(InsufficientFundsException.class));
+    when(accountCommandBatchDtoToDomainMapper.apply(accountId, requestDto)).thenReturn(commands);
+    when(accountCommandBatchDtoToDomainMapper.mode(requestDto)).thenReturn(CommandBatchMode.ATOMIC);
+    when(accountApplicationService.processBatch(
+            AccountId.of(accountId), commands, CommandBatchMode.ATOMIC))
+        .thenThrow(rejected);
+    when(accountCommandBatchResponseToDtoMapper.rolledBack(commands, rejected))
+        .thenReturn(
+            new AccountCommandBatchResponseDto()
+                .committed(false)
+                .items(
+                    List.of(
+                        new AccountCommandBatchItemResultDto()
+                            .transactionId(requestDto.getItems().getFirst().getTransactionId())
+                            .status(AccountCommandBatchItemStatusDto.REJECTED))));
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            post("/accounts/{id}/command-batches", accountId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto)))
+        .andExpect(status().isUnprocessableContent())
+        .andExpect(jsonPath("$.committed").value(false))
+        .andExpect(jsonPath("$.items[0].status").value("REJECTED"));
+  }
+
+  @Test
+  void applyCommandBatch_should_return_400_when_batch_is_empty() throws Exception {
+    // Arrange
+    AccountCommandBatchRequestDto requestDto =
+        new AccountCommandBatchRequestDto()
+            .mode(AccountCommandBatchModeDto.ATOMIC)
+            .items(List.of());
+
+    // Act ... Assert
+    mockMvc
+        .perform(
+            post("/accounts/{id}/command-batches", UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto)))
+        .andExpect(status().isBadRequest());
   }
 }
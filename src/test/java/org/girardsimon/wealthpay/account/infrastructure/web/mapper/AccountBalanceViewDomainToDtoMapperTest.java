@@ -39,6 +39,7 @@ class AccountBalanceViewDomainToDtoMapperTest {
         () -> assertThat(accountResponseDto.getBalanceAmount()).isEqualTo(balance.amount()),
         () -> assertThat(accountResponseDto.getReservedAmount()).isEqualTo(reserved.amount()),
         () -> assertThat(accountResponseDto.getCurrency()).isEqualTo(SupportedCurrencyDto.USD),
-        () -> assertThat(accountResponseDto.getStatus()).isEqualTo(AccountStatusDto.OPENED));
+        () -> assertThat(accountResponseDto.getStatus()).isEqualTo(AccountStatusDto.OPENED),
+        () -> assertThat(accountResponseDto.getVersion()).isEqualTo(5L));
   }
 }
@@ -0,0 +1,79 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchModeDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchRequestDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandTypeDto;
+import org.girardsimon.wealthpay.account.api.generated.model.SupportedCurrencyDto;
+import org.girardsimon.wealthpay.account.application.CommandBatchMode;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
+import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
+import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.command.ReserveFunds;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.junit.jupiter.api.Test;
+
+class AccountCommandBatchDtoToDomainMapperTest {
+
+  AccountCommandBatchDtoToDomainMapper mapper =
+      new AccountCommandBatchDtoToDomainMapper(new MoneyDtoToDomainMapper());
+
+  private static AccountCommandBatchItemDto item(
+      UUID transactionId, AccountCommandTypeDto type, String amount) {
+    return new AccountCommandBatchItemDto()
+        .transactionId(transactionId)
+        .type(type)
+        .currency(SupportedCurrencyDto.USD)
+        .amount(new BigDecimal(amount));
+  }
+
+  @Test
+  void map_command_batch_dto_to_commands_in_request_order() {
+    // Arrange
+    UUID accountId = UUID.randomUUID();
+    UUID creditId = UUID.randomUUID();
+    UUID debitId = UUID.randomUUID();
+    UUID reserveId = UUID.randomUUID();
+    AccountCommandBatchRequestDto requestDto =
+        new AccountCommandBatchRequestDto()
+            .mode(AccountCommandBatchModeDto.ATOMIC)
+            .items(
+                List.of(
+                    item(creditId, AccountCommandTypeDto.CREDIT, "10.00"),
+                    item(debitId, AccountCommandTypeDto.DEBIT, "5.00"),
+                    item(reserveId, AccountCommandTypeDto.RESERVE, "2.50")));
+
+    // Act
+    List<AccountTransaction> commands = mapper.apply(accountId, requestDto);
+    CommandBatchMode mode = mapper.mode(requestDto);
+
+    // Assert
+    AccountId domainAccountId = AccountId.of(accountId);
+    assertAll(
+        () ->
+            assertThat(commands)
+                .containsExactly(
+                    new CreditAccount(
+                        TransactionId.of(creditId),
+                        domainAccountId,
+                        Money.of(new BigDecimal("10.00"), SupportedCurrency.USD)),
+                    new DebitAccount(
+                        TransactionId.of(debitId),
+                        domainAccountId,
+                        Money.of(new BigDecimal("5.00"), SupportedCurrency.USD)),
+                    new ReserveFunds(
+                        TransactionId.of(reserveId),
+                        domainAccountId,
+                        Money.of(new BigDecimal("2.50"), SupportedCurrency.USD))),
+        () -> assertThat(mode).isEqualTo(CommandBatchMode.ATOMIC));
+  }
+}
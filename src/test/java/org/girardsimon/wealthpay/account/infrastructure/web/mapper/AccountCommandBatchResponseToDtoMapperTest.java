@@ -0,0 +1,116 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemResultDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchItemStatusDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountCommandBatchResponseDto;
+import org.girardsimon.wealthpay.account.application.CommandBatchRejectedException;
+import org.girardsimon.wealthpay.account.application.response.CommandOutcome;
+import org.girardsimon.wealthpay.account.application.response.ReservationResult;
+import org.girardsimon.wealthpay.account.application.response.ReserveFundsResponse;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
+import org.girardsimon.wealthpay.account.domain.command.AccountTransaction;
+import org.girardsimon.wealthpay.account.domain.command.CreditAccount;
+import org.girardsimon.wealthpay.account.domain.command.DebitAccount;
+import org.girardsimon.wealthpay.account.domain.command.ReserveFunds;
+import org.girardsimon.wealthpay.account.domain.exception.TransactionIdConflictException;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.AccountIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.ReservationIdGenerator;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.girardsimon.wealthpay.account.testsupport.TestAccountIdGenerator;
+import org.girardsimon.wealthpay.account.testsupport.TestReservationIdGenerator;
+import org.junit.jupiter.api.Test;
+
+class AccountCommandBatchResponseToDtoMapperTest {
+
+  private final AccountIdGenerator accountIdGenerator = new TestAccountIdGenerator();
+  private final ReservationIdGenerator reservationIdGenerator = new TestReservationIdGenerator();
+
+  AccountCommandBatchResponseToDtoMapper mapper = new AccountCommandBatchResponseToDtoMapper();
+
+  private final AccountId accountId = accountIdGenerator.newId();
+  private final Money tenDollars = Money.of(BigDecimal.TEN, SupportedCurrency.USD);
+  private final CreditAccount creditAccount =
+      new CreditAccount(TransactionId.of(UUID.randomUUID()), accountId, tenDollars);
+  private final DebitAccount debitAccount =
+      new DebitAccount(TransactionId.of(UUID.randomUUID()), accountId, tenDollars);
+  private final ReserveFunds reserveFunds =
+      new ReserveFunds(TransactionId.of(UUID.randomUUID()), accountId, tenDollars);
+  private final List<AccountTransaction> commands =
+      List.of(creditAccount, debitAccount, reserveFunds);
+
+  @Test
+  void committed_should_report_each_outcome_in_request_order() {
+    // Arrange
+    ReservationId reservationId = reservationIdGenerator.newId();
+    TransactionIdConflictException conflict =
+        new TransactionIdConflictException(accountId, debitAccount.transactionId());
+    List<CommandOutcome> outcomes =
+        List.of(
+            CommandOutcome.success(TransactionResult.committed(2L)),
+            CommandOutcome.failure(conflict),
+            CommandOutcome.success(
+                new ReserveFundsResponse(
+                    reservationId, ReservationResult.NO_EFFECT, OptionalLong.empty())));
+
+    // Act
+    AccountCommandBatchResponseDto responseDto = mapper.committed(commands, outcomes);
+
+    // Assert
+    List<AccountCommandBatchItemResultDto> items = responseDto.getItems();
+    assertAll(
+        () -> assertThat(responseDto.getCommitted()).isTrue(),
+        () -> assertThat(items).hasSize(3),
+        () ->
+            assertThat(items.get(0).getStatus())
+                .isEqualTo(AccountCommandBatchItemStatusDto.COMMITTED),
+        () -> assertThat(items.get(0).getVersion()).isEqualTo(2L),
+        () ->
+            assertThat(items.get(1).getStatus())
+                .isEqualTo(AccountCommandBatchItemStatusDto.REJECTED),
+        () -> assertThat(items.get(1).getError().getStatus()).isEqualTo(409),
+        () -> assertThat(items.get(1).getError().getMessage()).isEqualTo(conflict.getMessage()),
+        () ->
+            assertThat(items.get(2).getStatus())
+                .isEqualTo(AccountCommandBatchItemStatusDto.NO_EFFECT),
+        () -> assertThat(items.get(2).getReservationId()).isEqualTo(reservationId.id()),
+        () -> assertThat(items.get(2).getVersion()).isNull());
+  }
+
+  @Test
+  void rolledBack_should_report_rejected_item_and_roll_back_the_others() {
+    // Arrange
+    TransactionIdConflictException conflict =
+        new TransactionIdConflictException(accountId, debitAccount.transactionId());
+    CommandBatchRejectedException rejected = new CommandBatchRejectedException(1, conflict);
+
+    // Act
+    AccountCommandBatchResponseDto responseDto = mapper.rolledBack(commands, rejected);
+
+    // Assert
+    List<AccountCommandBatchItemResultDto> items = responseDto.getItems();
+    assertAll(
+        () -> assertThat(responseDto.getCommitted()).isFalse(),
+        () ->
+            assertThat(items)
+                .extracting(AccountCommandBatchItemResultDto::getStatus)
+                .containsExactly(
+                    AccountCommandBatchItemStatusDto.ROLLED_BACK,
+                    AccountCommandBatchItemStatusDto.REJECTED,
+                    AccountCommandBatchItemStatusDto.ROLLED_BACK),
+        () ->
+            assertThat(items.get(1).getTransactionId())
+                .isEqualTo(debitAccount.transactionId().id()),
+        () -> assertThat(items.get(1).getError().getStatus()).isEqualTo(409));
+  }
+}
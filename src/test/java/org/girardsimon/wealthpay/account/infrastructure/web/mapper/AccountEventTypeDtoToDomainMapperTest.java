@@ -0,0 +1,23 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.girardsimon.wealthpay.account.api.generated.model.AccountEventTypeDto;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class AccountEventTypeDtoToDomainMapperTest {
+
+  AccountEventTypeDtoToDomainMapper mapper = new AccountEventTypeDtoToDomainMapper();
+
+  @ParameterizedTest
+  @EnumSource(AccountEventTypeDto.class)
+  void map_event_type_to_event_class_of_the_same_name(AccountEventTypeDto accountEventTypeDto) {
+    // Act
+    Class<?> eventClass = mapper.apply(accountEventTypeDto);
+
+    // Assert
+    assertThat(eventClass.getSimpleName().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase())
+        .isEqualTo(accountEventTypeDto.name());
+  }
+}
@@ -0,0 +1,108 @@
+package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountEventTypeDto;
+import org.girardsimon.wealthpay.account.api.generated.model.AccountHistoryEntryDto;
+import org.girardsimon.wealthpay.account.api.generated.model.SupportedCurrencyDto;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryEntry;
+import org.girardsimon.wealthpay.account.application.view.AccountHistoryPage;
+import org.girardsimon.wealthpay.account.domain.event.AccountClosed;
+import org.girardsimon.wealthpay.account.domain.event.AccountEventMeta;
+import org.girardsimon.wealthpay.account.domain.event.AccountOpened;
+import org.girardsimon.wealthpay.account.domain.event.FundsReserved;
+import org.girardsimon.wealthpay.account.domain.model.AccountId;
+import org.girardsimon.wealthpay.account.domain.model.EventId;
+import org.girardsimon.wealthpay.account.domain.model.Money;
+import org.girardsimon.wealthpay.account.domain.model.ReservationId;
+import org.girardsimon.wealthpay.account.domain.model.SupportedCurrency;
+import org.girardsimon.wealthpay.account.domain.model.TransactionId;
+import org.junit.jupiter.api.Test;
+
+class AccountHistoryPageToDtoMapperTest {
+
+  private static final Instant OCCURRED_AT = Instant.parse("2026-03-01T10:00:00Z");
+  private static final Instant RECORDED_AT = Instant.parse("2026-03-01T10:00:01Z");
+
+  private final AccountId accountId = AccountId.of(UUID.randomUUID());
+
+  AccountHistoryPageToDtoMapper mapper = new AccountHistoryPageToDtoMapper();
+
+  private AccountEventMeta meta(EventId eventId, long version) {
+    return AccountEventMeta.of(eventId, accountId, OCCURRED_AT, version);
+  }
+
+  @Test
+  void map_history_page_entries_with_their_event_details() {
+    // Arrange
+    EventId openedId = EventId.of(UUID.randomUUID());
+    EventId reservedId = EventId.of(UUID.randomUUID());
+    TransactionId transactionId = TransactionId.of(UUID.randomUUID());
+    ReservationId reservationId = ReservationId.of(UUID.randomUUID());
+    Money money = Money.of(BigDecimal.valueOf(25.50), SupportedCurrency.EUR);
+    AccountHistoryPage accountHistoryPage =
+        new AccountHistoryPage(
+            List.of(
+                new AccountHistoryEntry(
+                    new AccountOpened(meta(openedId, 1L), SupportedCurrency.EUR, money),
+                    RECORDED_AT),
+                new AccountHistoryEntry(
+                    new FundsReserved(meta(reservedId, 2L), transactionId, reservationId, money),
+                    RECORDED_AT)),
+            OptionalLong.of(2L));
+
+    // Act
+    var accountHistoryPageDto = mapper.apply(accountHistoryPage);
+
+    // Assert
+    AccountHistoryEntryDto opened = accountHistoryPageDto.getEntries().get(0);
+    AccountHistoryEntryDto reserved = accountHistoryPageDto.getEntries().get(1);
+    assertAll(
+        () -> assertThat(accountHistoryPageDto.getNextAfterVersion()).isEqualTo(2L),
+        () -> assertThat(opened.getEventId()).isEqualTo(openedId.id()),
+        () -> assertThat(opened.getVersion()).isEqualTo(1L),
+        () -> assertThat(opened.getType()).isEqualTo(AccountEventTypeDto.ACCOUNT_OPENED),
+        () -> assertThat(opened.getAmount()).isEqualByComparingTo("25.50"),
+        () -> assertThat(opened.getCurrency()).isEqualTo(SupportedCurrencyDto.EUR),
+        () ->
+            assertThat(opened.getOccurredAt())
+                .isEqualTo(OffsetDateTime.ofInstant(OCCURRED_AT, ZoneOffset.UTC)),
+        () ->
+            assertThat(opened.getRecordedAt())
+                .isEqualTo(OffsetDateTime.ofInstant(RECORDED_AT, ZoneOffset.UTC)),
+        () -> assertThat(reserved.getType()).isEqualTo(AccountEventTypeDto.FUNDS_RESERVED),
+        () -> assertThat(reserved.getTransactionId()).isEqualTo(transactionId.id()),
+        () -> assertThat(reserved.getReservationId()).isEqualTo(reservationId.id()),
+        () -> assertThat(reserved.getAmount()).isEqualByComparingTo("25.50"));
+  }
+
+  @Test
+  void map_last_history_page_without_cursor_nor_amount_for_closing() {
+    // Arrange
+    AccountHistoryPage accountHistoryPage =
+        new AccountHistoryPage(
+            List.of(
+                new AccountHistoryEntry(
+                    new AccountClosed(meta(EventId.of(UUID.randomUUID()), 5L)), RECORDED_AT)),
+            OptionalLong.empty());
+
+    // Act
+    var accountHistoryPageDto = mapper.apply(accountHistoryPage);
+
+    // Assert
+    AccountHistoryEntryDto closed = accountHistoryPageDto.getEntries().getFirst();
+    assertAll(
+        () -> assertThat(accountHistoryPageDto.getNextAfterVersion()).isNull(),
+        () -> assertThat(closed.getType()).isEqualTo(AccountEventTypeDto.ACCOUNT_CLOSED),
+        () -> assertThat(closed.getAmount()).isNull(),
+        () -> assertThat(closed.getCurrency()).isNull());
+  }
+}
@@ -3,8 +3,9 @@ package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
+import org.girardsimon.wealthpay.account.api.generated.model.CloseAccountResponseDto;
 import org.girardsimon.wealthpay.account.api.generated.model.TransactionStatusDto;
-import org.girardsimon.wealthpay.account.application.response.TransactionStatus;
+import org.girardsimon.wealthpay.account.application.response.TransactionResult;
 import org.junit.jupiter.api.Test;
 
 class CloseAccountResponseToDtoMapperTest {
@@ -12,14 +13,16 @@ class CloseAccountResponseToDtoMapperTest {
   CloseAccountResponseToDtoMapper mapper = new CloseAccountResponseToDtoMapper();
 
   @Test
-  void map_transaction_status_to_close_account_response_dto() {
+  void map_transaction_result_to_close_account_response_dto() {
     // Act
-    TransactionStatusDto committedStatus = mapper.apply(TransactionStatus.COMMITTED).getStatus();
-    TransactionStatusDto noEffectStatus = mapper.apply(TransactionStatus.NO_EFFECT).getStatus();
+    CloseAccountResponseDto committed = mapper.apply(TransactionResult.committed(4L));
+    CloseAccountResponseDto noEffect = mapper.apply(TransactionResult.noEffect(4L));
 
     // Assert
     assertAll(
-        () -> assertThat(committedStatus).isEqualTo(TransactionStatusDto.COMMITTED),
-        () -> assertThat(noEffectStatus).isEqualTo(TransactionStatusDto.NO_EFFECT));
+        () -> assertThat(committed.getStatus()).isEqualTo(TransactionStatusDto.COMMITTED),
+        () -> assertThat(committed.getVersion()).isEqualTo(4L),
+        () -> assertThat(noEffect.getStatus()).isEqualTo(TransactionStatusDto.NO_EFFECT),
+        () -> assertThat(noEffect.getVersion()).isEqualTo(4L));
   }
 }
@@ -34,7 +34,7 @@ class ReservationResponseToDtoMapperTest {
     Money money = Money.of(BigDecimal.valueOf(50.25), SupportedCurrency.USD);
     ReservationResponse reservationResponse =
         new ReservationResponse(
-            accountId, reservationId, Optional.of(money), ReservationResult.CANCELED);
+            accountId, reservationId, Optional.of(money), ReservationResult.CANCELED, 3L);
 
     // Act
     var cancelReservationResponseDto = mapper.apply(reservationResponse);
@@ -51,7 +51,8 @@ class ReservationResponseToDtoMapperTest {
         () -> assertThat(cancelReservationResponseDto.getAmount()).isEqualByComparingTo("50.25"),
         () ->
             assertThat(cancelReservationResponseDto.getCurrency())
-                .isEqualTo(SupportedCurrencyDto.USD));
+                .isEqualTo(SupportedCurrencyDto.USD),
+        () -> assertThat(cancelReservationResponseDto.getVersion()).isEqualTo(3L));
   }
 
   @Test
@@ -61,7 +62,7 @@ class ReservationResponseToDtoMapperTest {
     ReservationId reservationId = reservationIdGenerator.newId();
     ReservationResponse reservationResponse =
         new ReservationResponse(
-            accountId, reservationId, Optional.empty(), ReservationResult.NO_EFFECT);
+            accountId, reservationId, Optional.empty(), ReservationResult.NO_EFFECT, 3L);
 
     // Act
     var cancelReservationResponseDto = mapper.apply(reservationResponse);
@@ -3,6 +3,7 @@ package org.girardsimon.wealthpay.account.infrastructure.web.mapper;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
+import java.util.OptionalLong;
 import org.girardsimon.wealthpay.account.api.generated.model.ReservationResultDto;
 import org.girardsimon.wealthpay.account.api.generated.model.ReserveFundsResponseDto;
 import org.girardsimon.wealthpay.account.application.response.ReservationResult;
@@ -23,7 +24,7 @@ class ReserveFundsResponseToDtoMapperTest {
     // Arrange
     ReservationId reservationId = reservationIdGenerator.newId();
     ReserveFundsResponse reserveFundsResponse =
-        new ReserveFundsResponse(reservationId, ReservationResult.RESERVED);
+        new ReserveFundsResponse(reservationId, ReservationResult.RESERVED, OptionalLong.of(2L));
 
     // Act
     ReserveFundsResponseDto reserveFundsResponseDto = mapper.apply(reserveFundsResponse);
@@ -33,6 +34,25 @@ class ReserveFundsResponseToDtoMapperTest {
         () -> assertThat(reserveFundsResponseDto.getReservationId()).isEqualTo(reservationId.id()),
         () ->
             assertThat(reserveFundsResponseDto.getStatus())
-                .isEqualTo(ReservationResultDto.RESERVED));
+                .isEqualTo(ReservationResultDto.RESERVED),
+        () -> assertThat(reserveFundsResponseDto.getVersion()).isEqualTo(2L));
+  }
+
+  @Test
+  void map_replayed_reserve_funds_response_to_dto_without_version() {
+    // Arrange
+    ReservationId reservationId = reservationIdGenerator.newId();
+    ReserveFundsResponse reserveFundsResponse =
+        new ReserveFundsResponse(reservationId, ReservationResult.NO_EFFECT, OptionalLong.empty());
+
+    // Act
+    ReserveFundsResponseDto reserveFundsResponseDto = mapper.apply(reserveFundsResponse);
+
+    // Assert
+    assertAll(
+        () ->
+            assertThat(reserveFundsResponseDto.getStatus())
+                .isEqualTo(ReservationResultDto.NO_EFFECT),
+        () -> assertThat(reserveFundsResponseDto.getVersion()).isNull());
   }
 }
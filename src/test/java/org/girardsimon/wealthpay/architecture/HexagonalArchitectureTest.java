@@ -45,6 +45,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  *       subpackage holds cross-cutting application instrumentation ({@code @CommandMetric} aspect)
  *       whose outcome lattice is application-aware. The application service itself remains
  *       framework-light beyond Spring stereotypes.
+ *   <li>{@code ..application.retry..} may import AspectJ, but not Micrometer: it holds the
+ *       {@code @RetryOnConflict} aspect, which records its attempts through {@code
+ *       ..application.metric..}.
  *   <li>{@code ..infrastructure.serialization..}, {@code ..infrastructure.metric..}, {@code
  *       ..infrastructure.id..} are cross-sibling helper packages used by the I/O adapters
  *       (web/db/consumer/producer). They are not subject to I/O sibling isolation.
@@ -110,6 +113,8 @@ class HexagonalArchitectureTest {
           .resideInAPackage("..application..")
           .and()
           .resideOutsideOfPackage("..application.metric..")
+          .and()
+          .resideOutsideOfPackage("..application.retry..")
           .should()
           .dependOnClassesThat()
           .resideInAnyPackage(
@@ -136,6 +141,30 @@ class HexagonalArchitectureTest {
                   + " are confined to ..application.metric.. for command instrumentation whose"
                   + " outcome lattice is application-aware.");
 
+  @ArchTest
+  static final ArchRule application_retry_may_only_add_aspectj =
+      noClasses()
+          .that()
+          .resideInAPackage("..application.retry..")
+          .should()
+          .dependOnClassesThat()
+          .resideInAnyPackage(
+              "org.jooq..",
+              "jakarta.persistence..",
+              "org.apache.kafka..",
+              "org.springframework.kafka..",
+              "org.springframework.web..",
+              "jakarta.servlet..",
+              "com.fasterxml.jackson..",
+              "tools.jackson..",
+              "io.micrometer.core..",
+              "com.github.f4b6a3..")
+          .as("Application retry policy may use AspectJ, nothing else beyond the application rule")
+          .because(
+              "The conflict-retry aspect is control flow woven around application-service"
+                  + " methods, so it needs AspectJ like the metric aspect does; the attempts it"
+                  + " records go through ..application.metric.., which keeps Micrometer there.");
+
   @ArchTest
   static final ArchRule web_must_not_depend_on_other_io_siblings =
       ioSiblingMustNotDependOn("web", "db", "consumer", "producer");
@@ -6,7 +6,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import jakarta.validation.ConstraintViolationException;
 import java.io.InputStream;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -47,7 +49,10 @@ class GlobalExceptionHandlerTest {
             });
     return Stream.of(
         Arguments.of(new IllegalArgumentException("Illegal Argument"), "Illegal Argument"),
-        Arguments.of(httpMessageNotReadableException, "message"));
+        Arguments.of(httpMessageNotReadableException, "message"),
+        Arguments.of(
+            new ConstraintViolationException("Constraint violated", Set.of()),
+            "Constraint violated"));
   }
 
   public static Stream<Arguments> allConflictExceptions() {